@@ -23,11 +23,20 @@ public abstract class ChannelDriverConfig<BuilderT extends InheritableBuilder.Bu
         extends InheritableBuilder<BuilderT, BuiltT> {
     public static final Duration DEFAULT_MSG_LOST_TIMEOUT = Duration.ofSeconds(20);
     public static final int DEFAULT_ACK_CACHE_SIZE = 10_000_000;
+    public static final int DEFAULT_ACK_BATCH_SIZE = 1;
+    public static final int MAX_ACK_BATCH_SIZE = 65536;
+    public static final Duration DEFAULT_ACK_BATCH_LINGER = Duration.ofMillis(2);
+    public static final int DEFAULT_FLOW_CONTROL_WINDOW = 0;
+    public static final Duration DEFAULT_FLOW_CONTROL_BACKOFF = Duration.ofMillis(10);
     public static final String CHANNEL_ID_PROPERTY_NAME = "channelName";
     private final String channelName;
     private final Duration aPublishAutomaticFailureTimeout;
     private final Duration ackCacheCleanupInterval;
     private final int ackCacheSize;
+    private final int ackBatchSize;
+    private final Duration ackBatchLinger;
+    private final int flowControlWindow;
+    private final Duration flowControlBackoff;
 
     protected ChannelDriverConfig(Builder<BuilderT, BuiltT> builder) {
         super(builder);
@@ -39,6 +48,12 @@ public abstract class ChannelDriverConfig<BuilderT extends InheritableBuilder.Bu
         this.ackCacheCleanupInterval = ObjectUtils.checkNonNullPositiveTimeInterval(builder.ackCacheCleanupInterval);
         this.ackCacheSize = ObjectUtils.requiredInRange(builder.ackCacheSize, 0, Integer.MAX_VALUE,
                                                         IllegalArgumentException::new);
+        this.ackBatchSize = ObjectUtils.requiredInRange(builder.ackBatchSize, 1, MAX_ACK_BATCH_SIZE,
+                                                        IllegalArgumentException::new);
+        this.ackBatchLinger = ObjectUtils.checkNonNullPositiveTimeInterval(builder.ackBatchLinger);
+        this.flowControlWindow = ObjectUtils.requiredInRange(builder.flowControlWindow, 0, Integer.MAX_VALUE,
+                                                             IllegalArgumentException::new);
+        this.flowControlBackoff = ObjectUtils.checkNonNullPositiveTimeInterval(builder.flowControlBackoff);
     }
     public String getChannelName() { return channelName; }
 
@@ -54,6 +69,14 @@ public abstract class ChannelDriverConfig<BuilderT extends InheritableBuilder.Bu
 
     public int getAckCacheSize() { return ackCacheSize; }
 
+    public int getAckBatchSize() { return ackBatchSize; }
+
+    public Duration getAckBatchLinger() { return ackBatchLinger; }
+
+    public int getFlowControlWindow() { return flowControlWindow; }
+
+    public Duration getFlowControlBackoff() { return flowControlBackoff; }
+
     public abstract static class Builder<BuilderT, BuiltT>
             extends InheritableBuilder.Builder<BuilderT, BuiltT> {
         @SuppressWarnings("NotNullFieldNotInitialized")
@@ -61,6 +84,10 @@ public abstract class ChannelDriverConfig<BuilderT extends InheritableBuilder.Bu
         private Duration aPublishFailureTimeout = DEFAULT_MSG_LOST_TIMEOUT;
         private Duration ackCacheCleanupInterval = DEFAULT_MSG_LOST_TIMEOUT;
         private int ackCacheSize = DEFAULT_ACK_CACHE_SIZE;
+        private int ackBatchSize = DEFAULT_ACK_BATCH_SIZE;
+        private Duration ackBatchLinger = DEFAULT_ACK_BATCH_LINGER;
+        private int flowControlWindow = DEFAULT_FLOW_CONTROL_WINDOW;
+        private Duration flowControlBackoff = DEFAULT_FLOW_CONTROL_BACKOFF;
 
         public final BuilderT setChannelName(String channelName) {
             this.channelName = channelName;
@@ -100,5 +127,60 @@ public abstract class ChannelDriverConfig<BuilderT extends InheritableBuilder.Bu
             this.ackCacheSize = ackCacheSize;
             return getThis();
         }
+
+        /**
+         * Remoting drivers can send the ACKs for the messages coming from the same reactor system in batches.
+         * A batch is a {@link io.reacted.core.messages.reactors.DeliveryStatusUpdates} that the reactor systems
+         * running a version without it cannot decode, and an ACK may wait up to the linger time for its batch:
+         * enable the batches once all the peers support them
+         *
+         * @param ackBatchSize max number of ACKs sent within a single message. 1 sends every ACK on its own.
+         *                     Range [1, {@link ChannelDriverConfig#MAX_ACK_BATCH_SIZE}]
+         *                     Default {@link ChannelDriverConfig#DEFAULT_ACK_BATCH_SIZE}
+         * @return this {@link Builder}
+         */
+        public final BuilderT setAckBatchSize(int ackBatchSize) {
+            this.ackBatchSize = ackBatchSize;
+            return getThis();
+        }
+
+        /**
+         * @param ackBatchLinger max time an ACK can wait for its batch to be full before being sent.
+         *                       Positive intervals only, default {@link ChannelDriverConfig#DEFAULT_ACK_BATCH_LINGER}
+         * @return this {@link Builder}
+         */
+        public final BuilderT setAckBatchLinger(Duration ackBatchLinger) {
+            this.ackBatchLinger = ackBatchLinger;
+            return getThis();
+        }
+
+        /**
+         * Remoting drivers can grant credits to the reactor systems sending messages to them. A remote reactor system
+         * consumes a credit for every message sent and, once it has none left, it asks its senders to slow down
+         * with {@link io.reacted.core.messages.reactors.DeliveryStatus#BACKPRESSURE_REQUIRED}.
+         * Credits are given back once the messages have been delivered to the local mailboxes.
+         * Reactor systems that do not grant credits are never limited by their peers.
+         *
+         * @param flowControlWindow max number of not yet delivered messages that a remote reactor system can send
+         *                          before being asked to slow down. 0 does not grant credits.
+         *                          Range [0, {@link Integer#MAX_VALUE}]
+         *                          Default {@link ChannelDriverConfig#DEFAULT_FLOW_CONTROL_WINDOW}
+         * @return this {@link Builder}
+         */
+        public final BuilderT setFlowControlWindow(int flowControlWindow) {
+            this.flowControlWindow = flowControlWindow;
+            return getThis();
+        }
+
+        /**
+         * @param flowControlBackoff how long the credit of a message is withheld when its destination mailbox
+         *                           asked for backpressure. Positive intervals only,
+         *                           default {@link ChannelDriverConfig#DEFAULT_FLOW_CONTROL_BACKOFF}
+         * @return this {@link Builder}
+         */
+        public final BuilderT setFlowControlBackoff(Duration flowControlBackoff) {
+            this.flowControlBackoff = flowControlBackoff;
+            return getThis();
+        }
     }
 }
@@ -15,7 +15,12 @@ import io.reacted.core.drivers.local.SystemLocalDrivers;
 import io.reacted.core.drivers.serviceregistries.ServiceRegistryDriver;
 import io.reacted.core.drivers.system.LocalDriver;
 import io.reacted.core.drivers.system.RemotingDriver;
+import io.reacted.core.passivation.HeapPassivationStore;
+import io.reacted.core.passivation.PassivationStore;
+import io.reacted.core.reactors.systemreactors.DeadLetter;
 import io.reacted.core.reactors.systemreactors.SystemMonitor;
+import io.reacted.core.runtime.TimingWheel;
+import io.reacted.core.serialization.CodecRegistry;
 import io.reacted.patterns.NonNullByDefault;
 import io.reacted.patterns.ObjectUtils;
 import java.time.Duration;
@@ -29,13 +34,23 @@ public class ReActorSystemConfig {
     public static final int DEFAULT_FANOUT_POOL_SIZE = 1;
     public static final LocalDriver<? extends ChannelDriverConfig<?, ?>> DEFAULT_LOCAL_DRIVER = SystemLocalDrivers.DIRECT_COMMUNICATION;
     public static final Duration SYSTEM_MONITOR_DEFAULT_REFRESH_RATE = Duration.ofSeconds(20);
+    public static final Duration SYSTEM_TIMER_DEFAULT_TICK = TimingWheel.DEFAULT_TICK;
+    public static final Duration DEAD_LETTERS_DEFAULT_SUMMARY_INTERVAL = Duration.ofSeconds(10);
+    public static final int DEAD_LETTERS_DEFAULT_SAMPLES_PER_INTERVAL = 10;
     public static final int DEFAULT_MAXIMUM_REACTORS_NUM = 1_000_000;
+    public static final int DEFAULT_REF_INTERNER_SIZE = 4096;
     private final String reactorSystemName;
     private final boolean recordedExecution;
     private final int msgFanOutPoolSize;
     private final int maximumReActorsNum;
+    private final int refInternerSize;
     private final Duration systemMonitorRefreshInterval;
+    private final Duration deadLettersSummaryInterval;
+    private final Duration systemTimerTick;
+    private final int deadLettersSamplesPerInterval;
     private final LocalDriver<? extends ChannelDriverConfig<?, ?>> localDriver;
+    private final PassivationStore passivationStore;
+    private final CodecRegistry codecRegistry;
     private final Set<DispatcherConfig> dispatchersConfigs;
     private final Set<RemotingDriver<? extends ChannelDriverConfig<?, ?>>> remotingDrivers;
     private final Set<ServiceRegistryDriver<? extends ServiceRegistryConfig.Builder<?, ?>,
@@ -50,15 +65,26 @@ public class ReActorSystemConfig {
         this.localDriver = Objects.requireNonNull(reactorSystemConfig.localDriver,
                                                   "Local delivery driver cannot be null");
         this.recordedExecution = reactorSystemConfig.shallRecordExecution;
+        this.passivationStore = Objects.requireNonNull(reactorSystemConfig.passivationStore,
+                                                       "Passivation store cannot be null");
+        this.codecRegistry = Objects.requireNonNull(reactorSystemConfig.codecRegistry,
+                                                    "Codec registry cannot be null");
         ObjectUtils.requiredInRange(reactorSystemConfig.dispatcherConfigs.size(), 0, MAX_DISPATCHER_CONFIGS,
                                     IllegalArgumentException::new);
         this.dispatchersConfigs = Set.copyOf(reactorSystemConfig.dispatcherConfigs);
         this.remotingDrivers = Set.copyOf(reactorSystemConfig.remotingDrivers);
         this.serviceRegistryDrivers = Set.copyOf(reactorSystemConfig.serviceRegistryDrivers);
         this.systemMonitorRefreshInterval = ObjectUtils.checkNonNullPositiveTimeInterval(reactorSystemConfig.systemMonitorRefreshInterval);
+        this.systemTimerTick = ObjectUtils.checkNonNullPositiveTimeInterval(reactorSystemConfig.systemTimerTick);
+        this.deadLettersSummaryInterval = ObjectUtils.checkNonNullPositiveTimeInterval(reactorSystemConfig.deadLettersSummaryInterval);
+        this.deadLettersSamplesPerInterval = ObjectUtils.requiredInRange(reactorSystemConfig.deadLettersSamplesPerInterval,
+                                                                         0, Integer.MAX_VALUE,
+                                                                         IllegalArgumentException::new);
         this.maximumReActorsNum = ObjectUtils.requiredInRange(reactorSystemConfig.expectedReActorsNum,
                                                               1, Integer.MAX_VALUE / 2,
                                                               IllegalArgumentException::new);
+        this.refInternerSize = ObjectUtils.requiredInRange(reactorSystemConfig.refInternerSize,
+                                                           0, 1 << 24, IllegalArgumentException::new);
     }
 
     public String getReActorSystemName() { return reactorSystemName; }
@@ -69,6 +95,10 @@ public class ReActorSystemConfig {
 
     public boolean isRecordedExecution() { return recordedExecution; }
 
+    public PassivationStore getPassivationStore() { return passivationStore; }
+
+    public CodecRegistry getCodecRegistry() { return codecRegistry; }
+
     public Set<DispatcherConfig> getDispatchersConfigs() { return dispatchersConfigs; }
 
     public Set<RemotingDriver<? extends ChannelDriverConfig<?, ?>>> getRemotingDrivers() { return remotingDrivers; }
@@ -80,7 +110,15 @@ public class ReActorSystemConfig {
 
     public Duration getSystemMonitorRefreshInterval() { return systemMonitorRefreshInterval; }
 
+    public Duration getDeadLettersSummaryInterval() { return deadLettersSummaryInterval; }
+
+    public Duration getSystemTimerTick() { return systemTimerTick; }
+
+    public int getDeadLettersSamplesPerInterval() { return deadLettersSamplesPerInterval; }
+
     public int getMaximumReActorsNum() { return maximumReActorsNum; }
+
+    public int getRefInternerSize() { return refInternerSize; }
     public static Builder newBuilder() { return new Builder(); }
 
     public static class Builder {
@@ -89,8 +127,14 @@ public class ReActorSystemConfig {
         private int msgFanOutPoolSize = DEFAULT_FANOUT_POOL_SIZE;
         private LocalDriver<? extends ChannelDriverConfig<?, ?>> localDriver = DEFAULT_LOCAL_DRIVER;
         private Duration systemMonitorRefreshInterval = SYSTEM_MONITOR_DEFAULT_REFRESH_RATE;
+        private Duration deadLettersSummaryInterval = DEAD_LETTERS_DEFAULT_SUMMARY_INTERVAL;
+        private Duration systemTimerTick = SYSTEM_TIMER_DEFAULT_TICK;
+        private int deadLettersSamplesPerInterval = DEAD_LETTERS_DEFAULT_SAMPLES_PER_INTERVAL;
         private boolean shallRecordExecution;
+        private PassivationStore passivationStore = new HeapPassivationStore();
+        private CodecRegistry codecRegistry = CodecRegistry.newBuilder().build();
         private int expectedReActorsNum = DEFAULT_MAXIMUM_REACTORS_NUM;
+        private int refInternerSize = DEFAULT_REF_INTERNER_SIZE;
         private final Set<DispatcherConfig> dispatcherConfigs = new HashSet<>();
         private final Set<RemotingDriver<? extends ChannelDriverConfig<?, ?>>> remotingDrivers = new HashSet<>();
         private final Set<ServiceRegistryDriver<? extends ServiceRegistryConfig.Builder<?, ?>,
@@ -148,6 +192,35 @@ public class ReActorSystemConfig {
             return this;
         }
 
+        /**
+         * Passivable reactors are serialized into this store when they are idle and read back from it
+         * when a message for them arrives. {@link HeapPassivationStore} keeps them on heap: use
+         * {@link io.reacted.core.passivation.MappedPassivationStore} to keep them off heap, in a memory-mapped file
+         *
+         * @param passivationStore store for the passivated reactors
+         *                         Default: {@link HeapPassivationStore}
+         * @return this builder
+         * @see io.reacted.core.reactorsystem.ReActorSystem#spawnPassivable
+         */
+        public final Builder setPassivationStore(PassivationStore passivationStore) {
+            this.passivationStore = passivationStore;
+            return this;
+        }
+
+        /**
+         * The remoting drivers encode the payloads that cross the wire with the codecs of this registry.
+         * Payloads without a codec are sent using the java serialization
+         *
+         * @param codecRegistry registry with the codecs for the user payloads
+         *                      Default: a registry with the framework codecs and the ones declared as
+         *                      {@link java.util.ServiceLoader} services
+         * @return this builder
+         */
+        public final Builder setCodecRegistry(CodecRegistry codecRegistry) {
+            this.codecRegistry = codecRegistry;
+            return this;
+        }
+
         /**
          * {@link SystemMonitor} is a system reactor that collects statistics about the state of the system and
          * propagates them among subscribers
@@ -160,6 +233,45 @@ public class ReActorSystemConfig {
             return this;
         }
 
+        /**
+         * The system timer is a {@link TimingWheel} used for the framework timeouts and reschedules.
+         * It is available for user timers through {@link io.reacted.core.reactorsystem.ReActorSystem#getSystemTimer()}
+         *
+         * @param tick Granularity of the system timer. A timer expires on the first tick after its delay
+         *             Default {@link ReActorSystemConfig#SYSTEM_TIMER_DEFAULT_TICK}
+         * @return this builder
+         */
+        public final Builder setSystemTimerTick(Duration tick) {
+            this.systemTimerTick = tick;
+            return this;
+        }
+
+        /**
+         * {@link DeadLetter} aggregates the undelivered messages and periodically logs and propagates
+         * among subscribers a {@link io.reacted.core.messages.reactors.DeadLettersSummary}: counters with
+         * a bounded sample of the messages, not the undelivered messages themselves
+         *
+         * @param summaryInterval Period after which a summary of the undelivered messages should be produced
+         *                        Default {@link ReActorSystemConfig#DEAD_LETTERS_DEFAULT_SUMMARY_INTERVAL}
+         * @return this builder
+         */
+        public final Builder setDeadLettersSummaryInterval(Duration summaryInterval) {
+            this.deadLettersSummaryInterval = summaryInterval;
+            return this;
+        }
+
+        /**
+         * @param samplesPerInterval How many undelivered messages should be individually logged and
+         *                           reported within a summary interval. Any other undelivered message
+         *                           is just accounted. Positive or zero.
+         *                           Default {@link ReActorSystemConfig#DEAD_LETTERS_DEFAULT_SAMPLES_PER_INTERVAL}
+         * @return this builder
+         */
+        public final Builder setDeadLettersSamplesPerInterval(int samplesPerInterval) {
+            this.deadLettersSamplesPerInterval = samplesPerInterval;
+            return this;
+        }
+
         /**
          * @param dispatcherConfig new dispatcher config
          * @return this builder
@@ -205,6 +317,19 @@ public class ReActorSystemConfig {
             return this;
         }
 
+        /**
+         * The references decoded by the drivers are resolved to canonical instances, so that the sender and
+         * the destination of the received messages are not allocated again for every message
+         *
+         * @param refInternerSize How many decoded references should be cached. Range [0, 2^24], 0 disables the cache.
+         *                        Default {@link ReActorSystemConfig#DEFAULT_REF_INTERNER_SIZE}
+         * @return this builder
+         */
+        public final Builder setRefInternerSize(int refInternerSize) {
+            this.refInternerSize = refInternerSize;
+            return this;
+        }
+
         /**
          * @throws IllegalArgumentException if any of the supplied arguments do not comply with the provided boundaries
          * @return a valid {@link ReActorSystemConfig}
@@ -13,6 +13,7 @@ import io.reacted.core.config.drivers.DirectCommunicationConfig;
 import io.reacted.core.drivers.system.LocalDriver;
 import io.reacted.core.messages.AckingPolicy;
 import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.core.reactorsystem.ReActorRef;
@@ -65,10 +66,22 @@ public class DirectCommunicationDriver extends LocalDriver<DirectCommunicationCo
     @Override
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
-                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message) {
+                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, long deadline,
+                PayloadT message) {
         return destinationCtx.isStop()
                ? DeliveryStatus.NOT_DELIVERED
                : localDeliver(destinationCtx, new Message(source, destination, seqNum, reActorSystemId,
-                                                          ackingPolicy, message));
+                                                          ackingPolicy, deadline, message));
+    }
+
+    @Override
+    public DeliveryStatus sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
+                                      long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy,
+                                      PrimitiveType primitiveType, long primitivePayload) {
+        return destinationCtx.isStop()
+               ? DeliveryStatus.NOT_DELIVERED
+               : localDeliver(destinationCtx, new Message(source, destination, seqNum, reActorSystemId,
+                                                          ackingPolicy, Message.NO_DEADLINE, primitiveType,
+                                                          primitivePayload));
     }
 }
@@ -78,10 +78,12 @@ public class DirectCommunicationLoggerDriver extends LocalDriver<DirectCommunica
     @Override
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination, long seqNum,
-                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message) {
+                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, long deadline,
+                PayloadT message) {
         logFile.println(message);
         logFile.flush();
         return SystemLocalDrivers.DIRECT_COMMUNICATION.sendMessage(source, destinationCtx, destination,
-                                                                   seqNum, reActorSystemId, ackingPolicy, message);
+                                                                   seqNum, reActorSystemId, ackingPolicy, deadline,
+                                                                   message);
     }
 }
@@ -81,7 +81,7 @@ public class DirectCommunicationSimplifiedLoggerDriver extends
     @Override
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination, long seqNum, ReActorSystemId reActorSystemId,
-                AckingPolicy ackingPolicy, PayloadT message) {
+                AckingPolicy ackingPolicy, long deadline, PayloadT message) {
         synchronized (logFile) {
             logFile.printf("[%s] SENDER: %s\t\tDESTINATION: %s\t\t SEQNUM:%d\t\tPAYLOAD TYPE: %s%nPAYLOAD: %s%n%n",
                            Instant.now(),
@@ -94,6 +94,6 @@ public class DirectCommunicationSimplifiedLoggerDriver extends
         }
         return SystemLocalDrivers.DIRECT_COMMUNICATION.sendMessage(src, destinationCtx, destination,
                                                                    seqNum, reActorSystemId,
-                                                                   ackingPolicy, message);
+                                                                   ackingPolicy, deadline, message);
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.drivers.system;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.messages.reactors.DeliveryStatusUpdates;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.Try;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the ACKs that a remoting driver has to send and sends them as {@link DeliveryStatusUpdates}, one for
+ * every reactor system that generated the acknowledged messages. A batch is sent when it reaches the max size
+ * or when the linger time after its first ACK is over, whatever comes first
+ */
+@NonNullByDefault
+final class DeliveryAcksBatcher {
+    private final Map<ReActorSystemId, AcksBatch> batches = new ConcurrentHashMap<>();
+    private final ReActorSystem localReActorSystem;
+    private final ChannelId gateChannelId;
+    private final int maxBatchSize;
+    private final Duration maxLinger;
+
+    DeliveryAcksBatcher(ReActorSystem localReActorSystem, ChannelId gateChannelId, int maxBatchSize,
+                        Duration maxLinger) {
+        this.localReActorSystem = localReActorSystem;
+        this.gateChannelId = gateChannelId;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLinger = maxLinger;
+    }
+
+    /**
+     * @return {@link DeliveryStatus#SENT} if the ACK has been queued or sent within a batch,
+     * {@link DeliveryStatus#NOT_SENT} if the batch that contained it could not be sent
+     */
+    DeliveryStatus ack(DeliveryStatus deliveryStatus, long msgSeqNum, ReActorSystemId fromReActorSystemId) {
+        var batch = batches.computeIfAbsent(fromReActorSystemId, AcksBatch::new);
+        var fullBatch = batch.add(deliveryStatus, msgSeqNum);
+        return fullBatch == null ? DeliveryStatus.SENT : send(fromReActorSystemId, fullBatch);
+    }
+
+    /**
+     * Sends all the pending ACKs, without waiting for their batches to be full
+     */
+    void flush() { batches.values().forEach(this::flush); }
+
+    private void flush(AcksBatch batch) {
+        var pendingBatch = batch.drain();
+        if (pendingBatch != null) {
+            var sendResult = send(batch.fromReActorSystemId, pendingBatch);
+            if (sendResult.isNotSent()) {
+                localReActorSystem.logError("Unable to send acks {}", pendingBatch);
+            }
+        }
+    }
+
+    private DeliveryStatus send(ReActorSystemId fromReActorSystemId, DeliveryStatusUpdates acks) {
+        return ReActorSystemDriver.sendToGeneratingReActorSystem(localReActorSystem, gateChannelId,
+                                                                 fromReActorSystemId, acks);
+    }
+
+    private void scheduleFlush(AcksBatch batch) {
+        //A batch is sent by the fan out pool, because a driver send may block the timer thread
+        Try.of(() -> localReActorSystem.getSystemTimer()
+                                       .schedule(() -> Try.ofRunnable(() -> localReActorSystem.getMsgFanOutPool()
+                                                                                              .execute(() -> flush(batch))),
+                                                 maxLinger))
+           .ifError(error -> flush(batch));
+    }
+
+    private final class AcksBatch {
+        private final ReActorSystemId fromReActorSystemId;
+        private long[] delivered = new long[16];
+        private int deliveredNum;
+        private long[] otherMsgSeqNums = new long[0];
+        private DeliveryStatus[] otherDeliveryStatuses = new DeliveryStatus[0];
+        private int othersNum;
+
+        private AcksBatch(ReActorSystemId fromReActorSystemId) { this.fromReActorSystemId = fromReActorSystemId; }
+
+        /* Returns the batch to be sent if this ACK filled it */
+        @Nullable
+        private DeliveryStatusUpdates add(DeliveryStatus deliveryStatus, long msgSeqNum) {
+            boolean isNewBatch;
+            synchronized (this) {
+                isNewBatch = deliveredNum + othersNum == 0;
+                if (deliveryStatus == DeliveryStatus.DELIVERED) {
+                    if (deliveredNum == delivered.length) {
+                        delivered = Arrays.copyOf(delivered, deliveredNum * 2);
+                    }
+                    delivered[deliveredNum++] = msgSeqNum;
+                } else {
+                    if (othersNum == otherMsgSeqNums.length) {
+                        otherMsgSeqNums = Arrays.copyOf(otherMsgSeqNums, Math.max(4, othersNum * 2));
+                        otherDeliveryStatuses = Arrays.copyOf(otherDeliveryStatuses, otherMsgSeqNums.length);
+                    }
+                    otherMsgSeqNums[othersNum] = msgSeqNum;
+                    otherDeliveryStatuses[othersNum++] = deliveryStatus;
+                }
+                if (deliveredNum + othersNum >= maxBatchSize) {
+                    return drain();
+                }
+            }
+            if (isNewBatch) {
+                scheduleFlush(this);
+            }
+            return null;
+        }
+
+        @Nullable
+        private synchronized DeliveryStatusUpdates drain() {
+            if (deliveredNum + othersNum == 0) {
+                return null;
+            }
+            var acks = new DeliveryStatusUpdates(toRanges(delivered, deliveredNum),
+                                                 Arrays.copyOf(otherMsgSeqNums, othersNum),
+                                                 Arrays.copyOf(otherDeliveryStatuses, othersNum),
+                                                 localReActorSystem.getLocalReActorSystemId(), gateChannelId);
+            this.deliveredNum = 0;
+            this.othersNum = 0;
+            return acks;
+        }
+    }
+
+    private static long[] toRanges(long[] msgSeqNums, int msgSeqNumsNum) {
+        Arrays.sort(msgSeqNums, 0, msgSeqNumsNum);
+        long[] ranges = new long[2 * msgSeqNumsNum];
+        int rangesNum = 0;
+        for (int msgSeqNum = 0; msgSeqNum < msgSeqNumsNum; msgSeqNum++) {
+            long current = msgSeqNums[msgSeqNum];
+            if (rangesNum > 0 && ranges[rangesNum - 1] + 1 == current) {
+                ranges[rangesNum - 1] = current;
+            } else if (rangesNum == 0 || ranges[rangesNum - 1] != current) {
+                ranges[rangesNum++] = current;
+                ranges[rangesNum++] = current;
+            }
+        }
+        return Arrays.copyOf(ranges, rangesNum);
+    }
+}
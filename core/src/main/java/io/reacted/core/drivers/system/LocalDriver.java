@@ -69,17 +69,25 @@ public abstract class LocalDriver<ConfigT extends ChannelDriverConfig<?, ConfigT
      @Override
      protected final <PayloadT extends Serializable> void
      offerMessage(ReActorRef source, ReActorRef destination, long sequenceNumber, ReActorSystemId fromReActorSystemId,
-                  AckingPolicy ackingPolicy, PayloadT payload) {
+                  AckingPolicy ackingPolicy, long deadline, PayloadT payload) {
           ReActorId destinationId = destination.getReActorId();
           ReActorContext destinationCtx = getLocalReActorSystem().getReActorCtx(destinationId);
           DeliveryStatus deliveryStatus;
 
           if (destinationCtx != null) {
                deliveryStatus = syncForwardMessageToLocalActor(source, destinationCtx, destination, sequenceNumber,
-                                                               fromReActorSystemId, ackingPolicy, payload);
+                                                               fromReActorSystemId, ackingPolicy, deadline, payload);
+               if (!deliveryStatus.isDelivered() &&
+                   getLocalReActorSystem().offerToPassivated(source, destination, deadline, payload)) {
+                    //Stopping for passivation, but still registered
+                    deliveryStatus = DeliveryStatus.DELIVERED;
+               }
+          } else if (getLocalReActorSystem().completePendingAsk(source, destination, payload) ||
+                     getLocalReActorSystem().offerToPassivated(source, destination, deadline, payload)) {
+               deliveryStatus = DeliveryStatus.DELIVERED;
           } else {
                deliveryStatus = DeliveryStatus.NOT_DELIVERED;
-               getLocalReActorSystem().toDeadLetters(source, payload);
+               getLocalReActorSystem().toDeadLetters(source, destination, payload);
           }
 
           if (ackingPolicy.isAckRequired()) {
@@ -95,12 +103,24 @@ public abstract class LocalDriver<ConfigT extends ChannelDriverConfig<?, ConfigT
      syncForwardMessageToLocalActor(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
                                     long sequenceNumber, ReActorSystemId fromReActorSystemId, AckingPolicy ackingPolicy,
                                     PayloadT payload) {
+          return syncForwardMessageToLocalActor(source, destinationCtx, destination, sequenceNumber,
+                                                fromReActorSystemId, ackingPolicy, Message.NO_DEADLINE, payload);
+     }
+     protected static <PayloadT extends Serializable> DeliveryStatus
+     syncForwardMessageToLocalActor(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
+                                    long sequenceNumber, ReActorSystemId fromReActorSystemId, AckingPolicy ackingPolicy,
+                                    long deadline, PayloadT payload) {
           return SystemLocalDrivers.DIRECT_COMMUNICATION
                                    .sendMessage(source, destinationCtx, destination, sequenceNumber,
-                                                fromReActorSystemId, ackingPolicy,
+                                                fromReActorSystemId, ackingPolicy, deadline,
                                                 Objects.requireNonNull(payload, "Cannot forward a null message"));
      }
      protected static DeliveryStatus localDeliver(ReActorContext destination, Message message) {
+          if (message.isExpired()) {
+               //Expired on arrival: there is no point in wasting a mailbox slot for it
+               destination.getReActorSystem().toExpiredMessages(message);
+               return DeliveryStatus.NOT_DELIVERED;
+          }
           DeliveryStatus deliverOperation = destination.getMbox().deliver(message);
           if (deliverOperation.isRescheduleRequired() ) {
                destination.reschedule();
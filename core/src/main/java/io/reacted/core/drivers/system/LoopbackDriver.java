@@ -11,6 +11,8 @@ package io.reacted.core.drivers.system;
 import io.reacted.core.config.ChannelId;
 import io.reacted.core.config.drivers.ChannelDriverConfig;
 import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.reactors.ReActorId;
 import io.reacted.core.reactorsystem.ReActorContext;
@@ -24,11 +26,17 @@ import io.reacted.patterns.UnChecked.TriConsumer;
 
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 @NonNullByDefault
 public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> extends ReActorSystemDriver<ConfigT> {
@@ -55,16 +63,37 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
     @Override
     public <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef source, ReActorRef destination,
                                                                   @Nullable TriConsumer<ReActorId, Serializable, ReActorRef> toSubscribers, PayloadT payload){
+        return publish(source, destination, toSubscribers, Message.NO_DEADLINE, payload);
+    }
+
+    @Override
+    public <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef src, ReActorRef dst, long deadline,
+                                                                  PayloadT payload) {
+        return publish(src, dst, propagateToSubscribers, deadline, payload);
+    }
+
+    public <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef source, ReActorRef destination,
+                                                                  @Nullable TriConsumer<ReActorId, Serializable, ReActorRef> toSubscribers,
+                                                                  long deadline, PayloadT payload) {
         ReActorContext dstCtx = localReActorSystem.getReActorCtx(destination.getReActorId());
         DeliveryStatus tellResult;
         long seqNum = localReActorSystem.getNewSeqNum();
         if (dstCtx != null) {
 
             tellResult = localDriver.sendMessage(source, dstCtx, destination, seqNum, localReActorSystem.getLocalReActorSystemId(),
-                                                 AckingPolicy.NONE, payload);
+                                                 AckingPolicy.NONE, deadline, payload);
+            if (!tellResult.isDelivered() &&
+                localReActorSystem.offerToPassivated(source, destination, deadline, payload)) {
+                //A passivable reactor that is being passivated
+                tellResult = DeliveryStatus.DELIVERED;
+            }
             if (toSubscribers != null) {
                 toSubscribers.accept(destination.getReActorId(), payload, source);
             }
+        } else if (localReActorSystem.completePendingAsk(source, destination, payload)) {
+            tellResult = DeliveryStatus.DELIVERED;
+        } else if (localReActorSystem.offerToPassivated(source, destination, deadline, payload)) {
+            tellResult = DeliveryStatus.DELIVERED;
         } else {
             tellResult = DeliveryStatus.NOT_SENT;
 
@@ -73,7 +102,7 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
                 LOGGER.error("Critic! Deadletters not found!? Source {} Destination {} Message {}",
                              source, destination, payload);
             } else {
-                localReActorSystem.toDeadLetters(source, payload);
+                localReActorSystem.toDeadLetters(source, destination, payload);
             }
         }
         return tellResult;
@@ -84,6 +113,28 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
         return publish(src, dst, DO_NOT_PROPAGATE, payload);
     }
 
+    @Override
+    public <PayloadT extends Serializable> DeliveryStatus tell(ReActorRef src, ReActorRef dst, long deadline,
+                                                               PayloadT payload) {
+        return publish(src, dst, DO_NOT_PROPAGATE, deadline, payload);
+    }
+
+    @Override
+    public DeliveryStatus tell(ReActorRef src, ReActorRef dst, PrimitiveType primitiveType, long primitivePayload) {
+        ReActorContext dstCtx = localReActorSystem.getReActorCtx(dst.getReActorId());
+        if (dstCtx == null) {
+            //Pending asks and DeadLetters want a boxed payload anyway
+            return tell(src, dst, primitiveType.box(primitivePayload));
+        }
+        DeliveryStatus tellResult = localDriver.sendMessage(src, dstCtx, dst, localReActorSystem.getNewSeqNum(),
+                                                            localReActorSystem.getLocalReActorSystemId(),
+                                                            AckingPolicy.NONE, primitiveType, primitivePayload);
+        return !tellResult.isDelivered() &&
+               localReActorSystem.offerToPassivated(src, dst, Message.NO_DEADLINE, primitiveType.box(primitivePayload))
+               ? DeliveryStatus.DELIVERED
+               : tellResult;
+    }
+
     @Override
     public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> apublish(ReActorRef src, ReActorRef dst, AckingPolicy ackingPolicy, PayloadT payload) {
         return apublish(src, dst, ackingPolicy, propagateToSubscribers, payload);
@@ -97,6 +148,19 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
     @Override
     public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> apublish(ReActorRef source, ReActorRef destnation, AckingPolicy ackingPolicy,
                                                                                     TriConsumer<ReActorId, Serializable, ReActorRef> toSubscribers, PayloadT payload) {
+        return apublish(source, destnation, ackingPolicy, toSubscribers, Message.NO_DEADLINE, payload);
+    }
+
+    @Override
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> apublish(ReActorRef src, ReActorRef dst,
+                                                                                    AckingPolicy ackingPolicy,
+                                                                                    long deadline, PayloadT payload) {
+        return apublish(src, dst, ackingPolicy, propagateToSubscribers, deadline, payload);
+    }
+
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> apublish(ReActorRef source, ReActorRef destnation, AckingPolicy ackingPolicy,
+                                                                                    @Nullable TriConsumer<ReActorId, Serializable, ReActorRef> toSubscribers,
+                                                                                    long deadline, PayloadT payload) {
         ReActorContext destinationContext = localReActorSystem.getReActorCtx(destnation.getReActorId());
         CompletionStage<DeliveryStatus> tellResult;
         long seqNum = localReActorSystem.getNewSeqNum();
@@ -104,16 +168,31 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
             if (ackingPolicy.isAckRequired()) {
                 tellResult = localDriver.sendAsyncMessage(source, destinationContext, destnation, seqNum,
                                                           localReActorSystem.getLocalReActorSystemId(),
-                                                          ackingPolicy, payload);
-
+                                                          ackingPolicy, deadline, payload)
+                                        .thenApply(deliveryStatus -> !deliveryStatus.isDelivered() &&
+                                                                     localReActorSystem.offerToPassivated(source, destnation,
+                                                                                                          deadline, payload)
+                                                                     ? DeliveryStatus.DELIVERED
+                                                                     : deliveryStatus);
             } else {
-                tellResult = DELIVERY_RESULT_CACHE[localDriver.sendMessage(source, destinationContext, destnation, seqNum,
-                                                                           localReActorSystem.getLocalReActorSystemId(),
-                                                                           ackingPolicy, payload).ordinal()];
+                DeliveryStatus deliveryStatus = localDriver.sendMessage(source, destinationContext, destnation, seqNum,
+                                                                        localReActorSystem.getLocalReActorSystemId(),
+                                                                        ackingPolicy, deadline, payload);
+                if (!deliveryStatus.isDelivered() &&
+                    localReActorSystem.offerToPassivated(source, destnation, deadline, payload)) {
+                    //A passivable reactor that is being passivated
+                    deliveryStatus = DeliveryStatus.DELIVERED;
+                }
+                tellResult = DELIVERY_RESULT_CACHE[deliveryStatus.ordinal()];
             }
 
-            toSubscribers.accept(destnation.getReActorId(), payload, source);
+            if (toSubscribers != null) {
+                toSubscribers.accept(destnation.getReActorId(), payload, source);
+            }
 
+        } else if (localReActorSystem.completePendingAsk(source, destnation, payload) ||
+                   localReActorSystem.offerToPassivated(source, destnation, deadline, payload)) {
+            tellResult = DELIVERY_RESULT_CACHE[DeliveryStatus.DELIVERED.ordinal()];
         } else {
             tellResult = DELIVERY_RESULT_CACHE[DeliveryStatus.NOT_DELIVERED.ordinal()];
             if (localReActorSystem.isSystemDeadLetters(destnation)) {
@@ -121,12 +200,41 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
                 LOGGER.error("Critic! Deadletters not found!? Source {} Destination {} Message {}",
                              source, destnation, payload);
             } else {
-                localReActorSystem.toDeadLetters(source, payload);
+                localReActorSystem.toDeadLetters(source, destnation, payload);
             }
         }
         return tellResult;
     }
 
+    @Override
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> tellWhenReady(ReActorRef src,
+                                                                                         ReActorRef dst,
+                                                                                         Duration timeout,
+                                                                                         PayloadT payload) {
+        ReActorContext dstCtx = localReActorSystem.getReActorCtx(dst.getReActorId());
+        if (dstCtx == null) {
+            return DELIVERY_RESULT_CACHE[tell(src, dst, payload).ordinal()];
+        }
+        var pendingDelivery = new PendingDelivery(() -> localDriver.sendMessage(src, dstCtx, dst,
+                                                                                localReActorSystem.getNewSeqNum(),
+                                                                                localReActorSystem.getLocalReActorSystemId(),
+                                                                                AckingPolicy.NONE, payload),
+                                                  dstCtx);
+        if (pendingDelivery.getAsBoolean()) {
+            return pendingDelivery.deliveryResult;
+        }
+        dstCtx.whenMailboxHasCapacity(pendingDelivery);
+        //The destination may have drained its mailbox before our registration: check again to avoid lost wake ups
+        dstCtx.notifyMailboxCapacity();
+        if (!pendingDelivery.deliveryResult.isDone()) {
+            var timeoutTask = localReActorSystem.getSystemTimer()
+                                                .schedule(pendingDelivery::expire, timeout.toNanos(),
+                                                          TimeUnit.NANOSECONDS);
+            pendingDelivery.deliveryResult.whenComplete((status, error) -> timeoutTask.cancel(false));
+        }
+        return pendingDelivery.deliveryResult;
+    }
+
     @Override
     public ReActorSystem getLocalReActorSystem() { return localReActorSystem; }
 
@@ -159,7 +267,7 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
     @Override
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination, long seqNum,
-                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message) {
+                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, long deadline, PayloadT message) {
         throw new UnsupportedOperationException();
     }
     @Override
@@ -178,6 +286,53 @@ public class LoopbackDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>> ext
         }
     }
 
+    /*
+     * A delivery waiting for some room in the destination mailbox. Attempts may be triggered concurrently
+     * by the dispatchers releasing the destination, so they are serialized
+     */
+    private static final class PendingDelivery implements BooleanSupplier {
+        private final CompletableFuture<DeliveryStatus> deliveryResult = new CompletableFuture<>();
+        private final Supplier<DeliveryStatus> deliveryAttempt;
+        private final ReActorContext destinationCtx;
+
+        private PendingDelivery(Supplier<DeliveryStatus> deliveryAttempt, ReActorContext destinationCtx) {
+            this.deliveryAttempt = deliveryAttempt;
+            this.destinationCtx = destinationCtx;
+        }
+
+        /**
+         * @return true if this delivery does not need to be attempted again
+         */
+        @Override
+        public synchronized boolean getAsBoolean() {
+            if (deliveryResult.isDone()) {
+                return true;
+            }
+            if (destinationCtx.isStop()) {
+                return deliveryResult.complete(DeliveryStatus.NOT_DELIVERED);
+            }
+            if (!destinationCtx.getMbox().hasCapacity()) {
+                return false;
+            }
+            DeliveryStatus deliveryStatus = deliveryAttempt.get();
+            if (deliveryStatus.isNotDelivered() && destinationCtx.getMbox().isFull()) {
+                //Someone else took the room we saw
+                return false;
+            }
+            deliveryResult.complete(deliveryStatus);
+            return true;
+        }
+
+        private void expire() {
+            synchronized (this) {
+                deliveryResult.completeExceptionally(new TimeoutException("Destination mailbox did not accept " +
+                                                                          "the message in time"));
+            }
+            //Under sustained backpressure expired waiters would pile up until the next capacity signal
+            destinationCtx.removeMailboxCapacityWaiter(this);
+        }
+    }
+
     private void propagateToSubscribers(LocalDriver<ConfigT> localDriver, List<ReActorContext> subscribers,
                                         ReActorId originalDestination, ReActorSystem localReActorSystem,
                                         ReActorRef source, Serializable payload) {
@@ -117,7 +117,7 @@ public class NullDriver extends ReActorSystemDriver<NullDriverConfig> {
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef source, ReActorContext destinationCtx,
                 ReActorRef destination, long seqNum, ReActorSystemId reActorSystemId,
-                AckingPolicy ackingPolicy, PayloadT message) {
+                AckingPolicy ackingPolicy, long deadline, PayloadT message) {
         throw new NoRouteToReActorSystem();
     }
     @Override
@@ -75,7 +75,7 @@ public class NullLocalDriver extends LocalDriver<NullLocalDriverConfig> {
     public <PayloadT extends Serializable>
     DeliveryStatus sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
                                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy,
-                               PayloadT message) {
+                               long deadline, PayloadT message) {
         throw new UnsupportedOperationException();
     }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.drivers.system;
+
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Triggers of the messages waiting for an ACK, indexed by message sequence number.
+ * Sequence numbers are kept in open addressing tables of primitive longs, split in segments to reduce
+ * contention between the threads sending messages and the ones receiving the ACKs. A trigger that is not
+ * removed within the timeout is completed with a {@link TimeoutException} by {@link #expire()}
+ */
+@NonNullByDefault
+final class PendingAckTriggers {
+    private static final int SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    /* A hint is not allowed to make the driver allocate a huge table before sending anything */
+    private static final int MAX_INITIAL_SEGMENT_CAPACITY = 1 << 12;
+    private final Segment[] segments;
+    private final long timeoutNanos;
+    /* Expirations are compared as differences, that would overflow for timeouts this long */
+    private final boolean isExpiring;
+    private final LongSupplier nanoClock;
+
+    PendingAckTriggers(int expectedSize, Duration timeout) {
+        this(expectedSize, timeout, System::nanoTime);
+    }
+
+    PendingAckTriggers(int expectedSize, Duration timeout, LongSupplier nanoClock) {
+        int segmentCapacity = Math.min(Math.max(expectedSize / SEGMENTS, MIN_SEGMENT_CAPACITY),
+                                       MAX_INITIAL_SEGMENT_CAPACITY);
+        this.segments = new Segment[SEGMENTS];
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            segments[segment] = new Segment(segmentCapacity);
+        }
+        this.timeoutNanos = timeout.toNanos();
+        this.isExpiring = timeoutNanos < Long.MAX_VALUE / 2;
+        this.nanoClock = nanoClock;
+    }
+
+    CompletableFuture<DeliveryStatus> add(long msgSeqNum) {
+        var trigger = new CompletableFuture<DeliveryStatus>();
+        getSegment(msgSeqNum).put(msgSeqNum, trigger, isExpiring ? nanoClock.getAsLong() + timeoutNanos : 0);
+        return trigger;
+    }
+
+    @Nullable
+    CompletableFuture<DeliveryStatus> remove(long msgSeqNum) {
+        return getSegment(msgSeqNum).remove(msgSeqNum);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes the triggers that have not been removed within the timeout and completes them exceptionally
+     */
+    void expire() {
+        if (!isExpiring) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        List<CompletableFuture<DeliveryStatus>> expired = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.removeExpired(now, expired);
+        }
+        //Out of the segment locks: completing a trigger runs its dependent stages
+        expired.forEach(trigger -> trigger.completeExceptionally(new TimeoutException()));
+    }
+
+    private Segment getSegment(long msgSeqNum) {
+        return segments[(int)mix(msgSeqNum) & (SEGMENTS - 1)];
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /* Linear probing with backward shift deletion, so there are no tombstones */
+    private static final class Segment {
+        private long[] keys;
+        private long[] expirations;
+        private CompletableFuture<?>[] triggers;
+        private int size;
+
+        private Segment(int capacity) { allocate(tableSizeFor(capacity)); }
+
+        private synchronized void put(long key, CompletableFuture<DeliveryStatus> trigger, long expiration) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int slot = findSlot(key);
+            if (triggers[slot] == null) {
+                size++;
+            }
+            keys[slot] = key;
+            expirations[slot] = expiration;
+            triggers[slot] = trigger;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        private synchronized CompletableFuture<DeliveryStatus> remove(long key) {
+            int slot = findSlot(key);
+            var trigger = (CompletableFuture<DeliveryStatus>)triggers[slot];
+            if (trigger != null) {
+                removeSlot(slot);
+            }
+            return trigger;
+        }
+
+        private synchronized int size() { return size; }
+
+        @SuppressWarnings("unchecked")
+        private synchronized void removeExpired(long now, List<CompletableFuture<DeliveryStatus>> expired) {
+            int slot = 0;
+            while (slot < keys.length) {
+                var trigger = triggers[slot];
+                if (trigger != null && expirations[slot] - now <= 0) {
+                    expired.add((CompletableFuture<DeliveryStatus>)trigger);
+                    //The backward shift may move an unchecked entry into this slot, so check it again
+                    removeSlot(slot);
+                } else {
+                    slot++;
+                }
+            }
+        }
+
+        private int findSlot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int)(mix(key) >>> 4) & mask;
+            while (triggers[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void removeSlot(int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (triggers[next] != null) {
+                int home = (int)(mix(keys[next]) >>> 4) & mask;
+                //Move the entry back only if the hole is between its home slot and where it is now
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    expirations[hole] = expirations[next];
+                    triggers[hole] = triggers[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            triggers[hole] = null;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldExpirations = expirations;
+            CompletableFuture<?>[] oldTriggers = triggers;
+            allocate(capacity);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldTriggers[slot] != null) {
+                    int newSlot = findSlot(oldKeys[slot]);
+                    keys[newSlot] = oldKeys[slot];
+                    expirations[newSlot] = oldExpirations[slot];
+                    triggers[newSlot] = oldTriggers[slot];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            this.keys = new long[capacity];
+            this.expirations = new long[capacity];
+            this.triggers = new CompletableFuture<?>[capacity];
+        }
+
+        private static int tableSizeFor(int capacity) {
+            return Integer.highestOneBit(capacity - 1) << 1;
+        }
+    }
+}
@@ -8,16 +8,13 @@
 
 package io.reacted.core.drivers.system;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.reacted.core.config.ChannelId;
 import io.reacted.core.config.drivers.ChannelDriverConfig;
 import io.reacted.core.drivers.DriverCtx;
 import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.messages.reactors.DeliveryStatusUpdate;
 import io.reacted.core.reactors.ReActorId;
@@ -36,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Properties;
@@ -45,7 +43,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 @NonNullByDefault
@@ -59,9 +56,10 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
                                                                                            .map(CompletableFuture::completedStage)
                                                                                            .toArray(CompletionStage[]::new);
     private final ConfigT driverConfig;
-    private final Cache<Long, CompletableFuture<DeliveryStatus>> pendingAcksTriggers;
+    private final PendingAckTriggers pendingAcksTriggers;
     @Nullable
-    private ScheduledFuture<?> cacheMaintenanceTask;
+    private volatile ScheduledFuture<?> cacheMaintenanceTask;
+    private volatile boolean isCacheMaintenanceStopped;
     @Nullable
     private ReActorSystem localReActorSystem;
     @Nullable
@@ -70,14 +68,8 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
     protected ReActorSystemDriver(ConfigT config) {
         this.driverConfig = Objects.requireNonNull(config,
                                                    "Driver config cannot be null");
-        this.pendingAcksTriggers = CacheBuilder.newBuilder()
-                                               .expireAfterWrite(config.getApublishAutomaticFailureTimeout()
-                                                                       .toMillis(), TimeUnit.MILLISECONDS)
-                                               .initialCapacity(config.getAckCacheSize())
-                                               .removalListener((RemovalListener<Long,
-                                                                 CompletableFuture<DeliveryStatus>>)
-                                                                        ReActorSystemDriver::expireOnTimeout)
-                                               .build();
+        this.pendingAcksTriggers = new PendingAckTriggers(config.getAckCacheSize(),
+                                                          config.getApublishAutomaticFailureTimeout());
     }
 
     public abstract void initDriverLoop(ReActorSystem localReActorSystem) throws Exception;
@@ -88,15 +80,48 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
     /**
      * @throws io.reacted.core.exceptions.DeliveryException when a driver specific delivery error occurs
      */
+    public <PayloadT extends Serializable> DeliveryStatus
+    sendMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination, long seqNum,
+                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message) {
+        return sendMessage(src, destinationCtx, destination, seqNum, reActorSystemId, ackingPolicy,
+                           Message.NO_DEADLINE, message);
+    }
+    /**
+     * @param deadline epoch millis after which the message should be discarded instead of being processed.
+     *                 {@link Message#NO_DEADLINE} if the message never expires
+     * @throws io.reacted.core.exceptions.DeliveryException when a driver specific delivery error occurs
+     */
     public abstract <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination, long seqNum,
-                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message);
+                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, long deadline, PayloadT message);
+    /**
+     * Delivers a primitive payload without boxing it, if the driver supports it
+     *
+     * @throws io.reacted.core.exceptions.DeliveryException when a driver specific delivery error occurs
+     */
+    public DeliveryStatus sendMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination,
+                                      long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy,
+                                      PrimitiveType primitiveType, long primitivePayload) {
+        return sendMessage(src, destinationCtx, destination, seqNum, reActorSystemId, ackingPolicy,
+                           primitiveType.box(primitivePayload));
+    }
     public <PayloadT extends Serializable> CompletionStage<DeliveryStatus>
     sendAsyncMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination,
                      long seqNum, ReActorSystemId reActorSystemId,
                      AckingPolicy ackingPolicy, PayloadT message) {
+        return sendAsyncMessage(src, destinationCtx, destination, seqNum, reActorSystemId, ackingPolicy,
+                                Message.NO_DEADLINE, message);
+    }
+    /**
+     * @param deadline epoch millis after which the message should be discarded instead of being processed.
+     *                 {@link Message#NO_DEADLINE} if the message never expires
+     */
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus>
+    sendAsyncMessage(ReActorRef src, ReActorContext destinationCtx, ReActorRef destination,
+                     long seqNum, ReActorSystemId reActorSystemId,
+                     AckingPolicy ackingPolicy, long deadline, PayloadT message) {
         return DELIVERY_RESULT_CACHE[sendMessage(src, destinationCtx, destination, seqNum, reActorSystemId,
-                                                 ackingPolicy, message).ordinal()];
+                                                 ackingPolicy, deadline, message).ordinal()];
     }
     public ConfigT getDriverConfig() { return driverConfig; }
 
@@ -142,6 +167,80 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
      * baseline for this method is providing delivery guarantee to the local driver bus
      */
     public abstract <PayloadT extends Serializable> DeliveryStatus tell(ReActorRef src, ReActorRef dst, PayloadT message);
+
+    /**
+     * Sends a message through this driver. If the message cannot be processed before the provided deadline,
+     * it will be discarded
+     *
+     * @param src source of the message
+     * @param dst destination of the message
+     * @param deadline epoch millis after which the message should be discarded instead of being processed
+     * @param message payload
+     * @param <PayloadT> any Serializable object
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. An already expired message
+     * is never sent
+     */
+    public <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef src, ReActorRef dst, long deadline,
+                                                                  PayloadT message) {
+        return Message.isExpired(deadline) ? DeliveryStatus.NOT_SENT : publish(src, dst, message);
+    }
+
+    /**
+     * Sends a message through this driver. Type subscribers will not be notified. If the message cannot be
+     * processed before the provided deadline, it will be discarded
+     * @see io.reacted.core.typedsubscriptions.TypedSubscription
+     *
+     * @param src source of the message
+     * @param dst destination of the message
+     * @param deadline epoch millis after which the message should be discarded instead of being processed
+     * @param message payload
+     * @param <PayloadT> any Serializable object
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. An already expired message
+     * is never sent
+     */
+    public <PayloadT extends Serializable> DeliveryStatus tell(ReActorRef src, ReActorRef dst, long deadline,
+                                                               PayloadT message) {
+        return Message.isExpired(deadline) ? DeliveryStatus.NOT_SENT : tell(src, dst, message);
+    }
+
+    /**
+     * Sends a primitive payload through this driver. Type subscribers will not be notified.
+     * Drivers that cannot carry a primitive payload as it is send its boxed representation
+     * @see io.reacted.core.typedsubscriptions.TypedSubscription
+     *
+     * @param src source of the message
+     * @param dst destination of the message
+     * @param primitiveType type of the payload
+     * @param primitivePayload raw bits of the payload
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. Different drivers
+     * may offer different guarantees regarding the returned {@link DeliveryStatus}. The common
+     * baseline for this method is providing delivery guarantee to the local driver bus
+     */
+    public DeliveryStatus tell(ReActorRef src, ReActorRef dst, PrimitiveType primitiveType, long primitivePayload) {
+        return tell(src, dst, primitiveType.box(primitivePayload));
+    }
+
+    /**
+     * Sends a message through this driver as soon as the destination is able to accept it without
+     * requiring backpressure. Type subscribers will not be notified.
+     * Drivers that cannot observe the capacity of the destination behave as a plain
+     * {@link ReActorSystemDriver#tell(ReActorRef, ReActorRef, Serializable)}
+     *
+     * @param src source of the message
+     * @param dst destination of the message
+     * @param timeout after this timeout the returned {@link CompletionStage} is completed with a
+     *                {@link TimeoutException} and the message is not delivered anymore
+     * @param message payload
+     * @param <PayloadT> any Serializable object
+     * @return A {@link CompletionStage} completed with the outcome of the delivery once the message
+     * has been accepted by the destination
+     */
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> tellWhenReady(ReActorRef src,
+                                                                                         ReActorRef dst,
+                                                                                         Duration timeout,
+                                                                                         PayloadT message) {
+        return DELIVERY_RESULT_CACHE[tell(src, dst, message).ordinal()];
+    }
     /**
      * Sends a message through this driver requiring an ack as a confirmation of the delivery into the target reactor's
      * mailbox. Type subscribers will not be notified.
@@ -169,6 +268,27 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
      * is received containing the outcome of the delivery of the message into the target actor mailbox
      */
     public abstract <PayloadT extends Serializable> CompletionStage<DeliveryStatus> apublish(ReActorRef src, ReActorRef dst, AckingPolicy ackingPolicy, PayloadT message);
+    /**
+     * Sends a message through this driver requiring an ack as a confirmation of the delivery into the target reactor's
+     * mailbox. If the message cannot be processed before the provided deadline, it will be discarded
+     *
+     * @param src source of the message
+     * @param dst destination of the message
+     * @param ackingPolicy the {@link AckingPolicy} that should be used for managing the ack control for this message
+     * @param deadline epoch millis after which the message should be discarded instead of being processed
+     * @param message payload
+     * @param <PayloadT> any Serializable object
+     * @return A {@link CompletionStage} that is going to be completed when an ack from the destination reactor system
+     * is received containing the outcome of the delivery of the message into the target actor mailbox. An already
+     * expired message is never sent
+     */
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> apublish(ReActorRef src, ReActorRef dst,
+                                                                                    AckingPolicy ackingPolicy,
+                                                                                    long deadline, PayloadT message) {
+        return Message.isExpired(deadline)
+               ? DELIVERY_RESULT_CACHE[DeliveryStatus.NOT_SENT.ordinal()]
+               : apublish(src, dst, ackingPolicy, message);
+    }
     /**
      * Sends a message through this driver requiring an ack as a confirmation of the delivery into the target reactor's
      * mailbox.
@@ -192,20 +312,25 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
                                                                 ReActorSystemId fromReActorSystemId,
                                                                 AckingPolicy ackingPolicy,
                                                                 PayloadT payload) {
+        offerMessage(source, destination, sequenceNumber, fromReActorSystemId, ackingPolicy, Message.NO_DEADLINE,
+                     payload);
+    }
+
+    protected <PayloadT extends Serializable> void offerMessage(ReActorRef source, ReActorRef destination,
+                                                                long sequenceNumber,
+                                                                ReActorSystemId fromReActorSystemId,
+                                                                AckingPolicy ackingPolicy, long deadline,
+                                                                PayloadT payload) {
         getLocalReActorSystem().logError("Invalid message offering {}", payload,
                                          new NotImplementedException());
     }
     @Nullable
     public CompletionStage<DeliveryStatus> removePendingAckTrigger(long msgSeqNum) {
-        var ackTrigger = pendingAcksTriggers.getIfPresent(msgSeqNum);
-        pendingAcksTriggers.invalidate(msgSeqNum);
-        return ackTrigger;
+        return pendingAcksTriggers.remove(msgSeqNum);
     }
 
     public CompletionStage<DeliveryStatus> newPendingAckTrigger(long msgSeqNum) {
-        CompletableFuture<DeliveryStatus> newTrigger = new CompletableFuture<>();
-        pendingAcksTriggers.put(msgSeqNum, newTrigger);
-        return newTrigger;
+        return pendingAcksTriggers.add(msgSeqNum);
     }
 
     public Try<Void> initDriverCtx(ReActorSystem localReActorSystem) {
@@ -218,13 +343,7 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
                                                                                  thread.getName(), error))
                 .build();
         this.driverThread = Executors.newFixedThreadPool(1, driverThreadDetails);
-        this.cacheMaintenanceTask = localReActorSystem.getSystemSchedulingService()
-                                                      .scheduleWithFixedDelay(pendingAcksTriggers::cleanUp,
-                                                                               getDriverConfig().getAckCacheCleanupInterval()
-                                                                                                .toMillis(),
-                                                                               getDriverConfig().getAckCacheCleanupInterval()
-                                                                                                .toMillis(),
-                                                                               TimeUnit.MILLISECONDS);
+        scheduleCacheMaintenance(localReActorSystem);
 
         Try<Void> initDriver = CompletableFuture.runAsync(() -> REACTOR_SYSTEM_CTX.set(new DriverCtx(localReActorSystem, this)),
                                                           driverThread)
@@ -241,6 +360,7 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
     }
 
     public CompletionStage<Try<Void>> stopDriverCtx(ReActorSystem reActorSystem) {
+        this.isCacheMaintenanceStopped = true;
         Objects.requireNonNull(cacheMaintenanceTask).cancel(true);
         Objects.requireNonNull(driverThread).shutdownNow();
         return cleanDriverLoop();
@@ -270,6 +390,12 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
                                                            deliveryResult,
                                                            localReActorSystem.getLocalReActorSystemId(),
                                                            gateChannelId);
+        return sendToGeneratingReActorSystem(localReActorSystem, gateChannelId, fromReActorSystemId,
+                                             statusUpdatePayload);
+    }
+
+    static DeliveryStatus sendToGeneratingReActorSystem(ReActorSystem localReActorSystem, ChannelId gateChannelId,
+                                                        ReActorSystemId fromReActorSystemId, Serializable ack) {
         /* An ack has to be sent not to the nominal sender, but to the reactorsystem that actually generated the message
            because that is the one that is actually waiting for an ACK.
            Here we are supporting asymmetric routes: theoretically this ack could go back to the
@@ -280,13 +406,19 @@ public abstract class ReActorSystemDriver<ConfigT extends ChannelDriverConfig<?,
             destSystem = NullReActorSystemRef.NULL_REACTOR_SYSTEM_REF;
         }
         var destReActor = new ReActorRef(ReActorId.NO_REACTOR_ID, destSystem);
-        return destReActor.tell(ReActorRef.NO_REACTOR_REF, statusUpdatePayload);
+        return destReActor.tell(ReActorRef.NO_REACTOR_REF, ack);
     }
 
-    private static void
-    expireOnTimeout(RemovalNotification<Long, CompletableFuture<DeliveryStatus>> notification) {
-        if (notification.getCause() != RemovalCause.EXPLICIT) {
-            notification.getValue().completeExceptionally(new TimeoutException());
+    /* Expired triggers are completed by the fan out pool: completing a trigger runs its dependent stages,
+       that must not hold the timer thread */
+    private void scheduleCacheMaintenance(ReActorSystem localReActorSystem) {
+        if (isCacheMaintenanceStopped) {
+            return;
         }
+        this.cacheMaintenanceTask = localReActorSystem.getSystemTimer()
+                                                      .schedule(() -> { Try.ofRunnable(() -> localReActorSystem.getMsgFanOutPool()
+                                                                                                                .execute(pendingAcksTriggers::expire));
+                                                                        Try.ofRunnable(() -> scheduleCacheMaintenance(localReActorSystem)); },
+                                                                getDriverConfig().getAckCacheCleanupInterval());
     }
 }
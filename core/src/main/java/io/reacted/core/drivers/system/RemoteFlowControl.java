@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.drivers.system;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.messages.reactors.FlowCredits;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.Try;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Credit based flow control between the reactor systems linked by a remoting driver.
+ * <p>
+ * As a receiver, a reactor system grants a window of credits to every peer that sends messages to it.
+ * A credit is given back once the message has been delivered into the destination mailbox or, if the
+ * mailbox asked for backpressure, once the backoff time is over.
+ * <p>
+ * As a sender, a reactor system consumes a credit for every message sent to a peer. Peers that have never
+ * granted credits do not use flow control and are not limited. When the credits of a peer are over,
+ * messages are still sent, but senders are told to slow down with
+ * {@link io.reacted.core.messages.reactors.DeliveryStatus#BACKPRESSURE_REQUIRED}
+ */
+@NonNullByDefault
+final class RemoteFlowControl {
+    private final Map<ReActorSystemId, SendCredits> sendCredits = new ConcurrentHashMap<>();
+    private final Map<ReActorSystemId, Grants> grants = new ConcurrentHashMap<>();
+    private final ReActorSystem localReActorSystem;
+    private final ChannelId gateChannelId;
+    /* 0 if this reactor system does not grant credits */
+    private final int window;
+    private final Duration backoff;
+
+    RemoteFlowControl(ReActorSystem localReActorSystem, ChannelId gateChannelId, int window, Duration backoff) {
+        this.localReActorSystem = localReActorSystem;
+        this.gateChannelId = gateChannelId;
+        this.window = window;
+        this.backoff = backoff;
+    }
+
+    /**
+     * @return true if there was a credit for sending a message to {@code destinationReActorSystem}
+     */
+    boolean acquire(ReActorSystemId destinationReActorSystem) {
+        return sendCredits.computeIfAbsent(destinationReActorSystem, peer -> new SendCredits()).acquire();
+    }
+
+    /**
+     * Gives back a credit taken for a message that has not been sent
+     */
+    void refund(ReActorSystemId destinationReActorSystem) {
+        var credits = sendCredits.get(destinationReActorSystem);
+        if (credits != null) {
+            credits.available.incrementAndGet();
+        }
+    }
+
+    void onCreditsGranted(ReActorSystemId grantingReActorSystem, FlowCredits flowCredits) {
+        var credits = sendCredits.computeIfAbsent(grantingReActorSystem, peer -> new SendCredits());
+        //The messages sent before the initial window are part of it: the receiver is going to give their
+        //credits back once they are delivered, so they are not replaced by the window
+        credits.available.addAndGet(flowCredits.getCredits());
+        if (flowCredits.isInitialWindow()) {
+            credits.isEnforced = true;
+        }
+    }
+
+    void onMessageReceived(ReActorSystemId fromReActorSystemId) {
+        if (window == 0) {
+            return;
+        }
+        var peerGrants = grants.computeIfAbsent(fromReActorSystemId, Grants::new);
+        if (!peerGrants.isWindowGranted.get() && peerGrants.isWindowGranted.compareAndSet(false, true)) {
+            grant(fromReActorSystemId, new FlowCredits(window, true, localReActorSystem.getLocalReActorSystemId(),
+                                                       gateChannelId));
+        }
+    }
+
+    void onMessageDelivered(ReActorSystemId fromReActorSystemId, boolean isBackpressureRequired) {
+        if (window == 0) {
+            return;
+        }
+        var peerGrants = grants.computeIfAbsent(fromReActorSystemId, Grants::new);
+        if (isBackpressureRequired) {
+            //The destination is not keeping up: keep the credit while it drains its mailbox
+            Try.of(() -> localReActorSystem.getSystemTimer()
+                                           .schedule(() -> Try.ofRunnable(() -> localReActorSystem.getMsgFanOutPool()
+                                                                                                  .execute(() -> release(peerGrants))),
+                                                     backoff))
+               .ifError(error -> release(peerGrants));
+        } else {
+            release(peerGrants);
+        }
+    }
+
+    private void release(Grants peerGrants) {
+        //Credits are given back in blocks, not with a message for every message received
+        if (peerGrants.released.incrementAndGet() >= Math.max(1, window / 4)) {
+            long released = peerGrants.released.getAndSet(0);
+            if (released > 0) {
+                grant(peerGrants.fromReActorSystemId,
+                      new FlowCredits(released, false, localReActorSystem.getLocalReActorSystemId(), gateChannelId));
+            }
+        }
+    }
+
+    private void grant(ReActorSystemId fromReActorSystemId, FlowCredits flowCredits) {
+        var grantStatus = ReActorSystemDriver.sendToGeneratingReActorSystem(localReActorSystem, gateChannelId,
+                                                                            fromReActorSystemId, flowCredits);
+        if (grantStatus.isNotSent()) {
+            localReActorSystem.logError("Unable to grant credits {}", flowCredits);
+        }
+    }
+
+    private static final class SendCredits {
+        /* Before the first grant it goes below zero, counting what has been sent without credits */
+        private final AtomicLong available = new AtomicLong();
+        private volatile boolean isEnforced;
+
+        private boolean acquire() { return available.decrementAndGet() >= 0 || !isEnforced; }
+    }
+
+    private static final class Grants {
+        private final ReActorSystemId fromReActorSystemId;
+        private final AtomicBoolean isWindowGranted = new AtomicBoolean();
+        private final AtomicLong released = new AtomicLong();
+
+        private Grants(ReActorSystemId fromReActorSystemId) { this.fromReActorSystemId = fromReActorSystemId; }
+    }
+}
@@ -10,8 +10,19 @@ package io.reacted.core.drivers.system;
 
 import io.reacted.core.config.drivers.ChannelDriverConfig;
 import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
 import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.config.ChannelId;
 import io.reacted.core.messages.reactors.DeliveryStatusUpdate;
+import io.reacted.core.messages.reactors.DeliveryStatusUpdates;
+import io.reacted.core.messages.reactors.FlowCredits;
+import io.reacted.core.messages.reactors.SystemMonitorReport;
+import io.reacted.core.messages.serviceregistry.ReActorSystemChannelIdCancellationRequest;
+import io.reacted.core.messages.serviceregistry.ReActorSystemChannelIdPublicationRequest;
+import io.reacted.core.messages.serviceregistry.ServiceCancellationRequest;
+import io.reacted.core.messages.serviceregistry.ServicePublicationRequest;
+import io.reacted.core.messages.services.ServiceDiscoveryReply;
+import io.reacted.core.messages.services.ServiceDiscoveryRequest;
 import io.reacted.core.reactors.ReActorId;
 import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.core.reactorsystem.ReActorRef;
@@ -19,9 +30,11 @@ import io.reacted.core.reactorsystem.ReActorSystem;
 import io.reacted.core.reactorsystem.ReActorSystemId;
 import io.reacted.core.reactorsystem.ReActorSystemRef;
 import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.Try;
 import io.reacted.patterns.UnChecked.TriConsumer;
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import javax.annotation.Nullable;
@@ -29,8 +42,43 @@ import javax.annotation.Nullable;
 @NonNullByDefault
 public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, ConfigT>>
         extends ReActorSystemDriver<ConfigT> {
+    /* Framework traffic that should not wait behind bulk user data on a link. A late ACK or registry update
+       triggers timeouts and retries, that are even more traffic */
+    private static final Set<Class<? extends Serializable>> CONTROL_PLANE_TYPES =
+            Set.of(DeliveryStatusUpdate.class, DeliveryStatusUpdates.class, FlowCredits.class,
+                   SystemMonitorReport.class,
+                   ServiceDiscoveryRequest.class, ServiceDiscoveryReply.class,
+                   ServicePublicationRequest.class, ServiceCancellationRequest.class,
+                   ReActorSystemChannelIdPublicationRequest.class, ReActorSystemChannelIdCancellationRequest.class);
+
+    @Nullable
+    private DeliveryAcksBatcher acksBatcher;
+    @Nullable
+    private RemoteFlowControl flowControl;
+
     protected RemotingDriver(ConfigT config) { super(config); }
 
+    @Override
+    public Try<Void> initDriverCtx(ReActorSystem localReActorSystem) {
+        if (getDriverConfig().getAckBatchSize() > 1) {
+            this.acksBatcher = new DeliveryAcksBatcher(localReActorSystem, getChannelId(),
+                                                       getDriverConfig().getAckBatchSize(),
+                                                       getDriverConfig().getAckBatchLinger());
+        }
+        this.flowControl = new RemoteFlowControl(localReActorSystem, getChannelId(),
+                                                 getDriverConfig().getFlowControlWindow(),
+                                                 getDriverConfig().getFlowControlBackoff());
+        return super.initDriverCtx(localReActorSystem);
+    }
+
+    @Override
+    public CompletionStage<Try<Void>> stopDriverCtx(ReActorSystem reActorSystem) {
+        if (acksBatcher != null) {
+            acksBatcher.flush();
+        }
+        return super.stopDriverCtx(reActorSystem);
+    }
+
     @Override
     public final <PayloadT extends Serializable>
     DeliveryStatus publish(ReActorRef src, ReActorRef dst, PayloadT message) {
@@ -42,8 +90,11 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
     public final <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef source, ReActorRef destination,
                                                                         @Nullable TriConsumer<ReActorId, Serializable, ReActorRef> propagateToSubscribers, PayloadT message) {
         long nextSeqNum = getLocalReActorSystem().getNewSeqNum();
-        return sendMessage(source, ReActorContext.NO_REACTOR_CTX, destination, nextSeqNum,
-                           getLocalReActorSystem().getLocalReActorSystemId(), AckingPolicy.NONE, message);
+        boolean hasSendCredit = acquireSendCredit(destination, message);
+        return checkSendCredit(destination, message, hasSendCredit,
+                               sendMessage(source, ReActorContext.NO_REACTOR_CTX, destination, nextSeqNum,
+                                           getLocalReActorSystem().getLocalReActorSystemId(), AckingPolicy.NONE,
+                                           message));
     }
 
     @Override
@@ -51,6 +102,26 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
         return publish(src, dst, DO_NOT_PROPAGATE, message);
     }
 
+    @Override
+    public final <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef src, ReActorRef dst, long deadline,
+                                                                        PayloadT message) {
+        if (Message.isExpired(deadline)) {
+            return DeliveryStatus.NOT_SENT;
+        }
+        long nextSeqNum = getLocalReActorSystem().getNewSeqNum();
+        boolean hasSendCredit = acquireSendCredit(dst, message);
+        return checkSendCredit(dst, message, hasSendCredit,
+                               sendMessage(src, ReActorContext.NO_REACTOR_CTX, dst, nextSeqNum,
+                                           getLocalReActorSystem().getLocalReActorSystemId(), AckingPolicy.NONE,
+                                           deadline, message));
+    }
+
+    @Override
+    public <PayloadT extends Serializable> DeliveryStatus tell(ReActorRef src, ReActorRef dst, long deadline,
+                                                               PayloadT message) {
+        return publish(src, dst, deadline, message);
+    }
+
     /**
      * Sends a message over a remoting channel
      *
@@ -65,16 +136,33 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
     public <PayloadT extends Serializable>
     CompletionStage<DeliveryStatus> apublish(ReActorRef source, ReActorRef destination, AckingPolicy ackingPolicy,
                                              PayloadT message) {
+        return apublish(source, destination, ackingPolicy, Message.NO_DEADLINE, message);
+    }
+
+    @Override
+    public <PayloadT extends Serializable>
+    CompletionStage<DeliveryStatus> apublish(ReActorRef source, ReActorRef destination, AckingPolicy ackingPolicy,
+                                             long deadline, PayloadT message) {
+        if (Message.isExpired(deadline)) {
+            return DELIVERY_RESULT_CACHE[DeliveryStatus.NOT_SENT.ordinal()];
+        }
         long nextSeqNum = getLocalReActorSystem().getNewSeqNum();
         var pendingAck = ackingPolicy.isAckRequired() ? newPendingAckTrigger(nextSeqNum) : null;
-        DeliveryStatus sendResult = sendMessage(source, ReActorContext.NO_REACTOR_CTX,
-                                                destination, nextSeqNum,
-                                                getLocalReActorSystem().getLocalReActorSystemId(),
-                                                ackingPolicy, message);
+        boolean hasSendCredit = acquireSendCredit(destination, message);
+        DeliveryStatus sendResult = checkSendCredit(destination, message, hasSendCredit,
+                                                    sendMessage(source, ReActorContext.NO_REACTOR_CTX,
+                                                                destination, nextSeqNum,
+                                                                getLocalReActorSystem().getLocalReActorSystemId(),
+                                                                ackingPolicy, deadline, message));
         CompletionStage<DeliveryStatus> tellResult = DELIVERY_RESULT_CACHE[sendResult.ordinal()];
         if (ackingPolicy.isAckRequired()) {
             if (sendResult.isSent()) {
-                tellResult = pendingAck;
+                //The remote peer has no room for this message: the sender has to slow down once it is delivered
+                tellResult = hasSendCredit
+                             ? pendingAck
+                             : pendingAck.thenApply(deliveryStatus -> deliveryStatus == DeliveryStatus.DELIVERED
+                                                                      ? DeliveryStatus.BACKPRESSURE_REQUIRED
+                                                                      : deliveryStatus);
             } else {
                 removePendingAckTrigger(nextSeqNum);
             }
@@ -117,7 +205,7 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
     protected <PayloadT extends Serializable> void offerMessage(ReActorRef source, ReActorRef destination,
                                                                 long sequenceNumber,
                                                                 ReActorSystemId fromReActorSystemId,
-                                                                AckingPolicy ackingPolicy,
+                                                                AckingPolicy ackingPolicy, long deadline,
                                                                 PayloadT payload) {
         //We don't have to read the messages published by the local reactor system because they are meant for someone
         //else. This is a remoting driver, this means that several systems are looking at it
@@ -136,22 +224,34 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
         if (isLocalReActorSystem(getLocalReActorSystem().getLocalReActorSystemId(),
                                  destination.getReActorSystemRef().getReActorSystemId())) {
             //If so, this is an ACK confirmation for a message sent with apublish
+            if (payloadType == DeliveryStatusUpdates.class) {
+                var deliveryStatusUpdates = (DeliveryStatusUpdates)payload;
+                if (messageWasNotSentFromThisDriverInstance(deliveryStatusUpdates.getFirstMessageSourceChannelId())) {
+                    forwardMessageToSenderDriverInstance(source, destination, sequenceNumber, fromReActorSystemId,
+                                                         ackingPolicy, payload,
+                                                         deliveryStatusUpdates.getAckSourceReActorSystem(),
+                                                         deliveryStatusUpdates.getFirstMessageSourceChannelId());
+                } else {
+                    completePendingAckTriggers(deliveryStatusUpdates);
+                    getLocalReActorSystem().getSystemSink()
+                                           .publish(source, payload);
+                }
+                return;
+            }
             if (payloadType == DeliveryStatusUpdate.class) {
                 DeliveryStatusUpdate deliveryStatusUpdate = (DeliveryStatusUpdate)payload;
 
-                if (messageWasNotSentFromThisDriverInstance(deliveryStatusUpdate)) {
+                if (messageWasNotSentFromThisDriverInstance(deliveryStatusUpdate.getFirstMessageSourceChannelId())) {
                     /* We are not in the correct driver? This is an asymmetrical ACK, we must forward
                        this message to the proper driver, if any
                      */
                     forwardMessageToSenderDriverInstance(source, destination, sequenceNumber, fromReActorSystemId,
-                                                         ackingPolicy, payload, deliveryStatusUpdate);
+                                                         ackingPolicy, payload,
+                                                         deliveryStatusUpdate.getAckSourceReActorSystem(),
+                                                         deliveryStatusUpdate.getFirstMessageSourceChannelId());
                 } else {
-                    var pendingAckTrigger = removePendingAckTrigger(
-                        deliveryStatusUpdate.getMsgSeqNum());
-                    if (pendingAckTrigger != null) {
-                        pendingAckTrigger.toCompletableFuture()
-                                         .complete(deliveryStatusUpdate.getDeliveryStatus());
-                    }
+                    completePendingAckTrigger(deliveryStatusUpdate.getMsgSeqNum(),
+                                              deliveryStatusUpdate.getDeliveryStatus());
                     //This is functionally useless because systemSink by design swallows received messages, it is required
                     //only for consistent logging if a logging direct communication local driver is used because in this way
                     //also the ACK will appear in logs
@@ -160,6 +260,18 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
                 }
                 return;
             }
+            if (payloadType == FlowCredits.class) {
+                var flowCredits = (FlowCredits)payload;
+                if (messageWasNotSentFromThisDriverInstance(flowCredits.getCreditSourceChannelId())) {
+                    forwardMessageToSenderDriverInstance(source, destination, sequenceNumber, fromReActorSystemId,
+                                                         ackingPolicy, payload,
+                                                         flowCredits.getCreditSourceReActorSystem(),
+                                                         flowCredits.getCreditSourceChannelId());
+                } else if (flowControl != null) {
+                    flowControl.onCreditsGranted(flowCredits.getCreditSourceReActorSystem(), flowCredits);
+                }
+                return;
+            }
         } else {
             //If it was not meant for a ReActor within this reactor system it might still be of some interest for typed
             //subscribers
@@ -172,10 +284,31 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
             hasBeenSniffed = true;
         }
         boolean isAckRequired = !hasBeenSniffed && ackingPolicy != AckingPolicy.NONE;
+        //Framework control traffic and messages for other reactor systems do not consume our credits
+        var creditsFlowControl = hasBeenSniffed || isControlPlaneMessage(payload) ? null : flowControl;
+        if (creditsFlowControl != null) {
+            creditsFlowControl.onMessageReceived(fromReActorSystemId);
+        }
+        if (Message.isExpired(deadline)) {
+            //The message expired while travelling: it's useless to deliver it, the caller is no longer waiting for it
+            getLocalReActorSystem().toExpiredMessages(new Message(source, destination, sequenceNumber,
+                                                                  fromReActorSystemId, ackingPolicy, deadline,
+                                                                  payload));
+            if (creditsFlowControl != null) {
+                creditsFlowControl.onMessageDelivered(fromReActorSystemId, false);
+            }
+            if (isAckRequired) {
+                ackDelivery(DeliveryStatus.NOT_DELIVERED, sequenceNumber, fromReActorSystemId);
+            }
+            return;
+        }
         if (isAckRequired) {
             //Be better java
             var dst = destination;
-            var deliverAttempt = destination.apublish(source, payload);
+            var deliverAttempt = destination.getReActorSystemRef()
+                                            .getBackingDriver()
+                                            .apublish(source, destination, AckingPolicy.ONE_TO_ONE, deadline,
+                                                      payload);
 
             deliverAttempt.handle((deliveryStatus, deliveryError) -> {
                               DeliveryStatus result = deliveryStatus;
@@ -185,8 +318,11 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
                                                                   source, dst, sequenceNumber, fromReActorSystemId,
                                                                   ackingPolicy, payload, deliveryError);
                               }
-                              return sendDeliveryAck(getLocalReActorSystem(), getChannelId(), result, sequenceNumber,
-                                                     fromReActorSystemId);
+                              if (creditsFlowControl != null) {
+                                  creditsFlowControl.onMessageDelivered(fromReActorSystemId,
+                                                                        result.isBackpressureRequired());
+                              }
+                              return ackDelivery(result, sequenceNumber, fromReActorSystemId);
                           })
                           .handle((ackDeliveryStatus, ackDeliveryError) -> {
                               if (ackDeliveryError != null || ackDeliveryStatus.isNotSent()) {
@@ -197,7 +333,12 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
                               return null;
                           });
         } else {
-            var deliveryAttempt = destination.publish(source, payload);
+            var deliveryAttempt = destination.getReActorSystemRef()
+                                             .getBackingDriver()
+                                             .publish(source, destination, deadline, payload);
+            if (creditsFlowControl != null) {
+                creditsFlowControl.onMessageDelivered(fromReActorSystemId, deliveryAttempt.isBackpressureRequired());
+            }
             if (!deliveryAttempt.isSent()) {
                 getLocalReActorSystem().logInfo("Unable to deliver {} {} {} {} {} {}: Reason {}",
                                                 source, destination, sequenceNumber, fromReActorSystemId,
@@ -206,12 +347,71 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
         }
     }
 
+    /**
+     * Drivers that provide a dedicated control channel towards their peers should use it for the payloads
+     * for which this method returns true
+     *
+     * @param payload payload of a message that is going to be sent
+     * @return true if the payload is framework control traffic
+     */
+    protected static boolean isControlPlaneMessage(Serializable payload) {
+        return CONTROL_PLANE_TYPES.contains(payload.getClass());
+    }
+
+    private boolean acquireSendCredit(ReActorRef destination, Serializable payload) {
+        return flowControl == null || isControlPlaneMessage(payload) ||
+               flowControl.acquire(destination.getReActorSystemRef().getReActorSystemId());
+    }
+
+    private DeliveryStatus checkSendCredit(ReActorRef destination, Serializable payload, boolean hasSendCredit,
+                                           DeliveryStatus sendResult) {
+        if (flowControl == null || isControlPlaneMessage(payload)) {
+            return sendResult;
+        }
+        if (sendResult.isNotSent()) {
+            flowControl.refund(destination.getReActorSystemRef().getReActorSystemId());
+            return sendResult;
+        }
+        //Out of credits: the message has been sent anyway, but the peer is asking us to slow down
+        return hasSendCredit ? sendResult : DeliveryStatus.BACKPRESSURE_REQUIRED;
+    }
+
+    private DeliveryStatus ackDelivery(DeliveryStatus deliveryStatus, long sequenceNumber,
+                                       ReActorSystemId fromReActorSystemId) {
+        return acksBatcher == null
+               ? sendDeliveryAck(getLocalReActorSystem(), getChannelId(), deliveryStatus, sequenceNumber,
+                                 fromReActorSystemId)
+               : acksBatcher.ack(deliveryStatus, sequenceNumber, fromReActorSystemId);
+    }
+
+    private void completePendingAckTriggers(DeliveryStatusUpdates deliveryStatusUpdates) {
+        long[] deliveredRanges = deliveryStatusUpdates.getDeliveredRanges();
+        for (int range = 0; range < deliveredRanges.length; range += 2) {
+            for (long msgSeqNum = deliveredRanges[range]; msgSeqNum <= deliveredRanges[range + 1]; msgSeqNum++) {
+                completePendingAckTrigger(msgSeqNum, DeliveryStatus.DELIVERED);
+            }
+        }
+        long[] otherMsgSeqNums = deliveryStatusUpdates.getOtherMsgSeqNums();
+        for (int msgSeqNum = 0; msgSeqNum < otherMsgSeqNums.length; msgSeqNum++) {
+            completePendingAckTrigger(otherMsgSeqNums[msgSeqNum],
+                                      deliveryStatusUpdates.getOtherDeliveryStatuses()[msgSeqNum]);
+        }
+    }
+
+    private void completePendingAckTrigger(long msgSeqNum, DeliveryStatus deliveryStatus) {
+        var pendingAckTrigger = removePendingAckTrigger(msgSeqNum);
+        if (pendingAckTrigger != null) {
+            pendingAckTrigger.toCompletableFuture().complete(deliveryStatus);
+        }
+    }
+
     private <PayloadT extends Serializable> void
     forwardMessageToSenderDriverInstance(ReActorRef source, ReActorRef destination, long sequenceNumber,
                                          ReActorSystemId fromReActorSystemId, AckingPolicy ackingPolicy,
-                                         PayloadT payload, DeliveryStatusUpdate deliveryStatusUpdate) {
-        ReActorSystemRef gateForDestination = getLocalReActorSystem().findGate(deliveryStatusUpdate.getAckSourceReActorSystem(),
-                                                                               deliveryStatusUpdate.getFirstMessageSourceChannelId());
+                                         PayloadT payload, ReActorSystemId ackSourceReActorSystem,
+                                         ChannelId firstMessageSourceChannelId) {
+        ReActorSystemRef gateForDestination = getLocalReActorSystem().findGate(ackSourceReActorSystem,
+                                                                               firstMessageSourceChannelId);
         if (gateForDestination != null) {
             gateForDestination.getBackingDriver()
                               .offerMessage(source, destination, sequenceNumber, fromReActorSystemId, ackingPolicy,
@@ -219,8 +419,8 @@ public abstract class RemotingDriver<ConfigT extends ChannelDriverConfig<?, Conf
         }
     }
 
-    private boolean messageWasNotSentFromThisDriverInstance(DeliveryStatusUpdate deliveryStatusUpdate) {
-        return !getChannelId().equals(deliveryStatusUpdate.getFirstMessageSourceChannelId());
+    private boolean messageWasNotSentFromThisDriverInstance(ChannelId firstMessageSourceChannelId) {
+        return !getChannelId().equals(firstMessageSourceChannelId);
     }
 
     private static boolean isTypeSubscribed(ReActorSystem localReActorSystem,
@@ -69,6 +69,13 @@ public class BackpressuringMbox implements MailBox {
     @Override
     public boolean isFull() { return realMbox.isFull(); }
 
+    @Override
+    public synchronized boolean hasCapacity() {
+        return isAnotherMessageAllowed() && bufferQueue.isEmpty()
+               ? realMbox.hasCapacity()
+               : bufferQueue.size() + 1 < backpressuringThreshold;
+    }
+
     @Override
     public long getMsgNum() { return realMbox.getMsgNum(); }
 
@@ -83,13 +90,13 @@ public class BackpressuringMbox implements MailBox {
     @Nonnull
     @Override
     public DeliveryStatus deliver(Message message) {
-        if (!isDelayable(message.getPayload().getClass())) {
+        if (!isDelayable(message.getPayloadType())) {
             return realMbox.deliver(message);
         }
         DeliveryStatus deliveryAttempt = DeliveryStatus.DELIVERED;
         synchronized (this) {
             if (isAnotherMessageAllowed() && bufferQueue.isEmpty()) {
-                if (!outOfStreamControl.contains(message.getPayload().getClass())) {
+                if (!outOfStreamControl.contains(message.getPayloadType())) {
                     decreaseAllowedMessages();
                 }
                 return realMbox.deliver(message);
@@ -110,7 +117,7 @@ public class BackpressuringMbox implements MailBox {
             while(isAnotherMessageAllowed() && !bufferQueue.isEmpty()) {
                 Message payload = bufferQueue.removeFirst();
                 isReschedRequired |= realMbox.deliver(payload).isRescheduleRequired();
-                if (!outOfStreamControl.contains(payload.getPayload().getClass())) {
+                if (!outOfStreamControl.contains(payload.getPayloadType())) {
                     decreaseAllowedMessages();
                 }
             }
@@ -42,7 +42,7 @@ public class BoundedMbox implements MailBox {
     public Message getNextMessage() { return inbox.remove(); }
 
     @Override
-    public boolean isFull() { return inbox.remainingCapacity() == mailboxCapacity; }
+    public boolean isFull() { return inbox.remainingCapacity() == 0; }
 
     @Nonnull
     @Override
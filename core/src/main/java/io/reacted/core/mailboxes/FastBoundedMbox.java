@@ -42,7 +42,7 @@ public class FastBoundedMbox implements MailBox {
     public Message getNextMessage() { return Objects.requireNonNull(inbox.poll()); }
 
     @Override
-    public boolean isFull() { return inbox.remainingCapacity() == mailboxCapacity; }
+    public boolean isFull() { return inbox.remainingCapacity() == 0; }
 
     @Nonnull
     @Override
@@ -13,6 +13,7 @@ import io.reacted.core.messages.reactors.DeliveryStatus;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.function.Consumer;
 
 @ParametersAreNonnullByDefault
 public interface MailBox {
@@ -30,5 +31,29 @@ public interface MailBox {
     @Nonnull
     DeliveryStatus deliver(Message message);
 
+    /**
+     * @return true if a message delivered right now would be accepted without requiring
+     * the producer to slow down
+     */
+    default boolean hasCapacity() { return !isFull(); }
+
+    /**
+     * Remove up to {@code maxMessages} messages from the mailbox feeding them to {@code messageConsumer}.
+     * Like {@link MailBox#getNextMessage()}, this must be called only by the thread currently running
+     * the owner of the mailbox
+     *
+     * @param messageConsumer consumer for the removed messages
+     * @param maxMessages maximum number of messages that should be removed
+     * @return how many messages have been removed
+     */
+    default int drain(Consumer<Message> messageConsumer, int maxMessages) {
+        int drained = 0;
+        while (drained < maxMessages && !isEmpty()) {
+            messageConsumer.accept(getNextMessage());
+            drained++;
+        }
+        return drained;
+    }
+
     default void request(long messagesNum) { }
 }
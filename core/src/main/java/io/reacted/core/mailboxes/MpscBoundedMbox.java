@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Bounded array backed mailbox for many producers and a single consumer.
+ * A mailbox is consumed only by the dispatcher thread that is currently running its owner reactor, so there is no
+ * need to pay for a consumer side synchronization: producers claim a slot with a CAS on the producer index,
+ * the consumer frees it with an ordered write of the consumer index. The two indices live on different cache lines.
+ */
+@NonNullByDefault
+public class MpscBoundedMbox extends MpscMboxIndices implements MailBox {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Message[].class);
+    private final Message[] slots;
+    private final int mask;
+    private final int mailboxCapacity;
+
+    public MpscBoundedMbox(int maxMsgs) {
+        this.mailboxCapacity = ObjectUtils.requiredInRange(maxMsgs, 1, 1 << 30, IllegalArgumentException::new);
+        int slotsNum = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(mailboxCapacity - 1));
+        this.slots = new Message[slotsNum];
+        this.mask = slotsNum - 1;
+        setProducerLimit(mailboxCapacity);
+    }
+
+    @Override
+    public boolean isEmpty() { return SLOTS.getAcquire(slots, slotOf(getConsumerIndex())) == null; }
+
+    @Override
+    public boolean isFull() { return getMsgNum() >= mailboxCapacity; }
+
+    @Override
+    public long getMsgNum() { return Long.min(getSize(), mailboxCapacity); }
+
+    @Override
+    public long getMaxSize() { return mailboxCapacity; }
+
+    @Nonnull
+    @Override
+    public Message getNextMessage() {
+        Message message = poll();
+        if (message == null) {
+            throw new NoSuchElementException();
+        }
+        return message;
+    }
+
+    @Nonnull
+    @Override
+    public DeliveryStatus deliver(Message message) {
+        long producerLimit = getProducerLimit();
+        long claimedIndex;
+        do {
+            claimedIndex = getProducerIndex();
+            if (claimedIndex >= producerLimit) {
+                producerLimit = getConsumerIndex() + mailboxCapacity;
+                if (claimedIndex >= producerLimit) {
+                    return DeliveryStatus.NOT_DELIVERED;
+                }
+                setProducerLimit(producerLimit);
+            }
+        } while (!casProducerIndex(claimedIndex, claimedIndex + 1));
+        SLOTS.setRelease(slots, slotOf(claimedIndex), message);
+        return DeliveryStatus.DELIVERED;
+    }
+
+    @Override
+    public int drain(Consumer<Message> messageConsumer, int maxMessages) {
+        int drained = 0;
+        Message message;
+        while (drained < maxMessages && (message = poll()) != null) {
+            messageConsumer.accept(message);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Nullable
+    private Message poll() {
+        long consumed = getConsumerIndexPlain();
+        int slot = slotOf(consumed);
+        Message message = (Message)SLOTS.getAcquire(slots, slot);
+        if (message != null) {
+            //Slot must be cleared before being given back to the producers with the index update
+            SLOTS.set(slots, slot, null);
+            setConsumerIndex(consumed + 1);
+        }
+        return message;
+    }
+
+    private int slotOf(long index) { return (int)(index & mask); }
+}
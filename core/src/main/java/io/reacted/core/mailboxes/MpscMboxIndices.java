@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/*
+ * Producer and consumer indices for the multi producer single consumer mailboxes.
+ * Producers continuously update the producer index, the reactor owning the mailbox updates the consumer one:
+ * the two are kept on different cache lines so that producers and consumer do not invalidate each other's
+ * cache at every message. Field layout is driven through inheritance because the JVM is free to reorder the
+ * fields of a single class, but it always lays out the fields of a superclass before the subclass ones.
+ */
+abstract class MpscMboxIndices extends MpscMboxRhsPadding {
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(MpscMboxProducerIndex.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(MpscMboxConsumerIndex.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException mappingError) {
+            throw new ExceptionInInitializerError(mappingError);
+        }
+    }
+
+    /**
+     * @return how many messages have been delivered into the mailbox, including the ones whose slot has been
+     * claimed but that are not visible yet
+     */
+    final long getProducerIndex() { return producerIndex; }
+
+    final boolean casProducerIndex(long expected, long update) {
+        return PRODUCER_INDEX.compareAndSet(this, expected, update);
+    }
+
+    final long getAndIncrementProducerIndex() { return (long)PRODUCER_INDEX.getAndAdd(this, 1L); }
+
+    /**
+     * @return how many messages have been consumed from the mailbox
+     */
+    final long getConsumerIndex() { return consumerIndex; }
+
+    /* Only the consumer reads its own index in plain mode */
+    final long getConsumerIndexPlain() { return (long)CONSUMER_INDEX.get(this); }
+
+    final void setConsumerIndex(long consumed) { CONSUMER_INDEX.setRelease(this, consumed); }
+
+    final long getProducerLimit() { return producerLimit; }
+
+    final void setProducerLimit(long producerLimit) { this.producerLimit = producerLimit; }
+
+    /**
+     * @return an estimation of the number of messages in the mailbox. Cheap, it does not traverse anything
+     */
+    final long getSize() {
+        long consumed = getConsumerIndex();
+        long produced = getProducerIndex();
+        return Long.max(0L, produced - consumed);
+    }
+}
+
+@SuppressWarnings("unused")
+abstract class MpscMboxLhsPadding {
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+    private long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpscMboxProducerIndex extends MpscMboxLhsPadding {
+    protected volatile long producerIndex;
+    /* Cached upper bound for the producer index. Used by the bounded mailboxes only */
+    protected volatile long producerLimit;
+}
+
+@SuppressWarnings("unused")
+abstract class MpscMboxMidPadding extends MpscMboxProducerIndex {
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+    private long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpscMboxConsumerIndex extends MpscMboxMidPadding {
+    protected volatile long consumerIndex;
+}
+
+@SuppressWarnings("unused")
+abstract class MpscMboxRhsPadding extends MpscMboxConsumerIndex {
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+    private long p10, p11, p12, p13, p14, p15, p16, p17;
+}
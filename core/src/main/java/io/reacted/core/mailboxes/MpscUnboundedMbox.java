@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Unbounded mailbox for many producers and a single consumer, made of a linked list of fixed size arrays.
+ * Producers claim a slot with an atomic increment of the producer index, so they never retry, and a new chunk
+ * is allocated only once every {@code chunkSize} messages instead of once per message as in a linked queue.
+ * Fully consumed chunks are unlinked and left to the garbage collector.
+ */
+@NonNullByDefault
+public class MpscUnboundedMbox extends MpscMboxIndices implements MailBox {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Message[].class);
+    private static final VarHandle PRODUCER_CHUNK;
+    private static final VarHandle NEXT_CHUNK;
+    private final int chunkShift;
+    private final int mask;
+    private volatile Chunk producerChunk;
+    private volatile Chunk consumerChunk;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PRODUCER_CHUNK = lookup.findVarHandle(MpscUnboundedMbox.class, "producerChunk", Chunk.class);
+            NEXT_CHUNK = lookup.findVarHandle(Chunk.class, "next", Chunk.class);
+        } catch (ReflectiveOperationException mappingError) {
+            throw new ExceptionInInitializerError(mappingError);
+        }
+    }
+
+    public MpscUnboundedMbox() { this(DEFAULT_CHUNK_SIZE); }
+
+    /**
+     * @param chunkSize how many messages are stored in every chunk. It is rounded up to the next power of two
+     */
+    public MpscUnboundedMbox(int chunkSize) {
+        int requestedChunkSize = ObjectUtils.requiredInRange(chunkSize, 2, 1 << 30, IllegalArgumentException::new);
+        this.chunkShift = Integer.SIZE - Integer.numberOfLeadingZeros(requestedChunkSize - 1);
+        this.mask = (1 << chunkShift) - 1;
+        Chunk firstChunk = new Chunk(0, 1 << chunkShift, null);
+        this.producerChunk = firstChunk;
+        this.consumerChunk = firstChunk;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long consumed = getConsumerIndex();
+        Chunk chunk = consumerChunk;
+        long chunkId = consumed >> chunkShift;
+        if (chunk.id != chunkId) {
+            if (chunk.id + 1 != chunkId) {
+                //Stale view of a thread that is not the consumer
+                return getProducerIndex() == consumed;
+            }
+            //The consumer has not stepped into the next chunk yet
+            chunk = chunk.next;
+            if (chunk == null) {
+                //The producer that claimed the first slot of the next chunk has not linked it yet. As for a
+                //claimed slot that has not been written yet, poll has nothing to return: that producer is
+                //going to reschedule us once its message is in
+                return true;
+            }
+        }
+        return SLOTS.getAcquire(chunk.slots, slotOf(consumed)) == null;
+    }
+
+    @Override
+    public boolean isFull() { return false; }
+
+    @Override
+    public long getMsgNum() { return getSize(); }
+
+    @Override
+    public long getMaxSize() { return Long.MAX_VALUE; }
+
+    @Nonnull
+    @Override
+    public Message getNextMessage() {
+        Message message = poll();
+        if (message == null) {
+            throw new NoSuchElementException();
+        }
+        return message;
+    }
+
+    @Nonnull
+    @Override
+    public DeliveryStatus deliver(Message message) {
+        long claimedIndex = getAndIncrementProducerIndex();
+        long chunkId = claimedIndex >> chunkShift;
+        Chunk chunk = producerChunk;
+        while (chunk.id < chunkId) {
+            Chunk next = chunk.next;
+            if (next == null) {
+                Chunk newChunk = new Chunk(chunk.id + 1, chunk.slots.length, chunk);
+                next = NEXT_CHUNK.compareAndSet(chunk, null, newChunk) ? newChunk : chunk.next;
+            }
+            PRODUCER_CHUNK.compareAndSet(this, chunk, next);
+            chunk = next;
+        }
+        //A slower producer may have claimed an index belonging to an older chunk. That chunk cannot have
+        //been dropped yet, because the consumer does not move past a slot that has not been written
+        while (chunk.id > chunkId) {
+            chunk = chunk.prev;
+        }
+        SLOTS.setRelease(chunk.slots, slotOf(claimedIndex), message);
+        return DeliveryStatus.DELIVERED;
+    }
+
+    @Override
+    public int drain(Consumer<Message> messageConsumer, int maxMessages) {
+        int drained = 0;
+        Message message;
+        while (drained < maxMessages && (message = poll()) != null) {
+            messageConsumer.accept(message);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Nullable
+    private Message poll() {
+        long consumed = getConsumerIndexPlain();
+        Chunk chunk = consumerChunk;
+        if (chunk.id != consumed >> chunkShift) {
+            Chunk next = chunk.next;
+            if (next == null) {
+                //The producer that claimed the first slot of the next chunk has not linked it yet
+                return null;
+            }
+            next.prev = null;
+            this.consumerChunk = next;
+            chunk = next;
+        }
+        int slot = slotOf(consumed);
+        Message message = (Message)SLOTS.getAcquire(chunk.slots, slot);
+        if (message != null) {
+            SLOTS.set(chunk.slots, slot, null);
+            setConsumerIndex(consumed + 1);
+        }
+        return message;
+    }
+
+    private int slotOf(long index) { return (int)(index & mask); }
+
+    private static final class Chunk {
+        private final long id;
+        private final Message[] slots;
+        @Nullable
+        private volatile Chunk next;
+        @Nullable
+        private Chunk prev;
+
+        private Chunk(long id, int size, @Nullable Chunk prev) {
+            this.id = id;
+            this.slots = new Message[size];
+            this.prev = prev;
+        }
+    }
+}
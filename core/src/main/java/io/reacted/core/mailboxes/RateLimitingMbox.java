@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.messages.reactors.ReActorInit;
+import io.reacted.core.messages.reactors.ReActorStop;
+import io.reacted.core.reactorsystem.ReActorContext;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mailbox decorator that allows the owner reactor to process at most a given amount of messages per period.
+ * Consumption is regulated by a token bucket: every processed message consumes a token and tokens are
+ * refilled continuously at the configured rate, up to the configured burst size.
+ * When messages are waiting but no tokens are available, the mailbox reports itself as empty, so the
+ * dispatcher releases the reactor, and a single wake up is scheduled for the exact moment the next
+ * token becomes available. Messages are never re-enqueued and no thread spins waiting for tokens.
+ */
+@NonNullByDefault
+public class RateLimitingMbox implements MailBox {
+    public static final Duration DEFAULT_RATE_LIMIT_PERIOD = Duration.ofSeconds(1);
+    private final MailBox realMbox;
+    private final ReActorContext realMailboxOwner;
+    private final Set<Class<? extends Serializable>> notRateLimited;
+    private final Queue<Message> notRateLimitedQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isWakeUpScheduled = new AtomicBoolean(false);
+    private final long nanosPerToken;
+    private final long burstSize;
+    private long availableTokens;
+    private long lastRefillNanos;
+
+    private RateLimitingMbox(Builder builder) {
+        this.realMbox = Objects.requireNonNull(builder.realMbox, "A backing mailbox must be provided");
+        this.realMailboxOwner = Objects.requireNonNull(builder.realMailboxOwner,
+                                                       "Mailbox owner reactor cannot be null");
+        this.notRateLimited = Set.copyOf(Objects.requireNonNull(builder.notRateLimited,
+                                                                "Not rate limited messages set cannot be null"));
+        long messagesPerPeriod = ObjectUtils.requiredInRange(builder.messagesPerPeriod, 1L, Long.MAX_VALUE,
+                                                             IllegalArgumentException::new);
+        long periodNanos = ObjectUtils.checkNonNullPositiveTimeInterval(builder.period).toNanos();
+        this.nanosPerToken = Long.max(1L, periodNanos / messagesPerPeriod);
+        this.burstSize = ObjectUtils.requiredInRange(builder.burstSize == 0 ? messagesPerPeriod
+                                                                             : builder.burstSize,
+                                                     1L, Long.MAX_VALUE, IllegalArgumentException::new);
+        this.availableTokens = burstSize;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public static Builder newBuilder() { return new Builder(); }
+
+    @Override
+    public boolean isEmpty() {
+        if (!notRateLimitedQueue.isEmpty()) {
+            return false;
+        }
+        if (realMbox.isEmpty()) {
+            return true;
+        }
+        long nanosToNextToken = refillAndGetNanosToNextToken();
+        if (nanosToNextToken == 0) {
+            return false;
+        }
+        scheduleWakeUp(nanosToNextToken);
+        return true;
+    }
+
+    @Override
+    public boolean isFull() { return realMbox.isFull(); }
+
+    @Override
+    public boolean hasCapacity() { return realMbox.hasCapacity(); }
+
+    @Override
+    public long getMsgNum() { return realMbox.getMsgNum() + notRateLimitedQueue.size(); }
+
+    @Override
+    public long getMaxSize() { return realMbox.getMaxSize(); }
+
+    @Nonnull
+    @Override
+    public Message getNextMessage() {
+        Message notRateLimitedMessage = notRateLimitedQueue.poll();
+        if (notRateLimitedMessage != null) {
+            return notRateLimitedMessage;
+        }
+        consumeToken();
+        return realMbox.getNextMessage();
+    }
+
+    @Nonnull
+    @Override
+    public DeliveryStatus deliver(Message message) {
+        if (notRateLimited.contains(message.getPayloadType())) {
+            return notRateLimitedQueue.offer(message) ? DeliveryStatus.DELIVERED : DeliveryStatus.NOT_DELIVERED;
+        }
+        return realMbox.deliver(message);
+    }
+
+    @Override
+    public void request(long messagesNum) { realMbox.request(messagesNum); }
+
+    /**
+     * @return how many messages can be consumed right now without exceeding the rate limit
+     */
+    public synchronized long getAvailableTokens() {
+        refillAndGetNanosToNextToken();
+        return availableTokens;
+    }
+
+    /*
+     * Token state is touched by the dispatcher thread currently running the owner, but a release of
+     * the scheduling may let another dispatcher thread in while the previous one is still checking
+     * for emptiness, so the accesses are serialized. Contention is not expected.
+     */
+    private synchronized long refillAndGetNanosToNextToken() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefillNanos;
+        long newTokens = elapsed / nanosPerToken;
+        if (newTokens > 0) {
+            if (newTokens >= burstSize - availableTokens) {
+                availableTokens = burstSize;
+                lastRefillNanos = now;
+            } else {
+                availableTokens += newTokens;
+                lastRefillNanos += newTokens * nanosPerToken;
+            }
+        }
+        return availableTokens > 0 ? 0 : nanosPerToken - (now - lastRefillNanos);
+    }
+
+    private synchronized void consumeToken() {
+        //getNextMessage is always preceded by a successful isEmpty check, so here a token is available.
+        //Should that not be true, the bucket goes in debt and the next refills will pay it back
+        availableTokens--;
+    }
+
+    private void scheduleWakeUp(long nanosToNextToken) {
+        if (isWakeUpScheduled.compareAndSet(false, true)) {
+            realMailboxOwner.getReActorSystem()
+                            .getSystemSchedulingService()
+                            .schedule(this::wakeUpOwner, nanosToNextToken, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void wakeUpOwner() {
+        isWakeUpScheduled.set(false);
+        realMailboxOwner.reschedule();
+    }
+
+    public static class Builder {
+        private MailBox realMbox = new UnboundedMbox();
+        private long messagesPerPeriod;
+        private Duration period = DEFAULT_RATE_LIMIT_PERIOD;
+        private long burstSize;
+        @SuppressWarnings("NotNullFieldNotInitialized")
+        private ReActorContext realMailboxOwner;
+        private Set<Class<? extends Serializable>> notRateLimited = Set.of(ReActorInit.class, ReActorStop.class);
+
+        private Builder() { }
+
+        /**
+         *
+         * @param realMbox Backing-up mailbox
+         *                 Default: {@link UnboundedMbox}
+         * @return this {@link Builder}
+         */
+        public final Builder setRealMbox(MailBox realMbox) {
+            this.realMbox = realMbox;
+            return this;
+        }
+
+        /**
+         * Define which reactor is going to be rate limited by this mailbox
+         * @param realMailboxOwner {@link ReActorContext} of the reactor owning {@link RateLimitingMbox#realMbox}
+         * @return this {@link Builder}
+         */
+        public final Builder setRealMailboxOwner(ReActorContext realMailboxOwner) {
+            this.realMailboxOwner = realMailboxOwner;
+            return this;
+        }
+
+        /**
+         * @param messagesPerPeriod A positive number of messages that can be processed every
+         *                          {@link Builder#setPeriod(Duration)}
+         * @return this {@link Builder}
+         */
+        public final Builder setMessagesPerPeriod(long messagesPerPeriod) {
+            this.messagesPerPeriod = messagesPerPeriod;
+            return this;
+        }
+
+        /**
+         * @param period A positive interval over which the rate limit is computed.
+         *               Default: {@link RateLimitingMbox#DEFAULT_RATE_LIMIT_PERIOD}
+         * @return this {@link Builder}
+         */
+        public final Builder setPeriod(Duration period) {
+            this.period = period;
+            return this;
+        }
+
+        /**
+         * @param burstSize Maximum number of messages that can be processed in a row after an idle time.
+         *                  Default: the number of messages per period
+         * @return this {@link Builder}
+         */
+        public final Builder setBurstSize(long burstSize) {
+            this.burstSize = burstSize;
+            return this;
+        }
+
+        /**
+         * Messages of these types are delivered preempting any other pending message and without
+         * consuming tokens.
+         *
+         * @param notRateLimited An arbitrary set of {@link Class} message types that are not rate limited.
+         *                       Default: {@link ReActorInit} and {@link ReActorStop}
+         * @return this {@link Builder}
+         */
+        @SafeVarargs
+        public final Builder setNotRateLimited(Class<? extends Serializable> ...notRateLimited) {
+            this.notRateLimited = Set.of(notRateLimited);
+            return this;
+        }
+
+        /**
+         * @return a {@link RateLimitingMbox}
+         * @throws NullPointerException if any of the non-null arguments is found to be null
+         * @throws IllegalArgumentException if {@code messagesPerPeriod} or {@code burstSize} are not positive
+         *                                  if {@code period} is not positive
+         */
+        public RateLimitingMbox build() { return new RateLimitingMbox(this); }
+    }
+}
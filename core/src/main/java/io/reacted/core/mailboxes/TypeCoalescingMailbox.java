@@ -61,7 +61,7 @@ public class TypeCoalescingMailbox implements MailBox {
     @Nonnull
     @Override
     public DeliveryStatus deliver(Message message) {
-        var payloadType = message.getPayload().getClass();
+        var payloadType = message.getPayloadType();
         synchronized (payloadType) {
             this.latestByPayloadType.put(payloadType, message);
             if (this.pendingUpdatedTypes.add(payloadType)) {
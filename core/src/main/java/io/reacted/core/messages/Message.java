@@ -19,10 +19,13 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Objects;
 
 @NonNullByDefault
 public final class Message implements Externalizable {
+    /* Deadline marker for messages that never expire */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
     @Serial
     private static final long serialVersionUID = 1;
     private static final long SENDER_OFFSET = SerializationUtils.getFieldOffset(Message.class, "sender")
@@ -35,11 +38,21 @@ public final class Message implements Externalizable {
                                                                  .orElseSneakyThrow();
     private static final long DATALINK_OFFSET = SerializationUtils.getFieldOffset(Message.class, "dataLink")
                                                                   .orElseSneakyThrow();
+    private static final long DEADLINE_OFFSET = SerializationUtils.getFieldOffset(Message.class, "deadline")
+                                                                  .orElseSneakyThrow();
+    private static final long PRIMITIVE_PAYLOAD_OFFSET = SerializationUtils.getFieldOffset(Message.class,
+                                                                                           "primitivePayload")
+                                                                           .orElseSneakyThrow();
+    /* Serialization marker for a payload that is not a primitive */
+    private static final byte OBJECT_PAYLOAD = -1;
     private final ReActorRef sender;
     private final ReActorRef destination;
     private final long sequenceNumber;
     private final Serializable payload;
     private final DataLink dataLink;
+    private final long deadline;
+    /* Raw bits of the payload when payload is a PrimitiveType marker */
+    private final long primitivePayload;
 
     public Message() {
         /* Required by Externalizable */
@@ -48,28 +61,119 @@ public final class Message implements Externalizable {
         this.sequenceNumber = 0;
         this.payload = SerializationUtils.NO_PAYLOAD;
         this.dataLink = DataLink.NO_DATALINK;
+        this.deadline = NO_DEADLINE;
+        this.primitivePayload = 0;
     }
 
     public Message(ReActorRef sender, ReActorRef dest, long seqNum, ReActorSystemId generatingReActorSystem,
                    AckingPolicy ackingPolicy, Serializable payload) {
+        this(sender, dest, seqNum, generatingReActorSystem, ackingPolicy, NO_DEADLINE, payload);
+    }
+
+    /**
+     * @param deadline epoch millis after which this message is not worth being processed anymore.
+     *                 {@link Message#NO_DEADLINE} if this message never expires
+     */
+    public Message(ReActorRef sender, ReActorRef dest, long seqNum, ReActorSystemId generatingReActorSystem,
+                   AckingPolicy ackingPolicy, long deadline, Serializable payload) {
         this.sender = sender;
         this.destination = dest;
         this.sequenceNumber = seqNum;
         this.dataLink = new DataLink(generatingReActorSystem, ackingPolicy);
+        this.deadline = deadline;
         this.payload = payload;
+        this.primitivePayload = 0;
+    }
+
+    /**
+     * Creates a message carrying a primitive payload without boxing it
+     *
+     * @param deadline epoch millis after which this message is not worth being processed anymore.
+     *                 {@link Message#NO_DEADLINE} if this message never expires
+     * @param primitiveType type of the payload
+     * @param primitivePayload raw bits of the payload. See {@link PrimitiveType#toBits(Serializable)}
+     */
+    public Message(ReActorRef sender, ReActorRef dest, long seqNum, ReActorSystemId generatingReActorSystem,
+                   AckingPolicy ackingPolicy, long deadline, PrimitiveType primitiveType, long primitivePayload) {
+        this.sender = sender;
+        this.destination = dest;
+        this.sequenceNumber = seqNum;
+        this.dataLink = new DataLink(generatingReActorSystem, ackingPolicy);
+        this.deadline = deadline;
+        this.payload = primitiveType;
+        this.primitivePayload = primitivePayload;
     }
 
     public ReActorRef getSender() { return sender; }
 
     public ReActorRef getDestination() { return destination; }
 
+    /**
+     * @return the payload of this message. A primitive payload is boxed on every call
+     */
     @SuppressWarnings("unchecked")
-    public <PayloadT extends Serializable> PayloadT getPayload() { return (PayloadT)payload; }
+    public <PayloadT extends Serializable> PayloadT getPayload() {
+        return (PayloadT)(payload instanceof PrimitiveType primitiveType
+                          ? primitiveType.box(primitivePayload)
+                          : payload);
+    }
+
+    /**
+     * @return the class of the payload, without boxing a primitive payload
+     */
+    public Class<? extends Serializable> getPayloadType() {
+        return payload instanceof PrimitiveType primitiveType ? primitiveType.getBoxedType() : payload.getClass();
+    }
+
+    /**
+     * @return the type of the primitive payload or null if the payload is not a primitive one
+     */
+    @Nullable
+    public PrimitiveType getPrimitiveType() {
+        return payload instanceof PrimitiveType primitiveType ? primitiveType : null;
+    }
+
+    /**
+     * @return the raw bits of a primitive payload
+     * @see Message#getPrimitiveType()
+     */
+    public long getPrimitivePayload() { return primitivePayload; }
 
     public long getSequenceNumber() { return sequenceNumber; }
 
     public DataLink getDataLink() { return dataLink; }
 
+    /**
+     * @return the epoch millis after which this message should be discarded instead of being processed or
+     * {@link Message#NO_DEADLINE}
+     */
+    public long getDeadline() { return deadline; }
+
+    /**
+     * @return true if this message has a deadline and the deadline has been reached
+     */
+    public boolean isExpired() { return isExpired(deadline); }
+
+    /**
+     * @param deadline a deadline in epoch millis
+     * @return true if the provided deadline is not {@link Message#NO_DEADLINE} and it has been reached
+     */
+    public static boolean isExpired(long deadline) {
+        return deadline != NO_DEADLINE && System.currentTimeMillis() >= deadline;
+    }
+
+    /**
+     * Compute the deadline for a message that should be considered valid only for the provided time
+     *
+     * @param timeToLive for how long a message is worth being processed
+     * @return the epoch millis deadline corresponding to the provided time to live
+     */
+    public static long deadlineAfter(Duration timeToLive) {
+        long ttlMillis = timeToLive.toMillis();
+        long now = System.currentTimeMillis();
+        return ttlMillis >= NO_DEADLINE - now ? NO_DEADLINE : now + ttlMillis;
+    }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) return true;
@@ -91,7 +195,8 @@ public final class Message implements Externalizable {
                "sender=" + sender +
                ", destination=" + destination +
                ", sequenceNumber=" + sequenceNumber +
-               ", payload=" + payload +
+               ", deadline=" + deadline +
+               ", payload=" + getPayload() +
                '}';
     }
 
@@ -101,7 +206,22 @@ public final class Message implements Externalizable {
         Objects.requireNonNull(destination).writeExternal(out);
         Objects.requireNonNull(dataLink).writeExternal(out);
         out.writeLong(sequenceNumber);
-        out.writeObject(payload);
+        out.writeLong(deadline);
+        //Primitives, boxed or not, do not go through the generic serialization
+        PrimitiveType primitiveType = getPrimitiveType();
+        if (primitiveType == null) {
+            primitiveType = PrimitiveType.ofBoxed(payload);
+            if (primitiveType == null) {
+                out.writeByte(OBJECT_PAYLOAD);
+                out.writeObject(payload);
+                return;
+            }
+            out.writeByte(primitiveType.ordinal());
+            out.writeLong(PrimitiveType.toBits(payload));
+        } else {
+            out.writeByte(primitiveType.ordinal());
+            out.writeLong(primitivePayload);
+        }
     }
 
     @Override
@@ -116,6 +236,13 @@ public final class Message implements Externalizable {
         datalink.readExternal(in);
         setDataLink(datalink);
         setSequenceNumber(in.readLong());
+        setDeadline(in.readLong());
+        byte payloadType = in.readByte();
+        if (payloadType != OBJECT_PAYLOAD) {
+            setPayload(PrimitiveType.forOrdinal(payloadType));
+            setPrimitivePayload(in.readLong());
+            return;
+        }
         try {
             setPayload((Serializable)in.readObject());
         } catch (Exception exc) {
@@ -143,6 +270,16 @@ public final class Message implements Externalizable {
         return SerializationUtils.setLongField(this, SEQ_NUM_OFFSET, sequenceNumber);
     }
 
+    @SuppressWarnings("UnusedReturnValue")
+    private Message setDeadline(long deadline) {
+        return SerializationUtils.setLongField(this, DEADLINE_OFFSET, deadline);
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    private Message setPrimitivePayload(long primitivePayload) {
+        return SerializationUtils.setLongField(this, PRIMITIVE_PAYLOAD_OFFSET, primitivePayload);
+    }
+
     @SuppressWarnings("UnusedReturnValue")
     private Message setPayload(Serializable payload) {
         return SerializationUtils.setObjectField(this, PAYLOAD_OFFSET, payload);
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.messages;
+
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Primitive payloads that can be carried by a {@link Message} without being boxed.
+ * The primitive value is stored as raw long bits in the envelope and it is boxed only if someone asks
+ * for it as a generic payload.
+ */
+@NonNullByDefault
+public enum PrimitiveType {
+    LONG(Long.class) {
+        @Override
+        public Serializable box(long bits) { return bits; }
+    },
+    INT(Integer.class) {
+        @Override
+        public Serializable box(long bits) { return (int) bits; }
+    },
+    DOUBLE(Double.class) {
+        @Override
+        public Serializable box(long bits) { return Double.longBitsToDouble(bits); }
+    };
+
+    private static final PrimitiveType[] PRIMITIVE_TYPES = values();
+    private final Class<? extends Serializable> boxedType;
+
+    PrimitiveType(Class<? extends Serializable> boxedType) { this.boxedType = boxedType; }
+
+    /**
+     * @param bits the raw bits of a value of this type
+     * @return the boxed representation of the value
+     */
+    public abstract Serializable box(long bits);
+
+    /**
+     * @return the wrapper class of this primitive type
+     */
+    public Class<? extends Serializable> getBoxedType() { return boxedType; }
+
+    public static PrimitiveType forOrdinal(int ordinal) { return PRIMITIVE_TYPES[ordinal]; }
+
+    /**
+     * @param payload a generic payload
+     * @return the {@link PrimitiveType} whose wrapper is the class of {@code payload} or null if there is none
+     */
+    @Nullable
+    public static PrimitiveType ofBoxed(Serializable payload) {
+        if (payload instanceof Long) {
+            return LONG;
+        }
+        if (payload instanceof Integer) {
+            return INT;
+        }
+        if (payload instanceof Double) {
+            return DOUBLE;
+        }
+        return null;
+    }
+
+    /**
+     * @param boxed a {@link Long}, {@link Integer} or {@link Double}
+     * @return the raw bits of the boxed value
+     * @throws IllegalArgumentException if {@code boxed} is not a wrapper of a {@link PrimitiveType}
+     */
+    public static long toBits(Serializable boxed) {
+        if (boxed instanceof Long longValue) {
+            return longValue;
+        }
+        if (boxed instanceof Integer intValue) {
+            return intValue;
+        }
+        if (boxed instanceof Double doubleValue) {
+            return Double.doubleToRawLongBits(doubleValue);
+        }
+        throw new IllegalArgumentException("Not a primitive wrapper: " + boxed.getClass().getName());
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.messages.reactors;
+
+import io.reacted.patterns.NonNullByDefault;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodic summary of the messages received by DeadLetters within a summary interval: counters and
+ * a bounded sample of the undelivered messages. Messages beyond the sample are only accounted, they are
+ * not carried by the summary.
+ *
+ * @param interval the length of the interval this summary refers to
+ * @param deadLettersNum how many messages have been received by DeadLetters within the interval
+ * @param byPayloadType number of undelivered messages per payload class name
+ * @param byDestination number of undelivered messages per destination reactor name
+ * @param samples the first undelivered messages received within the interval, at most
+ *                {@link io.reacted.core.config.reactorsystem.ReActorSystemConfig#getDeadLettersSamplesPerInterval()}
+ */
+@NonNullByDefault
+public record DeadLettersSummary(Duration interval, long deadLettersNum, Map<String, Long> byPayloadType,
+                                 Map<String, Long> byDestination, List<DeadMessage> samples)
+    implements Serializable { }
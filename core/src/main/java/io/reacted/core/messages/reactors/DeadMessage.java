@@ -9,6 +9,7 @@
 package io.reacted.core.messages.reactors;
 
 import io.reacted.core.messages.SerializationUtils;
+import io.reacted.core.reactorsystem.ReActorRef;
 import io.reacted.patterns.NonNullByDefault;
 
 import java.io.Serial;
@@ -29,15 +30,34 @@ public class DeadMessage implements Externalizable {
     private static final long serialVersionUID = 1;
     private static final long PAYLOAD_OFFSET = SerializationUtils.getFieldOffset(DeadMessage.class, "payload")
                                                                  .orElseSneakyThrow();
+    private static final long DESTINATION_OFFSET = SerializationUtils.getFieldOffset(DeadMessage.class,
+                                                                                     "destination")
+                                                                     .orElseSneakyThrow();
 
     private final Serializable payload;
+    private final ReActorRef destination;
 
-    public DeadMessage() { this.payload = SerializationUtils.NO_PAYLOAD; /* required for Externalizable */ }
-    public DeadMessage(Serializable payload) { this.payload = payload; }
+    public DeadMessage() {
+        /* required for Externalizable */
+        this.payload = SerializationUtils.NO_PAYLOAD;
+        this.destination = ReActorRef.NO_REACTOR_REF;
+    }
+    public DeadMessage(Serializable payload) { this(payload, ReActorRef.NO_REACTOR_REF); }
+
+    /**
+     * @param payload the payload that could not be delivered
+     * @param destination the reactor the payload was meant for or {@link ReActorRef#NO_REACTOR_REF} if unknown
+     */
+    public DeadMessage(Serializable payload, ReActorRef destination) {
+        this.payload = payload;
+        this.destination = destination;
+    }
 
     @SuppressWarnings("unchecked")
     public <PayloadT extends Serializable> PayloadT getPayload() { return (PayloadT)payload; }
 
+    public ReActorRef getDestination() { return destination; }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) return true;
@@ -53,16 +73,20 @@ public class DeadMessage implements Externalizable {
 
     @Override
     public String toString() {
-        return "DeadMessage{" + "payload=" + getPayload() + '}';
+        return "DeadMessage{" + "payload=" + getPayload() + ", destination=" + getDestination() + '}';
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeObject(getPayload());
+        getDestination().writeExternal(out);
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         SerializationUtils.setObjectField(this, PAYLOAD_OFFSET, in.readObject());
+        var destinationRef = new ReActorRef();
+        destinationRef.readExternal(in);
+        SerializationUtils.setObjectField(this, DESTINATION_OFFSET, destinationRef);
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.messages.reactors;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * ACKs for many messages coming from the same reactor system, sent as a single {@link DeliveryStatusUpdate}.
+ * Delivered messages are the common case, so their sequence numbers are sent as ranges: a sender generating
+ * consecutive sequence numbers gets all its ACKs in one range. Any other outcome is listed one by one.
+ * The arrays are owned by this object and must not be modified
+ */
+@Immutable
+@NonNullByDefault
+public class DeliveryStatusUpdates implements Serializable {
+    private final long[] deliveredRanges;
+    private final long[] otherMsgSeqNums;
+    private final DeliveryStatus[] otherDeliveryStatuses;
+    private final ReActorSystemId ackSourceReActorSystem;
+    private final ChannelId firstMessageSourceChannelId;
+
+    /**
+     * @param deliveredRanges pairs of first and last sequence number of a range of delivered messages.
+     *                        Bounds are inclusive
+     * @param otherMsgSeqNums sequence numbers of the messages with a status different from
+     *                        {@link DeliveryStatus#DELIVERED}
+     * @param otherDeliveryStatuses status of each one of {@code otherMsgSeqNums}
+     * @param ackSourceReActorSystem reactor system that received the messages
+     * @param firstMessageSourceChannelId channel where the messages have been received
+     */
+    public DeliveryStatusUpdates(long[] deliveredRanges, long[] otherMsgSeqNums,
+                                 DeliveryStatus[] otherDeliveryStatuses, ReActorSystemId ackSourceReActorSystem,
+                                 ChannelId firstMessageSourceChannelId) {
+        this.deliveredRanges = ObjectUtils.requiredCondition(deliveredRanges, ranges -> ranges.length % 2 == 0,
+                                                             () -> new IllegalArgumentException("Incomplete range"));
+        this.otherMsgSeqNums = otherMsgSeqNums;
+        this.otherDeliveryStatuses = ObjectUtils.requiredCondition(otherDeliveryStatuses,
+                                                                   statuses -> statuses.length == otherMsgSeqNums.length,
+                                                                   () -> new IllegalArgumentException("Missing statuses"));
+        this.ackSourceReActorSystem = ackSourceReActorSystem;
+        this.firstMessageSourceChannelId = firstMessageSourceChannelId;
+    }
+
+    public long[] getDeliveredRanges() { return deliveredRanges; }
+
+    public long[] getOtherMsgSeqNums() { return otherMsgSeqNums; }
+
+    public DeliveryStatus[] getOtherDeliveryStatuses() { return otherDeliveryStatuses; }
+
+    public ReActorSystemId getAckSourceReActorSystem() { return ackSourceReActorSystem; }
+
+    public ChannelId getFirstMessageSourceChannelId() { return firstMessageSourceChannelId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DeliveryStatusUpdates that = (DeliveryStatusUpdates) o;
+        return Arrays.equals(getDeliveredRanges(), that.getDeliveredRanges()) &&
+               Arrays.equals(getOtherMsgSeqNums(), that.getOtherMsgSeqNums()) &&
+               Arrays.equals(getOtherDeliveryStatuses(), that.getOtherDeliveryStatuses()) &&
+               Objects.equals(getAckSourceReActorSystem(), that.getAckSourceReActorSystem()) &&
+               Objects.equals(getFirstMessageSourceChannelId(), that.getFirstMessageSourceChannelId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(getDeliveredRanges()), Arrays.hashCode(getOtherMsgSeqNums()),
+                            Arrays.hashCode(getOtherDeliveryStatuses()), getAckSourceReActorSystem(),
+                            getFirstMessageSourceChannelId());
+    }
+
+    @Override
+    public String toString() {
+        return "DeliveryStatusUpdates{" +
+               "deliveredRanges=" + Arrays.toString(deliveredRanges) +
+               ", otherMsgSeqNums=" + Arrays.toString(otherMsgSeqNums) +
+               ", otherDeliveryStatuses=" + Arrays.toString(otherDeliveryStatuses) +
+               ", ackSourceReActorSystem=" + ackSourceReActorSystem +
+               ", firstMessageSourceChannelId=" + firstMessageSourceChannelId +
+               '}';
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.messages.reactors;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Credits granted by a reactor system to a peer that is sending messages to it through a remoting channel.
+ * Every message sent by the peer consumes a credit: when it runs out of credits, the peer reports
+ * {@link DeliveryStatus#BACKPRESSURE_REQUIRED} to its senders
+ */
+@Immutable
+@NonNullByDefault
+public class FlowCredits implements Serializable {
+    private final long credits;
+    private final boolean isInitialWindow;
+    private final ReActorSystemId creditSourceReActorSystem;
+    private final ChannelId creditSourceChannelId;
+
+    /**
+     * @param credits number of messages that can be sent
+     * @param isInitialWindow true for the first grant of the receiver, that turns on the flow control towards it.
+     *                        Credits are always added to the ones the peer has
+     * @param creditSourceReActorSystem reactor system granting the credits
+     * @param creditSourceChannelId channel where the receiver got the messages this grant is for
+     */
+    public FlowCredits(long credits, boolean isInitialWindow, ReActorSystemId creditSourceReActorSystem,
+                       ChannelId creditSourceChannelId) {
+        this.credits = credits;
+        this.isInitialWindow = isInitialWindow;
+        this.creditSourceReActorSystem = creditSourceReActorSystem;
+        this.creditSourceChannelId = creditSourceChannelId;
+    }
+
+    public long getCredits() { return credits; }
+
+    public boolean isInitialWindow() { return isInitialWindow; }
+
+    public ReActorSystemId getCreditSourceReActorSystem() { return creditSourceReActorSystem; }
+
+    public ChannelId getCreditSourceChannelId() { return creditSourceChannelId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FlowCredits that = (FlowCredits) o;
+        return getCredits() == that.getCredits() &&
+               isInitialWindow() == that.isInitialWindow() &&
+               Objects.equals(getCreditSourceReActorSystem(), that.getCreditSourceReActorSystem()) &&
+               Objects.equals(getCreditSourceChannelId(), that.getCreditSourceChannelId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getCredits(), isInitialWindow(), getCreditSourceReActorSystem(),
+                            getCreditSourceChannelId());
+    }
+
+    @Override
+    public String toString() {
+        return "FlowCredits{" +
+               "credits=" + credits +
+               ", isInitialWindow=" + isInitialWindow +
+               ", creditSourceReActorSystem=" + creditSourceReActorSystem +
+               ", creditSourceChannelId=" + creditSourceChannelId +
+               '}';
+    }
+}
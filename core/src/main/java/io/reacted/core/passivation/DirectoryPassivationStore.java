@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.passivation;
+
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Keeps every passivated reactor in a file named after its {@link ReActorId} within a local directory,
+ * so the passivated population costs no memory at all but the page cache
+ */
+@NonNullByDefault
+public class DirectoryPassivationStore implements PassivationStore {
+    private final Path storeDirectory;
+
+    /**
+     * @param storeDirectory directory for the passivated reactors. It is created if it does not exist
+     * @throws IOException if the directory cannot be created
+     */
+    public DirectoryPassivationStore(Path storeDirectory) throws IOException {
+        this.storeDirectory = Files.createDirectories(Objects.requireNonNull(storeDirectory,
+                                                                             "Store directory cannot be null"));
+    }
+
+    @Override
+    public void store(ReActorId reActorId, byte[] reActorState) throws IOException {
+        Files.write(toPath(reActorId), reActorState);
+    }
+
+    @Nullable
+    @Override
+    public byte[] remove(ReActorId reActorId) throws IOException {
+        Path reActorPath = toPath(reActorId);
+        try {
+            byte[] reActorState = Files.readAllBytes(reActorPath);
+            Files.delete(reActorPath);
+            return reActorState;
+        } catch (NoSuchFileException noState) {
+            return null;
+        }
+    }
+
+    private Path toPath(ReActorId reActorId) {
+        return storeDirectory.resolve(reActorId.getReActorUUID().toString());
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.passivation;
+
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the passivated reactors on heap, in their serialized form. A serialized reactor is just its state,
+ * so it is much smaller than a live reactor with its context and mailbox
+ */
+@NonNullByDefault
+public class HeapPassivationStore implements PassivationStore {
+    private final Map<ReActorId, byte[]> reActorsStates = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(ReActorId reActorId, byte[] reActorState) { reActorsStates.put(reActorId, reActorState); }
+
+    @Nullable
+    @Override
+    public byte[] remove(ReActorId reActorId) { return reActorsStates.remove(reActorId); }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.passivation;
+
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+import io.reacted.patterns.Try;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the passivated reactors off heap, in a memory-mapped file. The file is split in fixed size blocks and
+ * a passivated reactor takes a chain of them, so states of any size share the same file and the space of a
+ * reactivated reactor is immediately reused. The heap keeps only the first block of every passivated reactor.
+ *
+ * The file is a scratch area: it is truncated when the store is opened and deleted when it is closed, as the
+ * passivated reactors do not outlive their reactor system.
+ */
+@NonNullByDefault
+public class MappedPassivationStore implements PassivationStore, AutoCloseable {
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+    /* A block is: next block of the chain, bytes of state in this block, state */
+    private static final int NEXT_BLOCK_OFFSET = 0;
+    private static final int LENGTH_OFFSET = NEXT_BLOCK_OFFSET + Integer.BYTES;
+    private static final int STATE_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+    private static final int MIN_BLOCK_SIZE = 64;
+    private static final int MAX_CHUNK_LENGTH = 1 << 30;
+    private static final int NO_BLOCK = -1;
+    private final Map<ReActorId, Integer> firstBlocks = new HashMap<>();
+    private final Path storeFile;
+    private final int blockSize;
+    private final int stateBytesPerBlock;
+    private final int blocksNum;
+    private final int blocksPerChunk;
+    private final FileChannel storeChannel;
+    private final MappedByteBuffer[] chunksMappings;
+    private final UnsafeBuffer[] chunks;
+    /* Released blocks are chained through their next block field */
+    private int freeBlocksHead = NO_BLOCK;
+    /* Blocks from here on have never been used */
+    private int neverUsedBlock;
+    private int freeBlocksNum;
+    private boolean isClosed;
+
+    /**
+     * @param storeFile file backing the store. Any previous content is discarded
+     * @param capacity size of the store in bytes
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public MappedPassivationStore(Path storeFile, long capacity) throws IOException {
+        this(storeFile, capacity, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param storeFile file backing the store. Any previous content is discarded
+     * @param capacity size of the store in bytes
+     * @param blockSize allocation unit for the passivated states. A state takes at least a block
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public MappedPassivationStore(Path storeFile, long capacity, int blockSize) throws IOException {
+        this.storeFile = Objects.requireNonNull(storeFile, "Store file cannot be null");
+        this.blockSize = ObjectUtils.requiredInRange(blockSize, MIN_BLOCK_SIZE, MAX_CHUNK_LENGTH,
+                                                     () -> new IllegalArgumentException("Invalid block size"));
+        this.stateBytesPerBlock = blockSize - STATE_OFFSET;
+        this.blocksNum = ObjectUtils.requiredInRange(capacity / blockSize, 1L, (long) Integer.MAX_VALUE,
+                                                     () -> new IllegalArgumentException("Invalid capacity"))
+                                    .intValue();
+        this.freeBlocksNum = blocksNum;
+        this.blocksPerChunk = MAX_CHUNK_LENGTH / blockSize;
+        this.storeChannel = FileChannel.open(storeFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                             StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        int chunksNum = (blocksNum + blocksPerChunk - 1) / blocksPerChunk;
+        this.chunksMappings = new MappedByteBuffer[chunksNum];
+        this.chunks = new UnsafeBuffer[chunksNum];
+        for (int chunk = 0; chunk < chunksNum; chunk++) {
+            long chunkBlocks = Math.min(blocksPerChunk, blocksNum - (long) chunk * blocksPerChunk);
+            chunksMappings[chunk] = storeChannel.map(FileChannel.MapMode.READ_WRITE,
+                                                     (long) chunk * blocksPerChunk * blockSize,
+                                                     chunkBlocks * blockSize);
+            chunks[chunk] = new UnsafeBuffer(chunksMappings[chunk]);
+        }
+    }
+
+    @Override
+    public synchronized void store(ReActorId reActorId, byte[] reActorState) throws IOException {
+        if (isClosed) {
+            throw new IOException("Passivation store is closed");
+        }
+        int requiredBlocks = Math.max(1, (reActorState.length + stateBytesPerBlock - 1) / stateBytesPerBlock);
+        Integer previousState = firstBlocks.remove(reActorId);
+        if (previousState != null) {
+            release(previousState);
+        }
+        if (requiredBlocks > freeBlocksNum) {
+            throw new IOException(String.format("Passivation store is full: %d bytes required, %d available",
+                                                reActorState.length, (long) freeBlocksNum * stateBytesPerBlock));
+        }
+        int firstBlock = allocate();
+        int block = firstBlock;
+        for (int written = 0; ; ) {
+            int blockStateLength = Math.min(stateBytesPerBlock, reActorState.length - written);
+            UnsafeBuffer chunk = chunkOf(block);
+            int blockOffset = offsetOf(block);
+            chunk.putInt(blockOffset + LENGTH_OFFSET, blockStateLength);
+            chunk.putBytes(blockOffset + STATE_OFFSET, reActorState, written, blockStateLength);
+            written += blockStateLength;
+            if (written == reActorState.length) {
+                chunk.putInt(blockOffset + NEXT_BLOCK_OFFSET, NO_BLOCK);
+                break;
+            }
+            int nextBlock = allocate();
+            chunk.putInt(blockOffset + NEXT_BLOCK_OFFSET, nextBlock);
+            block = nextBlock;
+        }
+        firstBlocks.put(reActorId, firstBlock);
+    }
+
+    @Nullable
+    @Override
+    public synchronized byte[] remove(ReActorId reActorId) throws IOException {
+        if (isClosed) {
+            throw new IOException("Passivation store is closed");
+        }
+        Integer firstBlock = firstBlocks.remove(reActorId);
+        if (firstBlock == null) {
+            return null;
+        }
+        int stateLength = 0;
+        for (int block = firstBlock; block != NO_BLOCK; block = nextOf(block)) {
+            stateLength += chunkOf(block).getInt(offsetOf(block) + LENGTH_OFFSET);
+        }
+        byte[] reActorState = new byte[stateLength];
+        int read = 0;
+        for (int block = firstBlock; block != NO_BLOCK; block = nextOf(block)) {
+            int blockStateLength = chunkOf(block).getInt(offsetOf(block) + LENGTH_OFFSET);
+            chunkOf(block).getBytes(offsetOf(block) + STATE_OFFSET, reActorState, read, blockStateLength);
+            read += blockStateLength;
+        }
+        release(firstBlock);
+        return reActorState;
+    }
+
+    /**
+     * @return the number of bytes that can still be stored
+     */
+    public synchronized long getAvailableBytes() { return (long) freeBlocksNum * stateBytesPerBlock; }
+
+    @Override
+    public synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        this.isClosed = true;
+        firstBlocks.clear();
+        for (MappedByteBuffer chunkMapping : chunksMappings) {
+            IoUtil.unmap(chunkMapping);
+        }
+        Try.ofRunnable(storeChannel::close);
+        Try.ofRunnable(() -> Files.deleteIfExists(storeFile));
+    }
+
+    private int allocate() {
+        int block;
+        if (freeBlocksHead != NO_BLOCK) {
+            block = freeBlocksHead;
+            freeBlocksHead = nextOf(block);
+        } else {
+            block = neverUsedBlock++;
+        }
+        freeBlocksNum--;
+        return block;
+    }
+
+    private void release(int firstBlock) {
+        int block = firstBlock;
+        while (block != NO_BLOCK) {
+            int nextBlock = nextOf(block);
+            chunkOf(block).putInt(offsetOf(block) + NEXT_BLOCK_OFFSET, freeBlocksHead);
+            freeBlocksHead = block;
+            freeBlocksNum++;
+            block = nextBlock;
+        }
+    }
+
+    private int nextOf(int block) { return chunkOf(block).getInt(offsetOf(block) + NEXT_BLOCK_OFFSET); }
+
+    private UnsafeBuffer chunkOf(int block) { return chunks[block / blocksPerChunk]; }
+
+    private int offsetOf(int block) { return (block % blocksPerChunk) * blockSize; }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.passivation;
+
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * Keeps the serialized state of the passivated reactors until they are reactivated.
+ * Implementations must be thread safe, but they are never accessed concurrently for the same {@link ReActorId}
+ *
+ * @see io.reacted.core.reactorsystem.ReActorSystem#spawnPassivable
+ */
+@NonNullByDefault
+public interface PassivationStore {
+    /**
+     * Save the state of a reactor that is being passivated
+     *
+     * @param reActorId id of the passivated reactor
+     * @param reActorState serialized reactor
+     * @throws IOException if the state cannot be saved. The reactor will be kept in memory
+     */
+    void store(ReActorId reActorId, byte[] reActorState) throws IOException;
+
+    /**
+     * Retrieve and forget the state of a passivated reactor
+     *
+     * @param reActorId id of the reactor that is being reactivated
+     * @return the serialized reactor or null if there is no state for {@code reActorId}
+     * @throws IOException if the state cannot be retrieved
+     */
+    @Nullable
+    byte[] remove(ReActorId reActorId) throws IOException;
+}
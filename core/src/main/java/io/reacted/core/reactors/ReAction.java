@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactors;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as the reaction for the type of its second parameter. The method signature must be
+ * {@code void name(ReActorContext raCtx, PayloadT payload)} where {@code PayloadT} is either a {@link java.io.Serializable}
+ * type or {@code long}, {@code int} or {@code double}. A reaction for {@link java.io.Serializable} becomes the
+ * default reaction.
+ * The {@code reacted-processor} annotation processor generates a {@code <ClassName>ReActions} class
+ * in the same package, whose {@code of} method builds the {@link ReActions} for an instance of the class
+ * using direct method references, so that no builder chain has to be written by hand
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+@Documented
+public @interface ReAction {
+}
@@ -9,12 +9,22 @@
 package io.reacted.core.reactors;
 
 import com.google.common.collect.ImmutableMap;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
 
+import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
 @NonNullByDefault
@@ -24,21 +34,128 @@ public class ReActions {
     private final Map<Class<? extends Serializable>,
                       BiConsumer<ReActorContext, ? extends Serializable>> behaviors;
     private final BiConsumer<ReActorContext, Serializable> defaultReaction;
+    @Nullable
+    private final LongReAction longReAction;
+    @Nullable
+    private final IntReAction intReAction;
+    @Nullable
+    private final DoubleReAction doubleReAction;
+    private final boolean subtypeAware;
+    /* Reactions resolved through the type hierarchy, memoised per concrete payload type */
+    private final Map<Class<?>, BiConsumer<ReActorContext, ? extends Serializable>> subtypeReActions;
 
     private ReActions(Builder builder) {
-        this.behaviors = builder.callbacks.build();
+        this.longReAction = builder.longReAction;
+        this.intReAction = builder.intReAction;
+        this.doubleReAction = builder.doubleReAction;
+        //Boxed primitives that have no dedicated reaction are handled by the primitive reactions
+        Map<Class<? extends Serializable>, BiConsumer<ReActorContext, ? extends Serializable>> behaviors;
+        behaviors = new HashMap<>(builder.callbacks.build());
+        if (longReAction != null) {
+            behaviors.putIfAbsent(Long.class, (BiConsumer<ReActorContext, Long>) longReAction::reAct);
+        }
+        if (intReAction != null) {
+            behaviors.putIfAbsent(Integer.class, (BiConsumer<ReActorContext, Integer>) intReAction::reAct);
+        }
+        if (doubleReAction != null) {
+            behaviors.putIfAbsent(Double.class, (BiConsumer<ReActorContext, Double>) doubleReAction::reAct);
+        }
+        this.behaviors = ImmutableMap.copyOf(behaviors);
         this.defaultReaction = Objects.requireNonNull(builder.anyType,
                                                       "Default reaction cannot be null");
+        this.subtypeAware = builder.subtypeAware;
+        this.subtypeReActions = subtypeAware ? new ConcurrentHashMap<>() : Map.of();
     }
 
     @SuppressWarnings("unchecked")
     public <PayloadT extends Serializable>
     BiConsumer<ReActorContext, PayloadT> getReAction(PayloadT payload) {
-        return (BiConsumer<ReActorContext, PayloadT>) behaviors.getOrDefault(payload.getClass(),
-                                                                             defaultReaction);
+        return getReAction((Class<PayloadT>) payload.getClass());
+    }
+
+    /**
+     * Find the reaction for a payload type. The reaction registered for exactly {@code payloadType} is
+     * preferred. If there is none and these reactions are subtype aware, the one registered for the nearest
+     * superclass is used and then the one registered for the first implemented interface, in declaration order.
+     * The default reaction is returned if nothing matches.
+     *
+     * @param payloadType the concrete type of a payload
+     * @param <PayloadT> any {@link Serializable} type
+     * @return the reaction for {@code payloadType}
+     */
+    @SuppressWarnings("unchecked")
+    public <PayloadT extends Serializable>
+    BiConsumer<ReActorContext, PayloadT> getReAction(Class<PayloadT> payloadType) {
+        var reAction = behaviors.get(payloadType);
+        if (reAction == null) {
+            reAction = subtypeAware
+                       ? subtypeReActions.computeIfAbsent(payloadType, this::resolveSubtypeReAction)
+                       : defaultReaction;
+        }
+        return (BiConsumer<ReActorContext, PayloadT>) reAction;
+    }
+
+    /**
+     * Run the primitive reaction registered for a primitive payload, if any
+     *
+     * @param raCtx context of the reactor that is reacting
+     * @param primitiveType type of the payload
+     * @param primitivePayload raw bits of the payload
+     * @return true if a reaction for {@code primitiveType} has been found and run, false otherwise
+     */
+    public boolean reAct(ReActorContext raCtx, PrimitiveType primitiveType, long primitivePayload) {
+        switch (primitiveType) {
+            case LONG -> {
+                if (longReAction == null) {
+                    return false;
+                }
+                longReAction.reAct(raCtx, primitivePayload);
+            }
+            case INT -> {
+                if (intReAction == null) {
+                    return false;
+                }
+                intReAction.reAct(raCtx, (int) primitivePayload);
+            }
+            case DOUBLE -> {
+                if (doubleReAction == null) {
+                    return false;
+                }
+                doubleReAction.reAct(raCtx, Double.longBitsToDouble(primitivePayload));
+            }
+        }
+        return true;
     }
 
     public static Builder newBuilder() { return new Builder(); }
+
+    private BiConsumer<ReActorContext, ? extends Serializable> resolveSubtypeReAction(Class<?> payloadType) {
+        for (Class<?> superType = payloadType.getSuperclass(); superType != null;
+             superType = superType.getSuperclass()) {
+            var reAction = behaviors.get(superType);
+            if (reAction != null) {
+                return reAction;
+            }
+        }
+        Set<Class<?>> visited = new HashSet<>();
+        Queue<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> type = payloadType; type != null; type = type.getSuperclass()) {
+            interfaces.addAll(List.of(type.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> anInterface = interfaces.remove();
+            if (!visited.add(anInterface)) {
+                continue;
+            }
+            var reAction = behaviors.get(anInterface);
+            if (reAction != null) {
+                return reAction;
+            }
+            interfaces.addAll(List.of(anInterface.getInterfaces()));
+        }
+        return defaultReaction;
+    }
+
     private Map<Class<? extends Serializable>, BiConsumer<ReActorContext, ? extends Serializable>>
     getBehaviors() { return behaviors; }
 
@@ -46,6 +163,13 @@ public class ReActions {
         private final ImmutableMap.Builder<Class<? extends Serializable>,
                                            BiConsumer<ReActorContext, ? extends Serializable>> callbacks;
         private BiConsumer<ReActorContext, Serializable> anyType = ReActions::noReAction;
+        @Nullable
+        private LongReAction longReAction;
+        @Nullable
+        private IntReAction intReAction;
+        @Nullable
+        private DoubleReAction doubleReAction;
+        private boolean subtypeAware;
 
         private Builder() {
             this.callbacks = ImmutableMap.builder();
@@ -63,10 +187,56 @@ public class ReActions {
             return this;
         }
 
+        /**
+         * @param behavior reaction for {@code long} payloads, either primitive or boxed. A reaction registered
+         *                 for {@link Long} takes precedence for boxed payloads
+         * @return this builder
+         */
+        public final Builder reActOnLong(LongReAction behavior) {
+            this.longReAction = Objects.requireNonNull(behavior, "Message callback cannot be null");
+            return this;
+        }
+
+        /**
+         * @param behavior reaction for {@code int} payloads, either primitive or boxed. A reaction registered
+         *                 for {@link Integer} takes precedence for boxed payloads
+         * @return this builder
+         */
+        public final Builder reActOnInt(IntReAction behavior) {
+            this.intReAction = Objects.requireNonNull(behavior, "Message callback cannot be null");
+            return this;
+        }
+
+        /**
+         * @param behavior reaction for {@code double} payloads, either primitive or boxed. A reaction registered
+         *                 for {@link Double} takes precedence for boxed payloads
+         * @return this builder
+         */
+        public final Builder reActOnDouble(DoubleReAction behavior) {
+            this.doubleReAction = Objects.requireNonNull(behavior, "Message callback cannot be null");
+            return this;
+        }
+
+        /**
+         * @param subtypeAware if true, a payload without a reaction for its exact type is handled by the
+         *                     reaction registered for one of its supertypes, if any.
+         *                     Default: false
+         * @return this builder
+         * @see ReActions#getReAction(Class)
+         */
+        public final Builder setSubtypeAware(boolean subtypeAware) {
+            this.subtypeAware = subtypeAware;
+            return this;
+        }
+
         public final Builder from(ReActions reActions) {
             Objects.requireNonNull(reActions, "Source reactions cannot be null")
                    .getBehaviors()
                    .forEach(callbacks::put);
+            ObjectUtils.runIfNotNull(reActions.longReAction, this::reActOnLong);
+            ObjectUtils.runIfNotNull(reActions.intReAction, this::reActOnInt);
+            ObjectUtils.runIfNotNull(reActions.doubleReAction, this::reActOnDouble);
+            this.subtypeAware = this.subtypeAware || reActions.subtypeAware;
             return this;
         }
 
@@ -78,4 +248,19 @@ public class ReActions {
     @SuppressWarnings("EmptyMethod")
     public static <PayloadT extends Serializable>
     void noReAction(ReActorContext raCtx, PayloadT payload) { /* No Reactions */ }
+
+    @FunctionalInterface
+    public interface LongReAction {
+        void reAct(ReActorContext raCtx, long payload);
+    }
+
+    @FunctionalInterface
+    public interface IntReAction {
+        void reAct(ReActorContext raCtx, int payload);
+    }
+
+    @FunctionalInterface
+    public interface DoubleReAction {
+        void reAct(ReActorContext raCtx, double payload);
+    }
 }
@@ -20,10 +20,12 @@ import io.reacted.patterns.NonNullByDefault;
 import io.reacted.patterns.ObjectUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -35,6 +37,8 @@ public class Ask<ReplyT extends Serializable> implements ReActor {
     private final String requestName;
     private final ReActorRef target;
     private final Serializable request;
+    @Nullable
+    private ScheduledFuture<?> timeout;
 
     public Ask(Duration askTimeout, Class<ReplyT> expectedReplyType, CompletableFuture<ReplyT> completionTrigger,
                String requestName, ReActorRef target, Serializable request) {
@@ -51,7 +55,7 @@ public class Ask<ReplyT extends Serializable> implements ReActor {
     public ReActions getReActions() {
         return ReActions.newBuilder()
                         .reAct(ReActorInit.class, this::onInit)
-                        .reAct(ReActorStop.class, ReActions::noReAction)
+                        .reAct(ReActorStop.class, this::onStop)
                         .reAct(expectedReplyType, this::onExpectedReply)
                         .reAct(this::onUnexpected)
                         .build();
@@ -69,15 +73,22 @@ public class Ask<ReplyT extends Serializable> implements ReActor {
     }
 
     private void onInit(ReActorContext raCtx, ReActorInit init) {
-        if (!target.publish(raCtx.getSelf(), request).isSent()) {
+        //The request is meaningless once the ask has timed out, so let the target drop it if it is lagging behind
+        if (!target.publish(raCtx.getSelf(), request, askTimeout).isSent()) {
             raCtx.stop()
                  .thenAccept(noVal -> completionTrigger.completeExceptionally(new DeliveryException()));
         } else {
-            raCtx.getReActorSystem()
-                 .getSystemSchedulingService()
-                 .schedule(() -> raCtx.stop()
-                                      .thenAccept(noVal -> completionTrigger.completeExceptionally(new TimeoutException())),
-                           askTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            this.timeout = raCtx.getReActorSystem()
+                                .getSystemTimer()
+                                .schedule(() -> raCtx.stop()
+                                                     .thenAccept(noVal -> completionTrigger.completeExceptionally(new TimeoutException())),
+                                          askTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onStop(ReActorContext raCtx, ReActorStop stop) {
+        if (timeout != null) {
+            timeout.cancel(false);
         }
     }
 
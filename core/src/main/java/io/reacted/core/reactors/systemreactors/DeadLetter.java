@@ -8,19 +8,51 @@
 
 package io.reacted.core.reactors.systemreactors;
 
+import io.reacted.core.messages.reactors.DeadLettersSummary;
 import io.reacted.core.messages.reactors.DeadMessage;
 import io.reacted.core.messages.reactors.ReActorInit;
 import io.reacted.core.messages.reactors.ReActorStop;
 import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactors.ReActiveEntity;
 import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.core.services.Service;
-import java.io.Serializable;
-import java.util.concurrent.atomic.AtomicLong;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+import io.reacted.patterns.Try;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class DeadLetter {
-    private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetter.class);
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All messages for reactors not found are rerouted here. During a failure storm thousands of messages
+ * per second may hit DeadLetters, so they are not logged one by one: they are accounted per payload type
+ * and per destination, only a sample of them is logged and a {@link DeadLettersSummary} is periodically
+ * logged and propagated to the local subscribers of that type.
+ */
+@NonNullByDefault
+public class DeadLetter implements ReActiveEntity {
+    /* All messages for reactors not found will be rerouted here */
+    public static final AtomicLong RECEIVED = new AtomicLong();
+    /**
+     * Reactions of the dead letters reactor of the previous versions: every dead letter is logged on its own
+     *
+     * @deprecated the reactor system spawns a {@link DeadLetter} instance, that logs only a sample of the dead
+     * letters and periodically propagates a {@link DeadLettersSummary}. Subscribe to that instead
+     */
+    @Deprecated
     public static final ReActions DEADLETTERS = ReActions.newBuilder()
                                                          .reAct(DeadMessage.class,
                                                                 (ctx, payload) -> ctx.getSelf()
@@ -30,18 +62,110 @@ public class DeadLetter {
                                                                 ReActions::noReAction)
                                                          .reAct(ReActorInit.class, ReActions::noReAction)
                                                          .reAct(ReActorStop.class, ReActions::noReAction)
-                                                         .reAct(DeadLetter::onMessage)
+                                                         .reAct(DeadLetter::logDeadLetter)
                                                          .build();
-    /* All messages for reactors not found will be rerouted here */
-    public static final AtomicLong RECEIVED = new AtomicLong();
+    /* Beyond this number of distinct keys, the new ones are accounted all together */
+    static final int MAX_TRACKED_KEYS = 256;
+    static final String UNTRACKED_KEY = "<others>";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetter.class);
+    private final Duration summaryInterval;
+    private final int samplesPerInterval;
+    private final ScheduledExecutorService timerService;
+    private final Map<String, Long> byPayloadType = new HashMap<>();
+    private final Map<String, Long> byDestination = new HashMap<>();
+    private final List<DeadMessage> samples = new ArrayList<>();
+    private long intervalDeadLetters;
+    @Nullable
+    private ScheduledFuture<?> timer;
 
-    private DeadLetter() { }
+    public DeadLetter(Duration summaryInterval, int samplesPerInterval, ScheduledExecutorService timerService) {
+        this.summaryInterval = ObjectUtils.checkNonNullPositiveTimeInterval(summaryInterval);
+        this.samplesPerInterval = ObjectUtils.requiredInRange(samplesPerInterval, 0, Integer.MAX_VALUE,
+                                                              IllegalArgumentException::new);
+        this.timerService = Objects.requireNonNull(timerService);
+    }
+
+    @Nonnull
+    @Override
+    public ReActions getReActions() {
+        return ReActions.newBuilder()
+                        .reAct(DeadMessage.class, this::onDeadMessage)
+                        .reAct(SummaryTick.class, (raCtx, tick) -> onSummaryTick(raCtx, true))
+                        .reAct(Service.RouteeReSpawnRequest.class, ReActions::noReAction)
+                        .reAct(ReActorInit.class, (raCtx, init) -> onInit(raCtx))
+                        .reAct(ReActorStop.class, (raCtx, stop) -> onStop(raCtx))
+                        .reAct(this::onMessage)
+                        .build();
+    }
 
-    private static <PayloadT extends Serializable>
-    void onMessage(ReActorContext raCtx, PayloadT message) {
+    private void onInit(ReActorContext raCtx) {
+        this.timer = Try.of(() -> timerService.scheduleAtFixedRate(() -> raCtx.selfTell(new SummaryTick()),
+                                                                   summaryInterval.toMillis(),
+                                                                   summaryInterval.toMillis(),
+                                                                   TimeUnit.MILLISECONDS))
+                        .orElse(null, error -> raCtx.logError("Unable to schedule {} summaries",
+                                                              DeadLetter.class.getSimpleName(), error));
+    }
+
+    private void onStop(ReActorContext raCtx) {
+        if (timer != null) {
+            timer.cancel(true);
+        }
+        //The system is going down, subscribers may be gone already: just log what is pending
+        onSummaryTick(raCtx, false);
+    }
+
+    private void onDeadMessage(ReActorContext raCtx, DeadMessage deadMessage) {
+        RECEIVED.incrementAndGet();
+        intervalDeadLetters++;
+        account(byPayloadType, deadMessage.getPayload().getClass().getName());
+        account(byDestination, deadMessage.getDestination().getReActorId().getReActorName());
+        if (samples.size() < samplesPerInterval) {
+            samples.add(deadMessage);
+            LOGGER.info("{} of {}: {} of type {} from {} to {}", DeadLetter.class.getSimpleName(),
+                        raCtx.getReActorSystem().getLocalReActorSystemId().getReActorSystemName(),
+                        deadMessage.getPayload(), deadMessage.getPayload().getClass(), raCtx.getSender(),
+                        deadMessage.getDestination());
+        }
+    }
+
+    /* Messages sent straight to DeadLetters, without going through ReActorSystem#toDeadLetters */
+    private void onMessage(ReActorContext raCtx, Serializable message) {
+        onDeadMessage(raCtx, new DeadMessage(message));
+    }
+
+    private void onSummaryTick(ReActorContext raCtx, boolean propagateSummary) {
+        if (intervalDeadLetters == 0) {
+            return;
+        }
+        var summary = new DeadLettersSummary(summaryInterval, intervalDeadLetters, Map.copyOf(byPayloadType),
+                                             Map.copyOf(byDestination), List.copyOf(samples));
+        LOGGER.warn("{} of {}: {} undelivered messages in the last {}. Per type: {} Per destination: {}",
+                    DeadLetter.class.getSimpleName(),
+                    raCtx.getReActorSystem().getLocalReActorSystemId().getReActorSystemName(),
+                    summary.deadLettersNum(), summary.interval(), summary.byPayloadType(),
+                    summary.byDestination());
+        intervalDeadLetters = 0;
+        byPayloadType.clear();
+        byDestination.clear();
+        samples.clear();
+        if (propagateSummary) {
+            raCtx.getReActorSystem()
+                 .broadcastToLocalSubscribers(raCtx.getSelf(), summary);
+        }
+    }
+
+    private static void logDeadLetter(ReActorContext raCtx, Serializable message) {
         LOGGER.info("{} of {}: {} of type {} from {}", DeadLetter.class.getSimpleName(),
-                    raCtx.getReActorSystem().getLocalReActorSystemId().getReActorSystemName(), message, message.getClass(),
-                    raCtx.getSender());
+                    raCtx.getReActorSystem().getLocalReActorSystemId().getReActorSystemName(), message,
+                    message.getClass(), raCtx.getSender());
         RECEIVED.incrementAndGet();
     }
+
+    private static void account(Map<String, Long> counters, String key) {
+        String trackedKey = counters.size() < MAX_TRACKED_KEYS || counters.containsKey(key) ? key : UNTRACKED_KEY;
+        counters.merge(trackedKey, 1L, Long::sum);
+    }
+
+    private record SummaryTick() implements Serializable { }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.core.exceptions.DeliveryException;
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.core.runtime.TimingWheel;
+import io.reacted.patterns.NonNullByDefault;
+import org.agrona.collections.Long2ObjectHashMap;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Routes the replies for all the pending asks of a reactor system.
+ * Every ask gets a reply address that is not backed by any reactor: its uuid carries a correlation id that is
+ * used to find the pending ask once a message for that address cannot be found among the local reactors.
+ * Pending asks are kept in striped primitive maps and their timeouts in the system timer, so an ask costs
+ * a map insertion and a timer instead of a whole reactor life cycle. A scatter gather shares the same reply
+ * address among all its targets, so it costs a single entry and a single timer as well: its replies are
+ * counted, not matched against the targets.
+ */
+@NonNullByDefault
+final class AskRouter {
+    private static final int STRIPES = 64;
+    private final long routerMarker = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong correlationIds = new AtomicLong();
+    @SuppressWarnings("unchecked")
+    private final Long2ObjectHashMap<PendingReply>[] pendingReplies = new Long2ObjectHashMap[STRIPES];
+    private final ReActorSystem localReActorSystem;
+
+    AskRouter(ReActorSystem localReActorSystem) {
+        this.localReActorSystem = Objects.requireNonNull(localReActorSystem);
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            pendingReplies[stripe] = new Long2ObjectHashMap<>();
+        }
+    }
+
+    <ReplyT extends Serializable, RequestT extends Serializable>
+    CompletionStage<ReplyT> ask(ReActorRef target, RequestT request, Class<ReplyT> expectedReplyType,
+                                Duration askTimeout, String requestName) {
+        long correlationId = correlationIds.incrementAndGet();
+        var pendingAsk = new PendingAsk<>(expectedReplyType);
+        ReActorRef replyTo = register(correlationId, pendingAsk, askTimeout, requestName);
+        //The request is meaningless once the ask has timed out, so let the target drop it if it is lagging behind
+        if (!target.publish(replyTo, request, askTimeout).isSent()) {
+            onDeliveryFailure(correlationId, target);
+        }
+        return pendingAsk.reply;
+    }
+
+    <ReplyT extends Serializable, RequestT extends Serializable>
+    CompletionStage<GatherResult<ReplyT>> scatterGather(Collection<ReActorRef> targets, RequestT request,
+                                                        Class<ReplyT> expectedReplyType, GatherPolicy gatherPolicy,
+                                                        Duration gatherTimeout, String requestName) {
+        Set<ReActorRef> uniqueTargets = new LinkedHashSet<>(targets);
+        int requiredReplies = gatherPolicy.getRequiredReplies(uniqueTargets.size());
+        if (requiredReplies > uniqueTargets.size()) {
+            throw new IllegalArgumentException(String.format("%d replies required from %d targets",
+                                                             requiredReplies, uniqueTargets.size()));
+        }
+        var pendingGather = new PendingGather<>(expectedReplyType, uniqueTargets, requiredReplies,
+                                                gatherPolicy.isPartialOnDeadline());
+        if (uniqueTargets.isEmpty()) {
+            pendingGather.onTimeout();
+            return pendingGather.result;
+        }
+        long correlationId = correlationIds.incrementAndGet();
+        ReActorRef replyTo = register(correlationId, pendingGather, gatherTimeout, requestName);
+        for (ReActorRef target : uniqueTargets) {
+            if (!target.publish(replyTo, request, gatherTimeout).isSent()) {
+                onDeliveryFailure(correlationId, target);
+            }
+        }
+        return pendingGather.result;
+    }
+
+    /**
+     * @return true if {@code destination} was the reply address of a pending ask and the reply has been consumed
+     */
+    boolean onReply(ReActorRef sender, ReActorRef destination, Serializable reply) {
+        UUID replyAddress = destination.getReActorId().getReActorUUID();
+        if (replyAddress.getMostSignificantBits() != routerMarker) {
+            return false;
+        }
+        long correlationId = replyAddress.getLeastSignificantBits();
+        PendingReply pendingReply = get(correlationId);
+        if (pendingReply == null) {
+            return false;
+        }
+        if (pendingReply.onReply(sender, reply)) {
+            remove(correlationId);
+        }
+        return true;
+    }
+
+    private ReActorRef register(long correlationId, PendingReply pendingReply, Duration timeout,
+                                String requestName) {
+        UUID replyAddress = new UUID(routerMarker, correlationId);
+        var replyTo = new ReActorRef(new ReActorId().setReActorUUID(replyAddress)
+                                                    .setReActorName(requestName)
+                                                    .setHashCode(Objects.hash(replyAddress, requestName)),
+                                     localReActorSystem.getLoopback());
+        store(correlationId, pendingReply);
+        if (!timeout.equals(ReActorRef.NO_TIMEOUT)) {
+            TimingWheel systemTimer = localReActorSystem.getSystemTimer();
+            pendingReply.setTimeout(systemTimer.schedule(() -> onTimeout(correlationId),
+                                                         TimeUnit.NANOSECONDS.convert(timeout),
+                                                         TimeUnit.NANOSECONDS));
+        }
+        return replyTo;
+    }
+
+    private void onDeliveryFailure(long correlationId, ReActorRef target) {
+        PendingReply pendingReply = get(correlationId);
+        if (pendingReply != null && pendingReply.onDeliveryFailure(target)) {
+            remove(correlationId);
+        }
+    }
+
+    private void onTimeout(long correlationId) {
+        PendingReply expiredReply = remove(correlationId);
+        if (expiredReply != null) {
+            expiredReply.onTimeout();
+        }
+    }
+
+    private void store(long correlationId, PendingReply pendingReply) {
+        var stripe = stripeOf(correlationId);
+        synchronized (stripe) {
+            stripe.put(correlationId, pendingReply);
+        }
+    }
+
+    @Nullable
+    private PendingReply get(long correlationId) {
+        var stripe = stripeOf(correlationId);
+        synchronized (stripe) {
+            return stripe.get(correlationId);
+        }
+    }
+
+    @Nullable
+    private PendingReply remove(long correlationId) {
+        var stripe = stripeOf(correlationId);
+        synchronized (stripe) {
+            return stripe.remove(correlationId);
+        }
+    }
+
+    private Long2ObjectHashMap<PendingReply> stripeOf(long correlationId) {
+        return pendingReplies[(int)(correlationId & (STRIPES - 1))];
+    }
+
+    private static IllegalArgumentException unexpectedReply(Serializable payload, Class<?> expectedReplyType) {
+        return new IllegalArgumentException(String.format("Received %s instead of %s", payload.getClass().getName(),
+                                                          expectedReplyType.getName()));
+    }
+
+    private abstract static class PendingReply {
+        @Nullable
+        private volatile ScheduledFuture<?> timeout;
+
+        /* Returns true if no more replies are expected */
+        abstract boolean onReply(ReActorRef sender, Serializable payload);
+
+        /* Returns true if no more replies are expected */
+        abstract boolean onDeliveryFailure(ReActorRef target);
+
+        abstract void onTimeout();
+
+        void setTimeout(ScheduledFuture<?> timeout) { this.timeout = timeout; }
+
+        void cancelTimeout() {
+            ScheduledFuture<?> pendingTimeout = timeout;
+            if (pendingTimeout != null) {
+                pendingTimeout.cancel(false);
+            }
+        }
+    }
+
+    private static final class PendingAsk<ReplyT extends Serializable> extends PendingReply {
+        private final CompletableFuture<ReplyT> reply = new CompletableFuture<>();
+        private final Class<ReplyT> expectedReplyType;
+
+        private PendingAsk(Class<ReplyT> expectedReplyType) {
+            this.expectedReplyType = expectedReplyType;
+        }
+
+        @Override
+        boolean onReply(ReActorRef sender, Serializable payload) {
+            cancelTimeout();
+            if (expectedReplyType.isInstance(payload)) {
+                reply.complete(expectedReplyType.cast(payload));
+            } else {
+                reply.completeExceptionally(unexpectedReply(payload, expectedReplyType));
+            }
+            return true;
+        }
+
+        @Override
+        boolean onDeliveryFailure(ReActorRef target) {
+            cancelTimeout();
+            reply.completeExceptionally(new DeliveryException());
+            return true;
+        }
+
+        @Override
+        void onTimeout() { reply.completeExceptionally(new TimeoutException()); }
+    }
+
+    private static final class PendingGather<ReplyT extends Serializable> extends PendingReply {
+        private final CompletableFuture<GatherResult<ReplyT>> result = new CompletableFuture<>();
+        private final Class<ReplyT> expectedReplyType;
+        private final Set<ReActorRef> targets;
+        private final int requiredReplies;
+        private final boolean partialOnDeadline;
+        private final Map<ReActorRef, ReplyT> replies = new HashMap<>();
+        private final Set<ReActorRef> unreachableTargets = new LinkedHashSet<>();
+        private final Set<ReActorRef> responders = new HashSet<>();
+        private int repliesNum;
+        private int failuresNum;
+        @Nullable
+        private RuntimeException lastFailure;
+
+        private PendingGather(Class<ReplyT> expectedReplyType, Set<ReActorRef> targets, int requiredReplies,
+                              boolean partialOnDeadline) {
+            this.expectedReplyType = expectedReplyType;
+            this.targets = targets;
+            this.requiredReplies = requiredReplies;
+            this.partialOnDeadline = partialOnDeadline;
+        }
+
+        @Override
+        synchronized boolean onReply(ReActorRef sender, Serializable payload) {
+            //Replies are correlated by their reply address and counted, the sender is not matched against the
+            //targets: a service replies through its routees and a remote reactor may be seen through another
+            //gate. A sender is counted once and once every target has been accounted for, anything else is
+            //dropped
+            if (!result.isDone() && repliesNum + failuresNum < targets.size() && responders.add(sender)) {
+                if (expectedReplyType.isInstance(payload)) {
+                    replies.put(sender, expectedReplyType.cast(payload));
+                    repliesNum++;
+                } else {
+                    failuresNum++;
+                    this.lastFailure = unexpectedReply(payload, expectedReplyType);
+                }
+            }
+            return checkCompletion();
+        }
+
+        @Override
+        synchronized boolean onDeliveryFailure(ReActorRef target) {
+            if (!result.isDone() && unreachableTargets.add(target)) {
+                failuresNum++;
+                this.lastFailure = new DeliveryException();
+            }
+            return checkCompletion();
+        }
+
+        @Override
+        synchronized void onTimeout() {
+            if (partialOnDeadline || repliesNum >= requiredReplies) {
+                result.complete(toGatherResult());
+            } else {
+                result.completeExceptionally(new TimeoutException());
+            }
+        }
+
+        private boolean checkCompletion() {
+            if (result.isDone()) {
+                return true;
+            }
+            int stillExpected = targets.size() - repliesNum - failuresNum;
+            if (repliesNum >= requiredReplies || (partialOnDeadline && stillExpected == 0)) {
+                result.complete(toGatherResult());
+            } else if (!partialOnDeadline && repliesNum + stillExpected < requiredReplies) {
+                //Not enough targets are left to satisfy the policy
+                result.completeExceptionally(Objects.requireNonNull(lastFailure));
+            } else {
+                return false;
+            }
+            cancelTimeout();
+            return true;
+        }
+
+        private GatherResult<ReplyT> toGatherResult() {
+            if (repliesNum == targets.size() - unreachableTargets.size()) {
+                return new GatherResult<>(replies, unreachableTargets);
+            }
+            //Best effort: a target that replied through another reference cannot be told apart from a silent one
+            Set<ReActorRef> unanswered = new LinkedHashSet<>(targets);
+            unanswered.removeAll(replies.keySet());
+            return new GatherResult<>(replies, unanswered);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Defines when a scatter gather request is complete
+ * @see ReActorSystem#scatterGather
+ */
+@NonNullByDefault
+public final class GatherPolicy {
+    private final IntUnaryOperator requiredReplies;
+    private final boolean partialOnDeadline;
+
+    private GatherPolicy(IntUnaryOperator requiredReplies, boolean partialOnDeadline) {
+        this.requiredReplies = requiredReplies;
+        this.partialOnDeadline = partialOnDeadline;
+    }
+
+    /**
+     * @return a policy that requires a reply from every target. The gather fails if the timeout
+     * is reached before
+     */
+    public static GatherPolicy all() { return new GatherPolicy(IntUnaryOperator.identity(), false); }
+
+    /**
+     * @param requiredReplies how many replies complete the gather
+     * @return a policy that is satisfied by the first {@code requiredReplies} replies. The gather fails if the
+     * timeout is reached before
+     */
+    public static GatherPolicy firstK(int requiredReplies) {
+        int firstK = ObjectUtils.requiredInRange(requiredReplies, 1, Integer.MAX_VALUE,
+                                                 IllegalArgumentException::new);
+        return new GatherPolicy(targetsNum -> firstK, false);
+    }
+
+    /**
+     * @return a policy that is satisfied by the replies of the majority of the targets. The gather fails if the
+     * timeout is reached before
+     */
+    public static GatherPolicy quorum() { return new GatherPolicy(targetsNum -> targetsNum / 2 + 1, false); }
+
+    /**
+     * @return a policy that waits for every target until the timeout and then completes with the replies
+     * received so far, whatever their number
+     */
+    public static GatherPolicy deadlinePartial() { return new GatherPolicy(IntUnaryOperator.identity(), true); }
+
+    int getRequiredReplies(int targetsNum) { return requiredReplies.applyAsInt(targetsNum); }
+
+    boolean isPartialOnDeadline() { return partialOnDeadline; }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.patterns.NonNullByDefault;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of a scatter gather request
+ *
+ * @param replies the replies received before the completion of the gather, by replying reactor. It may not be
+ *                one of the targets, i.e. it is a routee when the target is a service
+ * @param unanswered the targets that could not be reached or whose reply was not received or was not of the
+ *                   expected type. When some replies are missing, a target that replied through another
+ *                   reactor cannot be told apart from a silent one and is reported here as well
+ * @param <ReplyT> type of the expected replies
+ */
+@NonNullByDefault
+public record GatherResult<ReplyT extends Serializable>(Map<ReActorRef, ReplyT> replies,
+                                                        Set<ReActorRef> unanswered) {
+    public GatherResult {
+        replies = Map.copyOf(replies);
+        unanswered = Set.copyOf(unanswered);
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.core.config.reactors.ReActorConfig;
+import io.reacted.core.drivers.local.SystemLocalDrivers;
+import io.reacted.core.exceptions.ReActorRegistrationException;
+import io.reacted.core.mailboxes.MailBox;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.ReActorInit;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactors.ReActor;
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.Try;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Passivates the idle passivable reactors and reactivates them on demand.
+ * Every activation of a passivable reactor periodically sends itself a check: if the reactor did not react to
+ * anything else since the previous check, it stops itself. Once it is terminated, the reactor is serialized into
+ * the PassivationStore and only a small descriptor is kept in memory. Messages that find no context for a known
+ * passivable reactor are buffered and trigger its reactivation: the new context gets them in its mailbox
+ * right after the ReActorInit, before it is registered, so they are processed in order and before anything
+ * sent after the reactivation.
+ */
+@NonNullByDefault
+final class Passivator {
+    private static final Serializable REACTOR_INIT = new ReActorInit();
+    private final Map<ReActorId, Passivable> passivables = new ConcurrentHashMap<>();
+    private final ReActorSystem localReActorSystem;
+
+    Passivator(ReActorSystem localReActorSystem) {
+        this.localReActorSystem = Objects.requireNonNull(localReActorSystem);
+    }
+
+    <ReActorT extends ReActor & Serializable>
+    Try<ReActorRef> spawn(ReActorT reActor, ReActorRef parent, Duration idleTimeout) {
+        ReActorConfig reActorConfig = Objects.requireNonNull(reActor.getConfig(), "ReActor config cannot be null");
+        var reActorId = new ReActorId(parent.getReActorId(), reActorConfig.getReActorName());
+        var passivable = new Passivable(reActorId, parent, reActorConfig, idleTimeout, reActor);
+        if (passivables.putIfAbsent(reActorId, passivable) != null) {
+            return Try.ofFailure(new ReActorRegistrationException(reActorConfig.getReActorName()));
+        }
+        Try<ReActorRef> spawned = localReActorSystem.spawnChild(toReActions(passivable, reActor), parent,
+                                                                reActorConfig);
+        spawned.map(reActorRef -> localReActorSystem.getReActorCtx(reActorRef.getReActorId()))
+               .filter(Objects::nonNull)
+               .ifSuccessOrElse(reActorCtx -> onActivation(passivable, Objects.requireNonNull(reActorCtx)),
+                                error -> passivables.remove(reActorId));
+        return spawned;
+    }
+
+    /**
+     * @return true if {@code destination} is a passivated reactor and {@code payload} has been queued for it
+     */
+    boolean offer(ReActorRef source, ReActorRef destination, long deadline, Serializable payload) {
+        Passivable passivable = passivables.get(destination.getReActorId());
+        if (passivable == null) {
+            return false;
+        }
+        if (payload instanceof PassivationCheck) {
+            //A check for an activation that is gone
+            return true;
+        }
+        var message = new Message(source, destination, localReActorSystem.getNewSeqNum(),
+                                  localReActorSystem.getLocalReActorSystemId(), AckingPolicy.NONE, deadline,
+                                  payload);
+        synchronized (passivable) {
+            switch (passivable.state) {
+                case ACTIVE -> {
+                    ReActorContext reActorCtx = passivable.reActorCtx;
+                    if (reActorCtx == null || reActorCtx.isStop()) {
+                        //Stopped by someone else: it is not coming back
+                        return false;
+                    }
+                    if (!passivable.isRegistered) {
+                        //It will be scheduled as soon as it is registered
+                        return reActorCtx.getMbox().deliver(message).isDelivered();
+                    }
+                    return SystemLocalDrivers.DIRECT_COMMUNICATION
+                                             .sendMessage(source, reActorCtx, destination,
+                                                          message.getSequenceNumber(),
+                                                          localReActorSystem.getLocalReActorSystemId(),
+                                                          AckingPolicy.NONE, deadline, payload)
+                                             .isDelivered();
+                }
+                case PASSIVATING, ACTIVATING -> passivable.pendingMessages.add(message);
+                case PASSIVE -> {
+                    passivable.pendingMessages.add(message);
+                    passivable.state = State.ACTIVATING;
+                    localReActorSystem.getMsgFanOutPool().execute(() -> activate(passivable));
+                }
+            }
+        }
+        return true;
+    }
+
+    private ReActions toReActions(Passivable passivable, ReActor reActor) {
+        return ReActions.newBuilder()
+                        .from(reActor.getReActions())
+                        .reAct(PassivationCheck.class,
+                               (raCtx, passivationCheck) -> onPassivationCheck(passivable, raCtx, passivationCheck))
+                        .build();
+    }
+
+    private void onActivation(Passivable passivable, ReActorContext reActorCtx) {
+        synchronized (passivable) {
+            passivable.reActorCtx = reActorCtx;
+        }
+        scheduleCheck(passivable, reActorCtx);
+        reActorCtx.getHierarchyTermination()
+                  .thenAccept(terminated -> onTermination(passivable, reActorCtx));
+    }
+
+    private void scheduleCheck(Passivable passivable, ReActorContext reActorCtx) {
+        var passivationCheck = new PassivationCheck(reActorCtx.getReActorSchedulationId());
+        localReActorSystem.getSystemTimer()
+                          .schedule(() -> reActorCtx.getSelf().tell(passivationCheck), passivable.idleTimeout);
+    }
+
+    /* Runs on the reactor thread, so the reactions counter is consistent */
+    private void onPassivationCheck(Passivable passivable, ReActorContext raCtx, PassivationCheck passivationCheck) {
+        if (passivationCheck.activationId() != raCtx.getReActorSchedulationId()) {
+            return;
+        }
+        long reActionsNum = raCtx.getReActionsNum();
+        //The check itself is the only accepted reaction since the previous check
+        boolean isIdle = reActionsNum - passivable.lastCheckReActionsNum <= 1 && raCtx.getMbox().isEmpty();
+        passivable.lastCheckReActionsNum = reActionsNum;
+        if (!isIdle) {
+            scheduleCheck(passivable, raCtx);
+            return;
+        }
+        synchronized (passivable) {
+            passivable.state = State.PASSIVATING;
+        }
+        raCtx.stop();
+    }
+
+    private void onTermination(Passivable passivable, ReActorContext terminatedCtx) {
+        synchronized (passivable) {
+            if (passivable.state != State.PASSIVATING) {
+                //Stopped by someone else or failed: it is not coming back
+                passivables.remove(passivable.reActorId);
+                return;
+            }
+            //Whatever has been delivered before the stop has not been processed
+            List<Message> undelivered = new ArrayList<>();
+            MailBox terminatedMbox = terminatedCtx.getMbox();
+            while (!terminatedMbox.isEmpty()) {
+                undelivered.add(terminatedMbox.getNextMessage());
+            }
+            passivable.pendingMessages.addAll(0, undelivered);
+            passivable.reActorCtx = null;
+            passivable.isRegistered = false;
+            Serializable reActor = Objects.requireNonNull(passivable.reActor);
+            Try.ofRunnable(() -> localReActorSystem.getSystemConfig()
+                                                   .getPassivationStore()
+                                                   .store(passivable.reActorId, serialize(reActor)))
+               .ifSuccessOrElse(stored -> passivable.reActor = null,
+                                error -> localReActorSystem.logError("Unable to passivate {}, keeping it in memory",
+                                                                     passivable.reActorId, error));
+            passivable.state = State.PASSIVE;
+            if (!passivable.pendingMessages.isEmpty()) {
+                passivable.state = State.ACTIVATING;
+                localReActorSystem.getMsgFanOutPool().execute(() -> activate(passivable));
+            }
+        }
+    }
+
+    private void activate(Passivable passivable) {
+        Try<ReActorRef> activation = Try.of(() -> passivable.reActor != null
+                                                  ? passivable.reActor
+                                                  : deserialize(localReActorSystem.getSystemConfig()
+                                                                                  .getPassivationStore()
+                                                                                  .remove(passivable.reActorId)))
+                                        .map(reActor -> reActivate(passivable, (ReActor) reActor))
+                                        .flatMap(Try::identity);
+        activation.ifSuccessOrElse(reActorRef -> onReActivation(passivable),
+                                   error -> onReActivationFailure(passivable, error));
+    }
+
+    private Try<ReActorRef> reActivate(Passivable passivable, ReActor reActor) {
+        passivable.reActor = (Serializable) reActor;
+        var prefilledMailbox = ReActorConfig.fromConfig(passivable.reActorConfig)
+                                            .setMailBoxProvider(reActorCtx -> toPrefilledMailbox(passivable,
+                                                                                                 reActorCtx))
+                                            .build();
+        //The init message is in the prefilled mailbox
+        return localReActorSystem.spawnChildWithoutInit(toReActions(passivable, reActor), passivable.parent,
+                                                        prefilledMailbox);
+    }
+
+    private MailBox toPrefilledMailbox(Passivable passivable, ReActorContext reActorCtx) {
+        MailBox mailBox = passivable.reActorConfig.getMailBoxProvider().apply(reActorCtx);
+        synchronized (passivable) {
+            mailBox.deliver(new Message(ReActorRef.NO_REACTOR_REF, reActorCtx.getSelf(),
+                                        localReActorSystem.getNewSeqNum(),
+                                        localReActorSystem.getLocalReActorSystemId(), AckingPolicy.NONE,
+                                        REACTOR_INIT));
+            passivable.pendingMessages.forEach(mailBox::deliver);
+            passivable.pendingMessages.clear();
+            passivable.reActorCtx = reActorCtx;
+            passivable.state = State.ACTIVE;
+        }
+        return mailBox;
+    }
+
+    private void onReActivation(Passivable passivable) {
+        ReActorContext reActorCtx;
+        synchronized (passivable) {
+            passivable.isRegistered = true;
+            passivable.lastCheckReActionsNum = 0;
+            reActorCtx = Objects.requireNonNull(passivable.reActorCtx);
+        }
+        //Everything that has been queued before the registration is waiting in the mailbox
+        reActorCtx.reschedule();
+        onActivation(passivable, reActorCtx);
+    }
+
+    private void onReActivationFailure(Passivable passivable, Throwable error) {
+        localReActorSystem.logError("Unable to reactivate {}", passivable.reActorId, error);
+        List<Message> lostMessages;
+        synchronized (passivable) {
+            passivables.remove(passivable.reActorId);
+            lostMessages = new ArrayList<>(passivable.pendingMessages);
+            passivable.pendingMessages.clear();
+        }
+        lostMessages.forEach(lost -> localReActorSystem.toDeadLetters(lost.getSender(), lost.getDestination(),
+                                                                      lost.getPayload()));
+    }
+
+    private static byte[] serialize(Serializable reActor) throws IOException {
+        try (var serialized = new ByteArrayOutputStream();
+             var reActorState = new ObjectOutputStream(serialized)) {
+            reActorState.writeObject(reActor);
+            reActorState.flush();
+            return serialized.toByteArray();
+        }
+    }
+
+    private static Serializable deserialize(@Nullable byte[] reActorState) throws IOException,
+                                                                                  ClassNotFoundException {
+        try (var reActor = new ObjectInputStream(new ByteArrayInputStream(Objects.requireNonNull(reActorState,
+                                                                                                 "No passivated state")))) {
+            return (Serializable) reActor.readObject();
+        }
+    }
+
+    private enum State { ACTIVE, PASSIVATING, PASSIVE, ACTIVATING }
+
+    private record PassivationCheck(long activationId) implements Serializable { }
+
+    private static final class Passivable {
+        private final ReActorId reActorId;
+        private final ReActorRef parent;
+        private final ReActorConfig reActorConfig;
+        private final Duration idleTimeout;
+        /* Messages arrived while there is no context to deliver them to */
+        private final List<Message> pendingMessages = new ArrayList<>();
+        private State state = State.ACTIVE;
+        /* Null only while it is passivated in the store */
+        @Nullable
+        private Serializable reActor;
+        @Nullable
+        private ReActorContext reActorCtx;
+        private boolean isRegistered = true;
+        /* Accessed only by the reactor thread */
+        private long lastCheckReActionsNum;
+
+        private Passivable(ReActorId reActorId, ReActorRef parent, ReActorConfig reActorConfig,
+                           Duration idleTimeout, Serializable reActor) {
+            this.reActorId = reActorId;
+            this.parent = parent;
+            this.reActorConfig = reActorConfig;
+            this.idleTimeout = idleTimeout;
+            this.reActor = reActor;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import io.reacted.core.config.reactors.ReActorConfig;
 import io.reacted.core.mailboxes.MailBox;
 import io.reacted.core.mailboxes.NullMailbox;
 import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.reactors.ReActions;
 import io.reacted.core.reactors.ReActiveEntity;
@@ -25,10 +26,12 @@ import java.io.Serializable;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -36,12 +39,15 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
 @NonNullByDefault
 public class ReActorContext {
+    /* Must be a power of two */
+    private static final int REACTIONS_CACHE_SIZE = 4;
     public static final ReActorContext NO_REACTOR_CTX = ReActorContext.newBuilder()
                                                                       .setMbox(raCtx -> new NullMailbox())
                                                                       .setParentActor(ReActorRef.NO_REACTOR_REF)
@@ -63,7 +69,13 @@ public class ReActorContext {
     private final CompletionStage<Void> hierarchyTermination;
     private final AtomicLong msgExecutionId;
     private final ReActions reActions;
+    /* Polymorphic inline cache in front of the reactions lookup. Entries are immutable, so whoever races
+       on it can read a stale entry, never an inconsistent one */
+    private final CachedReAction[] reActionsCache;
+    private int nextReActionsCacheSlot;
     private final long reActorSchedulationId;
+    /* Delivery attempts waiting for some room in the mailbox. Each one returns true once it's done */
+    private final Queue<BooleanSupplier> mailboxCapacityWaiters;
 
     private TypedSubscription[] typedSubscriptions;
 
@@ -71,6 +83,8 @@ public class ReActorContext {
     private volatile boolean isAcquired = false;
 
     private ReActorRef lastMsgSender = ReActorRef.NO_REACTOR_REF;
+    /* How many messages this reactor has reacted to. Written and read only by the reacting thread */
+    private long reActionsNum;
 
     private ReActorContext(Builder reActorCtxBuilder) {
         this.actorMbox = Objects.requireNonNull(Objects.requireNonNull(reActorCtxBuilder.mboxProvider)
@@ -89,7 +103,9 @@ public class ReActorContext {
         this.hierarchyTermination = new CompletableFuture<>();
         this.msgExecutionId = new AtomicLong();
         this.reActions = Objects.requireNonNull(reActorCtxBuilder.reActions);
+        this.reActionsCache = new CachedReAction[REACTIONS_CACHE_SIZE];
         this.reActorSchedulationId = ReActorCounter.INSTANCE.nextSchedulationId();
+        this.mailboxCapacityWaiters = new ConcurrentLinkedQueue<>();
     }
     public static Builder newBuilder() { return new Builder(); }
 
@@ -104,6 +120,39 @@ public class ReActorContext {
     public Dispatcher getDispatcher() { return dispatcher; }
 
     public MailBox getMbox() { return actorMbox; }
+
+    /**
+     * Register a delivery attempt that should be retried when this reactor consumes messages from its mailbox.
+     * Waiters are served in registration order: the first one that cannot complete stops the notification
+     * round until the next one.
+     *
+     * @param deliveryAttempt returns true when the attempt is completed and should not be retried anymore.
+     *                        It must be idempotent once completed
+     */
+    public void whenMailboxHasCapacity(BooleanSupplier deliveryAttempt) {
+        mailboxCapacityWaiters.add(Objects.requireNonNull(deliveryAttempt));
+    }
+
+    /**
+     * Unregister a delivery attempt that is not going to be retried anymore, i.e. because it timed out
+     *
+     * @param deliveryAttempt an attempt previously registered with {@link #whenMailboxHasCapacity(BooleanSupplier)}
+     */
+    public void removeMailboxCapacityWaiter(BooleanSupplier deliveryAttempt) {
+        mailboxCapacityWaiters.remove(deliveryAttempt);
+    }
+
+    /**
+     * Retry the delivery attempts waiting for some room in the mailbox of this reactor
+     */
+    public void notifyMailboxCapacity() {
+        BooleanSupplier waiter;
+        while ((waiter = mailboxCapacityWaiters.peek()) != null && waiter.getAsBoolean()) {
+            mailboxCapacityWaiters.remove(waiter);
+        }
+    }
+
+    public boolean hasMailboxCapacityWaiters() { return !mailboxCapacityWaiters.isEmpty(); }
     public CompletionStage<Void> getHierarchyTermination() { return hierarchyTermination; }
 
     public long getNextMsgExecutionId() { return msgExecutionId.getAndIncrement(); }
@@ -159,9 +208,9 @@ public class ReActorContext {
     public Try<ScheduledFuture<DeliveryStatus>>
     rescheduleMessage(Serializable messageToBeRescheduled, Duration inHowLong) {
         ReActorRef sender = getSender();
-        return Try.of(() -> getReActorSystem().getSystemSchedulingService()
+        return Try.of(() -> getReActorSystem().getSystemTimer()
                                               .schedule(() -> getSelf().tell(sender, messageToBeRescheduled),
-                                                       inHowLong.toMillis(), TimeUnit.MILLISECONDS));
+                                                        inHowLong.toNanos(), TimeUnit.NANOSECONDS));
     }
 
     /**
@@ -287,8 +336,13 @@ public class ReActorContext {
 
     public void reAct(Message msg) {
         this.lastMsgSender = msg.getSender();
-        BiConsumer<ReActorContext, Serializable> reAction = reActions.getReAction(msg.getPayload());
-        reAction.accept(this, msg.getPayload());
+        this.reActionsNum++;
+        PrimitiveType primitiveType = msg.getPrimitiveType();
+        if (primitiveType != null && reActions.reAct(this, primitiveType, msg.getPrimitivePayload())) {
+            return;
+        }
+        Serializable payload = msg.getPayload();
+        getReAction(payload.getClass()).accept(this, payload);
     }
 
     /**
@@ -301,6 +355,25 @@ public class ReActorContext {
 
     public long getReActorSchedulationId() { return reActorSchedulationId; }
 
+    long getReActionsNum() { return reActionsNum; }
+
+    private BiConsumer<ReActorContext, Serializable> getReAction(Class<? extends Serializable> payloadType) {
+        for (CachedReAction cachedReAction : reActionsCache) {
+            if (cachedReAction == null) {
+                break;
+            }
+            if (cachedReAction.payloadType() == payloadType) {
+                return cachedReAction.reAction();
+            }
+        }
+        @SuppressWarnings("unchecked")
+        var reAction = reActions.getReAction((Class<Serializable>) payloadType);
+        //Slots are filled in order and then recycled round robin once the call site turns megamorphic
+        reActionsCache[nextReActionsCacheSlot] = new CachedReAction(payloadType, reAction);
+        this.nextReActionsCacheSlot = (nextReActionsCacheSlot + 1) & (REACTIONS_CACHE_SIZE - 1);
+        return reAction;
+    }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) return true;
@@ -374,4 +447,7 @@ public class ReActorContext {
             return new ReActorContext(this);
         }
     }
+
+    private record CachedReAction(Class<? extends Serializable> payloadType,
+                                  BiConsumer<ReActorContext, Serializable> reAction) { }
 }
@@ -9,11 +9,13 @@
 package io.reacted.core.reactorsystem;
 
 import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.SerializationUtils;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.reactors.ReActorId;
-import io.reacted.core.reactors.systemreactors.Ask;
 import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -22,7 +24,6 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.time.Duration;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 @NonNullByDefault
@@ -40,7 +41,7 @@ public final class ReActorRef implements Externalizable {
     private static final long REACTORSYSTEMREF_OFFSET = SerializationUtils.getFieldOffset(ReActorRef.class,
                                                                                           "reActorSystemRef")
                                                                           .orElseSneakyThrow();
-    private static final Duration NO_TIMEOUT = Duration.ofDays(Integer.MAX_VALUE);
+    static final Duration NO_TIMEOUT = Duration.ofDays(Integer.MAX_VALUE);
 
     private final ReActorId reActorId;
     private final int hashCode;
@@ -140,6 +141,159 @@ public final class ReActorRef implements Externalizable {
                                      Objects.requireNonNull(messagePayload));
     }
 
+    /**
+     * Sends a {@code long} payload to this ReActor without boxing it, if the destination is local.
+     * The payload is handled by the reaction registered with
+     * {@link io.reacted.core.reactors.ReActions.Builder#reActOnLong} or, if there is none, by the one
+     * registered for {@link Long}. All the subscribers for this message type will not be notified.
+     *
+     * @param msgSender      source of the message
+     * @param messagePayload payload
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. Different drivers
+     * may offer different guarantees regarding the returned {@link DeliveryStatus}. The common
+     * baseline for this method is providing delivery guarantee to the local driver bus
+     */
+    public DeliveryStatus tellLong(ReActorRef msgSender, long messagePayload) {
+        return reActorSystemRef.tell(Objects.requireNonNull(msgSender), this, PrimitiveType.LONG, messagePayload);
+    }
+
+    /**
+     * @see ReActorRef#tellLong(ReActorRef, long)
+     */
+    public DeliveryStatus tellLong(long messagePayload) {
+        return tellLong(ReActorRef.NO_REACTOR_REF, messagePayload);
+    }
+
+    /**
+     * Sends an {@code int} payload to this ReActor without boxing it, if the destination is local.
+     * The payload is handled by the reaction registered with
+     * {@link io.reacted.core.reactors.ReActions.Builder#reActOnInt} or, if there is none, by the one
+     * registered for {@link Integer}. All the subscribers for this message type will not be notified.
+     *
+     * @param msgSender      source of the message
+     * @param messagePayload payload
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. Different drivers
+     * may offer different guarantees regarding the returned {@link DeliveryStatus}. The common
+     * baseline for this method is providing delivery guarantee to the local driver bus
+     */
+    public DeliveryStatus tellInt(ReActorRef msgSender, int messagePayload) {
+        return reActorSystemRef.tell(Objects.requireNonNull(msgSender), this, PrimitiveType.INT, messagePayload);
+    }
+
+    /**
+     * @see ReActorRef#tellInt(ReActorRef, int)
+     */
+    public DeliveryStatus tellInt(int messagePayload) {
+        return tellInt(ReActorRef.NO_REACTOR_REF, messagePayload);
+    }
+
+    /**
+     * Sends a {@code double} payload to this ReActor without boxing it, if the destination is local.
+     * The payload is handled by the reaction registered with
+     * {@link io.reacted.core.reactors.ReActions.Builder#reActOnDouble} or, if there is none, by the one
+     * registered for {@link Double}. All the subscribers for this message type will not be notified.
+     *
+     * @param msgSender      source of the message
+     * @param messagePayload payload
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. Different drivers
+     * may offer different guarantees regarding the returned {@link DeliveryStatus}. The common
+     * baseline for this method is providing delivery guarantee to the local driver bus
+     */
+    public DeliveryStatus tellDouble(ReActorRef msgSender, double messagePayload) {
+        return reActorSystemRef.tell(Objects.requireNonNull(msgSender), this, PrimitiveType.DOUBLE,
+                                     Double.doubleToRawLongBits(messagePayload));
+    }
+
+    /**
+     * @see ReActorRef#tellDouble(ReActorRef, double)
+     */
+    public DeliveryStatus tellDouble(double messagePayload) {
+        return tellDouble(ReActorRef.NO_REACTOR_REF, messagePayload);
+    }
+
+    /**
+     * Sends a message to this ReActor that is worth being processed only within the provided time. If the
+     * destination does not start processing the message before its time to live is over, the message will be
+     * discarded and sent to DeadLetters
+     *
+     * @param msgSender      source of the message
+     * @param messagePayload payload
+     * @param timeToLive     for how long this message is meaningful for the sender
+     * @param <PayloadT> Any {@link Serializable} object
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. Different drivers
+     * may offer different guarantees regarding the returned {@link DeliveryStatus}. The common
+     * baseline for this method is providing delivery guarantee to the local driver bus
+     */
+    public <PayloadT extends Serializable> DeliveryStatus publish(ReActorRef msgSender, PayloadT messagePayload,
+                                                                  Duration timeToLive) {
+        return reActorSystemRef.publish(Objects.requireNonNull(msgSender), this,
+                                        Message.deadlineAfter(Objects.requireNonNull(timeToLive)),
+                                        Objects.requireNonNull(messagePayload));
+    }
+
+    /**
+     * Sends a message to this ReActor that is worth being processed only within the provided time. If the
+     * destination does not start processing the message before its time to live is over, the message will be
+     * discarded and sent to DeadLetters. All the subscribers for this message type will not be notified.
+     * @see io.reacted.core.typedsubscriptions.TypedSubscription
+     *
+     * @param msgSender      source of the message
+     * @param messagePayload payload
+     * @param timeToLive     for how long this message is meaningful for the sender
+     * @param <PayloadT> Any {@link Serializable} object
+     * @return A {@link DeliveryStatus} representing the outcome of the operation. Different drivers
+     * may offer different guarantees regarding the returned {@link DeliveryStatus}. The common
+     * baseline for this method is providing delivery guarantee to the local driver bus
+     */
+    public <PayloadT extends Serializable> DeliveryStatus tell(ReActorRef msgSender, PayloadT messagePayload,
+                                                               Duration timeToLive) {
+        return reActorSystemRef.tell(Objects.requireNonNull(msgSender), this,
+                                     Message.deadlineAfter(Objects.requireNonNull(timeToLive)),
+                                     Objects.requireNonNull(messagePayload));
+    }
+
+    /**
+     * Sends a message to this ReActor as soon as its mailbox is able to accept it. While the destination
+     * mailbox is full, the message is not delivered and no thread is blocked: the delivery is attempted
+     * again when the destination consumes some of its pending messages.
+     * All the subscribers for this message type will not be notified.
+     * Drivers that cannot observe the destination mailbox deliver the message as a plain
+     * {@link ReActorRef#tell(ReActorRef, Serializable)}
+     * @see io.reacted.core.typedsubscriptions.TypedSubscription
+     *
+     * @param msgSender      source of the message
+     * @param messagePayload payload
+     * @param timeout        maximum time to wait for the destination to accept the message
+     * @param <PayloadT> Any {@link Serializable} object
+     * @return A {@link CompletionStage} completed with the outcome of the delivery once the message has been
+     * accepted by the destination mailbox or completed with a {@link java.util.concurrent.TimeoutException}
+     * if that did not happen within the provided timeout
+     */
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> tellWhenReady(ReActorRef msgSender,
+                                                                                         PayloadT messagePayload,
+                                                                                         Duration timeout) {
+        return reActorSystemRef.tellWhenReady(Objects.requireNonNull(msgSender), this,
+                                              ObjectUtils.checkNonNullPositiveTimeInterval(timeout),
+                                              Objects.requireNonNull(messagePayload));
+    }
+
+    /**
+     * Sends a message to this ReActor using {@link ReActorRef#NO_REACTOR_REF} as source, as soon as its
+     * mailbox is able to accept it.
+     * @see ReActorRef#tellWhenReady(ReActorRef, Serializable, Duration)
+     *
+     * @param messagePayload payload
+     * @param timeout        maximum time to wait for the destination to accept the message
+     * @param <PayloadT> Any {@link Serializable} object
+     * @return A {@link CompletionStage} completed with the outcome of the delivery once the message has been
+     * accepted by the destination mailbox or completed with a {@link java.util.concurrent.TimeoutException}
+     * if that did not happen within the provided timeout
+     */
+    public <PayloadT extends Serializable> CompletionStage<DeliveryStatus> tellWhenReady(PayloadT messagePayload,
+                                                                                         Duration timeout) {
+        return tellWhenReady(ReActorRef.NO_REACTOR_REF, messagePayload, timeout);
+    }
+
     /**
      * Sends a message to this ReActor requiring an ack as a confirmation of the delivery into the target reactor's
      * mailbox. All the subscribers for {@code PayloadT} type will not be notified.
@@ -191,8 +345,7 @@ public final class ReActorRef implements Externalizable {
      *
      * @param request       payload that is being sent to this reactor
      * @param expectedReply expected message type as reply to this request
-     * @param requestName   name of the request. It must be unique reactor name in the reactor system as long as this
-     *                      ask is alive
+     * @param requestName   name of the request. It is used as name of the reply address of this ask
      * @param <ReplyT> Any {@link Serializable} object
      * @param <RequestT> Any {@link Serializable} object
      * @return A {@link CompletionStage} that is going to be completed once an answer for the request has been received.
@@ -212,8 +365,7 @@ public final class ReActorRef implements Externalizable {
      * @param request       payload that is being sent to this reactor
      * @param expectedReply expected message type as reply to this request
      * @param expireTimeout mark this request as completed and failed after this timeout
-     * @param requestName   name of the request. It must be unique reactor name in the reactor system as long as this
-     *                      ask is alive
+     * @param requestName   name of the request. It is used as name of the reply address of this ask
      * @param <ReplyT> Any {@link Serializable} object
      * @param <RequestT> Any {@link Serializable} object
      * @return A {@link CompletionStage} that is going to be completed once an answer for the request has been received.
@@ -256,10 +408,8 @@ public final class ReActorRef implements Externalizable {
     private static <ReplyT extends Serializable, RequestT extends Serializable>
     CompletionStage<ReplyT> ask(ReActorSystem localReActorSystem, ReActorRef target, RequestT request,
                                 Class<ReplyT> expectedReplyType, Duration askTimeout, String requestName) {
-        CompletableFuture<ReplyT> returnValue = new CompletableFuture<>();
-        localReActorSystem.spawn(new Ask<>(askTimeout, expectedReplyType, returnValue, requestName, target, request))
-                          .ifError(returnValue::completeExceptionally);
-        return returnValue;
+        return localReActorSystem.getAskRouter()
+                                 .ask(target, request, expectedReplyType, askTimeout, requestName);
     }
     private void setReActorId(ReActorId reActorId) {
         SerializationUtils.setObjectField(this, REACTOR_ID_OFFSET, reActorId);
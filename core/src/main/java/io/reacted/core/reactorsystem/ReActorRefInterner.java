@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.config.drivers.ChannelDriverConfig;
+import io.reacted.core.drivers.DriverCtx;
+import io.reacted.core.drivers.system.ReActorSystemDriver;
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Bounded cache of the {@link ReActorRef} and {@link ReActorSystemRef} decoded by the drivers.
+ * The references received with every message are resolved to canonical instances with their gate already bound,
+ * so a hot sender or destination is not allocated and routed again for every message and comparing two received
+ * references is usually an identity check.
+ * <p>
+ * The cache is direct mapped: a new reference replaces the one cached in its slot. A cached {@link ReActorSystemRef}
+ * is valid as long as the gates of the {@link ReActorSystem} do not change, a cached {@link ReActorRef} as long as
+ * its {@link ReActorSystemRef} is the canonical one. Slots are read and replaced without locking, the entries are
+ * immutable, so a race can only cause a miss.
+ */
+@NonNullByDefault
+public final class ReActorRefInterner {
+    private static final int MAX_REACTOR_SYSTEM_REFS = 256;
+    private final RegistryGatesCentralizedManager gates;
+    private final ReActorSystemRefEntry[] reActorSystemRefs;
+    private final ReActorRefEntry[] reActorRefs;
+
+    ReActorRefInterner(int capacity, RegistryGatesCentralizedManager gates) {
+        int slots = tableSizeFor(ObjectUtils.requiredInRange(capacity, 0, 1 << 24, IllegalArgumentException::new));
+        this.gates = gates;
+        this.reActorSystemRefs = new ReActorSystemRefEntry[Math.min(slots, MAX_REACTOR_SYSTEM_REFS)];
+        this.reActorRefs = new ReActorRefEntry[slots];
+    }
+
+    /**
+     * Resolve a decoded {@link ReActorSystemRef} using the gates of the {@link ReActorSystem} of the decoding
+     * context. If there is no context, a new reference without a gate is returned
+     *
+     * @param reActorSystemId decoded {@link ReActorSystemId}
+     * @param sourceChannelId decoded {@link ChannelId}
+     * @param ctx context of the decoding driver
+     * @return a {@link ReActorSystemRef} bound to the gate towards {@code reActorSystemId}
+     */
+    public static ReActorSystemRef toReActorSystemRef(ReActorSystemId reActorSystemId, ChannelId sourceChannelId,
+                                                      @Nullable DriverCtx ctx) {
+        return ctx == null
+               ? newReActorSystemRef(reActorSystemId, sourceChannelId, null)
+               : ctx.getLocalReActorSystem().getRefInterner().getReActorSystemRef(reActorSystemId,
+                                                                                  sourceChannelId, ctx);
+    }
+
+    /**
+     * Resolve a decoded {@link ReActorRef}
+     *
+     * @param uuidMostSigBits most significant bits of the {@link ReActorId} uuid
+     * @param uuidLeastSigBits least significant bits of the {@link ReActorId} uuid
+     * @param reActorName {@link ReActorId} name
+     * @param reActorSystemRef the {@link ReActorSystemRef} of the reference, as returned by
+     *                         {@link #toReActorSystemRef(ReActorSystemId, ChannelId, DriverCtx)}
+     * @param ctx context of the decoding driver
+     * @return a {@link ReActorRef} for the given {@link ReActorId} and {@link ReActorSystemRef}
+     */
+    public static ReActorRef toReActorRef(long uuidMostSigBits, long uuidLeastSigBits, String reActorName,
+                                          ReActorSystemRef reActorSystemRef, @Nullable DriverCtx ctx) {
+        return ctx == null
+               ? newReActorRef(uuidMostSigBits, uuidLeastSigBits, reActorName, reActorSystemRef)
+               : ctx.getLocalReActorSystem().getRefInterner().getReActorRef(uuidMostSigBits, uuidLeastSigBits,
+                                                                            reActorName, reActorSystemRef);
+    }
+
+    public ReActorSystemRef getReActorSystemRef(ReActorSystemId reActorSystemId, ChannelId sourceChannelId,
+                                                DriverCtx ctx) {
+        if (reActorSystemRefs.length == 0) {
+            return newReActorSystemRef(reActorSystemId, sourceChannelId, ctx);
+        }
+        //Read before resolving the gate: a gate change during the resolution invalidates the new entry
+        long gatesVersion = gates.getGatesVersion();
+        int slot = spread(31 * reActorSystemId.hashCode() + sourceChannelId.hashCode()) &
+                   (reActorSystemRefs.length - 1);
+        var entry = reActorSystemRefs[slot];
+        if (entry != null && entry.gatesVersion() == gatesVersion &&
+            entry.decodingDriver() == ctx.getDecodingDriver() &&
+            entry.reActorSystemId().equals(reActorSystemId) &&
+            entry.sourceChannelId().equals(sourceChannelId)) {
+            return entry.reActorSystemRef();
+        }
+        var reActorSystemRef = newReActorSystemRef(reActorSystemId, sourceChannelId, ctx);
+        reActorSystemRefs[slot] = new ReActorSystemRefEntry(reActorSystemId, sourceChannelId, ctx.getDecodingDriver(),
+                                                            gatesVersion, reActorSystemRef);
+        return reActorSystemRef;
+    }
+
+    public ReActorRef getReActorRef(long uuidMostSigBits, long uuidLeastSigBits, String reActorName,
+                                    ReActorSystemRef reActorSystemRef) {
+        if (reActorRefs.length == 0) {
+            return newReActorRef(uuidMostSigBits, uuidLeastSigBits, reActorName, reActorSystemRef);
+        }
+        int slot = spread(Long.hashCode(uuidMostSigBits ^ uuidLeastSigBits)) & (reActorRefs.length - 1);
+        var entry = reActorRefs[slot];
+        if (entry != null && entry.reActorSystemRef() == reActorSystemRef &&
+            entry.uuidMostSigBits() == uuidMostSigBits && entry.uuidLeastSigBits() == uuidLeastSigBits &&
+            entry.reActorName().equals(reActorName)) {
+            return entry.reActorRef();
+        }
+        var reActorRef = newReActorRef(uuidMostSigBits, uuidLeastSigBits, reActorName, reActorSystemRef);
+        reActorRefs[slot] = new ReActorRefEntry(uuidMostSigBits, uuidLeastSigBits, reActorName, reActorSystemRef,
+                                                reActorRef);
+        return reActorRef;
+    }
+
+    private static ReActorSystemRef newReActorSystemRef(ReActorSystemId reActorSystemId, ChannelId sourceChannelId,
+                                                        @Nullable DriverCtx ctx) {
+        var reActorSystemRef = new ReActorSystemRef();
+        ReActorSystemRef.setGateForReActorSystem(reActorSystemRef, reActorSystemId, sourceChannelId, ctx);
+        return reActorSystemRef;
+    }
+
+    private static ReActorRef newReActorRef(long uuidMostSigBits, long uuidLeastSigBits, String reActorName,
+                                            ReActorSystemRef reActorSystemRef) {
+        var uuid = new UUID(uuidMostSigBits, uuidLeastSigBits);
+        var reActorId = new ReActorId().setReActorName(reActorName)
+                                       .setReActorUUID(uuid)
+                                       .setHashCode(Objects.hash(uuid, reActorName));
+        return new ReActorRef(reActorId, reActorSystemRef);
+    }
+
+    private static int spread(int hash) { return hash ^ (hash >>> 16); }
+
+    private static int tableSizeFor(int capacity) {
+        return capacity <= 1 ? capacity : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private record ReActorSystemRefEntry(ReActorSystemId reActorSystemId, ChannelId sourceChannelId,
+                                         ReActorSystemDriver<? extends ChannelDriverConfig<?, ?>> decodingDriver,
+                                         long gatesVersion, ReActorSystemRef reActorSystemRef) { }
+
+    private record ReActorRefEntry(long uuidMostSigBits, long uuidLeastSigBits, String reActorName,
+                                   ReActorSystemRef reActorSystemRef, ReActorRef reActorRef) { }
+}
@@ -50,11 +50,13 @@ import io.reacted.core.reactors.systemreactors.RemotingRoot;
 import io.reacted.core.reactors.systemreactors.SystemLogger;
 import io.reacted.core.reactors.systemreactors.SystemMonitor;
 import io.reacted.core.runtime.Dispatcher;
+import io.reacted.core.runtime.TimingWheel;
 import io.reacted.core.services.Service;
 import io.reacted.core.typedsubscriptions.SubscriptionsManager;
 import io.reacted.core.typedsubscriptions.TypedSubscription;
 import io.reacted.core.typedsubscriptions.TypedSubscriptionsManager;
 import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
 import io.reacted.patterns.Try;
 import java.io.Serializable;
 import java.time.Duration;
@@ -76,6 +78,7 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -110,12 +113,20 @@ public class ReActorSystem {
     /* All the reactors that listen for a specific message type are saved here */
     private final SubscriptionsManager typedSubscriptionsManager;
     private final RegistryGatesCentralizedManager gatesCentralizedManager;
+    /* Canonical instances of the references decoded by the drivers */
+    private final ReActorRefInterner refInterner;
     private final Map<String, Dispatcher> dispatchers;
     private final ReActorSystemConfig systemConfig;
     private final AtomicLong newSeqNum;
     private final Message reActorStop;
     private final ReActorSystemId localReActorSystemId;
     private final int maximumReActorsNumForThisSystem;
+    /* Messages discarded because their deadline was reached before they could be processed */
+    private final LongAdder expiredMessages = new LongAdder();
+    /* Correlates the replies to the pending asks of this reactor system */
+    private final AskRouter askRouter = new AskRouter(this);
+    /* Passivates the idle passivable reactors and reactivates them on demand */
+    private final Passivator passivator = new Passivator(this);
 
     private ExecutorService msgFanOutPool = ForkJoinPool.commonPool();
     /**
@@ -124,6 +135,8 @@ public class ReActorSystem {
     @Nullable
     private ScheduledExecutorService systemSchedulingService;
     @Nullable
+    private TimingWheel systemTimer;
+    @Nullable
     private ReActorRef reActorSystemRoot;
     @Nullable
     private ReActorRef init;
@@ -158,6 +171,7 @@ public class ReActorSystem {
         systemConfig.getLocalDriver().initDriverCtx(this);
         this.gatesCentralizedManager = new RegistryGatesCentralizedManager(localReActorSystemId,
                                                                            new LoopbackDriver<>(this, getSystemConfig().getLocalDriver()));
+        this.refInterner = new ReActorRefInterner(0, gatesCentralizedManager);
         this.newSeqNum = new AtomicLong(Long.MAX_VALUE);
         this.reActorStop = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF,
                                        Long.MIN_VALUE, localReActorSystemId, AckingPolicy.NONE,
@@ -170,6 +184,7 @@ public class ReActorSystem {
         this.localReActorSystemId = new ReActorSystemId(config.getReActorSystemName());
         this.gatesCentralizedManager = new RegistryGatesCentralizedManager(localReActorSystemId,
                                                                            new LoopbackDriver<>(this, getSystemConfig().getLocalDriver()));
+        this.refInterner = new ReActorRefInterner(config.getRefInternerSize(), gatesCentralizedManager);
         this.reActorSystemDrivers = new CopyOnWriteArraySet<>();
         this.reactorsByReactorId = new ConcurrentHashMap<>(maximumReActorsNumForThisSystem, 0.1f);
         this.reactorsBySchedulationId = new ConcurrentHashMap<>(maximumReActorsNumForThisSystem, 0.1f);
@@ -288,8 +303,21 @@ public class ReActorSystem {
     }
 
     public DeliveryStatus toDeadLetters(ReActorRef sender, Serializable payload) {
+        return toDeadLetters(sender, ReActorRef.NO_REACTOR_REF, payload);
+    }
+
+    /**
+     * Reroute to DeadLetters a payload that could not be delivered
+     *
+     * @param sender the sender of the undelivered payload
+     * @param destination the reactor the payload was meant for. Used by DeadLetters to aggregate
+     *                    the undelivered messages per destination
+     * @param payload the undelivered payload
+     * @return the outcome of the delivery towards DeadLetters
+     */
+    public DeliveryStatus toDeadLetters(ReActorRef sender, ReActorRef destination, Serializable payload) {
         DeliveryStatus deliveryStatus = Objects.requireNonNull(systemDeadLetters)
-                                               .tell(sender, new DeadMessage(payload));
+                                               .tell(sender, new DeadMessage(payload, destination));
         if (deliveryStatus.isNotSent()) {
             LOGGER.error("Unable to send from {} to DeadLetters payload {}",
                          sender, payload);
@@ -297,6 +325,85 @@ public class ReActorSystem {
         return deliveryStatus;
     }
 
+    /**
+     * Discards a message whose deadline has been reached before it could be processed. The message
+     * is accounted within {@link ReActorSystem#getExpiredMessagesNum()} and then sent to DeadLetters
+     *
+     * @param expiredMessage the expired message
+     * @return the outcome of the delivery towards DeadLetters
+     */
+    public DeliveryStatus toExpiredMessages(Message expiredMessage) {
+        expiredMessages.increment();
+        return toDeadLetters(expiredMessage.getSender(), expiredMessage.getDestination(),
+                             expiredMessage.getPayload());
+    }
+
+    /**
+     * @return how many messages have been discarded by this reactor system because expired
+     */
+    public long getExpiredMessagesNum() { return expiredMessages.sum(); }
+
+    /**
+     * Asks are not backed by a reactor: a message for a destination that cannot be found among the local
+     * reactors may be the reply to a pending ask of this reactor system
+     *
+     * @param sender the sender of the message
+     * @param destination the destination of the message
+     * @param payload the received payload
+     * @return true if the payload has been consumed as reply of a pending ask, false otherwise
+     */
+    public boolean completePendingAsk(ReActorRef sender, ReActorRef destination, Serializable payload) {
+        return askRouter.onReply(sender, destination, payload);
+    }
+
+    /**
+     * Send the same request to a set of reactors and collect their replies in a single {@link GatherResult}.
+     * Regardless of the number of targets, a scatter gather costs a single correlation entry and a single timer.
+     * Every target is expected to reply once: replies are counted, whoever their sender is
+     *
+     * @param targets the reactors the request should be sent to. Duplicates are ignored
+     * @param request the payload that should be sent to every target
+     * @param expectedReplyType expected type for the replies. A reply of a different type is accounted
+     *                          as a failed target
+     * @param gatherPolicy defines when the gather is complete
+     * @param gatherTimeout how long the replies should be waited for
+     * @param requestName name of the request
+     * @param <ReplyT> Any {@link Serializable} object
+     * @param <RequestT> Any {@link Serializable} object
+     * @return A {@link CompletionStage} that is going to be completed once the {@link GatherPolicy} is satisfied.
+     * If the policy cannot be satisfied anymore or the timeout is reached first, the {@link CompletionStage} is
+     * completed exceptionally
+     * @throws IllegalArgumentException if the {@link GatherPolicy} requires more replies than the targets
+     */
+    public <ReplyT extends Serializable, RequestT extends Serializable>
+    CompletionStage<GatherResult<ReplyT>> scatterGather(Collection<ReActorRef> targets, RequestT request,
+                                                        Class<ReplyT> expectedReplyType, GatherPolicy gatherPolicy,
+                                                        Duration gatherTimeout, String requestName) {
+        return askRouter.scatterGather(Objects.requireNonNull(targets), Objects.requireNonNull(request),
+                                       Objects.requireNonNull(expectedReplyType),
+                                       Objects.requireNonNull(gatherPolicy),
+                                       ObjectUtils.checkNonNullPositiveTimeInterval(gatherTimeout),
+                                       Objects.requireNonNull(requestName));
+    }
+
+    AskRouter getAskRouter() { return askRouter; }
+
+    /**
+     * A passivated reactor has no context: a message for a destination that cannot be found among the local
+     * reactors may be for a passivated reactor, that is reactivated to process it
+     *
+     * @param sender the sender of the message
+     * @param destination the destination of the message
+     * @param deadline the deadline of the message
+     * @param payload the received payload
+     * @return true if {@code destination} is a passivable reactor and the payload has been queued for it,
+     * false otherwise
+     */
+    public boolean offerToPassivated(ReActorRef sender, ReActorRef destination, long deadline,
+                                     Serializable payload) {
+        return passivator.offer(sender, destination, deadline, payload);
+    }
+
     /**
      * Generates a numeric ID
      * @return an incremental number guaranteed to be unique for the reactor system
@@ -528,6 +635,29 @@ public class ReActorSystem {
                           Objects.requireNonNull(reActorConfig, "ReActor config cannot be null"));
     }
 
+    /**
+     * Create a new passivable reactor. A passivable reactor that does not receive any message for
+     * {@code idleTimeout} is stopped and serialized into the {@link ReActorSystemConfig#getPassivationStore()},
+     * releasing its context and mailbox. The next message for it transparently reactivates it: the messages
+     * that arrive while it is being reactivated are buffered and delivered in order.
+     * A passivable reactor receives {@link io.reacted.core.messages.reactors.ReActorStop} on every passivation
+     * and {@link io.reacted.core.messages.reactors.ReActorInit} on every activation, any child of it is stopped
+     * on passivation. A passivable reactor that is stopped by anything else than the passivation is gone for good.
+     *
+     * @param reActor the reactor. Its fields are its state across passivations
+     * @param idleTimeout a reactor is passivated after having been idle for a period between one and two times
+     *                    this interval
+     * @param <ReActorT> a {@link Serializable} reactor
+     * @return A successful Try containing the ReActorRef for the new reactor on success,
+     * a failed Try on failure
+     */
+    public <ReActorT extends ReActor & Serializable>
+    Try<ReActorRef> spawnPassivable(ReActorT reActor, Duration idleTimeout) {
+        return passivator.spawn(Objects.requireNonNull(reActor, "ReActor cannot be null"),
+                                Objects.requireNonNull(userReActorsRoot, "System not inited correctly"),
+                                ObjectUtils.checkNonNullPositiveTimeInterval(idleTimeout));
+    }
+
     /**
      * Create a new reactor child of the specified reactor
      *
@@ -547,6 +677,12 @@ public class ReActorSystem {
         return spawned;
     }
 
+    /* For reactors that find their init message already in the mailbox */
+    Try<ReActorRef> spawnChildWithoutInit(ReActions reActions, ReActorRef father,
+                                          ReActiveEntityConfig<?, ?> reActorConfig) {
+        return spawn(getLoopback(), reActions, father, reActorConfig);
+    }
+
     /**
      * Create a new service. Services are reactors automatically backed up by a router
      *
@@ -576,6 +712,11 @@ public class ReActorSystem {
 
     public ReActorSystemRef getLoopback() { return gatesCentralizedManager.getLoopBack(); }
 
+    /**
+     * @return the cache used by the drivers for resolving the decoded references to canonical instances
+     */
+    public ReActorRefInterner getRefInterner() { return refInterner; }
+
     /**
      * Sends a message to all the local subscribers for the message type
      * @param msgSender A {@link ReActorRef} defining the sender of this message
@@ -669,6 +810,16 @@ public class ReActorSystem {
         return Objects.requireNonNull(systemSchedulingService);
     }
 
+    /**
+     * The system timer is meant for a high number of one shot, short and non-blocking timers, such as timeouts
+     * and message reschedules. Scheduling and cancelling a timer are O(1)
+     *
+     * @return the {@link TimingWheel} of this reactor system
+     */
+    public TimingWheel getSystemTimer() {
+        return Objects.requireNonNull(systemTimer);
+    }
+
     public void flushRemoteGatesForDriver(ReActorRef registryDriver) {
         gatesCentralizedManager.unregisterSource(registryDriver);
     }
@@ -719,6 +870,8 @@ public class ReActorSystem {
 
         this.systemSchedulingService = createSystemScheduleService(getSystemConfig().getReActorSystemName(),
                                                                    SYSTEM_TASK_SCHEDULER_POOL_SIZE);
+        this.systemTimer = new TimingWheel(getSystemConfig().getReActorSystemName() + "-system_timer",
+                                           getSystemConfig().getSystemTimerTick()).start();
 
         this.msgFanOutPool = createFanOutPool(getLocalReActorSystemId().getReActorSystemName(),
                                               getSystemConfig().getMsgFanOutPoolSize());
@@ -854,6 +1007,10 @@ public class ReActorSystem {
             systemSchedulingService.shutdownNow();
             this.systemSchedulingService = null;
         }
+        if (systemTimer != null) {
+            systemTimer.stop();
+            this.systemTimer = null;
+        }
     }
 
     private boolean registerDispatcher(Dispatcher newDispatcher) {
@@ -893,7 +1050,10 @@ public class ReActorSystem {
     }
 
     private ReActorRef spawnSystemDeadLetters(ReActorRef systemActorsRoot) {
-        return spawn(getLoopback(), DeadLetter.DEADLETTERS, systemActorsRoot,
+        return spawn(getLoopback(), new DeadLetter(getSystemConfig().getDeadLettersSummaryInterval(),
+                                                   getSystemConfig().getDeadLettersSamplesPerInterval(),
+                                                   getSystemSchedulingService()).getReActions(),
+                     systemActorsRoot,
                      ReActorConfig.newBuilder()
                                   .setReActorName("DeadLetters")
                                   .build()).orElseSneakyThrow();
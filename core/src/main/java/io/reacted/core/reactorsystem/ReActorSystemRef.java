@@ -15,6 +15,7 @@ import io.reacted.core.drivers.DriverCtx;
 import io.reacted.core.drivers.system.NullDriver;
 import io.reacted.core.drivers.system.ReActorSystemDriver;
 import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.SerializationUtils;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import java.io.Externalizable;
@@ -23,6 +24,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.CompletionStage;
@@ -83,6 +85,20 @@ public class ReActorSystemRef implements Externalizable {
         return backingDriver.tell(src, dst, message);
     }
 
+    DeliveryStatus tell(ReActorRef src, ReActorRef dst, PrimitiveType primitiveType, long primitivePayload) {
+        return backingDriver.tell(src, dst, primitiveType, primitivePayload);
+    }
+
+    <PayloadT extends Serializable>
+    DeliveryStatus publish(ReActorRef src, ReActorRef dst, long deadline, PayloadT message) {
+        return backingDriver.publish(src, dst, deadline, message);
+    }
+
+    <PayloadT extends Serializable>
+    DeliveryStatus tell(ReActorRef src, ReActorRef dst, long deadline, PayloadT message) {
+        return backingDriver.tell(src, dst, deadline, message);
+    }
+
     <PayloadT extends Serializable>
     CompletionStage<DeliveryStatus> apublish(ReActorRef src, ReActorRef dst, AckingPolicy ackingPolicy,
                                              PayloadT message) {
@@ -95,6 +111,12 @@ public class ReActorSystemRef implements Externalizable {
         return backingDriver.atell(src, dst, ackingPolicy, message);
     }
 
+    <PayloadT extends Serializable>
+    CompletionStage<DeliveryStatus> tellWhenReady(ReActorRef src, ReActorRef dst, Duration timeout,
+                                                  PayloadT message) {
+        return backingDriver.tellWhenReady(src, dst, timeout, message);
+    }
+
 
     public ReActorSystemId getReActorSystemId() {
         return reActorSystemId;
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -39,6 +40,8 @@ class RegistryGatesCentralizedManager {
     private final LoopbackDriver<? extends ChannelDriverConfig<?, ?>> loopbackDriver;
     private final ReActorSystemId localReActorSystemId;
     private final ReActorSystemRef loopBack;
+    /* Changes every time a gate is added or removed, invalidating the gates resolved before the change */
+    private final AtomicLong gatesVersion = new AtomicLong();
 
     RegistryGatesCentralizedManager(ReActorSystemId localReActorSystemId,
                                     LoopbackDriver<? extends ChannelDriverConfig<?, ?>> loopbackDriver) {
@@ -52,6 +55,7 @@ class RegistryGatesCentralizedManager {
     }
     public LoopbackDriver<? extends ChannelDriverConfig<?, ?>> getLoopbackDriver() { return loopbackDriver; }
     public ReActorSystemRef getLoopBack() { return loopBack; }
+    public long getGatesVersion() { return gatesVersion.get(); }
 
     @Nullable
     public ReActorSystemRef findGate(@Nonnull ReActorSystemId reActorSystemId,
@@ -100,6 +104,7 @@ class RegistryGatesCentralizedManager {
     public synchronized void unregisterRoute(@Nonnull ReActorSystemId reActorSystemId, @Nonnull ChannelId channelId) {
         Optional.ofNullable(reActorSystemsGates.get(reActorSystemId))
                 .ifPresent(elem -> elem.remove(channelId));
+        gatesVersion.incrementAndGet();
         unregisterTarget(reActorSystemId);
     }
 
@@ -117,6 +122,7 @@ class RegistryGatesCentralizedManager {
         var newRoute = channelMap.computeIfAbsent(channelId,
                                                   newChannelId -> new ReActorSystemRef(driver, channelProperties,
                                                                                        newChannelId, reActorSystemId));
+        gatesVersion.incrementAndGet();
         registerNewSource(sourceServiceRegistry, reActorSystemId);
         return newRoute;
     }
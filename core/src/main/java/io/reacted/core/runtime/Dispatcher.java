@@ -200,11 +200,20 @@ public class Dispatcher {
         //memory acquire
         scheduledReActor.acquireCoherence();
         int processed = 0;
-        for (; processed < dispatcherBatchSize &&
-                             !scheduledReActor.getMbox().isEmpty() &&
-                             !scheduledReActor.isStop(); processed++) {
+        int shed = 0;
+        while (processed < dispatcherBatchSize &&
+               !scheduledReActor.getMbox().isEmpty() &&
+               !scheduledReActor.isStop()) {
             var newEvent = scheduledReActor.getMbox().getNextMessage();
 
+            if (newEvent.isExpired()) {
+                //Nobody is waiting anymore for the outcome of this message: shed it instead of adding latency.
+                //Shedding is cheap, so it does not consume the batch of the reactor
+                reActorSystem.toExpiredMessages(newEvent);
+                shed++;
+                continue;
+            }
+
             /*
               Register the execution attempt within the local driver log. In this way regardless of the
               tell order of the messages, we will always have a strictly ordered execution order per
@@ -230,6 +239,7 @@ public class Dispatcher {
             }
 
             executeReactionForMessage(scheduledReActor, newEvent);
+            processed++;
         }
         //memory release
         scheduledReActor.releaseCoherence();
@@ -237,6 +247,10 @@ public class Dispatcher {
         if (!scheduledReActor.releaseScheduling()) {
             LOGGER.error("CRITIC! Failed to release scheduling!?");
         }
+        if (processed + shed > 0 && scheduledReActor.hasMailboxCapacityWaiters()) {
+            //Some room has been made in the mailbox, let the producers waiting for it in
+            scheduledReActor.notifyMailboxCapacity();
+        }
         if (scheduledReActor.isStop()) {
             dispatcherLifeCyclePool.execute(() -> reActorUnregister.apply(scheduledReActor));
         } else if (!scheduledReActor.getMbox().isEmpty()) {
@@ -252,7 +266,7 @@ public class Dispatcher {
         } catch (Exception anyExc) {
             scheduledReActor.logError(REACTIONS_EXECUTION_ERROR,
                                       scheduledReActor.getSelf().getReActorId(),
-                                      newEvent.getPayload().getClass(),
+                                      newEvent.getPayloadType(),
                                       newEvent.getSequenceNumber(), newEvent.toString(), anyExc);
             scheduledReActor.stop();
         }
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.runtime;
+
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical hashed timing wheel. Timers are kept into {@link TimingWheel#LEVELS} wheels of
+ * {@link TimingWheel#SLOTS_PER_LEVEL} slots each: the first wheel has a slot per tick, every following wheel has
+ * a slot per full revolution of the previous one. When a wheel completes a revolution, the next slot of the
+ * upper wheel is cascaded down. Scheduling and cancelling a timer are O(1) and lock free: requests are queued
+ * and applied by a dedicated tick thread that also runs the expired timers.
+ * Expired timers are run on the tick thread, so they are supposed to be short and non blocking, i.e. sending
+ * a message or completing a future.
+ */
+@NonNullByDefault
+public class TimingWheel {
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+    private static final int LEVEL_BITS = 8;
+    private static final int SLOTS_PER_LEVEL = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 4;
+    private final Timer<?>[][] wheels = new Timer<?>[LEVELS][SLOTS_PER_LEVEL];
+    private final Queue<Timer<?>> newTimers = new ConcurrentLinkedQueue<>();
+    private final Queue<Timer<?>> cancelledTimers = new ConcurrentLinkedQueue<>();
+    private final long tickNanos;
+    private final long startNanos;
+    private final Thread tickThread;
+    private volatile boolean isIdle;
+    private volatile boolean isStopped;
+    /* Accessed only by the tick thread */
+    private long currentTick;
+    private long linkedTimers;
+
+    /**
+     * @param name name of the tick thread
+     * @param tick timers granularity. Timers expire at the first tick after their delay is over
+     */
+    public TimingWheel(String name, Duration tick) {
+        this.tickNanos = ObjectUtils.checkNonNullPositiveTimeInterval(tick).toNanos();
+        this.startNanos = System.nanoTime();
+        this.tickThread = Executors.defaultThreadFactory().newThread(this::tickLoop);
+        this.tickThread.setName(Objects.requireNonNull(name, "Timing wheel name cannot be null"));
+        this.tickThread.setDaemon(true);
+    }
+
+    public TimingWheel start() {
+        tickThread.start();
+        return this;
+    }
+
+    /**
+     * Stops the tick thread. Pending timers are not going to be run
+     */
+    public void stop() {
+        this.isStopped = true;
+        LockSupport.unpark(tickThread);
+    }
+
+    /**
+     * Run a task once after the specified delay
+     *
+     * @param task the task that should be run on the tick thread
+     * @param delay how long to wait before running the task
+     * @param unit {@link TimeUnit} of {@code delay}
+     * @return a {@link ScheduledFuture} that can be used to cancel the task or to wait for its completion
+     * @throws RejectedExecutionException if the wheel has been stopped
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(new Timer<>(this, Objects.requireNonNull(task), deadlineTick(delay, unit)));
+    }
+
+    /**
+     * Run a task once after the specified delay
+     *
+     * @param task the task that should be run on the tick thread
+     * @param delay how long to wait before running the task
+     * @param unit {@link TimeUnit} of {@code delay}
+     * @param <V> type of the task result
+     * @return a {@link ScheduledFuture} that can be used to cancel the task or to retrieve its result
+     * @throws RejectedExecutionException if the wheel has been stopped
+     */
+    public <V> ScheduledFuture<V> schedule(Callable<V> task, long delay, TimeUnit unit) {
+        return schedule(new Timer<>(this, Objects.requireNonNull(task), deadlineTick(delay, unit)));
+    }
+
+    /**
+     * Run a task once after the specified delay
+     *
+     * @param task the task that should be run on the tick thread
+     * @param delay how long to wait before running the task
+     * @return a {@link ScheduledFuture} that can be used to cancel the task or to wait for its completion
+     * @throws RejectedExecutionException if the wheel has been stopped
+     */
+    public ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private <V> Timer<V> schedule(Timer<V> timer) {
+        if (isStopped) {
+            throw new RejectedExecutionException("Timing wheel has been stopped");
+        }
+        newTimers.offer(timer);
+        if (isIdle) {
+            LockSupport.unpark(tickThread);
+        }
+        return timer;
+    }
+
+    private long deadlineTick(long delay, TimeUnit unit) {
+        long delayNanos = Long.max(0L, unit.toNanos(delay));
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long deadlineNanos = delayNanos > Long.MAX_VALUE - elapsedNanos ? Long.MAX_VALUE : elapsedNanos + delayNanos;
+        //Round up: a timer never expires before its delay is over
+        return deadlineNanos / tickNanos + (deadlineNanos % tickNanos == 0 ? 0 : 1);
+    }
+
+    private long elapsedTicks() { return (System.nanoTime() - startNanos) / tickNanos; }
+
+    private void tickLoop() {
+        while (!isStopped) {
+            unlinkCancelledTimers();
+            long targetTick = elapsedTicks();
+            if (linkedTimers == 0 && targetTick > currentTick) {
+                //Nothing is going to expire in between, so there is no need to go through every tick
+                this.currentTick = targetTick - 1;
+            }
+            while (currentTick < targetTick && !isStopped) {
+                this.currentTick++;
+                linkNewTimers(currentTick);
+                cascade();
+                expireCurrentSlot();
+            }
+            //The current slot has been expired already, whatever arrives now can expire only from the next tick
+            linkNewTimers(currentTick + 1);
+            waitForNextTick();
+        }
+    }
+
+    private void waitForNextTick() {
+        if (linkedTimers == 0) {
+            this.isIdle = true;
+            if (newTimers.isEmpty() && !isStopped) {
+                LockSupport.park(this);
+            }
+            this.isIdle = false;
+        } else {
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            LockSupport.parkNanos(this, nextTickNanos - System.nanoTime());
+        }
+    }
+
+    private void linkNewTimers(long earliestExpirationTick) {
+        Timer<?> timer;
+        while ((timer = newTimers.poll()) != null) {
+            if (!timer.isCancelled()) {
+                link(timer, earliestExpirationTick);
+            }
+        }
+    }
+
+    private void unlinkCancelledTimers() {
+        Timer<?> timer;
+        while ((timer = cancelledTimers.poll()) != null) {
+            if (timer.level >= 0) {
+                unlink(timer);
+            }
+        }
+    }
+
+    /* Move the timers of the upper wheels slots that are starting now into the lower wheels */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if (((currentTick >>> (LEVEL_BITS * (level - 1))) & SLOT_MASK) != 0) {
+                return;
+            }
+            int slot = (int)((currentTick >>> (LEVEL_BITS * level)) & SLOT_MASK);
+            Timer<?> timer = wheels[level][slot];
+            wheels[level][slot] = null;
+            while (timer != null) {
+                Timer<?> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.level = -1;
+                linkedTimers--;
+                link(timer, currentTick);
+                timer = next;
+            }
+        }
+    }
+
+    private void expireCurrentSlot() {
+        int slot = (int)(currentTick & SLOT_MASK);
+        Timer<?> timer = wheels[0][slot];
+        wheels[0][slot] = null;
+        while (timer != null) {
+            Timer<?> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.level = -1;
+            linkedTimers--;
+            try {
+                timer.run();
+            } catch (Throwable error) {
+                LOGGER.error("Unexpected error in timer task", error);
+            }
+            timer = next;
+        }
+    }
+
+    private void link(Timer<?> timer, long earliestExpirationTick) {
+        long delta = Long.max(earliestExpirationTick, timer.deadlineTick) - currentTick;
+        long deadlineTick = currentTick + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (LEVEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot;
+        if (delta >= 1L << (LEVEL_BITS * LEVELS)) {
+            //Farther than the wheels can reach: park it in the last slot and link it again once cascaded
+            slot = (int)(((currentTick >>> (LEVEL_BITS * level)) + SLOT_MASK) & SLOT_MASK);
+        } else {
+            slot = (int)((deadlineTick >>> (LEVEL_BITS * level)) & SLOT_MASK);
+        }
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = wheels[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        wheels[level][slot] = timer;
+        linkedTimers++;
+    }
+
+    private void unlink(Timer<?> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.level = -1;
+        linkedTimers--;
+    }
+
+    private static final class Timer<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final TimingWheel timingWheel;
+        private final long deadlineTick;
+        /* Position within the wheels. Accessed only by the tick thread */
+        @Nullable
+        private Timer<?> prev;
+        @Nullable
+        private Timer<?> next;
+        private int level = -1;
+        private int slot;
+
+        private Timer(TimingWheel timingWheel, Callable<V> task, long deadlineTick) {
+            super(task);
+            this.timingWheel = timingWheel;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private Timer(TimingWheel timingWheel, Runnable task, long deadlineTick) {
+            super(task, null);
+            this.timingWheel = timingWheel;
+            this.deadlineTick = deadlineTick;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            if (isCancelled) {
+                timingWheel.cancelledTimers.offer(this);
+            }
+            return isCancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            long deadlineNanos = deadlineTick <= Long.MAX_VALUE / timingWheel.tickNanos
+                                 ? deadlineTick * timingWheel.tickNanos
+                                 : Long.MAX_VALUE;
+            long remainingNanos = deadlineNanos - (System.nanoTime() - timingWheel.startNanos);
+            return unit.convert(remainingNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return other == this ? 0 : Long.compare(getDelay(TimeUnit.NANOSECONDS),
+                                                    other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
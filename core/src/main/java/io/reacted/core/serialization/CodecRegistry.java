@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import com.google.common.collect.ImmutableMap;
+import io.reacted.patterns.NonNullByDefault;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+/**
+ * The codecs that the drivers use for putting payloads on the wire. Every encoded payload is prefixed by the
+ * id of its codec, payloads without a codec are written with the java serialization.
+ * The framework types that cross the wire always have a codec.
+ */
+@NonNullByDefault
+public final class CodecRegistry {
+    /* Marks the payloads written with the java serialization */
+    public static final int JAVA_SERIALIZATION_CODEC_ID = 0;
+    private final Map<Class<?>, PayloadCodec<?>> codecsByType;
+    private final Map<Integer, PayloadCodec<?>> codecsById;
+
+    private CodecRegistry(Builder builder) {
+        Map<Class<?>, PayloadCodec<?>> byType = new HashMap<>();
+        Map<Integer, PayloadCodec<?>> byId = new HashMap<>();
+        List<PayloadCodec<?>> codecs = new ArrayList<>();
+        if (builder.loadServices) {
+            ServiceLoader.load(PayloadCodec.class).forEach(codecs::add);
+        }
+        codecs.addAll(builder.codecs);
+        for (PayloadCodec<?> codec : codecs) {
+            if (codec.getCodecId() <= JAVA_SERIALIZATION_CODEC_ID) {
+                throw new IllegalArgumentException("Codec ids must be positive: " + codec.getClass().getName());
+            }
+        }
+        codecs.addAll(FrameworkCodecs.getCodecs());
+        for (PayloadCodec<?> codec : codecs) {
+            PayloadCodec<?> sameId = byId.putIfAbsent(codec.getCodecId(), codec);
+            if (sameId != null) {
+                throw new IllegalArgumentException("Codec id " + codec.getCodecId() + " used by both " +
+                                                   sameId.getClass().getName() + " and " +
+                                                   codec.getClass().getName());
+            }
+            if (byType.putIfAbsent(Objects.requireNonNull(codec.getPayloadType()), codec) != null) {
+                throw new IllegalArgumentException("Multiple codecs for " + codec.getPayloadType().getName());
+            }
+        }
+        this.codecsByType = ImmutableMap.copyOf(byType);
+        this.codecsById = ImmutableMap.copyOf(byId);
+    }
+
+    public static Builder newBuilder() { return new Builder(); }
+
+    /**
+     * Write a payload prefixed by the id of its codec
+     *
+     * @param payload the payload
+     * @param out destination of the encoding
+     * @throws IOException if the payload cannot be written
+     */
+    @SuppressWarnings("unchecked")
+    public void encode(Serializable payload, DataOutput out) throws IOException {
+        var codec = (PayloadCodec<Serializable>) codecsByType.get(payload.getClass());
+        if (codec == null) {
+            out.writeInt(JAVA_SERIALIZATION_CODEC_ID);
+            byte[] serialized = toJavaSerialization(payload);
+            out.writeInt(serialized.length);
+            out.write(serialized);
+            return;
+        }
+        out.writeInt(codec.getCodecId());
+        codec.encode(payload, out, this);
+    }
+
+    /**
+     * Read a payload written by {@link #encode(Serializable, DataOutput)}
+     *
+     * @param in source of the encoded payload
+     * @return the decoded payload
+     * @throws IOException if the payload cannot be read or if its codec is unknown
+     */
+    public Serializable decode(DataInput in) throws IOException {
+        int codecId = in.readInt();
+        if (codecId == JAVA_SERIALIZATION_CODEC_ID) {
+            byte[] serialized = new byte[in.readInt()];
+            in.readFully(serialized);
+            return fromJavaSerialization(serialized);
+        }
+        PayloadCodec<?> codec = codecsById.get(codecId);
+        if (codec == null) {
+            throw new IOException("No codec registered with id " + codecId);
+        }
+        return codec.decode(in, this);
+    }
+
+    public byte[] toBytes(Serializable payload) throws IOException {
+        try (var encoded = new ByteArrayOutputStream();
+             var out = new DataOutputStream(encoded)) {
+            encode(payload, out);
+            out.flush();
+            return encoded.toByteArray();
+        }
+    }
+
+    public Serializable fromBytes(byte[] encoded) throws IOException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            return decode(in);
+        }
+    }
+
+    /**
+     * @param payloadType a payload type
+     * @return true if payloads of this exact type have a codec
+     */
+    public boolean hasCodec(Class<? extends Serializable> payloadType) {
+        return codecsByType.containsKey(payloadType);
+    }
+
+    private static byte[] toJavaSerialization(Serializable payload) throws IOException {
+        try (var serialized = new ByteArrayOutputStream();
+             var out = new ObjectOutputStream(serialized)) {
+            out.writeObject(payload);
+            out.flush();
+            return serialized.toByteArray();
+        }
+    }
+
+    private static Serializable fromJavaSerialization(byte[] serialized) throws IOException {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (Serializable) in.readObject();
+        } catch (ClassNotFoundException unknownPayloadType) {
+            throw new IOException(unknownPayloadType);
+        }
+    }
+
+    public static class Builder {
+        private final List<PayloadCodec<?>> codecs = new ArrayList<>();
+        private boolean loadServices = true;
+
+        private Builder() { }
+
+        /**
+         * @param codec a codec for a payload type. Its id and type must not be used by any other codec
+         * @return this builder
+         */
+        public final Builder registerCodec(PayloadCodec<?> codec) {
+            codecs.add(Objects.requireNonNull(codec, "Codec cannot be null"));
+            return this;
+        }
+
+        /**
+         * @param loadServices if true, the codecs declared as {@link ServiceLoader} services for
+         *                     {@link PayloadCodec} are registered as well. Default: true
+         * @return this builder
+         */
+        public final Builder setLoadServices(boolean loadServices) {
+            this.loadServices = loadServices;
+            return this;
+        }
+
+        /**
+         * @return a registry containing the framework codecs and the registered ones
+         * @throws IllegalArgumentException if two codecs share the same id or payload type or if a registered
+         * codec does not have a positive id
+         */
+        public CodecRegistry build() { return new CodecRegistry(this); }
+    }
+}
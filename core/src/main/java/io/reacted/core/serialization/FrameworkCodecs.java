@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.drivers.system.ReActorSystemDriver;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.messages.reactors.DeliveryStatusUpdate;
+import io.reacted.core.messages.reactors.DeliveryStatusUpdates;
+import io.reacted.core.messages.reactors.FlowCredits;
+import io.reacted.core.messages.serviceregistry.RegistryGateRemoved;
+import io.reacted.core.messages.serviceregistry.RegistryGateUpserted;
+import io.reacted.core.messages.services.ServiceDiscoveryReply;
+import io.reacted.core.reactors.ReActorId;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorRefInterner;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+import io.reacted.core.reactorsystem.ReActorSystemRef;
+import io.reacted.patterns.NonNullByDefault;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/* Hand written codecs for the framework types that cross the wire. Their ids are negative, so they cannot
+   clash with the ones of the user codecs */
+@NonNullByDefault
+final class FrameworkCodecs {
+    private static final byte NO_VALUE_MARKER = 0;
+    private static final byte VALUE_MARKER = 1;
+    private static final byte OBJECT_PAYLOAD = -1;
+    private static final DeliveryStatus[] DELIVERY_STATUSES = DeliveryStatus.values();
+    private static final List<PayloadCodec<?>> CODECS =
+            List.of(new FrameworkCodec<>(String.class, -1,
+                                         (string, out, codecs) -> writeString(out, string),
+                                         (in, codecs) -> readString(in)),
+                    new FrameworkCodec<>(ReActorSystemId.class, -2,
+                                         (reActorSystemId, out, codecs) -> writeReActorSystemId(out, reActorSystemId),
+                                         (in, codecs) -> readReActorSystemId(in)),
+                    new FrameworkCodec<>(ChannelId.class, -3,
+                                         (channelId, out, codecs) -> writeChannelId(out, channelId),
+                                         (in, codecs) -> readChannelId(in)),
+                    new FrameworkCodec<>(ReActorId.class, -4,
+                                         (reActorId, out, codecs) -> writeReActorId(out, reActorId),
+                                         (in, codecs) -> readReActorId(in)),
+                    new FrameworkCodec<>(ReActorSystemRef.class, -5,
+                                         (reActorSystemRef, out, codecs) -> writeReActorSystemRef(out, reActorSystemRef),
+                                         (in, codecs) -> readReActorSystemRef(in)),
+                    new FrameworkCodec<>(ReActorRef.class, -6,
+                                         (reActorRef, out, codecs) -> writeReActorRef(out, reActorRef),
+                                         (in, codecs) -> readReActorRef(in)),
+                    new FrameworkCodec<>(Message.class, -7, FrameworkCodecs::writeMessage,
+                                         FrameworkCodecs::readMessage),
+                    new FrameworkCodec<>(DeliveryStatusUpdate.class, -8, FrameworkCodecs::writeDeliveryStatusUpdate,
+                                         (in, codecs) -> readDeliveryStatusUpdate(in)),
+                    new FrameworkCodec<>(Properties.class, -9,
+                                         (properties, out, codecs) -> writeProperties(out, properties),
+                                         (in, codecs) -> readProperties(in)),
+                    new FrameworkCodec<>(RegistryGateUpserted.class, -10,
+                                         (upserted, out, codecs) -> writeGateUpserted(out, upserted),
+                                         (in, codecs) -> readGateUpserted(in)),
+                    new FrameworkCodec<>(RegistryGateRemoved.class, -11,
+                                         (removed, out, codecs) -> writeGateRemoved(out, removed),
+                                         (in, codecs) -> readGateRemoved(in)),
+                    new FrameworkCodec<>(ServiceDiscoveryReply.class, -12,
+                                         (reply, out, codecs) -> writeServiceDiscoveryReply(out, reply),
+                                         (in, codecs) -> readServiceDiscoveryReply(in)),
+                    new FrameworkCodec<>(DeliveryStatusUpdates.class, -13,
+                                         (updates, out, codecs) -> writeDeliveryStatusUpdates(out, updates),
+                                         (in, codecs) -> readDeliveryStatusUpdates(in)),
+                    new FrameworkCodec<>(FlowCredits.class, -14,
+                                         (credits, out, codecs) -> writeFlowCredits(out, credits),
+                                         (in, codecs) -> readFlowCredits(in)));
+
+    private FrameworkCodecs() { /* No instances allowed */ }
+
+    static List<PayloadCodec<?>> getCodecs() { return CODECS; }
+
+    static void writeString(DataOutput out, String string) throws IOException {
+        WireFormat.writeString(out, string);
+    }
+
+    static String readString(DataInput in) throws IOException { return WireFormat.readString(in); }
+
+    static void writeReActorSystemId(DataOutput out, ReActorSystemId reActorSystemId) throws IOException {
+        if (reActorSystemId == ReActorSystemId.NO_REACTORSYSTEM_ID) {
+            out.writeByte(NO_VALUE_MARKER);
+            return;
+        }
+        out.writeByte(VALUE_MARKER);
+        //The uuid is derived from the name
+        writeString(out, reActorSystemId.getReActorSystemName());
+    }
+
+    static ReActorSystemId readReActorSystemId(DataInput in) throws IOException {
+        return in.readByte() == NO_VALUE_MARKER
+               ? ReActorSystemId.NO_REACTORSYSTEM_ID
+               : new ReActorSystemId(readString(in));
+    }
+
+    static void writeChannelId(DataOutput out, ChannelId channelId) throws IOException {
+        out.writeByte(channelId.getChannelType().ordinal());
+        writeString(out, channelId.getChannelName());
+    }
+
+    static ChannelId readChannelId(DataInput in) throws IOException {
+        return ChannelId.ChannelType.forOrdinal(in.readByte())
+                                    .forChannelName(readString(in));
+    }
+
+    static void writeReActorId(DataOutput out, ReActorId reActorId) throws IOException {
+        if (reActorId == ReActorId.NO_REACTOR_ID) {
+            out.writeByte(NO_VALUE_MARKER);
+            return;
+        }
+        out.writeByte(VALUE_MARKER);
+        UUID uuid = reActorId.getReActorUUID();
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        writeString(out, reActorId.getReActorName());
+    }
+
+    static ReActorId readReActorId(DataInput in) throws IOException {
+        if (in.readByte() == NO_VALUE_MARKER) {
+            return ReActorId.NO_REACTOR_ID;
+        }
+        var uuid = new UUID(in.readLong(), in.readLong());
+        String reActorName = readString(in);
+        return new ReActorId().setReActorName(reActorName)
+                              .setReActorUUID(uuid)
+                              .setHashCode(Objects.hash(uuid, reActorName));
+    }
+
+    static void writeReActorSystemRef(DataOutput out, ReActorSystemRef reActorSystemRef) throws IOException {
+        writeReActorSystemId(out, reActorSystemRef.getReActorSystemId());
+        writeChannelId(out, reActorSystemRef.getChannelId());
+    }
+
+    static ReActorSystemRef readReActorSystemRef(DataInput in) throws IOException {
+        ReActorSystemId reActorSystemId = readReActorSystemId(in);
+        ChannelId channelId = readChannelId(in);
+        return ReActorRefInterner.toReActorSystemRef(reActorSystemId, channelId, ReActorSystemDriver.getDriverCtx());
+    }
+
+    static void writeReActorRef(DataOutput out, ReActorRef reActorRef) throws IOException {
+        if (reActorRef == ReActorRef.NO_REACTOR_REF) {
+            out.writeByte(NO_VALUE_MARKER);
+            return;
+        }
+        out.writeByte(VALUE_MARKER);
+        writeReActorId(out, reActorRef.getReActorId());
+        writeReActorSystemRef(out, reActorRef.getReActorSystemRef());
+    }
+
+    static ReActorRef readReActorRef(DataInput in) throws IOException {
+        if (in.readByte() == NO_VALUE_MARKER) {
+            return ReActorRef.NO_REACTOR_REF;
+        }
+        if (in.readByte() == NO_VALUE_MARKER) {
+            return new ReActorRef(ReActorId.NO_REACTOR_ID, readReActorSystemRef(in));
+        }
+        long uuidMostSigBits = in.readLong();
+        long uuidLeastSigBits = in.readLong();
+        String reActorName = readString(in);
+        return ReActorRefInterner.toReActorRef(uuidMostSigBits, uuidLeastSigBits, reActorName,
+                                               readReActorSystemRef(in), ReActorSystemDriver.getDriverCtx());
+    }
+
+    private static void writeMessage(Message message, DataOutput out, CodecRegistry codecs) throws IOException {
+        writeReActorRef(out, message.getSender());
+        writeReActorRef(out, message.getDestination());
+        out.writeLong(message.getSequenceNumber());
+        writeReActorSystemId(out, message.getDataLink().getGeneratingReActorSystem());
+        out.writeByte(message.getDataLink().getAckingPolicy().ordinal());
+        out.writeLong(message.getDeadline());
+        //Primitives, boxed or not, do not need a codec
+        PrimitiveType primitiveType = message.getPrimitiveType();
+        if (primitiveType != null) {
+            out.writeByte(primitiveType.ordinal());
+            out.writeLong(message.getPrimitivePayload());
+            return;
+        }
+        Serializable payload = message.getPayload();
+        primitiveType = PrimitiveType.ofBoxed(payload);
+        if (primitiveType != null) {
+            out.writeByte(primitiveType.ordinal());
+            out.writeLong(PrimitiveType.toBits(payload));
+            return;
+        }
+        out.writeByte(OBJECT_PAYLOAD);
+        codecs.encode(payload, out);
+    }
+
+    private static Message readMessage(DataInput in, CodecRegistry codecs) throws IOException {
+        ReActorRef sender = readReActorRef(in);
+        ReActorRef destination = readReActorRef(in);
+        long sequenceNumber = in.readLong();
+        ReActorSystemId generatingReActorSystem = readReActorSystemId(in);
+        AckingPolicy ackingPolicy = AckingPolicy.forOrdinal(in.readByte());
+        long deadline = in.readLong();
+        byte payloadType = in.readByte();
+        return payloadType == OBJECT_PAYLOAD
+               ? new Message(sender, destination, sequenceNumber, generatingReActorSystem, ackingPolicy, deadline,
+                             codecs.decode(in))
+               : new Message(sender, destination, sequenceNumber, generatingReActorSystem, ackingPolicy, deadline,
+                             PrimitiveType.forOrdinal(payloadType), in.readLong());
+    }
+
+    private static void writeDeliveryStatusUpdate(DeliveryStatusUpdate update, DataOutput out,
+                                                  CodecRegistry codecs) throws IOException {
+        out.writeLong(update.getMsgSeqNum());
+        out.writeByte(update.getDeliveryStatus().ordinal());
+        writeReActorSystemId(out, update.getAckSourceReActorSystem());
+        writeChannelId(out, update.getFirstMessageSourceChannelId());
+    }
+
+    private static DeliveryStatusUpdate readDeliveryStatusUpdate(DataInput in) throws IOException {
+        long msgSeqNum = in.readLong();
+        DeliveryStatus deliveryStatus = DELIVERY_STATUSES[in.readByte()];
+        ReActorSystemId ackSource = readReActorSystemId(in);
+        return new DeliveryStatusUpdate(msgSeqNum, deliveryStatus, ackSource, readChannelId(in));
+    }
+
+    private static void writeDeliveryStatusUpdates(DataOutput out, DeliveryStatusUpdates updates)
+            throws IOException {
+        writeLongs(out, updates.getDeliveredRanges());
+        writeLongs(out, updates.getOtherMsgSeqNums());
+        for (DeliveryStatus deliveryStatus : updates.getOtherDeliveryStatuses()) {
+            out.writeByte(deliveryStatus.ordinal());
+        }
+        writeReActorSystemId(out, updates.getAckSourceReActorSystem());
+        writeChannelId(out, updates.getFirstMessageSourceChannelId());
+    }
+
+    private static DeliveryStatusUpdates readDeliveryStatusUpdates(DataInput in) throws IOException {
+        long[] deliveredRanges = readLongs(in);
+        long[] otherMsgSeqNums = readLongs(in);
+        var otherDeliveryStatuses = new DeliveryStatus[otherMsgSeqNums.length];
+        for (int status = 0; status < otherDeliveryStatuses.length; status++) {
+            otherDeliveryStatuses[status] = DELIVERY_STATUSES[in.readByte()];
+        }
+        ReActorSystemId ackSource = readReActorSystemId(in);
+        return new DeliveryStatusUpdates(deliveredRanges, otherMsgSeqNums, otherDeliveryStatuses, ackSource,
+                                         readChannelId(in));
+    }
+
+    private static void writeFlowCredits(DataOutput out, FlowCredits flowCredits) throws IOException {
+        out.writeLong(flowCredits.getCredits());
+        out.writeBoolean(flowCredits.isInitialWindow());
+        writeReActorSystemId(out, flowCredits.getCreditSourceReActorSystem());
+        writeChannelId(out, flowCredits.getCreditSourceChannelId());
+    }
+
+    private static FlowCredits readFlowCredits(DataInput in) throws IOException {
+        long credits = in.readLong();
+        boolean isInitialWindow = in.readBoolean();
+        ReActorSystemId creditSource = readReActorSystemId(in);
+        return new FlowCredits(credits, isInitialWindow, creditSource, readChannelId(in));
+    }
+
+    private static void writeLongs(DataOutput out, long[] longs) throws IOException {
+        out.writeInt(longs.length);
+        for (long value : longs) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] readLongs(DataInput in) throws IOException {
+        long[] longs = new long[in.readInt()];
+        for (int value = 0; value < longs.length; value++) {
+            longs[value] = in.readLong();
+        }
+        return longs;
+    }
+
+    /* Only the string properties are written: that is what channel and gate properties are made of */
+    private static void writeProperties(DataOutput out, Properties properties) throws IOException {
+        Set<String> propertyNames = properties.stringPropertyNames();
+        out.writeInt(propertyNames.size());
+        for (String propertyName : propertyNames) {
+            writeString(out, propertyName);
+            writeString(out, properties.getProperty(propertyName));
+        }
+    }
+
+    private static Properties readProperties(DataInput in) throws IOException {
+        var properties = new Properties();
+        for (int property = in.readInt(); property > 0; property--) {
+            properties.setProperty(readString(in), readString(in));
+        }
+        return properties;
+    }
+
+    private static void writeGateUpserted(DataOutput out, RegistryGateUpserted upserted) throws IOException {
+        writeString(out, upserted.getReActorSystemId().getReActorSystemName());
+        writeChannelId(out, upserted.getChannelId());
+        writeProperties(out, upserted.getChannelData());
+    }
+
+    private static RegistryGateUpserted readGateUpserted(DataInput in) throws IOException {
+        String reActorSystemName = readString(in);
+        ChannelId channelId = readChannelId(in);
+        return new RegistryGateUpserted(reActorSystemName, channelId, readProperties(in));
+    }
+
+    private static void writeGateRemoved(DataOutput out, RegistryGateRemoved removed) throws IOException {
+        writeString(out, removed.getReActorSystem().getReActorSystemName());
+        writeChannelId(out, removed.getChannelId());
+    }
+
+    private static RegistryGateRemoved readGateRemoved(DataInput in) throws IOException {
+        String reActorSystemName = readString(in);
+        return new RegistryGateRemoved(reActorSystemName, readChannelId(in));
+    }
+
+    private static void writeServiceDiscoveryReply(DataOutput out, ServiceDiscoveryReply reply) throws IOException {
+        Set<ReActorRef> serviceGates = reply.getServiceGates();
+        out.writeInt(serviceGates.size());
+        for (ReActorRef serviceGate : serviceGates) {
+            writeReActorRef(out, serviceGate);
+        }
+    }
+
+    private static ServiceDiscoveryReply readServiceDiscoveryReply(DataInput in) throws IOException {
+        int serviceGatesNum = in.readInt();
+        Set<ReActorRef> serviceGates = new HashSet<>(serviceGatesNum);
+        for (int serviceGate = 0; serviceGate < serviceGatesNum; serviceGate++) {
+            serviceGates.add(readReActorRef(in));
+        }
+        return new ServiceDiscoveryReply(serviceGates);
+    }
+
+    @FunctionalInterface
+    private interface Encoder<PayloadT> {
+        void encode(PayloadT payload, DataOutput out, CodecRegistry codecs) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Decoder<PayloadT> {
+        PayloadT decode(DataInput in, CodecRegistry codecs) throws IOException;
+    }
+
+    private record FrameworkCodec<PayloadT extends Serializable>(Class<PayloadT> payloadType, int codecId,
+                                                                 Encoder<PayloadT> encoder,
+                                                                 Decoder<PayloadT> decoder)
+            implements PayloadCodec<PayloadT> {
+        @Override
+        public Class<PayloadT> getPayloadType() { return payloadType; }
+
+        @Override
+        public int getCodecId() { return codecId; }
+
+        @Override
+        public void encode(PayloadT payload, DataOutput out, CodecRegistry codecs) throws IOException {
+            encoder.encode(payload, out, codecs);
+        }
+
+        @Override
+        public PayloadT decode(DataInput in, CodecRegistry codecs) throws IOException {
+            return decoder.decode(in, codecs);
+        }
+    }
+}
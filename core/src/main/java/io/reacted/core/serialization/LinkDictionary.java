@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dictionary compression for the values that are repeated on every frame of a link, such as the sender and
+ * destination references. The first time a value is sent it is sent in full together with a small integer handle,
+ * afterwards only the handle is sent.
+ * <p>
+ * The two sides of a link must see the frames in the same order in which the {@link Encoder} produced them and
+ * they must start with empty dictionaries, so a new {@link Encoder} and a new {@link Decoder} have to be created
+ * every time a link is established. When the {@link Encoder} is full, the least recently used value is evicted and
+ * its handle is assigned to the next new value, redefining it for the {@link Decoder} as well. The two sides must
+ * be created with the same capacity: the {@link Decoder} rejects the handles beyond its own one.
+ * Neither class is thread safe.
+ */
+@NonNullByDefault
+public final class LinkDictionary {
+    /* Marks a frame field that is not dictionary compressed */
+    public static final int NO_HANDLE = 0;
+
+    private LinkDictionary() { /* No instances allowed */ }
+
+    /**
+     * Sending side of a link
+     *
+     * @param <KeyT> type of the compressed values
+     */
+    public static final class Encoder<KeyT> {
+        private final int capacity;
+        private final LinkedHashMap<KeyT, Integer> handles;
+
+        /**
+         * @param capacity maximum number of values known by the peer. Handles are in range 1 to {@code capacity}
+         */
+        public Encoder(int capacity) {
+            this.capacity = ObjectUtils.requiredInRange(capacity, 1, Integer.MAX_VALUE - 1,
+                                                        IllegalArgumentException::new);
+            //Access order: the eldest entry is the least recently used one
+            this.handles = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        /**
+         * @param value a value to send
+         * @return the handle of {@code value} if the peer already knows it, {@link #NO_HANDLE} otherwise
+         */
+        public int lookup(KeyT value) {
+            Integer handle = handles.get(value);
+            return handle == null ? NO_HANDLE : handle;
+        }
+
+        /**
+         * Assign a handle to a value that has to be sent in full, evicting the least recently used value if the
+         * dictionary is full
+         *
+         * @param value a value unknown to the peer
+         * @return the handle that has to be sent together with {@code value}
+         */
+        public int define(KeyT value) {
+            int handle = handles.size() + 1;
+            if (handles.size() == capacity) {
+                Iterator<Map.Entry<KeyT, Integer>> leastRecentlyUsed = handles.entrySet().iterator();
+                handle = leastRecentlyUsed.next().getValue();
+                leastRecentlyUsed.remove();
+            }
+            handles.put(value, handle);
+            return handle;
+        }
+
+        public int size() { return handles.size(); }
+    }
+
+    /**
+     * Receiving side of a link
+     *
+     * @param <ValueT> type of the compressed values
+     */
+    public static final class Decoder<ValueT> {
+        private final int capacity;
+        private Object[] values = new Object[16];
+
+        /**
+         * @param capacity maximum number of values the peer can define. Handles out of range 1 to
+         *                 {@code capacity} are a protocol error
+         */
+        public Decoder(int capacity) {
+            this.capacity = ObjectUtils.requiredInRange(capacity, 0, Integer.MAX_VALUE - 1,
+                                                        IllegalArgumentException::new);
+        }
+
+        /**
+         * @param handle handle received together with a full value
+         * @param value the value the handle refers to from now on
+         * @throws IllegalArgumentException if {@code handle} is out of the range of this dictionary
+         */
+        public void define(int handle, ValueT value) {
+            if (handle <= NO_HANDLE || handle > capacity) {
+                throw new IllegalArgumentException("Invalid handle " + handle);
+            }
+            if (handle >= values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(Math.max(handle + 1L, values.length * 2L),
+                                                              capacity + 1L));
+            }
+            values[handle] = value;
+        }
+
+        /**
+         * @param handle a handle received without its value
+         * @return the value of the handle or null if the handle has never been defined
+         */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public ValueT resolve(int handle) {
+            return handle > NO_HANDLE && handle < values.length ? (ValueT) values[handle] : null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import io.reacted.patterns.NonNullByDefault;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Binary encoding of a payload type. Drivers look for a codec for every payload they have to put on the wire
+ * and fall back on the java serialization only if there is none.
+ * Codecs can be registered on a {@link CodecRegistry} or declared as a {@link java.util.ServiceLoader}
+ * service for this interface.
+ *
+ * @param <PayloadT> the exact type handled by this codec. Subtypes are not handled
+ */
+@NonNullByDefault
+public interface PayloadCodec<PayloadT extends Serializable> {
+    /**
+     * @return the exact class of the payloads handled by this codec
+     */
+    Class<PayloadT> getPayloadType();
+
+    /**
+     * @return a positive number identifying this codec on the wire. It must be the same on all the
+     * reactor systems that exchange this payload type
+     */
+    int getCodecId();
+
+    /**
+     * @param payload the payload to encode
+     * @param out destination of the encoding
+     * @param codecs registry that can be used to encode nested payloads
+     * @throws IOException if the payload cannot be written
+     */
+    void encode(PayloadT payload, DataOutput out, CodecRegistry codecs) throws IOException;
+
+    /**
+     * @param in source of a payload encoded by {@link #encode}
+     * @param codecs registry that can be used to decode nested payloads
+     * @return the decoded payload
+     * @throws IOException if the payload cannot be read
+     */
+    PayloadT decode(DataInput in, CodecRegistry codecs) throws IOException;
+}
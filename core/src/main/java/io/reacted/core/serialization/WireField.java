@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Explicit tag of a field of a {@link WirePayload}. Tagging a field explicitly allows renaming it without breaking
+ * the readers that know an older version of the payload, or resolving a clash between the tags derived from
+ * the names of two fields
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ ElementType.FIELD, ElementType.RECORD_COMPONENT })
+@Documented
+public @interface WireField {
+    /**
+     * @return the tag of this field. Range 1 to {@link WireFormat#MAX_TAG}
+     */
+    int tag();
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import io.reacted.patterns.NonNullByDefault;
+
+import javax.annotation.Nullable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoding used by the codecs generated for the {@link WirePayload} types.
+ * <p>
+ * A payload is a sequence of fields terminated by {@link #END}. Every field starts with an unsigned short header
+ * containing the tag of the field and the kind of its encoding, so a reader can skip the fields it does not know.
+ * The value follows the header:
+ * <ul>
+ *     <li>{@link #FIXED_1}, {@link #FIXED_2}, {@link #FIXED_4}, {@link #FIXED_8}: a value of 1, 2, 4 or 8 bytes</li>
+ *     <li>{@link #BYTES}: an int length followed by as many bytes</li>
+ *     <li>{@link #NESTED}: an int length followed by a payload encoded by {@link CodecRegistry#encode}. The length
+ *     allows skipping the payload even if the reader does not have its codec</li>
+ * </ul>
+ * Enums are written as the {@link #FIXED_4} ordinal of their constant. A reader that does not know the constant
+ * reads it as null, as a field that has not been written.
+ */
+@NonNullByDefault
+public final class WireFormat {
+    public static final int END = 0;
+    public static final int FIXED_1 = 0;
+    public static final int FIXED_2 = 1;
+    public static final int FIXED_4 = 2;
+    public static final int FIXED_8 = 3;
+    public static final int BYTES = 4;
+    public static final int NESTED = 5;
+    public static final int MAX_TAG = 0xFFFF >>> 3;
+    private static final int KIND_BITS = 3;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    private WireFormat() { /* No instances allowed */ }
+
+    /**
+     * @param tag tag of a field. Range 1 to {@link #MAX_TAG}
+     * @param kind encoding of the field
+     * @return the header for the field
+     */
+    public static int header(int tag, int kind) { return tag << KIND_BITS | kind; }
+
+    public static void writeString(DataOutput out, String string) throws IOException {
+        //writeUTF is limited to 64KB
+        writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    public static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static byte[] readBytes(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    public static void writeNested(DataOutput out, Serializable payload, CodecRegistry codecs) throws IOException {
+        writeBytes(out, codecs.toBytes(payload));
+    }
+
+    public static Serializable readNested(DataInput in, CodecRegistry codecs) throws IOException {
+        return codecs.fromBytes(readBytes(in));
+    }
+
+    /**
+     * Reads an enum written as its ordinal
+     *
+     * @param in source of the payload
+     * @param constants the constants of the enum, as returned by {@code values()}
+     * @param <EnumT> type of the enum
+     * @return the constant with the read ordinal or null if the constant has been added by a newer writer
+     * @throws IOException if the ordinal cannot be read
+     */
+    @Nullable
+    public static <EnumT extends Enum<EnumT>> EnumT readEnum(DataInput in, EnumT[] constants) throws IOException {
+        int ordinal = in.readInt();
+        return ordinal >= 0 && ordinal < constants.length ? constants[ordinal] : null;
+    }
+
+    /**
+     * Skip the value of a field that is unknown to the reader
+     *
+     * @param in source of the payload, positioned after the header of the field
+     * @param header header of the field
+     * @throws IOException if the field cannot be read or its kind is unknown
+     */
+    public static void skip(DataInput in, int header) throws IOException {
+        switch (header & KIND_MASK) {
+            case FIXED_1 -> skipFully(in, Byte.BYTES);
+            case FIXED_2 -> skipFully(in, Short.BYTES);
+            case FIXED_4 -> skipFully(in, Integer.BYTES);
+            case FIXED_8 -> skipFully(in, Long.BYTES);
+            //A nested payload is skipped without being decoded: its codec may be unknown to this reader
+            case BYTES, NESTED -> skipFully(in, in.readInt());
+            default -> throw new IOException("Unknown field kind in header " + header);
+        }
+    }
+
+    private static void skipFully(DataInput in, int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative field length " + length);
+        }
+        //skipBytes is allowed to skip less than requested
+        for (int skipped = in.skipBytes(length); skipped < length; skipped++) {
+            in.readByte();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record or a class as a payload with a generated binary codec. The {@code reacted-processor}
+ * annotation processor generates a {@code <ClassName>PayloadCodec} {@link PayloadCodec} in the same package
+ * and declares it as a {@link java.util.ServiceLoader} service, so the default {@link CodecRegistry} picks it up.
+ * <p>
+ * Every field is written as a tag followed by its value, see {@link WireFormat}. Unless it is annotated with
+ * {@link WireField}, a field is tagged with a hash of its name: fields can be added, removed and reordered, but a
+ * renamed field is a different field for the readers. A reader skips the tags it does not know
+ * and leaves the fields missing from the input to their default value, so fields can be added in newer versions
+ * of a payload. Null fields are not written at all, so reference fields are optional.
+ * <p>
+ * Classes must have a non private no-args constructor and non private, non final fields. Supported field types
+ * are primitives and their wrappers, {@link String}, enums, {@code byte[]}, {@link java.io.Serializable} types
+ * and interfaces such as {@link java.util.List}, whose values are encoded through the {@link CodecRegistry}.
+ * Enum constants are written by ordinal, so new constants must be appended
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Documented
+public @interface WirePayload {
+    /**
+     * @return the codec id of this payload type. It must be positive and it must never change
+     */
+    int id();
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.state;
+
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+import io.reacted.patterns.Try;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Keyed state living off-heap in a memory-mapped file. Every key is a long and it has a fixed length record
+ * of {@code recordLength} bytes, so the state costs no heap and it is not scanned by the garbage collector
+ * no matter how large it is. Records are located through an open addressing index with linear probing
+ * and the file can be bigger than what a single mapping can address.
+ *
+ * A MappedKeyedState is not thread safe: it is meant to be used only from within the reactions of the
+ * reactor (or operator) that owns it. Reopening an existing file brings back the state it contains.
+ */
+@NonNullByDefault
+public final class MappedKeyedState implements AutoCloseable {
+    /* Load factor is capped at 0.75 */
+    private static final int LOAD_FACTOR_NUMERATOR = 3;
+    private static final int LOAD_FACTOR_DENOMINATOR = 4;
+    private static final long MAGIC = 0x52656143746564L;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int RECORD_LENGTH_OFFSET = MAGIC_OFFSET + Long.BYTES;
+    private static final int SLOTS_NUM_OFFSET = RECORD_LENGTH_OFFSET + Long.BYTES;
+    private static final int SIZE_OFFSET = SLOTS_NUM_OFFSET + Long.BYTES;
+    private static final int HEADER_LENGTH = BitUtil.CACHE_LINE_LENGTH;
+    /* A slot is: used marker, key, record */
+    private static final int SLOT_USED_OFFSET = 0;
+    private static final int SLOT_KEY_OFFSET = SLOT_USED_OFFSET + Long.BYTES;
+    private static final int SLOT_RECORD_OFFSET = SLOT_KEY_OFFSET + Long.BYTES;
+    private static final long SLOT_USED = 1;
+    private static final int MAX_CHUNK_LENGTH = 1 << 30;
+    private final Path stateFile;
+    private final int recordLength;
+    private final int slotLength;
+    private final long slotsNum;
+    private final long slotsMask;
+    private final long maxSize;
+    private final int slotsPerChunkShift;
+    private final long slotsPerChunkMask;
+    private final FileChannel stateChannel;
+    private final MappedByteBuffer headerMapping;
+    private final UnsafeBuffer header;
+    private final MappedByteBuffer[] chunksMappings;
+    private final UnsafeBuffer[] chunks;
+    private long size;
+
+    private MappedKeyedState(Path stateFile, int recordLength, long capacity) throws IOException {
+        this.stateFile = Objects.requireNonNull(stateFile, "State file cannot be null");
+        this.recordLength = ObjectUtils.requiredInRange(recordLength, 0, MAX_CHUNK_LENGTH / 2,
+                                                        () -> new IllegalArgumentException("Invalid record length"));
+        this.slotLength = SLOT_RECORD_OFFSET + BitUtil.align(recordLength, Long.BYTES);
+        this.maxSize = ObjectUtils.requiredInRange(capacity, 1L, Long.MAX_VALUE / (2L * slotLength),
+                                                   () -> new IllegalArgumentException("Invalid capacity"));
+        this.slotsNum = Long.highestOneBit(Math.max(2, capacity * LOAD_FACTOR_DENOMINATOR /
+                                                       LOAD_FACTOR_NUMERATOR + 1) - 1) << 1;
+        this.slotsMask = slotsNum - 1;
+        this.slotsPerChunkShift = (int) Math.min(Long.numberOfTrailingZeros(slotsNum),
+                                                 31 - Integer.numberOfLeadingZeros(MAX_CHUNK_LENGTH / slotLength));
+        this.slotsPerChunkMask = (1L << slotsPerChunkShift) - 1;
+        boolean isNew = !Files.exists(stateFile);
+        this.stateChannel = FileChannel.open(stateFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                             StandardOpenOption.WRITE);
+        this.headerMapping = stateChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
+        this.header = new UnsafeBuffer(headerMapping);
+        if (isNew) {
+            header.putLong(RECORD_LENGTH_OFFSET, recordLength);
+            header.putLong(SLOTS_NUM_OFFSET, slotsNum);
+            header.putLong(SIZE_OFFSET, 0);
+            header.putLongVolatile(MAGIC_OFFSET, MAGIC);
+        } else if (header.getLongVolatile(MAGIC_OFFSET) != MAGIC ||
+                   header.getLong(RECORD_LENGTH_OFFSET) != recordLength ||
+                   header.getLong(SLOTS_NUM_OFFSET) != slotsNum) {
+            IoUtil.unmap(headerMapping);
+            stateChannel.close();
+            throw new IllegalArgumentException("Incompatible state file " + stateFile);
+        }
+        this.size = header.getLong(SIZE_OFFSET);
+        int chunksNum = (int) (slotsNum >>> slotsPerChunkShift);
+        long chunkLength = (slotsPerChunkMask + 1) * slotLength;
+        this.chunksMappings = new MappedByteBuffer[chunksNum];
+        this.chunks = new UnsafeBuffer[chunksNum];
+        for (int chunk = 0; chunk < chunksNum; chunk++) {
+            chunksMappings[chunk] = stateChannel.map(FileChannel.MapMode.READ_WRITE,
+                                                     HEADER_LENGTH + chunk * chunkLength, chunkLength);
+            chunks[chunk] = new UnsafeBuffer(chunksMappings[chunk]);
+        }
+    }
+
+    /**
+     * Open a keyed state, creating the backing file if it does not exist
+     *
+     * @param stateFile file backing the state
+     * @param recordLength length in bytes of the record associated to every key
+     * @param capacity maximum number of keys that can be stored
+     * @return a successful Try containing the opened state, a failed Try on failure or if {@code stateFile}
+     * contains a state with a different layout
+     */
+    public static Try<MappedKeyedState> open(Path stateFile, int recordLength, long capacity) {
+        return Try.of(() -> new MappedKeyedState(stateFile, recordLength, capacity));
+    }
+
+    public int getRecordLength() { return recordLength; }
+
+    public long getCapacity() { return maxSize; }
+
+    public long size() { return size; }
+
+    public boolean containsKey(long key) { return findSlot(key) >= 0; }
+
+    /**
+     * Copy the record associated to a key
+     *
+     * @param key the key
+     * @param destination buffer where the record is copied
+     * @param offset offset of the record in {@code destination}
+     * @return true if the key was found
+     */
+    public boolean get(long key, MutableDirectBuffer destination, int offset) {
+        long slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        destination.putBytes(offset, getChunk(slot), getSlotOffset(slot) + SLOT_RECORD_OFFSET, recordLength);
+        return true;
+    }
+
+    /**
+     * Set the record associated to a key
+     *
+     * @param key the key
+     * @param source buffer containing the record
+     * @param offset offset of the record in {@code source}
+     * @return false if the key is new and the state is full, true otherwise
+     */
+    public boolean put(long key, DirectBuffer source, int offset) {
+        long slot = findOrInsertSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        getChunk(slot).putBytes(getSlotOffset(slot) + SLOT_RECORD_OFFSET, source, offset, recordLength);
+        return true;
+    }
+
+    /**
+     * @param key the key
+     * @param fieldOffset offset of a long field within the record
+     * @param missingValue value returned if the key is not found
+     * @return the value of the field for {@code key} or {@code missingValue}
+     */
+    public long getLong(long key, int fieldOffset, long missingValue) {
+        long slot = findSlot(key);
+        return slot < 0
+               ? missingValue
+               : getChunk(slot).getLong(getFieldOffset(slot, fieldOffset, Long.BYTES));
+    }
+
+    /**
+     * Set a long field of the record of a key. A new key gets a zeroed record
+     *
+     * @param key the key
+     * @param fieldOffset offset of a long field within the record
+     * @param value the new value of the field
+     * @return false if the key is new and the state is full, true otherwise
+     */
+    public boolean putLong(long key, int fieldOffset, long value) {
+        long slot = findOrInsertSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        getChunk(slot).putLong(getFieldOffset(slot, fieldOffset, Long.BYTES), value);
+        return true;
+    }
+
+    /**
+     * Add a delta to a long field of the record of a key. A new key gets a zeroed record
+     *
+     * @param key the key
+     * @param fieldOffset offset of a long field within the record
+     * @param delta value to add
+     * @return the updated value of the field
+     * @throws IllegalStateException if the key is new and the state is full
+     */
+    public long addLong(long key, int fieldOffset, long delta) {
+        long slot = findOrInsertSlot(key);
+        if (slot < 0) {
+            throw new IllegalStateException("Keyed state is full");
+        }
+        UnsafeBuffer chunk = getChunk(slot);
+        int valueOffset = getFieldOffset(slot, fieldOffset, Long.BYTES);
+        long value = chunk.getLong(valueOffset) + delta;
+        chunk.putLong(valueOffset, value);
+        return value;
+    }
+
+    /**
+     * @param key the key
+     * @return true if the key was found and removed
+     */
+    public boolean remove(long key) {
+        long slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        //Backward shift deletion: the probe sequences of the following keys must not meet a hole
+        long hole = slot;
+        for (long next = (slot + 1) & slotsMask; isUsed(next); next = (next + 1) & slotsMask) {
+            long home = getHomeSlot(getKey(next));
+            boolean canFillHole = hole <= next
+                                  ? home <= hole || home > next
+                                  : home <= hole && home > next;
+            if (canFillHole) {
+                getChunk(hole).putBytes(getSlotOffset(hole), getChunk(next), getSlotOffset(next), slotLength);
+                hole = next;
+            }
+        }
+        getChunk(hole).setMemory(getSlotOffset(hole), slotLength, (byte) 0);
+        updateSize(size - 1);
+        return true;
+    }
+
+    /**
+     * @param keyConsumer consumer of every key in the state
+     */
+    public void forEachKey(LongConsumer keyConsumer) {
+        for (long slot = 0; slot < slotsNum; slot++) {
+            if (isUsed(slot)) {
+                keyConsumer.accept(getKey(slot));
+            }
+        }
+    }
+
+    /**
+     * Write a point-in-time copy of the state. Opening the copy brings back the state as it is now
+     *
+     * @param snapshotFile destination file. It is replaced if it exists
+     * @return a successful Try on success, a failed Try otherwise
+     */
+    public Try<Void> snapshot(Path snapshotFile) {
+        return Try.ofRunnable(() -> {
+            headerMapping.force();
+            for (MappedByteBuffer chunkMapping : chunksMappings) {
+                chunkMapping.force();
+            }
+            Path partialSnapshot = Objects.requireNonNull(snapshotFile, "Snapshot file cannot be null")
+                                          .resolveSibling(snapshotFile.getFileName() + ".partial");
+            try (FileChannel snapshot = FileChannel.open(partialSnapshot, StandardOpenOption.CREATE,
+                                                         StandardOpenOption.WRITE,
+                                                         StandardOpenOption.TRUNCATE_EXISTING)) {
+                long stateLength = stateChannel.size();
+                for (long copied = 0; copied < stateLength; ) {
+                    copied += stateChannel.transferTo(copied, stateLength - copied, snapshot);
+                }
+                snapshot.force(true);
+            }
+            Files.move(partialSnapshot, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        });
+    }
+
+    @Override
+    public void close() {
+        for (MappedByteBuffer chunkMapping : chunksMappings) {
+            IoUtil.unmap(chunkMapping);
+        }
+        IoUtil.unmap(headerMapping);
+        Try.ofRunnable(stateChannel::close);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedKeyedState{" + "stateFile=" + stateFile + ", recordLength=" + recordLength +
+               ", capacity=" + maxSize + ", size=" + size + '}';
+    }
+
+    private long findSlot(long key) {
+        for (long slot = getHomeSlot(key); isUsed(slot); slot = (slot + 1) & slotsMask) {
+            if (getKey(slot) == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private long findOrInsertSlot(long key) {
+        long slot = getHomeSlot(key);
+        for (; isUsed(slot); slot = (slot + 1) & slotsMask) {
+            if (getKey(slot) == key) {
+                return slot;
+            }
+        }
+        if (size == maxSize) {
+            return -1;
+        }
+        UnsafeBuffer chunk = getChunk(slot);
+        int slotOffset = getSlotOffset(slot);
+        chunk.setMemory(slotOffset + SLOT_RECORD_OFFSET, slotLength - SLOT_RECORD_OFFSET, (byte) 0);
+        chunk.putLong(slotOffset + SLOT_KEY_OFFSET, key);
+        chunk.putLong(slotOffset + SLOT_USED_OFFSET, SLOT_USED);
+        updateSize(size + 1);
+        return slot;
+    }
+
+    private void updateSize(long newSize) {
+        this.size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    private boolean isUsed(long slot) {
+        return getChunk(slot).getLong(getSlotOffset(slot) + SLOT_USED_OFFSET) == SLOT_USED;
+    }
+
+    private long getKey(long slot) { return getChunk(slot).getLong(getSlotOffset(slot) + SLOT_KEY_OFFSET); }
+
+    private long getHomeSlot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (hash ^ (hash >>> 32)) & slotsMask;
+    }
+
+    private UnsafeBuffer getChunk(long slot) { return chunks[(int) (slot >>> slotsPerChunkShift)]; }
+
+    private int getSlotOffset(long slot) { return (int) ((slot & slotsPerChunkMask) * slotLength); }
+
+    private int getFieldOffset(long slot, int fieldOffset, int fieldLength) {
+        if (fieldOffset < 0 || fieldOffset + fieldLength > recordLength) {
+            throw new IndexOutOfBoundsException("Field offset " + fieldOffset + " out of record");
+        }
+        return getSlotOffset(slot) + SLOT_RECORD_OFFSET + fieldOffset;
+    }
+}
@@ -15,8 +15,11 @@ import io.reacted.core.config.reactors.ReActorConfig;
 import io.reacted.core.typedsubscriptions.TypedSubscription;
 import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
 import io.reacted.core.drivers.local.SystemLocalDrivers;
+import io.reacted.core.mailboxes.BoundedMbox;
 import io.reacted.core.messages.AckingPolicy;
 import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.reactors.ReActions;
 import io.reacted.core.reactors.systemreactors.MagicTestReActor;
 import io.reacted.core.reactorsystem.ReActorRef;
 import io.reacted.core.reactorsystem.ReActorSystem;
@@ -26,7 +29,13 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class LoopbackDriverTest {
     static String testDispatcher = "TestDispatcher";
@@ -76,8 +85,95 @@ class LoopbackDriverTest {
         Awaitility.await().until(() -> MagicTestReActor.RECEIVED.sum() == 1);
     }
 
+    @Test
+    void apublishHonoursTheMessageDeadline() throws Exception {
+        var processed = new AtomicInteger();
+        ReActorRef counter = reActorSystem.spawn(ReActions.newBuilder()
+                                                          .reAct(String.class,
+                                                                 (ctx, payload) -> processed.incrementAndGet())
+                                                          .build(),
+                                                 ReActorConfig.newBuilder()
+                                                              .setReActorName("DeadlineReActor")
+                                                              .setDispatcherName(testDispatcher)
+                                                              .setTypedSubscriptions(TypedSubscription.NO_SUBSCRIPTIONS)
+                                                              .build())
+                                          .orElseSneakyThrow();
+        var expired = loopbackDriver.apublish(ReActorRef.NO_REACTOR_REF, counter, AckingPolicy.ONE_TO_ONE,
+                                              System.currentTimeMillis() - 1, "expired");
+        Assertions.assertTrue(expired.toCompletableFuture().get(5, TimeUnit.SECONDS).isNotDelivered());
+        var alive = loopbackDriver.apublish(ReActorRef.NO_REACTOR_REF, counter, AckingPolicy.ONE_TO_ONE,
+                                            Message.deadlineAfter(Duration.ofMinutes(1)), "alive");
+        Assertions.assertTrue(alive.toCompletableFuture().get(5, TimeUnit.SECONDS).isDelivered());
+        Awaitility.await().until(() -> processed.get() == 1);
+    }
+
+    @Test
+    void tellWhenReadyCompletesWhenMailboxHasRoom() throws Exception {
+        var processing = new CountDownLatch(1);
+        var canProceed = new CountDownLatch(1);
+        var processed = new AtomicInteger();
+        ReActorRef slowReActor = spawnSlowReActor(processing, canProceed, processed);
+
+        fillMailbox(slowReActor, processing);
+        CompletableFuture<DeliveryStatus> deliveryResult = slowReActor.tellWhenReady("late", Duration.ofSeconds(5))
+                                                                      .toCompletableFuture();
+        Assertions.assertFalse(deliveryResult.isDone());
+
+        canProceed.countDown();
+        Assertions.assertEquals(DeliveryStatus.DELIVERED, deliveryResult.get(5, TimeUnit.SECONDS));
+        Awaitility.await().until(() -> processed.get() == 3);
+    }
+
+    @Test
+    void tellWhenReadyTimesOutIfMailboxStaysFull() throws Exception {
+        var processing = new CountDownLatch(1);
+        var canProceed = new CountDownLatch(1);
+        var processed = new AtomicInteger();
+        ReActorRef slowReActor = spawnSlowReActor(processing, canProceed, processed);
+
+        fillMailbox(slowReActor, processing);
+        CompletableFuture<DeliveryStatus> deliveryResult = slowReActor.tellWhenReady("late", Duration.ofMillis(100))
+                                                                      .toCompletableFuture();
+        ExecutionException timeout = Assertions.assertThrows(ExecutionException.class,
+                                                             () -> deliveryResult.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(timeout.getCause() instanceof TimeoutException);
+        Awaitility.await().until(() -> !reActorSystem.getReActorCtx(slowReActor.getReActorId())
+                                                     .hasMailboxCapacityWaiters());
+
+        canProceed.countDown();
+        Awaitility.await().until(() -> processed.get() == 2);
+    }
+
     @Test
     void loopbackDriverChannelIdIsTheOneSetInLocalDriver() {
         Assertions.assertEquals(SystemLocalDrivers.DIRECT_COMMUNICATION.getChannelId(), loopbackDriver.getChannelId());
     }
+
+    private static ReActorRef spawnSlowReActor(CountDownLatch processing, CountDownLatch canProceed,
+                                               AtomicInteger processed) {
+        ReActorConfig slowReActorConfig = ReActorConfig.newBuilder()
+                                                       .setReActorName("SlowReActor")
+                                                       .setDispatcherName(testDispatcher)
+                                                       .setMailBoxProvider(ctx -> new BoundedMbox(1))
+                                                       .setTypedSubscriptions(TypedSubscription.NO_SUBSCRIPTIONS)
+                                                       .build();
+        ReActions slowReActions = ReActions.newBuilder()
+                                           .reAct(String.class, (ctx, payload) -> {
+                                               processing.countDown();
+                                               try {
+                                                   canProceed.await();
+                                               } catch (InterruptedException interrupted) {
+                                                   Thread.currentThread().interrupt();
+                                               }
+                                               processed.incrementAndGet();
+                                           })
+                                           .build();
+        return reActorSystem.spawn(slowReActions, slowReActorConfig).orElseSneakyThrow();
+    }
+
+    private static void fillMailbox(ReActorRef slowReActor, CountDownLatch processing) throws InterruptedException {
+        Awaitility.await().until(() -> slowReActor.tell("first").isDelivered());
+        Assertions.assertTrue(processing.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(slowReActor.tell("second").isDelivered());
+    }
 }
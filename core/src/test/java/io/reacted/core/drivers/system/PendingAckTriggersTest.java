@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.drivers.system;
+
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+class PendingAckTriggersTest {
+
+    @Test
+    void triggersAreRemovedOnlyOnce() {
+        var triggers = new PendingAckTriggers(0, Duration.ofSeconds(1));
+        var trigger = triggers.add(42);
+        Assertions.assertEquals(1, triggers.size());
+        Assertions.assertSame(trigger, triggers.remove(42));
+        Assertions.assertNull(triggers.remove(42));
+        Assertions.assertEquals(0, triggers.size());
+    }
+
+    @Test
+    void triggersFollowAMapAcrossGrowthAndRemovals() {
+        var triggers = new PendingAckTriggers(0, Duration.ofSeconds(1));
+        var expected = new HashMap<Long, CompletableFuture<DeliveryStatus>>();
+        var random = new Random(42);
+        for (int operation = 0; operation < 100_000; operation++) {
+            long msgSeqNum = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                expected.put(msgSeqNum, triggers.add(msgSeqNum));
+            } else {
+                Assertions.assertSame(expected.remove(msgSeqNum), triggers.remove(msgSeqNum));
+            }
+        }
+        Assertions.assertEquals(expected.size(), triggers.size());
+        expected.forEach((msgSeqNum, trigger) -> Assertions.assertSame(trigger, triggers.remove(msgSeqNum)));
+    }
+
+    @Test
+    void expiredTriggersAreCompletedWithATimeout() {
+        var clock = new AtomicLong();
+        var triggers = new PendingAckTriggers(0, Duration.ofNanos(100), clock::get);
+        var expiring = triggers.add(1);
+        clock.set(50);
+        var pending = triggers.add(2);
+        clock.set(100);
+        triggers.expire();
+        var timeout = Assertions.assertThrows(ExecutionException.class, expiring::get);
+        Assertions.assertTrue(timeout.getCause() instanceof TimeoutException);
+        Assertions.assertFalse(pending.isDone());
+        Assertions.assertNull(triggers.remove(1));
+        Assertions.assertSame(pending, triggers.remove(2));
+    }
+}
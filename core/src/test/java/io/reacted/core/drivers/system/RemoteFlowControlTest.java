@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.drivers.system;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.messages.reactors.FlowCredits;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+
+class RemoteFlowControlTest {
+    private static final ReActorSystemId PEER = new ReActorSystemId("Peer");
+    private static final ChannelId CHANNEL = ChannelId.ChannelType.GRPC.forChannelName("TestChannel");
+    private RemoteFlowControl flowControl;
+
+    @BeforeEach
+    void setUp() {
+        flowControl = new RemoteFlowControl(Mockito.mock(ReActorSystem.class), CHANNEL, 0, Duration.ofMillis(10));
+    }
+
+    @Test
+    void peersWithoutGrantsAreNotLimited() {
+        for (int message = 0; message < 1_000; message++) {
+            Assertions.assertTrue(flowControl.acquire(PEER));
+        }
+    }
+
+    @Test
+    void grantedCreditsLimitTheSender() {
+        flowControl.onCreditsGranted(PEER, new FlowCredits(2, true, PEER, CHANNEL));
+        Assertions.assertTrue(flowControl.acquire(PEER));
+        Assertions.assertTrue(flowControl.acquire(PEER));
+        Assertions.assertFalse(flowControl.acquire(PEER));
+        flowControl.refund(PEER);
+        flowControl.onCreditsGranted(PEER, new FlowCredits(1, false, PEER, CHANNEL));
+        Assertions.assertTrue(flowControl.acquire(PEER));
+        Assertions.assertFalse(flowControl.acquire(PEER));
+    }
+
+    @Test
+    void messagesSentBeforeTheInitialWindowConsumeItsCredits() {
+        for (int message = 0; message < 3; message++) {
+            Assertions.assertTrue(flowControl.acquire(PEER));
+        }
+        flowControl.onCreditsGranted(PEER, new FlowCredits(4, true, PEER, CHANNEL));
+        Assertions.assertTrue(flowControl.acquire(PEER));
+        Assertions.assertFalse(flowControl.acquire(PEER));
+        flowControl.refund(PEER);
+        //The receiver gives back the credits of the messages sent before its window, once they are delivered
+        flowControl.onCreditsGranted(PEER, new FlowCredits(3, false, PEER, CHANNEL));
+        for (int message = 0; message < 3; message++) {
+            Assertions.assertTrue(flowControl.acquire(PEER));
+        }
+        Assertions.assertFalse(flowControl.acquire(PEER));
+    }
+}
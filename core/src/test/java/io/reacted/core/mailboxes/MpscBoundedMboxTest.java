@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.reactorsystem.ReActorRef;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MpscBoundedMboxTest {
+    static final int CAPACITY = 3;
+    static ReActorRef testMsgSrc;
+    static ReActorRef testMsgDst;
+    MpscBoundedMbox mpscBoundedMbox;
+
+    @BeforeAll
+    static void prepareReActors() {
+        testMsgSrc = ReactorHelper.generateReactor(CoreConstants.SOURCE);
+        testMsgDst = ReactorHelper.generateReactor(CoreConstants.DESTINATION);
+    }
+
+    @BeforeEach
+    void prepareMailBox() {
+        mpscBoundedMbox = new MpscBoundedMbox(CAPACITY);
+    }
+
+    @Test
+    void inboxWithNoMessagesIsEmpty() {
+        Assertions.assertTrue(mpscBoundedMbox.isEmpty());
+        Assertions.assertFalse(mpscBoundedMbox.isFull());
+        Assertions.assertEquals(0, mpscBoundedMbox.getMsgNum());
+        Assertions.assertEquals(CAPACITY, mpscBoundedMbox.getMaxSize());
+    }
+
+    @Test
+    void messagesAreNotAcceptedBeyondCapacity() {
+        for (int msg = 0; msg < CAPACITY; msg++) {
+            Assertions.assertEquals(DeliveryStatus.DELIVERED, mpscBoundedMbox.deliver(newMessage(msg)));
+        }
+        Assertions.assertTrue(mpscBoundedMbox.isFull());
+        Assertions.assertFalse(mpscBoundedMbox.hasCapacity());
+        Assertions.assertEquals(CAPACITY, mpscBoundedMbox.getMsgNum());
+        Assertions.assertEquals(DeliveryStatus.NOT_DELIVERED, mpscBoundedMbox.deliver(newMessage(CAPACITY)));
+
+        Assertions.assertEquals(0L, mpscBoundedMbox.getNextMessage().getSequenceNumber());
+        Assertions.assertEquals(DeliveryStatus.DELIVERED, mpscBoundedMbox.deliver(newMessage(CAPACITY)));
+    }
+
+    @Test
+    void messagesAreReturnedInOrderAcrossWrapArounds() {
+        for (int msg = 0; msg < CAPACITY * 10; msg++) {
+            mpscBoundedMbox.deliver(newMessage(msg));
+            Assertions.assertFalse(mpscBoundedMbox.isEmpty());
+            Assertions.assertEquals(msg, mpscBoundedMbox.getNextMessage().getSequenceNumber());
+            Assertions.assertTrue(mpscBoundedMbox.isEmpty());
+        }
+    }
+
+    @Test
+    void drainRemovesAtMostTheRequestedMessages() {
+        for (int msg = 0; msg < CAPACITY; msg++) {
+            mpscBoundedMbox.deliver(newMessage(msg));
+        }
+        List<Message> drained = new ArrayList<>();
+        Assertions.assertEquals(2, mpscBoundedMbox.drain(drained::add, 2));
+        Assertions.assertEquals(1, mpscBoundedMbox.getMsgNum());
+        Assertions.assertEquals(1, mpscBoundedMbox.drain(drained::add, 10));
+        Assertions.assertTrue(mpscBoundedMbox.isEmpty());
+        Assertions.assertEquals(List.of(0L, 1L, 2L),
+                                drained.stream().map(Message::getSequenceNumber).toList());
+    }
+
+    @Test
+    void concurrentProducersDoNotLoseMessages() throws InterruptedException {
+        MpscMboxTestUtils.assertNoMessageIsLost(new MpscBoundedMbox(64), testMsgSrc, testMsgDst);
+    }
+
+    private static Message newMessage(long seqNum) {
+        return new Message(testMsgSrc, testMsgDst, seqNum, ReactorHelper.TEST_REACTOR_SYSTEM_ID,
+                           AckingPolicy.NONE, CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+    }
+}
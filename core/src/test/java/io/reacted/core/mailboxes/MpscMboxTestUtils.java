@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.reactorsystem.ReActorRef;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class MpscMboxTestUtils {
+    static final int PRODUCERS = 4;
+    static final int MESSAGES_PER_PRODUCER = 25_000;
+
+    private MpscMboxTestUtils() { throw new AssertionError("Never supposed to be called"); }
+
+    /* Every producer sends increasing sequence numbers: the consumer must see all of them, in order per producer */
+    static void assertNoMessageIsLost(MailBox mailBox, ReActorRef source,
+                                      ReActorRef destination) throws InterruptedException {
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            long producerBase = (long)producer * MESSAGES_PER_PRODUCER;
+            producers.add(new Thread(() -> {
+                for (long msg = 0; msg < MESSAGES_PER_PRODUCER; msg++) {
+                    var message = new Message(source, destination, producerBase + msg,
+                                              ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE,
+                                              CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+                    while (!mailBox.deliver(message).isDelivered()) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        long[] lastSeen = new long[PRODUCERS];
+        Arrays.fill(lastSeen, -1L);
+        long received = 0;
+        while (received < (long)PRODUCERS * MESSAGES_PER_PRODUCER) {
+            if (mailBox.isEmpty()) {
+                Thread.yield();
+                continue;
+            }
+            long seqNum = mailBox.getNextMessage().getSequenceNumber();
+            int producer = (int)(seqNum / MESSAGES_PER_PRODUCER);
+            Assertions.assertEquals(lastSeen[producer] + 1, seqNum % MESSAGES_PER_PRODUCER);
+            lastSeen[producer] = seqNum % MESSAGES_PER_PRODUCER;
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assertions.assertTrue(mailBox.isEmpty());
+        Assertions.assertEquals(0, mailBox.getMsgNum());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.reactorsystem.ReActorRef;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MpscUnboundedMboxTest {
+    static final int CHUNK_SIZE = 4;
+    static final int STRESS_ROUNDS = 20;
+    static ReActorRef testMsgSrc;
+    static ReActorRef testMsgDst;
+    MpscUnboundedMbox mpscUnboundedMbox;
+
+    @BeforeAll
+    static void prepareReActors() {
+        testMsgSrc = ReactorHelper.generateReactor(CoreConstants.SOURCE);
+        testMsgDst = ReactorHelper.generateReactor(CoreConstants.DESTINATION);
+    }
+
+    @BeforeEach
+    void prepareMailBox() {
+        mpscUnboundedMbox = new MpscUnboundedMbox(CHUNK_SIZE);
+    }
+
+    @Test
+    void inboxWithNoMessagesIsEmpty() {
+        Assertions.assertTrue(mpscUnboundedMbox.isEmpty());
+        Assertions.assertFalse(mpscUnboundedMbox.isFull());
+        Assertions.assertEquals(0, mpscUnboundedMbox.getMsgNum());
+    }
+
+    @Test
+    void messagesAreReturnedInOrderAcrossChunks() {
+        int messagesNum = CHUNK_SIZE * 5 + 1;
+        for (int msg = 0; msg < messagesNum; msg++) {
+            mpscUnboundedMbox.deliver(newMessage(msg));
+        }
+        Assertions.assertEquals(messagesNum, mpscUnboundedMbox.getMsgNum());
+        for (int msg = 0; msg < messagesNum; msg++) {
+            Assertions.assertFalse(mpscUnboundedMbox.isEmpty());
+            Assertions.assertEquals(msg, mpscUnboundedMbox.getNextMessage().getSequenceNumber());
+        }
+        Assertions.assertTrue(mpscUnboundedMbox.isEmpty());
+        Assertions.assertEquals(0, mpscUnboundedMbox.getMsgNum());
+    }
+
+    @Test
+    void drainRemovesAtMostTheRequestedMessages() {
+        for (int msg = 0; msg < CHUNK_SIZE + 2; msg++) {
+            mpscUnboundedMbox.deliver(newMessage(msg));
+        }
+        List<Message> drained = new ArrayList<>();
+        Assertions.assertEquals(CHUNK_SIZE, mpscUnboundedMbox.drain(drained::add, CHUNK_SIZE));
+        Assertions.assertEquals(2, mpscUnboundedMbox.drain(drained::add, CHUNK_SIZE));
+        Assertions.assertTrue(mpscUnboundedMbox.isEmpty());
+        Assertions.assertEquals(CHUNK_SIZE + 2, drained.size());
+    }
+
+    @Test
+    void concurrentProducersDoNotLoseMessages() throws InterruptedException {
+        MpscMboxTestUtils.assertNoMessageIsLost(new MpscUnboundedMbox(CHUNK_SIZE), testMsgSrc, testMsgDst);
+    }
+
+    @Test
+    void isEmptyAgreesWithPollWhileProducersLinkNewChunks() throws InterruptedException {
+        //With the smallest chunks a producer is linking a new chunk every other message, so the consumer
+        //keeps finding claimed slots in chunks that are not linked yet
+        for (int round = 0; round < STRESS_ROUNDS; round++) {
+            MpscMboxTestUtils.assertNoMessageIsLost(new MpscUnboundedMbox(2), testMsgSrc, testMsgDst);
+        }
+    }
+
+    private static Message newMessage(long seqNum) {
+        return new Message(testMsgSrc, testMsgDst, seqNum, ReactorHelper.TEST_REACTOR_SYSTEM_ID,
+                           AckingPolicy.NONE, CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.mailboxes;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.reactors.ReActorStop;
+import io.reacted.core.reactorsystem.ReActorContext;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimitingMboxTest {
+    static Message originalMsg;
+    static Message stopMsg;
+    ScheduledExecutorService scheduler;
+    ReActorContext mailboxOwner;
+    RateLimitingMbox rateLimitingMbox;
+
+    @BeforeAll
+    static void prepareMessages() {
+        ReActorRef testMsgSrc = ReactorHelper.generateReactor(CoreConstants.SOURCE);
+        ReActorRef testMsgDst = ReactorHelper.generateReactor(CoreConstants.DESTINATION);
+        originalMsg = new Message(testMsgSrc, testMsgDst, 0x31337, ReactorHelper.TEST_REACTOR_SYSTEM_ID,
+                                  AckingPolicy.NONE, CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+        stopMsg = new Message(testMsgSrc, testMsgDst, 0x31338, ReactorHelper.TEST_REACTOR_SYSTEM_ID,
+                              AckingPolicy.NONE, ReActorStop.STOP);
+    }
+
+    @BeforeEach
+    void prepareMailBox() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        ReActorSystem reActorSystem = mock(ReActorSystem.class);
+        when(reActorSystem.getSystemSchedulingService()).thenReturn(scheduler);
+        mailboxOwner = mock(ReActorContext.class);
+        when(mailboxOwner.getReActorSystem()).thenReturn(reActorSystem);
+        rateLimitingMbox = RateLimitingMbox.newBuilder()
+                                           .setRealMailboxOwner(mailboxOwner)
+                                           .setMessagesPerPeriod(2)
+                                           .setPeriod(Duration.ofMillis(200))
+                                           .build();
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void messagesWithinBurstAreImmediatelyAvailable() {
+        rateLimitingMbox.deliver(originalMsg);
+        rateLimitingMbox.deliver(originalMsg);
+        Assertions.assertFalse(rateLimitingMbox.isEmpty());
+        Assertions.assertEquals(originalMsg, rateLimitingMbox.getNextMessage());
+        Assertions.assertFalse(rateLimitingMbox.isEmpty());
+        Assertions.assertEquals(originalMsg, rateLimitingMbox.getNextMessage());
+        Assertions.assertTrue(rateLimitingMbox.isEmpty());
+        verify(mailboxOwner, never()).reschedule();
+    }
+
+    @Test
+    void ownerIsRescheduledWhenTokensBecomeAvailable() {
+        rateLimitingMbox.deliver(originalMsg);
+        rateLimitingMbox.deliver(originalMsg);
+        rateLimitingMbox.deliver(originalMsg);
+        rateLimitingMbox.getNextMessage();
+        rateLimitingMbox.getNextMessage();
+
+        Assertions.assertTrue(rateLimitingMbox.isEmpty());
+        Assertions.assertEquals(1, rateLimitingMbox.getMsgNum());
+        verify(mailboxOwner, timeout(1_000)).reschedule();
+        Assertions.assertFalse(rateLimitingMbox.isEmpty());
+    }
+
+    @Test
+    void notRateLimitedMessagesAreNotDelayed() {
+        rateLimitingMbox.deliver(originalMsg);
+        rateLimitingMbox.deliver(originalMsg);
+        rateLimitingMbox.getNextMessage();
+        rateLimitingMbox.getNextMessage();
+        rateLimitingMbox.deliver(stopMsg);
+
+        Assertions.assertFalse(rateLimitingMbox.isEmpty());
+        Assertions.assertEquals(stopMsg, rateLimitingMbox.getNextMessage());
+    }
+}
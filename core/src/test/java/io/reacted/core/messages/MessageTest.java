@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.messages;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.MessageHelper;
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.reactorsystem.ReActorRef;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MessageTest {
+
+    @Test
+    void messageWithoutDeadlineNeverExpires() {
+        Message message = MessageHelper.getDefaultMessage();
+        Assertions.assertEquals(Message.NO_DEADLINE, message.getDeadline());
+        Assertions.assertFalse(message.isExpired());
+    }
+
+    @Test
+    void messageExpiresWhenDeadlineIsReached() {
+        Message expired = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                      ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE,
+                                      System.currentTimeMillis() - 1, CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+        Message alive = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                    ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE,
+                                    Message.deadlineAfter(Duration.ofMinutes(1)),
+                                    CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+        Assertions.assertTrue(expired.isExpired());
+        Assertions.assertFalse(alive.isExpired());
+    }
+
+    @Test
+    void hugeTimeToLiveDoesNotOverflow() {
+        Assertions.assertEquals(Message.NO_DEADLINE, Message.deadlineAfter(Duration.ofSeconds(Long.MAX_VALUE / 1000)));
+    }
+
+    @Test
+    void deadlineSurvivesSerialization() throws Exception {
+        long deadline = Message.deadlineAfter(Duration.ofMinutes(1));
+        Message original = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                       ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE, deadline,
+                                       CoreConstants.DE_SERIALIZATION_SUCCESSFUL);
+        var serialized = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(serialized)) {
+            out.writeObject(original);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            Message received = (Message) in.readObject();
+            Assertions.assertEquals(original, received);
+            Assertions.assertEquals(deadline, received.getDeadline());
+        }
+    }
+
+    @Test
+    void primitivePayloadIsBoxedOnlyOnDemand() {
+        Message message = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                      ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE, Message.NO_DEADLINE,
+                                      PrimitiveType.DOUBLE, Double.doubleToRawLongBits(3.5d));
+        Assertions.assertEquals(PrimitiveType.DOUBLE, message.getPrimitiveType());
+        Assertions.assertEquals(Double.class, message.getPayloadType());
+        Assertions.assertEquals(3.5d, Double.longBitsToDouble(message.getPrimitivePayload()));
+        Assertions.assertEquals(Double.valueOf(3.5d), message.getPayload());
+    }
+
+    @Test
+    void primitivePayloadSurvivesSerialization() throws Exception {
+        Message original = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                       ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE, Message.NO_DEADLINE,
+                                       PrimitiveType.INT, -42);
+        Message boxed = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                    ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE, Message.NO_DEADLINE,
+                                    Long.MIN_VALUE);
+        Message received = roundTrip(original);
+        Assertions.assertEquals(original, received);
+        Assertions.assertEquals(PrimitiveType.INT, received.getPrimitiveType());
+        Assertions.assertEquals(Integer.valueOf(-42), received.getPayload());
+        //Boxed primitives travel in the compact form as well
+        received = roundTrip(boxed);
+        Assertions.assertEquals(PrimitiveType.LONG, received.getPrimitiveType());
+        Assertions.assertEquals(Long.valueOf(Long.MIN_VALUE), received.getPayload());
+    }
+
+    private static Message roundTrip(Message message) throws Exception {
+        var serialized = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(serialized)) {
+            out.writeObject(message);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+            return (Message) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactors;
+
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.mailboxes.UnboundedMbox;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.reactorsystem.ReActorContext;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import io.reacted.core.runtime.Dispatcher;
+import io.reacted.core.typedsubscriptions.TypedSubscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Mockito.mock;
+
+class ReActionsTest {
+
+    @Test
+    void exactTypesOnlyByDefault() {
+        var received = new ConcurrentHashMap<String, Serializable>();
+        ReActions reActions = ReActions.newBuilder()
+                                       .reAct(Shape.class, (raCtx, shape) -> received.put("shape", shape))
+                                       .reAct((raCtx, payload) -> received.put("default", payload))
+                                       .build();
+        var circle = new Circle(1);
+        reActions.getReAction(circle).accept(ReActorContext.NO_REACTOR_CTX, circle);
+        Assertions.assertEquals(Map.of("default", circle), received);
+    }
+
+    @Test
+    void subtypesAreHandledByTheNearestSupertype() {
+        var received = new ConcurrentHashMap<String, Serializable>();
+        ReActions reActions = ReActions.newBuilder()
+                                       .reAct(Shape.class, (raCtx, shape) -> received.put("shape", shape))
+                                       .reAct(Base.class, (raCtx, base) -> received.put("base", base))
+                                       .reAct(Circle.class, (raCtx, circle) -> received.put("circle", circle))
+                                       .setSubtypeAware(true)
+                                       .build();
+        var circle = new Circle(1);
+        var square = new Square(2);
+        var derived = new Derived();
+        for (Serializable payload : List.of(circle, square, derived, derived)) {
+            reActions.getReAction(payload).accept(ReActorContext.NO_REACTOR_CTX, payload);
+        }
+        //A superclass wins over an interface, even if the interface is implemented by the payload type itself
+        Assertions.assertEquals(Map.of("circle", circle, "shape", square, "base", derived), received);
+    }
+
+    @Test
+    void subtypeAwarenessIsCopiedAlongWithTheReactions() {
+        var received = new ConcurrentHashMap<String, Serializable>();
+        ReActions source = ReActions.newBuilder()
+                                    .reAct(Shape.class, (raCtx, shape) -> received.put("shape", shape))
+                                    .setSubtypeAware(true)
+                                    .build();
+        ReActions copy = ReActions.newBuilder().from(source).build();
+        var square = new Square(3);
+        copy.getReAction(square).accept(ReActorContext.NO_REACTOR_CTX, square);
+        Assertions.assertEquals(Map.of("shape", square), received);
+    }
+
+    @Test
+    void cachedReactionsAreNotMixedUp() {
+        var received = new ConcurrentHashMap<Class<?>, Integer>();
+        var builder = ReActions.newBuilder();
+        //More payload types than cached reactions
+        List<Serializable> payloads = List.of(1, 2L, "3", 4d, (short) 5, (byte) 6, new Circle(7), new Square(8));
+        for (Serializable payload : payloads) {
+            builder.reAct(payload.getClass(), (raCtx, message) -> received.merge(message.getClass(), 1,
+                                                                                   Integer::sum));
+        }
+        ReActorContext reActorCtx = ReActorContext.newBuilder()
+                                                  .setMbox(raCtx -> new UnboundedMbox())
+                                                  .setReactorRef(ReActorRef.NO_REACTOR_REF)
+                                                  .setReActorSystem(mock(ReActorSystem.class))
+                                                  .setParentActor(ReActorRef.NO_REACTOR_REF)
+                                                  .setSubscriptions(TypedSubscription.NO_SUBSCRIPTIONS)
+                                                  .setDispatcher(mock(Dispatcher.class))
+                                                  .setReActions(builder.build())
+                                                  .build();
+        for (int round = 0; round < 3; round++) {
+            for (Serializable payload : payloads) {
+                reActorCtx.reAct(new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, round,
+                                             ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE, payload));
+            }
+        }
+        Assertions.assertEquals(payloads.size(), received.size());
+        received.values().forEach(count -> Assertions.assertEquals(3, count));
+    }
+
+    private interface Shape extends Serializable { }
+
+    private record Circle(int radius) implements Shape { }
+
+    private record Square(int side) implements Shape { }
+
+    private static class Base implements Serializable { }
+
+    private static class Derived extends Base implements Shape { }
+}
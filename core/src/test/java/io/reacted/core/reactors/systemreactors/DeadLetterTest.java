@@ -15,11 +15,16 @@ import io.reacted.core.typedsubscriptions.TypedSubscription;
 import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
 import io.reacted.core.drivers.local.SystemLocalDrivers;
 import io.reacted.core.mailboxes.UnboundedMbox;
+import io.reacted.core.messages.reactors.DeadLettersSummary;
 import io.reacted.core.messages.reactors.DeadMessage;
+import io.reacted.core.reactors.ReActions;
 import io.reacted.core.reactors.ReActorId;
 import io.reacted.core.reactorsystem.ReActorRef;
 import io.reacted.core.reactorsystem.ReActorSystem;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -32,6 +37,7 @@ class DeadLetterTest {
                                                                      .setReactorSystemName(CoreConstants.REACTED_ACTOR_SYSTEM)
                                                                      .setMsgFanOutPoolSize(2)
                                                                      .setLocalDriver(SystemLocalDrivers.DIRECT_COMMUNICATION)
+                                                                     .setDeadLettersSummaryInterval(Duration.ofMillis(200))
                                                                      .addDispatcherConfig(DispatcherConfig.newBuilder()
                                                                                                           .setDispatcherName(CoreConstants.TEST_DISPATCHER)
                                                                                                           .setBatchSize(1_000)
@@ -50,9 +56,27 @@ class DeadLetterTest {
                                                    .build();
         reActorSystem.spawn(new MagicTestReActor(2, true, reActorConfig))
                      .orElseSneakyThrow();
+        AtomicReference<DeadLettersSummary> lastSummary = new AtomicReference<>();
+        reActorSystem.spawn(ReActions.newBuilder()
+                                     .reAct(DeadLettersSummary.class, (ctx, summary) -> lastSummary.set(summary))
+                                     .reAct(ReActions::noReAction)
+                                     .build(),
+                            ReActorConfig.fromConfig(reActorConfig)
+                                         .setReActorName("SummaryCollector")
+                                         .setTypedSubscriptions(TypedSubscription.LOCAL.forType(DeadLettersSummary.class))
+                                         .build())
+                     .orElseSneakyThrow();
+        //RECEIVED is shared by all the reactor systems of this JVM, other tests may have produced dead letters
+        long receivedBefore = DeadLetter.RECEIVED.get();
         new ReActorRef(new ReActorId(ReActorId.NO_REACTOR_ID, CoreConstants.REACTOR_NAME),
                        reActorSystem.getLoopback()).publish(ReActorRef.NO_REACTOR_REF, "message");
         TimeUnit.SECONDS.sleep(1);
-        Assertions.assertEquals(1, DeadLetter.RECEIVED.get());
+        Assertions.assertEquals(1, DeadLetter.RECEIVED.get() - receivedBefore);
+        DeadLettersSummary summary = lastSummary.get();
+        Assertions.assertNotNull(summary);
+        Assertions.assertEquals(1, summary.deadLettersNum());
+        Assertions.assertEquals(Map.of(String.class.getName(), 1L), summary.byPayloadType());
+        Assertions.assertEquals(Map.of(CoreConstants.REACTOR_NAME, 1L), summary.byDestination());
+        Assertions.assertEquals(1, summary.samples().size());
     }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.config.dispatchers.DispatcherConfig;
+import io.reacted.core.config.reactors.ReActorConfig;
+import io.reacted.core.config.reactors.ServiceConfig;
+import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
+import io.reacted.core.drivers.local.SystemLocalDrivers;
+import io.reacted.core.services.LoadBalancingPolicies;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactors.ReActor;
+import io.reacted.core.typedsubscriptions.TypedSubscription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class AskRouterTest {
+    private static final String DISPATCHER_NAME = "TestDispatcher";
+    private static final Duration ASK_TIMEOUT = Duration.ofSeconds(5);
+    private ReActorSystem reActorSystem;
+    private ReActorRef echo;
+    private ReActorRef silent;
+
+    @BeforeEach
+    void prepareReactorSystem() {
+        ReActorSystemConfig reActorSystemConfig = ReActorSystemConfig.newBuilder()
+                                                                     .setReactorSystemName(CoreConstants.REACTED_ACTOR_SYSTEM)
+                                                                     .setMsgFanOutPoolSize(1)
+                                                                     .setLocalDriver(SystemLocalDrivers.DIRECT_COMMUNICATION)
+                                                                     .addDispatcherConfig(DispatcherConfig.newBuilder()
+                                                                                                          .setDispatcherName(DISPATCHER_NAME)
+                                                                                                          .setBatchSize(1_000)
+                                                                                                          .setDispatcherThreadsNum(1)
+                                                                                                          .build())
+                                                                     .build();
+        reActorSystem = new ReActorSystem(reActorSystemConfig);
+        reActorSystem.initReActorSystem();
+        //Replies to strings with the received string, ignores anything else
+        echo = spawnEcho("Echo");
+        silent = spawn("Silent", ReActions.NO_REACTIONS);
+    }
+
+    @AfterEach
+    void rampDownReactorSystem() {
+        reActorSystem.shutDown();
+    }
+
+    @Test
+    void askIsCompletedWithTheExpectedReply() throws Exception {
+        String reply = echo.ask("ping", String.class, ASK_TIMEOUT, "ping")
+                           .toCompletableFuture()
+                           .get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("ping", reply);
+    }
+
+    @Test
+    void concurrentAsksWithTheSameNameReceiveTheirOwnReply() throws Exception {
+        List<CompletableFuture<String>> replies = new ArrayList<>();
+        for (int request = 0; request < 1_000; request++) {
+            replies.add(echo.ask(Integer.toString(request), String.class, ASK_TIMEOUT, "SameName")
+                            .toCompletableFuture());
+        }
+        for (int request = 0; request < replies.size(); request++) {
+            Assertions.assertEquals(Integer.toString(request), replies.get(request).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void askTimesOutIfNoReplyIsReceived() {
+        var reply = echo.ask(42, String.class, Duration.ofMillis(100), "NoReply")
+                        .toCompletableFuture();
+        var failure = Assertions.assertThrows(ExecutionException.class, () -> reply.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(failure.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void scatterGatherCollectsTheReplyOfEveryTarget() throws Exception {
+        ReActorRef otherEcho = spawnEcho("OtherEcho");
+        GatherResult<String> result = reActorSystem.scatterGather(List.of(echo, otherEcho), "ping", String.class,
+                                                                  GatherPolicy.all(), ASK_TIMEOUT, "GatherAll")
+                                                   .toCompletableFuture()
+                                                   .get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(Map.of(echo, "ping", otherEcho, "ping"), result.replies());
+        Assertions.assertTrue(result.unanswered().isEmpty());
+    }
+
+    @Test
+    void scatterGatherIsCompletedByAQuorum() throws Exception {
+        ReActorRef otherEcho = spawnEcho("OtherEcho");
+        GatherResult<String> result = reActorSystem.scatterGather(List.of(echo, otherEcho, silent), "ping",
+                                                                  String.class, GatherPolicy.quorum(), ASK_TIMEOUT,
+                                                                  "GatherQuorum")
+                                                   .toCompletableFuture()
+                                                   .get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(2, result.replies().size());
+        Assertions.assertEquals(Set.of(silent), result.unanswered());
+    }
+
+    @Test
+    void repeatedRepliesOfATargetAreCountedOnce() {
+        ReActorRef doubleEcho = spawn("DoubleEcho", ReActions.newBuilder()
+                                                             .reAct(String.class, (raCtx, ping) -> {
+                                                                 raCtx.reply(ping);
+                                                                 raCtx.reply(ping);
+                                                             })
+                                                             .build());
+        ReActorRef otherSilent = spawn("OtherSilent", ReActions.NO_REACTIONS);
+        var result = reActorSystem.scatterGather(List.of(doubleEcho, silent, otherSilent), "ping", String.class,
+                                                 GatherPolicy.quorum(), Duration.ofMillis(200), "GatherTwice")
+                                  .toCompletableFuture();
+        var failure = Assertions.assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(failure.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void deadlinePartialScatterGatherReturnsTheRepliesReceivedInTime() throws Exception {
+        GatherResult<String> result = reActorSystem.scatterGather(List.of(echo, silent), "ping", String.class,
+                                                                  GatherPolicy.deadlinePartial(),
+                                                                  Duration.ofMillis(100), "GatherPartial")
+                                                   .toCompletableFuture()
+                                                   .get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(Map.of(echo, "ping"), result.replies());
+        Assertions.assertEquals(Set.of(silent), result.unanswered());
+    }
+
+    @Test
+    void scatterGatherTimesOutIfThePolicyIsNotSatisfied() {
+        var result = reActorSystem.scatterGather(List.of(echo, silent), "ping", String.class,
+                                                 GatherPolicy.all(), Duration.ofMillis(100), "GatherTimeout")
+                                  .toCompletableFuture();
+        var failure = Assertions.assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(failure.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void scatterGatherCollectsTheRepliesSentByServiceRoutees() throws Exception {
+        ReActorRef service = reActorSystem.spawnService(ServiceConfig.newBuilder()
+                                                                     .setLoadBalancingPolicy(LoadBalancingPolicies.ROUND_ROBIN)
+                                                                     .setReActorName("EchoService")
+                                                                     .setDispatcherName(DISPATCHER_NAME)
+                                                                     .setTypedSubscriptions(TypedSubscription.NO_SUBSCRIPTIONS)
+                                                                     .setRouteesNum(2)
+                                                                     .setRouteeProvider(EchoRoutee::new)
+                                                                     .build())
+                                          .orElseSneakyThrow();
+        GatherResult<String> result = reActorSystem.scatterGather(List.of(service, echo), "ping", String.class,
+                                                                  GatherPolicy.all(), ASK_TIMEOUT, "GatherService")
+                                                   .toCompletableFuture()
+                                                   .get(5, TimeUnit.SECONDS);
+        //The service replies through one of its routees
+        Assertions.assertEquals(2, result.replies().size());
+        Assertions.assertFalse(result.replies().containsKey(service));
+        Assertions.assertEquals("ping", result.replies().get(echo));
+        Assertions.assertTrue(result.unanswered().isEmpty());
+    }
+
+    @Test
+    void scatterGatherRejectsPoliciesThatCannotBeSatisfied() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> reActorSystem.scatterGather(List.of(echo), "ping", String.class,
+                                                                  GatherPolicy.firstK(2), ASK_TIMEOUT, "GatherTooMany"));
+    }
+
+    @Test
+    void askFailsOnUnexpectedReplyType() {
+        var reply = echo.ask("ping", Integer.class, ASK_TIMEOUT, "WrongType")
+                        .toCompletableFuture();
+        var failure = Assertions.assertThrows(ExecutionException.class, () -> reply.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(failure.getCause() instanceof IllegalArgumentException);
+    }
+
+    private ReActorRef spawnEcho(String reActorName) {
+        return spawn(reActorName, ReActions.newBuilder()
+                                           .reAct(String.class, ReActorContext::reply)
+                                           .build());
+    }
+
+    private ReActorRef spawn(String reActorName, ReActions reActions) {
+        return reActorSystem.spawn(reActions, ReActorConfig.newBuilder()
+                                                           .setReActorName(reActorName)
+                                                           .setDispatcherName(DISPATCHER_NAME)
+                                                           .setTypedSubscriptions(TypedSubscription.NO_SUBSCRIPTIONS)
+                                                           .build())
+                            .orElseSneakyThrow();
+    }
+
+    private static final class EchoRoutee implements ReActor {
+        @Nonnull
+        @Override
+        public ReActorConfig getConfig() {
+            return ReActorConfig.newBuilder()
+                                .setReActorName("EchoRoutee")
+                                .setDispatcherName(DISPATCHER_NAME)
+                                .setTypedSubscriptions(TypedSubscription.NO_SUBSCRIPTIONS)
+                                .build();
+        }
+
+        @Nonnull
+        @Override
+        public ReActions getReActions() {
+            return ReActions.newBuilder()
+                            .reAct(String.class, ReActorContext::reply)
+                            .build();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.config.dispatchers.DispatcherConfig;
+import io.reacted.core.config.reactors.ReActorConfig;
+import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
+import io.reacted.core.drivers.local.SystemLocalDrivers;
+import io.reacted.core.messages.reactors.ReActorInit;
+import io.reacted.core.passivation.DirectoryPassivationStore;
+import io.reacted.core.passivation.HeapPassivationStore;
+import io.reacted.core.passivation.MappedPassivationStore;
+import io.reacted.core.passivation.PassivationStore;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactors.ReActor;
+import io.reacted.core.reactors.ReActorId;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+class PassivatorTest {
+    private static final String DISPATCHER_NAME = "TestDispatcher";
+    private static final Duration IDLE_TIMEOUT = Duration.ofMillis(100);
+    private ReActorSystem reActorSystem;
+
+    @TempDir
+    Path passivationDir;
+
+    @AfterEach
+    void rampDownReactorSystem() {
+        if (reActorSystem != null) {
+            reActorSystem.shutDown();
+        }
+    }
+
+    @Test
+    void idleReActorsArePassivatedAndKeepTheirStateWhenReactivated() throws Exception {
+        initReActorSystem(new HeapPassivationStore());
+        ReActorRef counter = reActorSystem.spawnPassivable(new Counter(), IDLE_TIMEOUT).orElseSneakyThrow();
+        Assertions.assertTrue(counter.tell(5).isDelivered());
+        Assertions.assertEquals(new Counted(5, 1), getCount(counter));
+
+        awaitPassivation(counter.getReActorId());
+        Assertions.assertEquals(new Counted(5, 2), getCount(counter));
+        Assertions.assertNotNull(reActorSystem.getReActorCtx(counter.getReActorId()));
+    }
+
+    @Test
+    void messagesForPassivatedReActorsAreProcessedInOrder() throws Exception {
+        initReActorSystem(new DirectoryPassivationStore(passivationDir));
+        ReActorRef counter = reActorSystem.spawnPassivable(new Counter(), IDLE_TIMEOUT).orElseSneakyThrow();
+        awaitPassivation(counter.getReActorId());
+
+        for (int increment = 1; increment <= 100; increment++) {
+            Assertions.assertTrue(counter.tell(increment).isDelivered());
+        }
+        Assertions.assertEquals(new Counted(5050, 2), getCount(counter));
+    }
+
+    @Test
+    void mappedStoreKeepsThePassivatedReActorsOffHeap() throws Exception {
+        try (var passivationStore = new MappedPassivationStore(passivationDir.resolve("passivated"), 1 << 20)) {
+            long emptyStoreBytes = passivationStore.getAvailableBytes();
+            initReActorSystem(passivationStore);
+            ReActorRef counter = reActorSystem.spawnPassivable(new Counter(), IDLE_TIMEOUT).orElseSneakyThrow();
+            Assertions.assertTrue(counter.tell(7).isDelivered());
+            awaitPassivation(counter.getReActorId());
+            //The reactor is stored once its context is gone
+            Awaitility.await()
+                      .atMost(10, TimeUnit.SECONDS)
+                      .until(() -> passivationStore.getAvailableBytes() < emptyStoreBytes);
+
+            Assertions.assertEquals(new Counted(7, 2), getCount(counter));
+            Assertions.assertEquals(emptyStoreBytes, passivationStore.getAvailableBytes());
+            //The store is owned by the caller: it has to outlive the reactor system
+            reActorSystem.shutDown();
+            this.reActorSystem = null;
+        }
+    }
+
+    @Test
+    void mappedStoreChainsBlocksAndRefusesStatesItCannotHold() throws Exception {
+        try (var passivationStore = new MappedPassivationStore(passivationDir.resolve("passivated"), 1 << 12, 64)) {
+            var reActorId = new ReActorId(ReActorId.NO_REACTOR_ID, "Large");
+            byte[] largeState = new byte[1_000];
+            Arrays.fill(largeState, (byte) 42);
+            passivationStore.store(reActorId, largeState);
+            Assertions.assertThrows(IOException.class,
+                                    () -> passivationStore.store(new ReActorId(ReActorId.NO_REACTOR_ID, "TooLarge"),
+                                                                 new byte[1 << 12]));
+            Assertions.assertArrayEquals(largeState, passivationStore.remove(reActorId));
+            Assertions.assertNull(passivationStore.remove(reActorId));
+        }
+    }
+
+    @Test
+    void messagesRacingWithThePassivationAreNotLost() throws Exception {
+        initReActorSystem(new HeapPassivationStore());
+        ReActorRef counter = reActorSystem.spawnPassivable(new Counter(), IDLE_TIMEOUT).orElseSneakyThrow();
+        int expectedCount = 0;
+        //Sending roughly once every idle timeout keeps hitting the reactor while it is stopping to be passivated
+        for (int increment = 1; increment <= 20; increment++) {
+            Assertions.assertTrue(counter.atell(reActorSystem.getSystemSink(), increment)
+                                         .toCompletableFuture()
+                                         .get(10, TimeUnit.SECONDS)
+                                         .isDelivered());
+            expectedCount += increment;
+            TimeUnit.MILLISECONDS.sleep(IDLE_TIMEOUT.toMillis() + increment % 3);
+        }
+        Assertions.assertEquals(expectedCount, getCount(counter).count());
+    }
+
+    @Test
+    void passivableReActorsNamesAreUnique() {
+        initReActorSystem(new HeapPassivationStore());
+        Assertions.assertTrue(reActorSystem.spawnPassivable(new Counter(), IDLE_TIMEOUT).isSuccess());
+        Assertions.assertTrue(reActorSystem.spawnPassivable(new Counter(), IDLE_TIMEOUT).isFailure());
+    }
+
+    private void initReActorSystem(PassivationStore passivationStore) {
+        reActorSystem = new ReActorSystem(ReActorSystemConfig.newBuilder()
+                                                             .setReactorSystemName(CoreConstants.REACTED_ACTOR_SYSTEM)
+                                                             .setMsgFanOutPoolSize(1)
+                                                             .setLocalDriver(SystemLocalDrivers.DIRECT_COMMUNICATION)
+                                                             .setPassivationStore(passivationStore)
+                                                             .addDispatcherConfig(DispatcherConfig.newBuilder()
+                                                                                                  .setDispatcherName(DISPATCHER_NAME)
+                                                                                                  .setBatchSize(1_000)
+                                                                                                  .setDispatcherThreadsNum(1)
+                                                                                                  .build())
+                                                             .build());
+        reActorSystem.initReActorSystem();
+    }
+
+    private void awaitPassivation(ReActorId reActorId) {
+        Awaitility.await()
+                  .atMost(10, TimeUnit.SECONDS)
+                  .until(() -> reActorSystem.getReActorCtx(reActorId) == null);
+    }
+
+    private static Counted getCount(ReActorRef counter) throws Exception {
+        return counter.ask(new GetCount(), Counted.class, Duration.ofSeconds(10), "GetCount")
+                      .toCompletableFuture()
+                      .get();
+    }
+
+    private record GetCount() implements Serializable { }
+
+    private record Counted(int count, int activations) implements Serializable { }
+
+    private static class Counter implements ReActor, Serializable {
+        private static final ReActorConfig CONFIG = ReActorConfig.newBuilder()
+                                                                 .setReActorName(Counter.class.getSimpleName())
+                                                                 .setDispatcherName(DISPATCHER_NAME)
+                                                                 .build();
+        private int count;
+        private int activations;
+
+        @Nonnull
+        @Override
+        public ReActorConfig getConfig() { return CONFIG; }
+
+        @Nonnull
+        @Override
+        public ReActions getReActions() {
+            return ReActions.newBuilder()
+                            .reAct(ReActorInit.class, (raCtx, init) -> activations++)
+                            .reAct(Integer.class, (raCtx, increment) -> count += increment)
+                            .reAct(GetCount.class, (raCtx, request) -> raCtx.reply(new Counted(count, activations)))
+                            .build();
+        }
+    }
+}
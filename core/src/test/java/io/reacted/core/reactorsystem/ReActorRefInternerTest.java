@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.reactorsystem;
+
+import io.reacted.core.CoreConstants;
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
+import io.reacted.core.drivers.DriverCtx;
+import io.reacted.core.drivers.local.SystemLocalDrivers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.UUID;
+
+class ReActorRefInternerTest {
+    private static final ReActorSystemId REMOTE_REACTOR_SYSTEM = new ReActorSystemId("RemoteReActorSystem");
+    private static final UUID REACTOR_UUID = UUID.randomUUID();
+    private ReActorSystem reActorSystem;
+
+    @AfterEach
+    void rampDownReactorSystem() {
+        if (reActorSystem != null) {
+            reActorSystem.shutDown();
+        }
+    }
+
+    @Test
+    void decodedReferencesAreCanonical() {
+        DriverCtx ctx = initReActorSystem(ReActorSystemConfig.DEFAULT_REF_INTERNER_SIZE);
+        ReActorRef first = decodeReActorRef(ctx, "reactor");
+        ReActorRef second = decodeReActorRef(ctx, "reactor");
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(first.getReActorSystemRef(), second.getReActorSystemRef());
+
+        ReActorRef otherName = decodeReActorRef(ctx, "other-reactor");
+        Assertions.assertNotEquals(first, otherName);
+        Assertions.assertEquals("other-reactor", otherName.getReActorId().getReActorName());
+        Assertions.assertEquals(REACTOR_UUID, otherName.getReActorId().getReActorUUID());
+    }
+
+    @Test
+    void routeChangesRebindTheGate() {
+        DriverCtx ctx = initReActorSystem(ReActorSystemConfig.DEFAULT_REF_INTERNER_SIZE);
+        ReActorRef unrouted = decodeReActorRef(ctx, "reactor");
+        Assertions.assertSame(unrouted, decodeReActorRef(ctx, "reactor"));
+
+        var gateProperties = new Properties();
+        gateProperties.setProperty("host", "remote");
+        reActorSystem.registerNewRoute(REMOTE_REACTOR_SYSTEM, ctx.getDecodingDriver().getChannelId(),
+                                       gateProperties, ReActorRef.NO_REACTOR_REF);
+        ReActorRef routed = decodeReActorRef(ctx, "reactor");
+        Assertions.assertNotSame(unrouted, routed);
+        Assertions.assertEquals(gateProperties, routed.getReActorSystemRef().getGateProperties());
+        Assertions.assertSame(routed, decodeReActorRef(ctx, "reactor"));
+
+        reActorSystem.unregisterRoute(REMOTE_REACTOR_SYSTEM, ctx.getDecodingDriver().getChannelId());
+        Assertions.assertNotEquals(gateProperties, decodeReActorRef(ctx, "reactor").getReActorSystemRef()
+                                                                                   .getGateProperties());
+    }
+
+    @Test
+    void disabledInternerAlwaysDecodesNewReferences() {
+        DriverCtx ctx = initReActorSystem(0);
+        ReActorRef first = decodeReActorRef(ctx, "reactor");
+        ReActorRef second = decodeReActorRef(ctx, "reactor");
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(first, second);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> ReActorSystemConfig.newBuilder()
+                                                         .setReactorSystemName(CoreConstants.REACTED_ACTOR_SYSTEM)
+                                                         .setRefInternerSize(-1)
+                                                         .build());
+    }
+
+    private DriverCtx initReActorSystem(int refInternerSize) {
+        reActorSystem = new ReActorSystem(ReActorSystemConfig.newBuilder()
+                                                             .setReactorSystemName(CoreConstants.REACTED_ACTOR_SYSTEM)
+                                                             .setMsgFanOutPoolSize(1)
+                                                             .setLocalDriver(SystemLocalDrivers.DIRECT_COMMUNICATION)
+                                                             .setRefInternerSize(refInternerSize)
+                                                             .build());
+        reActorSystem.initReActorSystem();
+        return new DriverCtx(reActorSystem, reActorSystem.getSystemConfig().getLocalDriver());
+    }
+
+    private static ReActorRef decodeReActorRef(DriverCtx ctx, String reActorName) {
+        ReActorSystemRef reActorSystemRef = ReActorRefInterner.toReActorSystemRef(REMOTE_REACTOR_SYSTEM,
+                                                                                  ChannelId.INVALID_CHANNEL_ID, ctx);
+        return ReActorRefInterner.toReActorRef(REACTOR_UUID.getMostSignificantBits(),
+                                               REACTOR_UUID.getLeastSignificantBits(), reActorName,
+                                               reActorSystemRef, ctx);
+    }
+}
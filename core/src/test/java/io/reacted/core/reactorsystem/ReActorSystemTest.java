@@ -38,6 +38,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -201,6 +204,46 @@ class ReActorSystemTest {
                   .until(MagicTestReActor.RECEIVED::intValue, CoreMatchers.equalTo(2));
     }
 
+    @Test
+    void primitivePayloadsReachTheirReactions() {
+        var longs = new AtomicLong();
+        var doubles = new DoubleAdder();
+        var ints = new AtomicInteger();
+        ReActorRef reActor = reActorSystem.spawn(ReActions.newBuilder()
+                                                          .reActOnLong((raCtx, payload) -> longs.addAndGet(payload))
+                                                          .reActOnDouble((raCtx, payload) -> doubles.add(payload))
+                                                          //No primitive reaction: the boxed one is used
+                                                          .reAct(Integer.class,
+                                                                 (raCtx, payload) -> ints.addAndGet(payload))
+                                                          .build(), reActorConfig)
+                                          .orElseSneakyThrow();
+        Assertions.assertTrue(reActor.tellLong(40L).isDelivered());
+        Assertions.assertTrue(reActor.tell(Long.valueOf(2L)).isDelivered());
+        Assertions.assertTrue(reActor.tellDouble(1.5d).isDelivered());
+        Assertions.assertTrue(reActor.tellInt(7).isDelivered());
+
+        Awaitility.await()
+                  .until(() -> longs.get() == 42L && doubles.sum() == 1.5d && ints.get() == 7);
+    }
+
+    @Test
+    void narrowPrimitivePayloadsAreBoxedToTheirOwnType() {
+        var shorts = new AtomicInteger();
+        var longs = new AtomicLong();
+        ReActorRef reActor = reActorSystem.spawn(ReActions.newBuilder()
+                                                          .reAct(Short.class,
+                                                                 (raCtx, payload) -> shorts.addAndGet(payload))
+                                                          .reActOnLong((raCtx, payload) -> longs.addAndGet(payload))
+                                                          .reAct(ReActions::noReAction)
+                                                          .build(), reActorConfig)
+                                          .orElseSneakyThrow();
+        short payload = 3;
+        Assertions.assertTrue(reActor.tell(payload).isDelivered());
+
+        Awaitility.await().until(() -> shorts.get() == 3);
+        Assertions.assertEquals(0L, longs.get());
+    }
+
 //    @Test
 //    void reactorSystemCanRegisterNewGate() {
 //        ReActorSystemId reActorSystemId = new ReActorSystemId("reActorSystemId");
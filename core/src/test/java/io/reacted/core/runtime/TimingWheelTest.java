@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.runtime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TimingWheelTest {
+    TimingWheel timingWheel;
+
+    @BeforeEach
+    void prepareTimingWheel() {
+        timingWheel = new TimingWheel("TestTimingWheel", Duration.ofMillis(1)).start();
+    }
+
+    @AfterEach
+    void stopTimingWheel() {
+        timingWheel.stop();
+    }
+
+    @Test
+    void timerIsNotRunBeforeItsDelay() throws Exception {
+        long start = System.nanoTime();
+        ScheduledFuture<Long> timer = timingWheel.schedule(System::nanoTime, 50, TimeUnit.MILLISECONDS);
+        long runAt = timer.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(runAt - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertTrue(timer.isDone());
+    }
+
+    @Test
+    void cancelledTimerIsNotRun() throws InterruptedException {
+        var hasRun = new AtomicBoolean();
+        var canary = new CountDownLatch(1);
+        ScheduledFuture<?> timer = timingWheel.schedule(() -> hasRun.set(true), Duration.ofMillis(30));
+        timingWheel.schedule(canary::countDown, Duration.ofMillis(60));
+
+        Assertions.assertTrue(timer.cancel(false));
+        Assertions.assertTrue(canary.await(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(hasRun.get());
+        Assertions.assertTrue(timer.isCancelled());
+    }
+
+    @Test
+    void timersBeyondTheFirstWheelAreCascadedInOrder() throws InterruptedException {
+        int timersNum = 20;
+        var expired = new CountDownLatch(timersNum);
+        var outOfOrder = new AtomicInteger();
+        var lastExpired = new AtomicInteger(-1);
+        for (int timer = timersNum - 1; timer >= 0; timer--) {
+            int timerId = timer;
+            //Spread over more than a revolution of the first wheel
+            timingWheel.schedule(() -> {
+                if (lastExpired.getAndSet(timerId) > timerId) {
+                    outOfOrder.incrementAndGet();
+                }
+                expired.countDown();
+            }, Duration.ofMillis(25L * timer));
+        }
+        Assertions.assertTrue(expired.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, outOfOrder.get());
+    }
+
+    @Test
+    void timersScheduledAfterIdlePeriodsAreRun() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(100);
+        var expired = new CountDownLatch(1);
+        timingWheel.schedule(expired::countDown, Duration.ZERO);
+        Assertions.assertTrue(expired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timersAreRejectedOnceStopped() {
+        timingWheel.stop();
+        Assertions.assertThrows(RejectedExecutionException.class,
+                                () -> timingWheel.schedule(() -> { }, Duration.ofMillis(1)));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import io.reacted.core.ReactorHelper;
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
+import io.reacted.core.messages.reactors.DeliveryStatus;
+import io.reacted.core.messages.reactors.DeliveryStatusUpdate;
+import io.reacted.core.messages.reactors.DeliveryStatusUpdates;
+import io.reacted.core.messages.reactors.FlowCredits;
+import io.reacted.core.messages.serviceregistry.RegistryGateUpserted;
+import io.reacted.core.reactorsystem.ReActorRef;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Properties;
+
+class CodecRegistryTest {
+    private static final ChannelId GRPC_CHANNEL = ChannelId.ChannelType.GRPC.forChannelName("test");
+    private final CodecRegistry codecs = CodecRegistry.newBuilder()
+                                                      .setLoadServices(false)
+                                                      .registerCodec(new PointCodec())
+                                                      .build();
+
+    @Test
+    void messagesSurviveTheFrameworkCodecs() throws IOException {
+        ReActorRef sender = ReactorHelper.generateReactor("sender");
+        Message original = new Message(sender, ReActorRef.NO_REACTOR_REF, 0x31337,
+                                       ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.ONE_TO_ONE, 1234L,
+                                       new DeliveryStatusUpdate(42, DeliveryStatus.DELIVERED,
+                                                                ReactorHelper.TEST_REACTOR_SYSTEM_ID, GRPC_CHANNEL));
+        Message received = (Message) codecs.fromBytes(codecs.toBytes(original));
+        Assertions.assertEquals(sender.getReActorId(), received.getSender().getReActorId());
+        Assertions.assertEquals(ReactorHelper.TEST_REACTOR_SYSTEM_ID,
+                                received.getSender().getReActorSystemRef().getReActorSystemId());
+        Assertions.assertSame(ReActorRef.NO_REACTOR_REF, received.getDestination());
+        Assertions.assertEquals(Long.valueOf(0x31337), Long.valueOf(received.getSequenceNumber()));
+        Assertions.assertEquals(AckingPolicy.ONE_TO_ONE, received.getDataLink().getAckingPolicy());
+        Assertions.assertEquals(Long.valueOf(1234L), Long.valueOf(received.getDeadline()));
+        Assertions.assertEquals(original.<DeliveryStatusUpdate>getPayload(), received.getPayload());
+        //Way smaller than the java serialization of the same message
+        Assertions.assertTrue(codecs.toBytes(original).length < toJavaSerialization(original).length);
+    }
+
+    @Test
+    void primitivesAndRegistryMessagesSurviveTheFrameworkCodecs() throws IOException {
+        Message primitive = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 1,
+                                        ReactorHelper.TEST_REACTOR_SYSTEM_ID, AckingPolicy.NONE, Message.NO_DEADLINE,
+                                        PrimitiveType.INT, -42);
+        Message received = (Message) codecs.fromBytes(codecs.toBytes(primitive));
+        Assertions.assertEquals(PrimitiveType.INT, received.getPrimitiveType());
+        Assertions.assertEquals(Integer.valueOf(-42), received.getPayload());
+
+        var channelData = new Properties();
+        channelData.setProperty("host", "localhost");
+        var upserted = (RegistryGateUpserted) codecs.fromBytes(codecs.toBytes(new RegistryGateUpserted("remote",
+                                                                                                       GRPC_CHANNEL,
+                                                                                                       channelData)));
+        Assertions.assertEquals("remote", upserted.getReActorSystemId().getReActorSystemName());
+        Assertions.assertEquals(GRPC_CHANNEL, upserted.getChannelId());
+        Assertions.assertEquals(channelData, upserted.getChannelData());
+
+        var acks = new DeliveryStatusUpdates(new long[] { 10, 20, 22, 22 }, new long[] { 21 },
+                                             new DeliveryStatus[] { DeliveryStatus.NOT_DELIVERED },
+                                             ReactorHelper.TEST_REACTOR_SYSTEM_ID, GRPC_CHANNEL);
+        Assertions.assertEquals(acks, codecs.fromBytes(codecs.toBytes(acks)));
+        var credits = new FlowCredits(128, true, ReactorHelper.TEST_REACTOR_SYSTEM_ID, GRPC_CHANNEL);
+        Assertions.assertEquals(credits, codecs.fromBytes(codecs.toBytes(credits)));
+    }
+
+    @Test
+    void registeredCodecsAndJavaSerializationAreUsedForUserPayloads() throws IOException {
+        Point point = new Point(3, -4);
+        byte[] encoded = codecs.toBytes(point);
+        //Codec id plus two ints
+        Assertions.assertEquals(Integer.valueOf(3 * Integer.BYTES), Integer.valueOf(encoded.length));
+        Assertions.assertEquals(point, codecs.fromBytes(encoded));
+
+        Assertions.assertFalse(codecs.hasCodec(Unregistered.class));
+        Unregistered unregistered = new Unregistered("fallback");
+        Assertions.assertEquals(unregistered, codecs.fromBytes(codecs.toBytes(unregistered)));
+    }
+
+    @Test
+    void conflictingCodecsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> CodecRegistry.newBuilder()
+                                                   .setLoadServices(false)
+                                                   .registerCodec(new PointCodec())
+                                                   .registerCodec(new PointCodec())
+                                                   .build());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> CodecRegistry.newBuilder()
+                                                   .setLoadServices(false)
+                                                   .registerCodec(new PointCodec() {
+                                                       @Override
+                                                       public int getCodecId() { return -1; }
+                                                   })
+                                                   .build());
+        Assertions.assertThrows(IOException.class, () -> CodecRegistry.newBuilder()
+                                                                      .setLoadServices(false)
+                                                                      .build()
+                                                                      .fromBytes(codecs.toBytes(new Point(1, 2))));
+    }
+
+    private static byte[] toJavaSerialization(Serializable payload) throws IOException {
+        var serialized = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(serialized)) {
+            out.writeObject(payload);
+        }
+        return serialized.toByteArray();
+    }
+
+    private record Point(int x, int y) implements Serializable { }
+
+    private record Unregistered(String value) implements Serializable { }
+
+    private static class PointCodec implements PayloadCodec<Point> {
+        @Override
+        public Class<Point> getPayloadType() { return Point.class; }
+
+        @Override
+        public int getCodecId() { return 1; }
+
+        @Override
+        public void encode(Point payload, DataOutput out, CodecRegistry codecs) throws IOException {
+            out.writeInt(payload.x());
+            out.writeInt(payload.y());
+        }
+
+        @Override
+        public Point decode(DataInput in, CodecRegistry codecs) throws IOException {
+            return new Point(in.readInt(), in.readInt());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.serialization;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class LinkDictionaryTest {
+
+    @Test
+    void valuesAreSentInFullOnlyOnce() {
+        var encoder = new LinkDictionary.Encoder<String>(10);
+        Assertions.assertEquals(LinkDictionary.NO_HANDLE, encoder.lookup("sender"));
+        int handle = encoder.define("sender");
+        Assertions.assertEquals(handle, encoder.lookup("sender"));
+        Assertions.assertEquals(1, encoder.size());
+    }
+
+    @Test
+    void decoderFollowsTheEncoderAcrossEvictions() {
+        var encoder = new LinkDictionary.Encoder<String>(8);
+        var decoder = new LinkDictionary.Decoder<String>(8);
+        var random = new Random(42);
+        int fullValuesSent = 0;
+        for (int frame = 0; frame < 10_000; frame++) {
+            //Few hot values and a long tail that keeps evicting
+            String value = "reactor-" + (random.nextBoolean() ? random.nextInt(4) : random.nextInt(100));
+            int handle = encoder.lookup(value);
+            if (handle == LinkDictionary.NO_HANDLE) {
+                handle = encoder.define(value);
+                decoder.define(handle, value);
+                fullValuesSent++;
+            }
+            Assertions.assertTrue(handle >= 1 && handle <= 8);
+            Assertions.assertEquals(value, decoder.resolve(handle));
+        }
+        Assertions.assertEquals(8, encoder.size());
+        Assertions.assertTrue(fullValuesSent < 10_000);
+    }
+
+    @Test
+    void unknownHandlesAreNotResolved() {
+        var decoder = new LinkDictionary.Decoder<String>(8);
+        Assertions.assertNull(decoder.resolve(LinkDictionary.NO_HANDLE));
+        Assertions.assertNull(decoder.resolve(1_000));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decoder.define(0, "invalid"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LinkDictionary.Encoder<String>(0));
+    }
+
+    @Test
+    void handlesBeyondTheDictionarySizeAreRejected() {
+        var decoder = new LinkDictionary.Decoder<String>(8);
+        decoder.define(8, "last");
+        Assertions.assertEquals("last", decoder.resolve(8));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decoder.define(9, "beyond"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> decoder.define(Integer.MAX_VALUE - 1, "huge"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> new LinkDictionary.Decoder<String>(0).define(1, "disabled"));
+    }
+}
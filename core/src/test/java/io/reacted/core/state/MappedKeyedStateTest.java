@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.core.state;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class MappedKeyedStateTest {
+    private static final int RECORD_LENGTH = 2 * Long.BYTES;
+    private static final int COUNTER = 0;
+    private static final int LAST_SEEN = Long.BYTES;
+
+    @TempDir
+    Path stateDir;
+
+    @Test
+    void recordsFollowAHashMap() {
+        var expected = new HashMap<Long, Long>();
+        var random = new Random(42);
+        try (var state = MappedKeyedState.open(stateDir.resolve("state"), RECORD_LENGTH, 1_000)
+                                         .orElseSneakyThrow()) {
+            for (int operation = 0; operation < 100_000; operation++) {
+                //Few keys, many collisions and removals
+                long key = random.nextInt(1_500);
+                if (random.nextInt(3) == 0) {
+                    Assertions.assertEquals(expected.remove(key) != null, state.remove(key));
+                } else if (expected.size() < state.getCapacity() || expected.containsKey(key)) {
+                    Assertions.assertEquals(expected.merge(key, 1L, Long::sum).longValue(),
+                                            state.addLong(key, COUNTER, 1));
+                }
+            }
+            Assertions.assertEquals(expected.size(), state.size());
+            expected.forEach((key, count) -> Assertions.assertEquals(count.longValue(),
+                                                                     state.getLong(key, COUNTER, -1)));
+            Set<Long> keys = new HashSet<>();
+            state.forEachKey(keys::add);
+            Assertions.assertEquals(expected.keySet(), keys);
+        }
+    }
+
+    @Test
+    void stateSurvivesReopening() {
+        Path stateFile = stateDir.resolve("state");
+        try (var state = MappedKeyedState.open(stateFile, RECORD_LENGTH, 100).orElseSneakyThrow()) {
+            var record = new UnsafeBuffer(new byte[RECORD_LENGTH]);
+            record.putLong(COUNTER, 3);
+            record.putLong(LAST_SEEN, 1234);
+            Assertions.assertTrue(state.put(7, record, 0));
+        }
+        try (var state = MappedKeyedState.open(stateFile, RECORD_LENGTH, 100).orElseSneakyThrow()) {
+            var record = new UnsafeBuffer(new byte[RECORD_LENGTH]);
+            Assertions.assertTrue(state.get(7, record, 0));
+            Assertions.assertEquals(3, record.getLong(COUNTER));
+            Assertions.assertEquals(1234, state.getLong(7, LAST_SEEN, -1));
+            Assertions.assertEquals(1, state.size());
+        }
+        Assertions.assertTrue(MappedKeyedState.open(stateFile, Long.BYTES, 100).isFailure());
+    }
+
+    @Test
+    void snapshotsArePointInTime() {
+        Path snapshotFile = stateDir.resolve("snapshot");
+        try (var state = MappedKeyedState.open(stateDir.resolve("state"), RECORD_LENGTH, 100)
+                                         .orElseSneakyThrow()) {
+            state.putLong(1, COUNTER, 10);
+            Assertions.assertTrue(state.snapshot(snapshotFile).isSuccess());
+            state.putLong(1, COUNTER, 20);
+            state.putLong(2, COUNTER, 30);
+        }
+        try (var snapshot = MappedKeyedState.open(snapshotFile, RECORD_LENGTH, 100).orElseSneakyThrow()) {
+            Assertions.assertEquals(10, snapshot.getLong(1, COUNTER, -1));
+            Assertions.assertFalse(snapshot.containsKey(2));
+        }
+    }
+
+    @Test
+    void fullStatesRejectNewKeys() {
+        try (var state = MappedKeyedState.open(stateDir.resolve("state"), RECORD_LENGTH, 10)
+                                         .orElseSneakyThrow()) {
+            for (long key = 0; key < 10; key++) {
+                Assertions.assertTrue(state.putLong(key, COUNTER, key));
+            }
+            Assertions.assertFalse(state.putLong(10, COUNTER, 10));
+            Assertions.assertTrue(state.putLong(9, COUNTER, 99));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> state.getLong(9, RECORD_LENGTH, 0));
+        }
+    }
+}
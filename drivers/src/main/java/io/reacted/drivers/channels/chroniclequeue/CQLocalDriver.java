@@ -17,9 +17,11 @@ import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.reactors.ReActorId;
 import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorRefInterner;
 import io.reacted.core.reactorsystem.ReActorSystem;
 import io.reacted.core.reactorsystem.ReActorSystemId;
 import io.reacted.core.reactorsystem.ReActorSystemRef;
+import io.reacted.core.serialization.CodecRegistry;
 import io.reacted.patterns.NonNullByDefault;
 import io.reacted.patterns.Try;
 import io.reacted.patterns.UnChecked;
@@ -43,6 +45,10 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     private static final Logger LOGGER = LoggerFactory.getLogger(CQLocalDriver.class);
+    /* Every payload is preceded by one of these markers: queues and replay logs written by a version
+       without them cannot be read and have to be drained or discarded before upgrading */
+    private static final byte WIRE_PAYLOAD = 0;
+    private static final byte CODEC_PAYLOAD = 1;
     @Nullable
     private ChronicleQueue chronicle;
     @Nullable
@@ -78,15 +84,16 @@ public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     CompletionStage<DeliveryStatus> sendAsyncMessage(ReActorRef source, ReActorContext destinationCtx,
                                                      ReActorRef destination, long seqNum,
                                                      ReActorSystemId reActorSystemId,
-                                                     AckingPolicy ackingPolicy, PayloadT message) {
+                                                     AckingPolicy ackingPolicy, long deadline,
+                                                     PayloadT message) {
         if (!ackingPolicy.isAckRequired()) {
             return super.sendAsyncMessage(source, destinationCtx, destination, seqNum, reActorSystemId,
-                                          ackingPolicy, message);
+                                          ackingPolicy, deadline, message);
         }
         CompletionStage<DeliveryStatus> pendingAck = newPendingAckTrigger(seqNum);
 
         DeliveryStatus localDeliveryStatus = sendMessage(source, destinationCtx, destination, seqNum,
-                                                         reActorSystemId, ackingPolicy, message);
+                                                         reActorSystemId, ackingPolicy, deadline, message);
         if (localDeliveryStatus == DeliveryStatus.SENT) {
             return pendingAck;
         }
@@ -97,11 +104,14 @@ public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     @Override
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination, long seqNum,
-                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message) {
+                ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, long deadline,
+                PayloadT message) {
         try {
             chronicle.acquireAppender()
                      .writeDocument(w -> writeMessage(w, source, destination, seqNum, reActorSystemId,
-                                                      ackingPolicy, message));
+                                                      ackingPolicy, deadline, message,
+                                                      getLocalReActorSystem().getSystemConfig()
+                                                                             .getCodecRegistry()));
             return DeliveryStatus.SENT;
         } catch (Exception anyException) {
             getLocalReActorSystem().logError("Unable to send message {}", message, anyException);
@@ -136,18 +146,22 @@ public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
                                                              readSequenceNumber(in),
                                                              readReActorSystemId(in),
                                                              readAckingPolicy(in),
-                                                             readPayload(in)));
+                                                             readDeadline(in),
+                                                             readPayload(in, getLocalReActorSystem().getSystemConfig()
+                                                                                                    .getCodecRegistry())));
     }
     public static <PayloadT extends Serializable>
     void writeMessage(WireOut out, ReActorRef source, ReActorRef destination, long seqNum,
-                      ReActorSystemId localReActorSystemId, AckingPolicy ackingPolicy, PayloadT payload) {
+                      ReActorSystemId localReActorSystemId, AckingPolicy ackingPolicy, long deadline,
+                      PayloadT payload, CodecRegistry codecs) {
         out.write("M")
-           .marshallable(m -> writePayload(writeAckingPolicy(writeReActorSystemId(writeSequenceNumber(writeReActorRef(writeReActorRef(m, source),
-                                                                                                                      destination),
-                                                                                                      seqNum),
-                                                                                  localReActorSystemId),
-                                                             ackingPolicy),
-                                           payload));
+           .marshallable(m -> writePayload(writeDeadline(writeAckingPolicy(writeReActorSystemId(writeSequenceNumber(writeReActorRef(writeReActorRef(m, source),
+                                                                                                                                    destination),
+                                                                                                                    seqNum),
+                                                                                                localReActorSystemId),
+                                                                           ackingPolicy),
+                                                         deadline),
+                                           payload, codecs));
     }
     public static WireOut writeReActorRef(WireOut out, ReActorRef reActorRef) {
         return writeReActorSystemRef(writeReActorId(out, reActorRef.getReActorId()),
@@ -155,10 +169,14 @@ public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     }
 
     public static ReActorRef readReActorRef(WireIn in, DriverCtx driverCtx) {
-        ReActorId reActorId = readReActorId(in);
-        ReActorSystemRef reActorSystemRef = readReActorSystemRef(in, driverCtx);
-        return new ReActorRef(reActorId, reActorSystemRef)
-                .setHashCode(Objects.hash(reActorId, reActorSystemRef));
+        if (in.read().int8() == ReActorId.NO_REACTOR_ID_MARKER) {
+            return new ReActorRef(ReActorId.NO_REACTOR_ID, readReActorSystemRef(in, driverCtx));
+        }
+        String reActorName = in.read().readString();
+        long uuidLeastSigBits = in.read().int64();
+        long uuidMostSigBits = in.read().int64();
+        return ReActorRefInterner.toReActorRef(uuidMostSigBits, uuidLeastSigBits, reActorName,
+                                               readReActorSystemRef(in, driverCtx), driverCtx);
     }
 
     public static WireOut writeReActorSystemRef(WireOut out, ReActorSystemRef reActorSystemRef) {
@@ -167,18 +185,27 @@ public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     }
 
     public static ReActorSystemRef readReActorSystemRef(WireIn in, DriverCtx ctx) {
-        ReActorSystemRef reActorSystemRef = new ReActorSystemRef();
         ReActorSystemId reActorSystemId = readReActorSystemId(in);
         ChannelId channelId = readChannelId(in);
-        ReActorSystemRef.setGateForReActorSystem(reActorSystemRef, reActorSystemId, channelId, ctx);
-        return reActorSystemRef;
+        return ReActorRefInterner.toReActorSystemRef(reActorSystemId, channelId, ctx);
     }
-    public static <PayloadT extends Serializable> WireOut writePayload(WireOut wireOut, PayloadT payloadT) {
-        return wireOut.write().object(payloadT);
+    /* Payloads with a codec are written as its encoding, the others are left to the chronicle wire */
+    public static <PayloadT extends Serializable> WireOut writePayload(WireOut wireOut, PayloadT payloadT,
+                                                                       CodecRegistry codecs) {
+        if (codecs.hasCodec(payloadT.getClass())) {
+            return wireOut.write().int8(CODEC_PAYLOAD)
+                          .write().bytes(Try.of(() -> codecs.toBytes(payloadT)).orElseSneakyThrow());
+        }
+        return wireOut.write().int8(WIRE_PAYLOAD)
+                      .write().object(payloadT);
     }
 
     @SuppressWarnings("unchecked")
-    public static <PayloadT extends Serializable> PayloadT readPayload(WireIn in) {
+    public static <PayloadT extends Serializable> PayloadT readPayload(WireIn in, CodecRegistry codecs) {
+        if (in.read().int8() == CODEC_PAYLOAD) {
+            byte[] encoded = in.read().bytes();
+            return (PayloadT)Try.of(() -> codecs.fromBytes(encoded)).orElseSneakyThrow();
+        }
         return (PayloadT)in.read().object();
     }
     public static WireOut writeSequenceNumber(WireOut out, long sequenceNumber) {
@@ -217,6 +244,12 @@ public class CQLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     public static AckingPolicy readAckingPolicy(WireIn in) {
         return AckingPolicy.forOrdinal(in.read().int8());
     }
+    public static WireOut writeDeadline(WireOut out, long deadline) {
+        return out.write().int64(deadline);
+    }
+    public static long readDeadline(WireIn in) {
+        return in.read().int64();
+    }
     public static WireOut writeReActorId(WireOut out, ReActorId reActorId) {
         return reActorId == ReActorId.NO_REACTOR_ID
                ? out.write().int8(ReActorId.NO_REACTOR_ID_MARKER)
@@ -37,6 +37,7 @@ import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readAckin
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readPayload;
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readReActorRef;
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readReActorSystemId;
+import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readDeadline;
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readSequenceNumber;
 
 @NonNullByDefault
@@ -92,10 +93,10 @@ public class CQRemoteDriver extends RemotingDriver<CQRemoteDriverConfig> {
     public <PayloadT extends Serializable>
     DeliveryStatus sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
                                long seqNum, ReActorSystemId reActorSystemId,
-                               AckingPolicy ackingPolicy, PayloadT message) {
+                               AckingPolicy ackingPolicy, long deadline, PayloadT message) {
         return sendMessage(getLocalReActorSystem(),
                            Objects.requireNonNull(chronicle).acquireAppender(),
-                           source, destination, seqNum, ackingPolicy, message);
+                           source, destination, seqNum, ackingPolicy, deadline, message);
     }
 
     private void cqRemoteDriverMainLoop(ExcerptTailer cqTailer, ChronicleQueue chronicle) {
@@ -116,11 +117,13 @@ public class CQRemoteDriver extends RemotingDriver<CQRemoteDriverConfig> {
     private static <PayloadT extends Serializable>
     DeliveryStatus sendMessage(ReActorSystem localReActorSystem, ExcerptAppender cqAppender,
                                ReActorRef source, ReActorRef destination, long seqNum,
-                               AckingPolicy ackingPolicy, PayloadT message) {
+                               AckingPolicy ackingPolicy, long deadline, PayloadT message) {
         try {
             cqAppender.writeDocument(document -> CQLocalDriver.writeMessage(document, source, destination,
                                                                             seqNum, localReActorSystem.getLocalReActorSystemId(),
-                                                                            ackingPolicy, message));
+                                                                            ackingPolicy, deadline, message,
+                                                                            localReActorSystem.getSystemConfig()
+                                                                                              .getCodecRegistry()));
             return DeliveryStatus.SENT;
         } catch (Exception sendError) {
             localReActorSystem.logError("Error sending message {}", message.toString(),
@@ -134,6 +137,8 @@ public class CQRemoteDriver extends RemotingDriver<CQRemoteDriverConfig> {
                                                     readSequenceNumber(in),
                                                     readReActorSystemId(in),
                                                     readAckingPolicy(in),
-                                                    readPayload(in)));
+                                                    readDeadline(in),
+                                                    readPayload(in, getLocalReActorSystem().getSystemConfig()
+                                                                                           .getCodecRegistry())));
     }
 }
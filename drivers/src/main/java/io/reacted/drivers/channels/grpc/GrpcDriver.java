@@ -8,6 +8,7 @@
 
 package io.reacted.drivers.channels.grpc;
 
+import com.google.common.collect.MapMaker;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Empty;
@@ -18,39 +19,54 @@ import io.grpc.ClientInterceptor;
 import io.grpc.ForwardingClientCall;
 import io.grpc.ForwardingClientCallListener;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
 import io.grpc.Server;
 import io.grpc.Status;
-import io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.ServerChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollServerSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
 import io.grpc.services.HealthStatusManager;
+import io.grpc.stub.ClientCallStreamObserver;
 import io.grpc.stub.StreamObserver;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.reacted.core.config.ChannelId;
 import io.reacted.core.config.drivers.ChannelDriverConfig;
 import io.reacted.core.drivers.DriverCtx;
 import io.reacted.core.drivers.system.RemotingDriver;
 import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.messages.PrimitiveType;
 import io.reacted.core.messages.reactors.DeliveryStatus;
 import io.reacted.core.reactors.ReActorId;
 import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorRefInterner;
 import io.reacted.core.reactorsystem.ReActorSystem;
 import io.reacted.core.reactorsystem.ReActorSystemId;
 import io.reacted.core.reactorsystem.ReActorSystemRef;
+import io.reacted.core.runtime.TimingWheel;
+import io.reacted.core.serialization.CodecRegistry;
+import io.reacted.core.serialization.LinkDictionary;
 import io.reacted.patterns.NonNullByDefault;
 import io.reacted.patterns.ObjectUtils;
 import io.reacted.patterns.Try;
 import io.reacted.patterns.UnChecked;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
@@ -61,12 +77,15 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 @NonNullByDefault
 public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
-    private final Map<String, SystemLinkContainer<ReActedLinkProtocol.ReActedDatagram>> gatesStubs;
+    private final Map<String, SystemLinkContainer> gatesStubs;
+    /* Gate properties -> key of the peer in gatesStubs. The gate properties of a route do not change,
+       so the key is computed once per route instead of once per message */
+    private final Map<Properties, String> peerChannelKeys;
     private final ChannelId channelId;
     @Nullable
     private Server grpcServer;
@@ -78,35 +97,52 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
     private EventLoopGroup workerEventLoopGroup;
     @Nullable
     private EventLoopGroup bossEventLoopGroup;
+    /* Shared by the channels towards all the peers */
+    @Nullable
+    private EventLoopGroup clientEventLoopGroup;
+    private boolean isNativeTransport;
     private DriverCtx grpcDriverCtx = REACTOR_SYSTEM_CTX.get();
+    @Nullable
+    private CodecRegistry codecRegistry;
+    /* Wire form of the generator system of the sent messages, that is always the local reactor system */
+    @Nullable
+    private GeneratorSystem generatorSystem;
 
     public GrpcDriver(GrpcDriverConfig grpcDriverConfig) {
         super(grpcDriverConfig);
         this.gatesStubs = new ConcurrentHashMap<>(1000, 0.5f);
+        //Weak keys are compared by identity: a stale route is collected together with its gate properties
+        this.peerChannelKeys = new MapMaker().weakKeys().makeMap();
         this.channelId = ChannelId.ChannelType.GRPC.forChannelName(grpcDriverConfig.getChannelName());
     }
 
     @Override
     public void initDriverLoop(ReActorSystem localReActorSystem) {
         this.grpcDriverCtx = REACTOR_SYSTEM_CTX.get();
-        this.grpcServerExecutor = Executors.newFixedThreadPool(3, new ThreadFactoryBuilder()
+        this.codecRegistry = localReActorSystem.getSystemConfig().getCodecRegistry();
+        this.grpcServerExecutor = Executors.newFixedThreadPool(getDriverConfig().getServerExecutorThreads(), new ThreadFactoryBuilder()
                 .setUncaughtExceptionHandler((thread, throwable) -> localReActorSystem.logError("Uncaught exception in {}",
                                                                                                 thread.getName(), throwable))
                 .setNameFormat("Grpc-Server-Executor-" + grpcDriverCtx.getLocalReActorSystem().getLocalReActorSystemId()
                                                                       .getReActorSystemName() + "-%d")
                 .build());
-        this.grpcClientExecutor = Executors.newFixedThreadPool(1, new ThreadFactoryBuilder()
+        this.grpcClientExecutor = Executors.newFixedThreadPool(getDriverConfig().getClientExecutorThreads(), new ThreadFactoryBuilder()
                 .setUncaughtExceptionHandler((thread, throwable) -> localReActorSystem.logError("Uncaught exception in {}",
                                                                                                 thread.getName(), throwable))
                 .setNameFormat("Grpc-Client-Executor-" + grpcDriverCtx.getLocalReActorSystem().getLocalReActorSystemId()
                                                                       .getReActorSystemName() + "-%d")
                 .build());
         this.grpcClientExecutor.submit(() -> REACTOR_SYSTEM_CTX.set(grpcDriverCtx));
-        this.workerEventLoopGroup = new NioEventLoopGroup(2);
-        this.bossEventLoopGroup = new NioEventLoopGroup(1);
+        this.isNativeTransport = getDriverConfig().isNativeTransport() && Epoll.isAvailable();
+        this.workerEventLoopGroup = newEventLoopGroup(getDriverConfig().getWorkerThreads());
+        this.bossEventLoopGroup = newEventLoopGroup(getDriverConfig().getBossThreads());
+        this.clientEventLoopGroup = newEventLoopGroup(getDriverConfig().getWorkerThreads());
+        Class<? extends ServerChannel> serverChannelType = isNativeTransport
+                                                           ? EpollServerSocketChannel.class
+                                                           : NioServerSocketChannel.class;
         this.grpcServer = NettyServerBuilder.forAddress(new InetSocketAddress(getDriverConfig().getHostName(),
                                                                               getDriverConfig().getPort()))
-                                            .channelType(NioServerSocketChannel.class)
+                                            .channelType(serverChannelType)
                                             .executor(grpcServerExecutor)
                                             .bossEventLoopGroup(bossEventLoopGroup)
                                             .workerEventLoopGroup(workerEventLoopGroup)
@@ -122,6 +158,9 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
         Objects.requireNonNull(grpcServer).shutdown();
         Try.of(() -> grpcServer.awaitTermination(5, TimeUnit.SECONDS))
            .ifError(error -> Thread.currentThread().interrupt());
+        gatesStubs.values().stream()
+                  .flatMap(linkContainer -> Arrays.stream(linkContainer.stripes()))
+                  .forEach(linkStripe -> Try.ofRunnable(linkStripe.link()::flush));
         gatesStubs.values()
                   .forEach(linkContainer -> Try.of(() -> linkContainer.channel.shutdown()
                                                                               .awaitTermination(5, TimeUnit.SECONDS))
@@ -132,6 +171,9 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
         if (workerEventLoopGroup != null) {
             workerEventLoopGroup.shutdownGracefully();
         }
+        if (clientEventLoopGroup != null) {
+            clientEventLoopGroup.shutdownGracefully();
+        }
         if (grpcServerExecutor != null) {
             grpcServerExecutor.shutdown();
         }
@@ -154,9 +196,9 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
     public <PayloadT extends Serializable>
     DeliveryStatus sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
                                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy,
-                               PayloadT payload) {
+                               long deadline, PayloadT payload) {
         Properties dstChannelIdProperties = destination.getReActorSystemRef().getGateProperties();
-        String dstChannelIdName = dstChannelIdProperties.getProperty(ChannelDriverConfig.CHANNEL_ID_PROPERTY_NAME);
+        String peerChannelKey = peerChannelKeys.get(dstChannelIdProperties);
         /*
             Fact 1: GRPC links are not bidirectional.
             Fact 2: Every couple Channel Type - Channel Name (Aka channel id) has a dedicated driver instance.
@@ -199,32 +241,46 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
             the channel name are still valid, but the properties are missing. Without the properties there is not much
             that can be done except returning an error
          */
-        if (dstChannelIdName == null) {
-            getLocalReActorSystem().logDebug("Not sending message. Destination channel is no longer available for message {}",
-                                             payload.toString());
-            return DeliveryStatus.NOT_SENT;
+        if (peerChannelKey == null) {
+            if (dstChannelIdProperties.getProperty(ChannelDriverConfig.CHANNEL_ID_PROPERTY_NAME) == null) {
+                getLocalReActorSystem().logDebug("Not sending message. Destination channel is no longer available for message {}",
+                                                 payload.toString());
+                return DeliveryStatus.NOT_SENT;
+            }
+            peerChannelKey = getChannelPeerKey(dstChannelIdProperties.getProperty(GrpcDriverConfig.GRPC_HOST),
+                                               dstChannelIdProperties.getProperty(GrpcDriverConfig.GRPC_PORT));
+            peerChannelKeys.put(dstChannelIdProperties, peerChannelKey);
         }
 
-        SystemLinkContainer<ReActedLinkProtocol.ReActedDatagram> grpcLink;
-        var peerChannelKey = getChannelPeerKey(dstChannelIdProperties.getProperty(GrpcDriverConfig.GRPC_HOST),
-                                               dstChannelIdProperties.getProperty(GrpcDriverConfig.GRPC_PORT));
-        grpcLink = gatesStubs.computeIfAbsent(peerChannelKey,
-                                              newPeerChannelKey -> SystemLinkContainer.ofChannel(getNewChannel(dstChannelIdProperties,
-                                                                                                               Objects.requireNonNull(grpcClientExecutor),
-                                                                                                               () -> removeStaleChannel(newPeerChannelKey)),
-                                                                                                 ReActedLinkGrpc::newStub,
-                                                                                                 stub -> stub.link(getEmptyMessageHandler(getLocalReActorSystem()))));
-
-        try(ByteArrayOutputStream byteArray = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(byteArray)) {
-            oos.writeObject(payload);
-            var datagram = toReActedDatagram(source, destination, seqNum, reActorSystemId,
-                                             ackingPolicy, ByteString.copyFrom(byteArray.toByteArray()));
+        var grpcLink = gatesStubs.get(peerChannelKey);
+        if (grpcLink == null) {
+            grpcLink = gatesStubs.computeIfAbsent(peerChannelKey,
+                                                  newPeerChannelKey -> newLink(newPeerChannelKey, dstChannelIdProperties));
+        }
+
+        //All the messages for the same destination go through the same stream, so they keep their order
+        var linkStripe = grpcLink.getStripe(destination, isControlPlaneMessage(payload));
+        ReActedLinkProtocol.ReActedDatagram.Builder datagram;
+        try {
+            //The payload is encoded before taking the stripe lock, so the senders of a stripe encode in parallel
+            datagram = newReActedDatagram(seqNum, toGeneratorSystem(reActorSystemId), ackingPolicy, deadline,
+                                          payload, Objects.requireNonNull(codecRegistry));
+        } catch (Exception encodingError) {
+            //Only this message is affected, the link is still fine
+            getLocalReActorSystem().logError("Error encoding message {}", payload.toString(), encodingError);
+            return DeliveryStatus.NOT_SENT;
+        }
+        try {
+            boolean isLinkReady;
             //noinspection SynchronizationOnLocalVariableOrMethodParameter
-            synchronized (grpcLink) {
-                grpcLink.link.onNext(datagram);
+            synchronized (linkStripe) {
+                //The link dictionary must be updated in the same order the datagrams are sent
+                setReActorRefs(datagram, source, destination, linkStripe.refs());
+                isLinkReady = linkStripe.link.send(datagram.build());
             }
-            return DeliveryStatus.SENT;
+            /* The message has been queued anyway: grpc flow control is telling that the peer is not keeping up
+               and what is sent from now on is going to be buffered in memory */
+            return isLinkReady ? DeliveryStatus.SENT : DeliveryStatus.BACKPRESSURE_REQUIRED;
 
         } catch (Exception error) {
             removeStaleChannel(peerChannelKey);
@@ -240,22 +296,87 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
         ObjectUtils.ifNotNull(this.gatesStubs.remove(peerChannelKey),
                               linkContainer -> linkContainer.channel.shutdownNow());
     }
+    private SystemLinkContainer newLink(String peerChannelKey, Properties peerChannelProperties) {
+        var channel = getNewChannel(peerChannelProperties, Objects.requireNonNull(grpcClientExecutor),
+                                    Objects.requireNonNull(clientEventLoopGroup), isNativeTransport,
+                                    () -> removeStaleChannel(peerChannelKey));
+        var stub = ReActedLinkGrpc.newStub(channel);
+        var onResponse = getEmptyMessageHandler(getLocalReActorSystem());
+        //Every stripe is a stream of the same channel, so they share the connection towards the peer
+        var stripes = new LinkStripe[getDriverConfig().getStreamsPerPeer()];
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            DatagramLink link = getDriverConfig().getMaxBatchSize() == 1
+                                ? newDirectLink(stub.link(onResponse))
+                                : new BatchingLink(stub.linkBatch(onResponse), getDriverConfig().getMaxBatchSize(),
+                                                   getBatchFlushExecutor(),
+                                                   flushError -> {
+                                                       removeStaleChannel(peerChannelKey);
+                                                       getLocalReActorSystem().logError("Error sending messages batch",
+                                                                                        flushError);
+                                                   });
+            stripes[stripe] = newLinkStripe(link);
+        }
+        //Control messages are few and small: they are sent as soon as they arrive
+        var controlStripe = getDriverConfig().isControlStream()
+                            ? newLinkStripe(newDirectLink(stub.link(onResponse)))
+                            : null;
+        return new SystemLinkContainer(channel, stripes, controlStripe);
+    }
+    private LinkStripe newLinkStripe(DatagramLink link) {
+        return new LinkStripe(link,
+                              getDriverConfig().getRefDictionarySize() == 0
+                              ? null
+                              : new LinkDictionary.Encoder<>(getDriverConfig().getRefDictionarySize()));
+    }
+    private static DatagramLink newDirectLink(StreamObserver<ReActedLinkProtocol.ReActedDatagram> link) {
+        //The observers returned by the async stubs are always client call observers
+        var clientLink = (ClientCallStreamObserver<ReActedLinkProtocol.ReActedDatagram>) link;
+        return datagram -> {
+            clientLink.onNext(datagram);
+            return clientLink.isReady();
+        };
+    }
+    private EventLoopGroup newEventLoopGroup(int threads) {
+        return isNativeTransport ? new EpollEventLoopGroup(threads) : new NioEventLoopGroup(threads);
+    }
+    /* Runs the flush of a pending batch once its linger time is over */
+    private Executor getBatchFlushExecutor() {
+        Executor flushExecutor = Objects.requireNonNull(grpcClientExecutor);
+        Duration maxLinger = getDriverConfig().getMaxLinger();
+        if (maxLinger.isZero()) {
+            return flushExecutor;
+        }
+        TimingWheel systemTimer = getLocalReActorSystem().getSystemTimer();
+        //A flush scheduled while the driver is stopping finds the executor terminated
+        return flush -> systemTimer.schedule(() -> Try.ofRunnable(() -> flushExecutor.execute(flush)), maxLinger);
+    }
     private static ManagedChannel getNewChannel(Properties channelIdProperties, Executor grpcExecutor,
+                                                EventLoopGroup eventLoopGroup, boolean isNativeTransport,
                                                 Runnable onCloseCleanup) {
         int port = Integer.parseInt(channelIdProperties.getProperty(GrpcDriverConfig.GRPC_PORT));
         String host = channelIdProperties.getProperty(GrpcDriverConfig.GRPC_HOST);
-        return ManagedChannelBuilder.forAddress(host, port)
-                                    .keepAliveTime(6, TimeUnit.MINUTES)
-                                    .keepAliveWithoutCalls(true)
-                                    .enableRetry()
-                                    .usePlaintext()
-                                    .executor(grpcExecutor)
-                                    .intercept(newStreamClosureDetector(onCloseCleanup))
-                                    .build();
+        return NettyChannelBuilder.forAddress(host, port)
+                                  .eventLoopGroup(eventLoopGroup)
+                                  .channelType(isNativeTransport ? EpollSocketChannel.class : NioSocketChannel.class)
+                                  .keepAliveTime(6, TimeUnit.MINUTES)
+                                  .keepAliveWithoutCalls(true)
+                                  .enableRetry()
+                                  .usePlaintext()
+                                  .executor(grpcExecutor)
+                                  .intercept(newStreamClosureDetector(onCloseCleanup))
+                                  .build();
     }
     private static String getChannelPeerKey(String peerHostname, String peerPort) {
         return peerHostname + "|" + peerPort;
     }
+    private ReActedLinkProtocol.ReActorSystemId toGeneratorSystem(ReActorSystemId reActorSystemId) {
+        var generator = this.generatorSystem;
+        if (generator == null || generator.reActorSystemId() != reActorSystemId) {
+            generator = new GeneratorSystem(reActorSystemId, toReActorSystemId(reActorSystemId));
+            this.generatorSystem = generator;
+        }
+        return generator.wireReActorSystemId();
+    }
     private static class GrpcServer extends ReActedLinkGrpc.ReActedLinkImplBase {
         private final GrpcDriver thisDriver;
 
@@ -264,34 +385,80 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
         }
         @Override
         public StreamObserver<ReActedLinkProtocol.ReActedDatagram> link(StreamObserver<Empty> responseObserver) {
+            return new DatagramReceiver(thisDriver);
+        }
+        @Override
+        public StreamObserver<ReActedLinkProtocol.ReActedDatagramBatch>
+        linkBatch(StreamObserver<Empty> responseObserver) {
+            var datagramReceiver = new DatagramReceiver(thisDriver);
             return new StreamObserver<>() {
                 @Override
-                public void onNext(ReActedLinkProtocol.ReActedDatagram reActedDatagram) {
-                    try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(reActedDatagram.getBinaryPayload().toByteArray());
-                         ObjectInputStream msgSource = new ObjectInputStream(byteArrayInputStream)) {
-                        thisDriver.offerMessage(fromReActorRef(reActedDatagram.getSource(), thisDriver.grpcDriverCtx),
-                                                fromReActorRef(reActedDatagram.getDestination(), thisDriver.grpcDriverCtx),
-                                                reActedDatagram.getSequenceNumber(),
-                                                fromReActorSystemId(reActedDatagram.getGeneratorSystem()),
-                                                AckingPolicy.forOrdinal(reActedDatagram.getAckingPolicyOrdinal()),
-                                                (Serializable)msgSource.readObject());
-                    } catch (Exception deserializationError) {
-                        thisDriver.getLocalReActorSystem()
-                                  .logError("Error decoding message", deserializationError);
+                public void onNext(ReActedLinkProtocol.ReActedDatagramBatch datagramBatch) {
+                    for (int datagram = 0; datagram < datagramBatch.getDatagramsCount(); datagram++) {
+                        datagramReceiver.onNext(datagramBatch.getDatagrams(datagram));
                     }
                 }
 
                 @Override
-                public void onError(Throwable throwable) {
-                    thisDriver.getLocalReActorSystem()
-                              .logError(GrpcDriver.class.getSimpleName() + " grpc error:", throwable);
-                }
+                public void onError(Throwable throwable) { datagramReceiver.onError(throwable); }
 
                 @Override
-                public void onCompleted() { }
+                public void onCompleted() { datagramReceiver.onCompleted(); }
             };
         }
     }
+    private static class DatagramReceiver implements StreamObserver<ReActedLinkProtocol.ReActedDatagram> {
+        private final GrpcDriver thisDriver;
+        //A new stream is a new link, so it starts with an empty dictionary
+        private final LinkDictionary.Decoder<ReceivedReActorRef> refs;
+        //All the datagrams of a stream usually come from the same reactor system
+        @Nullable
+        private ReActedLinkProtocol.ReActorSystemId lastGeneratorSystem;
+        private ReActorSystemId lastGeneratorSystemId = ReActorSystemId.NO_REACTORSYSTEM_ID;
+
+        private DatagramReceiver(GrpcDriver thisDriver) {
+            this.thisDriver = thisDriver;
+            this.refs = new LinkDictionary.Decoder<>(thisDriver.getDriverConfig().getRefDictionarySize());
+        }
+
+        @Override
+        public void onNext(ReActedLinkProtocol.ReActedDatagram reActedDatagram) {
+            try {
+                var source = resolveReActorRef(reActedDatagram.hasSource(), reActedDatagram.getSource(),
+                                               reActedDatagram.getSourceHandle(), refs);
+                var destination = resolveReActorRef(reActedDatagram.hasDestination(),
+                                                    reActedDatagram.getDestination(),
+                                                    reActedDatagram.getDestinationHandle(), refs);
+                thisDriver.offerMessage(source.toReActorRef(thisDriver.grpcDriverCtx),
+                                        destination.toReActorRef(thisDriver.grpcDriverCtx),
+                                        reActedDatagram.getSequenceNumber(),
+                                        fromGeneratorSystem(reActedDatagram.getGeneratorSystem()),
+                                        AckingPolicy.forOrdinal(reActedDatagram.getAckingPolicyOrdinal()),
+                                        fromDeadline(reActedDatagram.getDeadline()),
+                                        fromPayload(reActedDatagram, Objects.requireNonNull(thisDriver.codecRegistry)));
+            } catch (Exception deserializationError) {
+                thisDriver.getLocalReActorSystem()
+                          .logError("Error decoding message", deserializationError);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            thisDriver.getLocalReActorSystem()
+                      .logError(GrpcDriver.class.getSimpleName() + " grpc error:", throwable);
+        }
+
+        @Override
+        public void onCompleted() { }
+
+        private ReActorSystemId fromGeneratorSystem(ReActedLinkProtocol.ReActorSystemId generatorSystem) {
+            if (!generatorSystem.equals(lastGeneratorSystem)) {
+                this.lastGeneratorSystemId = fromReActorSystemId(generatorSystem);
+                this.lastGeneratorSystem = generatorSystem;
+            }
+            return lastGeneratorSystemId;
+        }
+    }
     private static ClientInterceptor newStreamClosureDetector(Runnable onStreamClosed) {
         return new ClientInterceptor() {
             @Override
@@ -328,35 +495,214 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
         };
     }
 
-    private record SystemLinkContainer<InputTypeT>(ManagedChannel channel, StreamObserver<InputTypeT> link) {
-        private static <StubT, InputTypeT>
-            SystemLinkContainer<InputTypeT> ofChannel(ManagedChannel channel, Function<ManagedChannel, StubT> toStub,
-                                                      Function<StubT, StreamObserver<InputTypeT>> toLink) {
-                return new SystemLinkContainer<>(channel, toLink.apply(toStub.apply(channel)));
+    /* controlStripe is null if the control stream is disabled */
+    private record SystemLinkContainer(ManagedChannel channel, LinkStripe[] stripes,
+                                       @Nullable LinkStripe controlStripe) {
+        private LinkStripe getStripe(ReActorRef destination, boolean isControlMessage) {
+            if (isControlMessage && controlStripe != null) {
+                return controlStripe;
             }
+            return stripes[(destination.hashCode() & Integer.MAX_VALUE) % stripes.length];
+        }
     }
 
-    private static ReActedLinkProtocol.ReActedDatagram toReActedDatagram(ReActorRef source, ReActorRef destination,
-                                                                         long seqNum,
-                                                                         ReActorSystemId localReActorSystemId,
-                                                                         AckingPolicy ackingPolicy,
-                                                                         ByteString payload) {
-        return ReActedLinkProtocol.ReActedDatagram.newBuilder()
-                .setSource(toReActorRef(source))
-                .setDestination(toReActorRef(destination))
-                .setGeneratorSystem(toReActorSystemId(localReActorSystemId))
-                .setSequenceNumber(seqNum)
-                .setAckingPolicyOrdinal(ackingPolicy.ordinal())
-                .setBinaryPayload(payload)
-                .build();
+    /* A stream towards a peer. Every stream has its own link dictionary, because the receiver decodes every
+       stream independently. refs is null if the link dictionary is disabled and it is guarded by the stripe
+       lock */
+    private record LinkStripe(DatagramLink link, @Nullable LinkDictionary.Encoder<ReActorRef> refs) { }
+
+    @FunctionalInterface
+    private interface DatagramLink {
+        /* Datagrams must be sent in the order of the link dictionary updates, so with the stripe lock held.
+           Returns false if the stream cannot take more data without buffering it */
+        boolean send(ReActedLinkProtocol.ReActedDatagram datagram);
+
+        /* Sends what has not been sent yet */
+        default void flush() { }
     }
-    private static ReActorRef fromReActorRef(ReActedLinkProtocol.ReActorRef reActorRef,
-                                             DriverCtx driverCtx) {
-        if (reActorRef == reActorRef.getDefaultInstanceForType()) {
-            return ReActorRef.NO_REACTOR_REF;
+
+    /* Accumulates the datagrams of a link in a batch, that is sent when full or when a flush runs on the
+       flush executor. A flush is requested every time a new batch is started */
+    private static final class BatchingLink implements DatagramLink {
+        private final ClientCallStreamObserver<ReActedLinkProtocol.ReActedDatagramBatch> link;
+        private final int maxBatchSize;
+        private final Executor flushExecutor;
+        private final Consumer<Exception> onFlushError;
+        private final ReActedLinkProtocol.ReActedDatagramBatch.Builder pending;
+
+        private BatchingLink(StreamObserver<ReActedLinkProtocol.ReActedDatagramBatch> link, int maxBatchSize,
+                             Executor flushExecutor, Consumer<Exception> onFlushError) {
+            this.link = (ClientCallStreamObserver<ReActedLinkProtocol.ReActedDatagramBatch>) link;
+            this.maxBatchSize = maxBatchSize;
+            this.flushExecutor = flushExecutor;
+            this.onFlushError = onFlushError;
+            this.pending = ReActedLinkProtocol.ReActedDatagramBatch.newBuilder();
         }
-        return new ReActorRef(fromReActorId(reActorRef.getReActorId()),
-                              fromReActorSystemRef(reActorRef.getReActorSystemRef(), driverCtx));
+
+        @Override
+        public synchronized boolean send(ReActedLinkProtocol.ReActedDatagram datagram) {
+            pending.addDatagrams(datagram);
+            int batchSize = pending.getDatagramsCount();
+            if (batchSize == maxBatchSize) {
+                flush();
+            } else if (batchSize == 1) {
+                flushExecutor.execute(this::flushPending);
+            }
+            return link.isReady();
+        }
+
+        private void flushPending() {
+            try {
+                flush();
+            } catch (Exception flushError) {
+                onFlushError.accept(flushError);
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (pending.getDatagramsCount() == 0) {
+                return;
+            }
+            try {
+                link.onNext(pending.build());
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    /* Encoding buffer reused by all the payloads sent by a thread. A datagram can be retained by grpc for
+       retrying it after it has been sent, so the payload is copied once out of the buffer with its exact size */
+    private static final class PayloadBuffer extends ByteArrayOutputStream {
+        private static final ThreadLocal<PayloadBuffer> THREAD_BUFFER = ThreadLocal.withInitial(PayloadBuffer::new);
+        private static final int INITIAL_SIZE = 512;
+        /* A buffer grown beyond this size by a large payload is not kept for the next ones */
+        private static final int MAX_RETAINED_SIZE = 64 * 1024;
+        private final DataOutputStream out = new DataOutputStream(this);
+
+        private PayloadBuffer() { super(INITIAL_SIZE); }
+
+        private ByteString encode(Serializable payload, CodecRegistry codecRegistry) throws IOException {
+            try {
+                codecRegistry.encode(payload, out);
+                return ByteString.copyFrom(buf, 0, count);
+            } finally {
+                reset();
+                if (buf.length > MAX_RETAINED_SIZE) {
+                    buf = new byte[INITIAL_SIZE];
+                }
+            }
+        }
+    }
+
+    private record GeneratorSystem(ReActorSystemId reActorSystemId,
+                                   ReActedLinkProtocol.ReActorSystemId wireReActorSystemId) { }
+
+    /* A reference as received from the wire. The gate is bound when a message is received, because
+       a route may change while a reference is in the link dictionary */
+    private record ReceivedReActorRef(ReActedLinkProtocol.ReActorId reActorId, ReActorSystemId reActorSystemId,
+                                      ChannelId sourceChannelId) {
+        private static final ReceivedReActorRef NO_REACTOR_REF = new ReceivedReActorRef(ReActedLinkProtocol.ReActorId.getDefaultInstance(),
+                                                                                          ReActorSystemId.NO_REACTORSYSTEM_ID,
+                                                                                          ChannelId.INVALID_CHANNEL_ID);
+
+        private static ReceivedReActorRef of(ReActedLinkProtocol.ReActorRef reActorRef) {
+            if (reActorRef == reActorRef.getDefaultInstanceForType()) {
+                return NO_REACTOR_REF;
+            }
+            var reActorSystemRef = reActorRef.getReActorSystemRef();
+            return new ReceivedReActorRef(reActorRef.getReActorId(),
+                                          fromReActorSystemId(reActorSystemRef.getReActorSystemId()),
+                                          fromChannelId(reActorSystemRef.getSourceChannelId()));
+        }
+
+        private ReActorRef toReActorRef(DriverCtx driverCtx) {
+            if (this == NO_REACTOR_REF) {
+                return ReActorRef.NO_REACTOR_REF;
+            }
+            var reActorSystemRef = ReActorRefInterner.toReActorSystemRef(reActorSystemId, sourceChannelId, driverCtx);
+            if (reActorId.getDefaultInstanceForType().equals(reActorId)) {
+                return new ReActorRef(ReActorId.NO_REACTOR_ID, reActorSystemRef);
+            }
+            return ReActorRefInterner.toReActorRef(reActorId.getUuid().getMostSignificantBits(),
+                                                   reActorId.getUuid().getLeastSignificantBits(),
+                                                   reActorId.getReactorName(), reActorSystemRef, driverCtx);
+        }
+    }
+
+    private static ReActedLinkProtocol.ReActedDatagram.Builder
+    newReActedDatagram(long seqNum, ReActedLinkProtocol.ReActorSystemId generatorSystem, AckingPolicy ackingPolicy,
+                       long deadline, Serializable payload, CodecRegistry codecRegistry) throws IOException {
+        var datagram = ReActedLinkProtocol.ReActedDatagram.newBuilder()
+                                                          .setGeneratorSystem(generatorSystem)
+                                                          .setSequenceNumber(seqNum)
+                                                          .setAckingPolicyOrdinal(ackingPolicy.ordinal())
+                                                          .setDeadline(toDeadline(deadline));
+        PrimitiveType primitiveType = PrimitiveType.ofBoxed(payload);
+        if (primitiveType != null) {
+            //8 bytes on the wire instead of a whole java serialization stream
+            return datagram.setPrimitiveTypeMarker(primitiveType.ordinal() + 1)
+                           .setPrimitivePayload(PrimitiveType.toBits(payload));
+        }
+        return datagram.setBinaryPayload(PayloadBuffer.THREAD_BUFFER.get().encode(payload, codecRegistry));
+    }
+    /* refs is the link dictionary of the stripe the datagram is sent on, so it has to be called with the stripe
+       lock held */
+    private static void setReActorRefs(ReActedLinkProtocol.ReActedDatagram.Builder datagram, ReActorRef source,
+                                       ReActorRef destination, @Nullable LinkDictionary.Encoder<ReActorRef> refs) {
+        if (refs == null) {
+            datagram.setSource(toReActorRef(source))
+                    .setDestination(toReActorRef(destination));
+            return;
+        }
+        int sourceHandle = refs.lookup(source);
+        if (sourceHandle == LinkDictionary.NO_HANDLE) {
+            sourceHandle = refs.define(source);
+            datagram.setSource(toReActorRef(source));
+        }
+        int destinationHandle = refs.lookup(destination);
+        if (destinationHandle == LinkDictionary.NO_HANDLE) {
+            destinationHandle = refs.define(destination);
+            datagram.setDestination(toReActorRef(destination));
+        }
+        datagram.setSourceHandle(sourceHandle)
+                .setDestinationHandle(destinationHandle);
+    }
+    private static Serializable fromPayload(ReActedLinkProtocol.ReActedDatagram reActedDatagram,
+                                            CodecRegistry codecRegistry) throws IOException {
+        if (reActedDatagram.getPrimitiveTypeMarker() != 0) {
+            return PrimitiveType.forOrdinal(reActedDatagram.getPrimitiveTypeMarker() - 1)
+                                .box(reActedDatagram.getPrimitivePayload());
+        }
+        //The received bytes are read in place, without copying them out of the datagram
+        try (DataInputStream in = new DataInputStream(reActedDatagram.getBinaryPayload().newInput())) {
+            return codecRegistry.decode(in);
+        }
+    }
+    private static ReceivedReActorRef resolveReActorRef(boolean isReActorRefSent,
+                                                        ReActedLinkProtocol.ReActorRef reActorRef, int handle,
+                                                        LinkDictionary.Decoder<ReceivedReActorRef> refs) {
+        if (handle == LinkDictionary.NO_HANDLE) {
+            return ReceivedReActorRef.of(reActorRef);
+        }
+        if (isReActorRefSent) {
+            var receivedReActorRef = ReceivedReActorRef.of(reActorRef);
+            refs.define(handle, receivedReActorRef);
+            return receivedReActorRef;
+        }
+        var knownReActorRef = refs.resolve(handle);
+        if (knownReActorRef == null) {
+            throw new IllegalStateException("Undefined reactor reference handle " + handle);
+        }
+        return knownReActorRef;
+    }
+    private static long toDeadline(long deadline) {
+        //Protobuf default value is the cheapest to transmit and it's what an older peer would send
+        return deadline == Message.NO_DEADLINE ? 0 : deadline;
+    }
+    private static long fromDeadline(long deadline) {
+        return deadline == 0 ? Message.NO_DEADLINE : deadline;
     }
     private static ReActedLinkProtocol.ReActorRef toReActorRef(ReActorRef reActorRef) {
         if (reActorRef == ReActorRef.NO_REACTOR_REF) {
@@ -367,14 +713,6 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
                                              .setReActorId(toReActorId(reActorRef.getReActorId()))
                                              .build();
     }
-    private static ReActorSystemRef fromReActorSystemRef(ReActedLinkProtocol.ReActorSystemRef reActorSystemRef,
-                                                         DriverCtx ctx) {
-        ReActorSystemRef newReActorSystemRef = new ReActorSystemRef();
-        ReActorSystemId reActorSystemId = fromReActorSystemId(reActorSystemRef.getReActorSystemId());
-        ChannelId channelId = fromChannelId(reActorSystemRef.getSourceChannelId());
-        ReActorSystemRef.setGateForReActorSystem(newReActorSystemRef, reActorSystemId, channelId, ctx);
-        return newReActorSystemRef;
-    }
     private static ReActedLinkProtocol.ReActorSystemRef toReActorSystemRef(ReActorSystemRef reActorSystemRef) {
         return ReActedLinkProtocol.ReActorSystemRef.newBuilder()
                 .setReActorSystemId(toReActorSystemId(reActorSystemRef.getReActorSystemId()))
@@ -404,15 +742,6 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
                 .setChannelName(channelId.getChannelName())
                 .build();
     }
-    private static ReActorId fromReActorId(ReActedLinkProtocol.ReActorId reActorId) {
-        if (reActorId.getDefaultInstanceForType().equals(reActorId)) {
-            return ReActorId.NO_REACTOR_ID;
-        }
-        var uuid = fromUUID(reActorId.getUuid());
-        return new ReActorId().setReActorName(reActorId.getReactorName())
-                              .setReActorUUID(uuid)
-                              .setHashCode(Objects.hash(uuid, reActorId.getReactorName()));
-    }
     private static ReActedLinkProtocol.ReActorId toReActorId(ReActorId reActorId) {
         return reActorId == ReActorId.NO_REACTOR_ID
                ? ReActedLinkProtocol.ReActorId.getDefaultInstance()
@@ -421,12 +750,6 @@ public class GrpcDriver extends RemotingDriver<GrpcDriverConfig> {
                        .setUuid(toUUID(reActorId.getReActorUUID()))
                        .build();
     }
-    private static UUID fromUUID(ReActedLinkProtocol.UUID uuid) {
-        return ReActorId.NO_REACTOR_ID_UUID.getLeastSignificantBits() == uuid.getLeastSignificantBits() &&
-               ReActorId.NO_REACTOR_ID_UUID.getMostSignificantBits() == uuid.getMostSignificantBits()
-               ? ReActorId.NO_REACTOR_ID_UUID
-               : new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
-    }
     private static ReActedLinkProtocol.UUID toUUID(UUID uuid) {
         return ReActedLinkProtocol.UUID.newBuilder()
                 .setLeastSignificantBits(uuid.getLeastSignificantBits())
@@ -12,6 +12,7 @@ import io.reacted.core.config.drivers.ChannelDriverConfig;
 import io.reacted.patterns.ObjectUtils;
 import io.reacted.patterns.NonNullByDefault;
 
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -19,21 +20,85 @@ import java.util.Properties;
 public class GrpcDriverConfig extends ChannelDriverConfig<GrpcDriverConfig.Builder, GrpcDriverConfig> {
     public static final String GRPC_PORT = "port";
     public static final String GRPC_HOST = "hostName";
+    /* The defaults keep the wire behaviour of the previous versions, a single stream of unbatched datagrams
+       carrying full references, so every peer understands them. Enable the dictionaries and the batches once
+       all the peers run a version that supports them */
+    public static final int DEFAULT_REF_DICTIONARY_SIZE = 0;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1;
+    public static final int MAX_BATCH_SIZE = 65536;
+    public static final Duration DEFAULT_MAX_LINGER = Duration.ZERO;
+    public static final int DEFAULT_STREAMS_PER_PEER = 1;
+    public static final int MAX_STREAMS_PER_PEER = 256;
+    public static final int DEFAULT_BOSS_THREADS = 1;
+    public static final int DEFAULT_WORKER_THREADS = 2;
+    public static final int DEFAULT_SERVER_EXECUTOR_THREADS = 3;
+    public static final int DEFAULT_CLIENT_EXECUTOR_THREADS = 1;
+    public static final int MAX_THREADS = 1024;
 
     private final String hostName;
     private final int port;
+    private final int refDictionarySize;
+    private final int maxBatchSize;
+    private final Duration maxLinger;
+    private final int streamsPerPeer;
+    private final int bossThreads;
+    private final int workerThreads;
+    private final int serverExecutorThreads;
+    private final int clientExecutorThreads;
+    private final boolean nativeTransport;
+    private final boolean controlStream;
 
     private GrpcDriverConfig(Builder builder) {
         super(builder);
         this.port = ObjectUtils.requiredInRange(builder.port, 1, 65535, IllegalArgumentException::new);
         this.hostName = Objects.requireNonNull(builder.hostName,
                                                "Bind address/hostname cannot be null");
+        this.refDictionarySize = ObjectUtils.requiredInRange(builder.refDictionarySize, 0, Integer.MAX_VALUE - 1,
+                                                             IllegalArgumentException::new);
+        this.maxBatchSize = ObjectUtils.requiredInRange(builder.maxBatchSize, 1, MAX_BATCH_SIZE,
+                                                        IllegalArgumentException::new);
+        this.maxLinger = ObjectUtils.requiredCondition(Objects.requireNonNull(builder.maxLinger,
+                                                                              "Max linger cannot be null"),
+                                                       linger -> !linger.isNegative(),
+                                                       () -> new IllegalArgumentException("Max linger cannot be negative"));
+        this.streamsPerPeer = ObjectUtils.requiredInRange(builder.streamsPerPeer, 1, MAX_STREAMS_PER_PEER,
+                                                          IllegalArgumentException::new);
+        this.bossThreads = ObjectUtils.requiredInRange(builder.bossThreads, 1, MAX_THREADS,
+                                                       IllegalArgumentException::new);
+        this.workerThreads = ObjectUtils.requiredInRange(builder.workerThreads, 1, MAX_THREADS,
+                                                         IllegalArgumentException::new);
+        this.serverExecutorThreads = ObjectUtils.requiredInRange(builder.serverExecutorThreads, 1, MAX_THREADS,
+                                                                 IllegalArgumentException::new);
+        this.clientExecutorThreads = ObjectUtils.requiredInRange(builder.clientExecutorThreads, 1, MAX_THREADS,
+                                                                 IllegalArgumentException::new);
+        this.nativeTransport = builder.nativeTransport;
+        this.controlStream = builder.controlStream;
     }
 
     public int getPort() { return port; }
 
     public String getHostName() { return hostName; }
 
+    public int getRefDictionarySize() { return refDictionarySize; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+
+    public Duration getMaxLinger() { return maxLinger; }
+
+    public int getStreamsPerPeer() { return streamsPerPeer; }
+
+    public int getBossThreads() { return bossThreads; }
+
+    public int getWorkerThreads() { return workerThreads; }
+
+    public int getServerExecutorThreads() { return serverExecutorThreads; }
+
+    public int getClientExecutorThreads() { return clientExecutorThreads; }
+
+    public boolean isNativeTransport() { return nativeTransport; }
+
+    public boolean isControlStream() { return controlStream; }
+
     public static Builder newBuilder() { return new Builder(); }
 
     @Override
@@ -48,6 +113,16 @@ public class GrpcDriverConfig extends ChannelDriverConfig<GrpcDriverConfig.Build
         @SuppressWarnings("NotNullFieldNotInitialized")
         private String hostName;
         private int port;
+        private int refDictionarySize = DEFAULT_REF_DICTIONARY_SIZE;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private Duration maxLinger = DEFAULT_MAX_LINGER;
+        private int streamsPerPeer = DEFAULT_STREAMS_PER_PEER;
+        private int bossThreads = DEFAULT_BOSS_THREADS;
+        private int workerThreads = DEFAULT_WORKER_THREADS;
+        private int serverExecutorThreads = DEFAULT_SERVER_EXECUTOR_THREADS;
+        private int clientExecutorThreads = DEFAULT_CLIENT_EXECUTOR_THREADS;
+        private boolean nativeTransport = true;
+        private boolean controlStream = false;
 
         private Builder() { }
 
@@ -61,6 +136,131 @@ public class GrpcDriverConfig extends ChannelDriverConfig<GrpcDriverConfig.Build
             return this;
         }
 
+        /**
+         * Every link towards a peer sends a sender or destination reference in full only the first time,
+         * afterwards it sends a handle for it. This is the number of references remembered by every link.
+         * All the peers must run a version that understands the handles and use the same size: the handles
+         * beyond the size configured on the receiving side are rejected
+         *
+         * @param refDictionarySize maximum number of references per link. 0 disables the compression.
+         *                          Default: {@link GrpcDriverConfig#DEFAULT_REF_DICTIONARY_SIZE}
+         * @return this builder
+         */
+        public final Builder setRefDictionarySize(int refDictionarySize) {
+            this.refDictionarySize = refDictionarySize;
+            return this;
+        }
+
+        /**
+         * The messages towards a peer are sent in batches: a message is added to the pending batch of the link
+         * and the batch is sent when it is full or when its linger time is over.
+         * All the peers must run a version that understands the batches
+         *
+         * @param maxBatchSize maximum number of messages sent within a single frame. Range [1, {@link #MAX_BATCH_SIZE}].
+         *                     1 disables the batching and every message is sent on its own.
+         *                     Default: {@link GrpcDriverConfig#DEFAULT_MAX_BATCH_SIZE}
+         * @return this builder
+         */
+        public final Builder setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * @param maxLinger how long a batch that is not full waits for other messages before being sent.
+         *                  With {@link Duration#ZERO} a batch is sent as soon as the link can send it, so it
+         *                  contains only the messages produced while the previous one was being sent.
+         *                  Non negative.
+         *                  Default: {@link GrpcDriverConfig#DEFAULT_MAX_LINGER}
+         * @return this builder
+         */
+        public final Builder setMaxLinger(Duration maxLinger) {
+            this.maxLinger = maxLinger;
+            return this;
+        }
+
+        /**
+         * Every peer is reached through multiple parallel streams. All the messages towards the same reactor
+         * are sent on the same stream, so they keep their order
+         *
+         * @param streamsPerPeer number of streams opened towards every peer. Range [1, {@link #MAX_STREAMS_PER_PEER}]
+         *                       Default: {@link GrpcDriverConfig#DEFAULT_STREAMS_PER_PEER}
+         * @return this builder
+         */
+        public final Builder setStreamsPerPeer(int streamsPerPeer) {
+            this.streamsPerPeer = streamsPerPeer;
+            return this;
+        }
+
+        /**
+         * @param bossThreads threads accepting the incoming connections. Range [1, {@link #MAX_THREADS}]
+         *                    Default: {@link GrpcDriverConfig#DEFAULT_BOSS_THREADS}
+         * @return this builder
+         */
+        public final Builder setBossThreads(int bossThreads) {
+            this.bossThreads = bossThreads;
+            return this;
+        }
+
+        /**
+         * @param workerThreads event loop threads performing the network I/O of the server and of the
+         *                      connections towards the peers. Range [1, {@link #MAX_THREADS}]
+         *                      Default: {@link GrpcDriverConfig#DEFAULT_WORKER_THREADS}
+         * @return this builder
+         */
+        public final Builder setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        /**
+         * @param serverExecutorThreads threads decoding the received messages. Range [1, {@link #MAX_THREADS}]
+         *                              Default: {@link GrpcDriverConfig#DEFAULT_SERVER_EXECUTOR_THREADS}
+         * @return this builder
+         */
+        public final Builder setServerExecutorThreads(int serverExecutorThreads) {
+            this.serverExecutorThreads = serverExecutorThreads;
+            return this;
+        }
+
+        /**
+         * @param clientExecutorThreads threads running the callbacks of the connections towards the peers and
+         *                              sending the pending batches. Range [1, {@link #MAX_THREADS}]
+         *                              Default: {@link GrpcDriverConfig#DEFAULT_CLIENT_EXECUTOR_THREADS}
+         * @return this builder
+         */
+        public final Builder setClientExecutorThreads(int clientExecutorThreads) {
+            this.clientExecutorThreads = clientExecutorThreads;
+            return this;
+        }
+
+        /**
+         * The driver configures the Netty transport bundled in grpc-netty-shaded, so that artifact is a
+         * compile dependency of reacted-drivers and the native epoll library comes from it as well.
+         *
+         * @param nativeTransport use the native epoll transport when it is available, such as on Linux.
+         *                        The NIO transport is used otherwise.
+         *                        Default: true
+         * @return this builder
+         */
+        public final Builder setNativeTransport(boolean nativeTransport) {
+            this.nativeTransport = nativeTransport;
+            return this;
+        }
+
+        /**
+         * Framework control traffic, such as ACKs and service registry messages, can be sent towards every peer
+         * on a dedicated stream that is never batched, so it does not wait behind the user data
+         *
+         * @param controlStream open a control stream towards every peer
+         *                      Default: false
+         * @return this builder
+         */
+        public final Builder setControlStream(boolean controlStream) {
+            this.controlStream = controlStream;
+            return this;
+        }
+
         public final GrpcDriverConfig build() {
             return new GrpcDriverConfig(this);
         }
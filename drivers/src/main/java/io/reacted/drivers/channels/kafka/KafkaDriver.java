@@ -17,6 +17,7 @@ import io.reacted.core.reactorsystem.ReActorContext;
 import io.reacted.core.reactorsystem.ReActorRef;
 import io.reacted.core.reactorsystem.ReActorSystem;
 import io.reacted.core.reactorsystem.ReActorSystemId;
+import io.reacted.core.serialization.CodecRegistry;
 import io.reacted.patterns.NonNullByDefault;
 import io.reacted.patterns.Try;
 import io.reacted.patterns.UnChecked;
@@ -36,10 +37,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.util.List;
@@ -67,8 +64,9 @@ public class KafkaDriver extends RemotingDriver<KafkaDriverConfig> {
 
     @Override
     public void initDriverLoop(ReActorSystem localReActorSystem) {
-        this.kafkaConsumer = Objects.requireNonNull(createConsumer(getDriverConfig()));
-        this.kafkaProducer = Objects.requireNonNull(createProducer(getDriverConfig()));
+        CodecRegistry codecRegistry = localReActorSystem.getSystemConfig().getCodecRegistry();
+        this.kafkaConsumer = Objects.requireNonNull(createConsumer(getDriverConfig(), codecRegistry));
+        this.kafkaProducer = Objects.requireNonNull(createProducer(getDriverConfig(), codecRegistry));
     }
 
     @Override
@@ -95,12 +93,15 @@ public class KafkaDriver extends RemotingDriver<KafkaDriverConfig> {
     public <PayloadT extends Serializable>
     DeliveryStatus sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
                                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy,
-                               PayloadT message) {
+                               long deadline, PayloadT message) {
+        String topic = isControlPlaneMessage(message)
+                       ? getDriverConfig().getControlTopic().orElse(getDriverConfig().getTopic())
+                       : getDriverConfig().getTopic();
         try {
             Objects.requireNonNull(kafkaProducer)
-                   .send(new ProducerRecord<>(getDriverConfig().getTopic(),
+                   .send(new ProducerRecord<>(topic,
                                               new Message(source, destination, seqNum,
-                                                          reActorSystemId, ackingPolicy,
+                                                          reActorSystemId, ackingPolicy, deadline,
                                                           message))).get();
             return DeliveryStatus.SENT;
         } catch (Exception sendError) {
@@ -110,26 +111,28 @@ public class KafkaDriver extends RemotingDriver<KafkaDriverConfig> {
         }
     }
 
-    private static Consumer<Long, Message> createConsumer(KafkaDriverConfig driverConfig) {
+    private static Consumer<Long, Message> createConsumer(KafkaDriverConfig driverConfig,
+                                                          CodecRegistry codecRegistry) {
         Properties props = new Properties();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, driverConfig.getBootstrapEndpoint());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, driverConfig.getGroupId());
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class.getName());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,  MessageDecoder.class.getName());
         props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, driverConfig.getMaxPollRecords());
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
-        Consumer<Long, Message> consumer = new KafkaConsumer<>(props);
-        consumer.subscribe(List.of(driverConfig.getTopic()));
+        Consumer<Long, Message> consumer = new KafkaConsumer<>(props, new LongDeserializer(),
+                                                               new MessageDecoder(codecRegistry));
+        //The partitions of the control topic are fetched along with the data ones, not after their backlog
+        consumer.subscribe(driverConfig.getControlTopic()
+                                       .map(controlTopic -> List.of(driverConfig.getTopic(), controlTopic))
+                                       .orElseGet(() -> List.of(driverConfig.getTopic())));
         return consumer;
     }
 
-    public static Producer<Long, Message> createProducer(KafkaDriverConfig driverConfig) {
+    public static Producer<Long, Message> createProducer(KafkaDriverConfig driverConfig,
+                                                         CodecRegistry codecRegistry) {
         Properties props = new Properties();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, driverConfig.getBootstrapEndpoint());
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageEncoder.class.getName());
-        return new KafkaProducer<>(props);
+        return new KafkaProducer<>(props, new LongSerializer(), new MessageEncoder(codecRegistry));
     }
 
     private static void kafkaDriverLoop(Consumer<Long, Message> kafkaConsumer, KafkaDriver thisDriver,
@@ -142,6 +145,7 @@ public class KafkaDriver extends RemotingDriver<KafkaDriverConfig> {
                                                                         record.value().getSequenceNumber(),
                                                                         record.value().getDataLink().getGeneratingReActorSystem(),
                                                                         record.value().getDataLink().getAckingPolicy(),
+                                                                        record.value().getDeadline(),
                                                                         record.value().getPayload()));
             } catch (InterruptException interruptException) {
                 Thread.currentThread().interrupt();
@@ -153,11 +157,19 @@ public class KafkaDriver extends RemotingDriver<KafkaDriverConfig> {
     }
 
     public static class MessageDecoder implements Deserializer<Message> {
+        private final CodecRegistry codecRegistry;
+
+        public MessageDecoder() { this(CodecRegistry.newBuilder().build()); }
+
+        public MessageDecoder(CodecRegistry codecRegistry) {
+            this.codecRegistry = Objects.requireNonNull(codecRegistry, "Codec registry cannot be null");
+        }
+
         @Override
         @Nullable
         public Message deserialize(String topic, byte[] data) {
-            try (var inputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
-                return (Message)inputStream.readObject();
+            try {
+                return (Message)codecRegistry.fromBytes(data);
             } catch (Exception anyMessageDecodeError) {
                 LOGGER.error("Unable to properly decode message", anyMessageDecodeError);
                 return NO_VALID_PAYLOAD;
@@ -166,13 +178,19 @@ public class KafkaDriver extends RemotingDriver<KafkaDriverConfig> {
     }
 
     public static class MessageEncoder implements Serializer<Message> {
+        private final CodecRegistry codecRegistry;
+
+        public MessageEncoder() { this(CodecRegistry.newBuilder().build()); }
+
+        public MessageEncoder(CodecRegistry codecRegistry) {
+            this.codecRegistry = Objects.requireNonNull(codecRegistry, "Codec registry cannot be null");
+        }
+
         @Override
         @Nullable
         public byte[] serialize(String topic, Message data) {
-            try (var byteArrayOutputStream = new ByteArrayOutputStream();
-                 var objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
-                objectOutputStream.writeObject(data);
-                return byteArrayOutputStream.toByteArray();
+            try {
+                return codecRegistry.toBytes(data);
             } catch (Exception anyMessageEncodeError) {
                 LOGGER.error("Unable to encode message", anyMessageEncodeError);
                 return NO_SERIALIZED_PAYLOAD;
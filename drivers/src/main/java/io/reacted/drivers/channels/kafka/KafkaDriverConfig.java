@@ -12,7 +12,9 @@ import io.reacted.core.config.drivers.ChannelDriverConfig;
 import io.reacted.patterns.ObjectUtils;
 import io.reacted.patterns.NonNullByDefault;
 
+import javax.annotation.Nullable;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 
 @NonNullByDefault
@@ -21,10 +23,13 @@ public class KafkaDriverConfig extends ChannelDriverConfig<KafkaDriverConfig.Bui
     public static final String KAFKA_TOPIC = "topic";
     public static final String KAFKA_GROUP_ID = "groupId";
     public static final String KAFKA_MAX_POLL_RECORDS = "maxPollRecords";
+    public static final String KAFKA_CONTROL_TOPIC = "controlTopic";
     private final String bootstrapEndpoint;
     private final String topic;
     private final String groupId;
     private final int maxPollRecords;
+    @Nullable
+    private final String controlTopic;
 
     private KafkaDriverConfig(Builder builder) {
         super(builder);
@@ -36,6 +41,7 @@ public class KafkaDriverConfig extends ChannelDriverConfig<KafkaDriverConfig.Bui
                                               "Group id cannot be null");
         this.maxPollRecords = ObjectUtils.requiredInRange(builder.maxPollRecords, 1, Integer.MAX_VALUE,
                                                           IllegalArgumentException::new);
+        this.controlTopic = builder.controlTopic;
     }
 
     public String getBootstrapEndpoint() { return bootstrapEndpoint; }
@@ -46,6 +52,8 @@ public class KafkaDriverConfig extends ChannelDriverConfig<KafkaDriverConfig.Bui
 
     public int getMaxPollRecords() { return maxPollRecords; }
 
+    public Optional<String> getControlTopic() { return Optional.ofNullable(controlTopic); }
+
     public static Builder newBuilder() { return new Builder(); }
 
     @Override
@@ -55,6 +63,7 @@ public class KafkaDriverConfig extends ChannelDriverConfig<KafkaDriverConfig.Bui
         properties.setProperty(KAFKA_GROUP_ID, getGroupId());
         properties.setProperty(KAFKA_TOPIC, getTopic());
         properties.setProperty(KAFKA_MAX_POLL_RECORDS, getMaxPollRecords() + "");
+        getControlTopic().ifPresent(topic -> properties.setProperty(KAFKA_CONTROL_TOPIC, topic));
         return properties;
     }
 
@@ -66,6 +75,8 @@ public class KafkaDriverConfig extends ChannelDriverConfig<KafkaDriverConfig.Bui
         @SuppressWarnings("NotNullFieldNotInitialized")
         private String groupId;
         private int maxPollRecords;
+        @Nullable
+        private String controlTopic;
 
         private Builder() { }
 
@@ -89,6 +100,19 @@ public class KafkaDriverConfig extends ChannelDriverConfig<KafkaDriverConfig.Bui
             return this;
         }
 
+        /**
+         * Framework control traffic, such as ACKs and service registry messages, is sent on this topic
+         * instead of on the data one, so it is not delayed by a backlog of user messages.
+         * All the peers sharing the data topic must use the same control topic
+         *
+         * @param controlTopic topic for the control traffic. If not set, control traffic goes on the data topic
+         * @return this builder
+         */
+        public final Builder setControlTopic(@Nullable String controlTopic) {
+            this.controlTopic = controlTopic;
+            return this;
+        }
+
         public KafkaDriverConfig build() {
             return new KafkaDriverConfig(this);
         }
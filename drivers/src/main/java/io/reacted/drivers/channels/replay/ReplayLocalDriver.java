@@ -45,6 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readAckingPolicy;
+import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readDeadline;
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readPayload;
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readReActorRef;
 import static io.reacted.drivers.channels.chroniclequeue.CQLocalDriver.readReActorSystemId;
@@ -86,7 +87,8 @@ public class ReplayLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     @Override
     public <PayloadT extends Serializable> DeliveryStatus
     sendMessage(ReActorRef source, ReActorContext destinationCtx, ReActorRef destination,
-                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, PayloadT message) {
+                long seqNum, ReActorSystemId reActorSystemId, AckingPolicy ackingPolicy, long deadline,
+                PayloadT message) {
         if (!(message instanceof DeliveryStatusUpdate)) {
             spawnedReActors.add(destination.getReActorId());
             spawnedReActors.add(source.getReActorId());
@@ -102,9 +104,11 @@ public class ReplayLocalDriver extends LocalDriver<CQLocalDriverConfig> {
     CompletionStage<DeliveryStatus> sendAsyncMessage(ReActorRef source, ReActorContext destinationCtx,
                                                      ReActorRef destination, long seqNum,
                                                      ReActorSystemId reActorSystemId,
-                                                     AckingPolicy ackingPolicy, PayloadT message) {
+                                                     AckingPolicy ackingPolicy, long deadline,
+                                                     PayloadT message) {
         return CompletableFuture.completedFuture(sendMessage(source, destinationCtx, destination,
-                                                             seqNum, reActorSystemId, ackingPolicy, message));
+                                                             seqNum, reActorSystemId, ackingPolicy, deadline,
+                                                             message));
     }
 
     @Override
@@ -183,12 +187,17 @@ public class ReplayLocalDriver extends LocalDriver<CQLocalDriverConfig> {
 
     private void readMessage(WireIn in, DriverCtx driverCtx, ReActorSystem localReActorSystem, Map<Long,
             Message> emptyMap, Map<ReActorId, Map<Long, Message>> dstToMessageBySeqNum) {
-        in.read("M").marshallable(m -> onNewMessage(localReActorSystem, emptyMap, dstToMessageBySeqNum,
-                                                             readReActorRef(in, driverCtx),
-                                                             readReActorRef(in, driverCtx),
-                                                             readSequenceNumber(in),
-                                                             readReActorSystemId(in),
-                                                             readAckingPolicy(in),
-                                                             readPayload(in)));
+        in.read("M").marshallable(m -> {
+            ReActorRef source = readReActorRef(in, driverCtx);
+            ReActorRef destination = readReActorRef(in, driverCtx);
+            long sequenceNumber = readSequenceNumber(in);
+            ReActorSystemId fromReActorSystemId = readReActorSystemId(in);
+            AckingPolicy ackingPolicy = readAckingPolicy(in);
+            //A replayed message has already been executed once, its original deadline is meaningless now
+            readDeadline(in);
+            onNewMessage(localReActorSystem, emptyMap, dstToMessageBySeqNum, source, destination, sequenceNumber,
+                         fromReActorSystemId, ackingPolicy,
+                         readPayload(in, localReActorSystem.getSystemConfig().getCodecRegistry()));
+        });
     }
 }
@@ -36,7 +36,6 @@ import io.reacted.core.reactorsystem.ReActorSystem;
 import io.reacted.core.reactorsystem.ReActorSystemId;
 import io.reacted.core.utils.ReActedUtils;
 import io.reacted.patterns.NonNullByDefault;
-import io.reacted.patterns.ObjectUtils;
 import io.reacted.patterns.Try;
 import io.reacted.patterns.UnChecked;
 import org.apache.commons.lang3.StringUtils;
@@ -228,7 +227,8 @@ public class ZooKeeperDriver extends ServiceRegistryDriver<ZooKeeperDriverConfig
                                  ZooKeeperDriver.getGatePublicationPath(
                                      pubRequest.getReActorSystemId(),
                                      pubRequest.getChannelId()),
-                                 ObjectUtils.toBytes(pubRequest.getChannelIdData()))
+                                 raCtx.getReActorSystem().getSystemConfig().getCodecRegistry()
+                                      .toBytes(pubRequest.getChannelIdData()))
                 .toCompletableFuture()
                 .exceptionally(encodeError -> {
                     raCtx.logError("Permanent error, unable to encode channel properties {}",
@@ -462,7 +462,9 @@ public class ZooKeeperDriver extends ServiceRegistryDriver<ZooKeeperDriverConfig
         ZKPaths.PathAndNode reActorSystemNameAndChannelId = ZooKeeperDriver.getGateUpsertPath(nodeData.getPath());
         String reActorSystemName = reActorSystemNameAndChannelId.getPath().substring(1);
         Optional<ChannelId> channelId = ChannelId.fromToString(reActorSystemNameAndChannelId.getNode());
-        Try<Properties> properties = Try.of(() -> ObjectUtils.fromBytes(nodeData.getData()));
+        Try<Properties> properties = Try.of(() -> (Properties)reActorSystem.getSystemConfig()
+                                                                          .getCodecRegistry()
+                                                                          .fromBytes(nodeData.getData()));
 
         return channelId.map(channel -> properties.map(props -> reActorSystem.getSystemRemotingRoot()
                                                                              .publish(driverReActor,
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.drivers.channels.grpc;
+
+import io.reacted.core.config.ChannelId;
+import io.reacted.core.config.reactors.ReActorConfig;
+import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+class GrpcDriverTest {
+    private static final String CHANNEL_NAME = "TestGrpcChannel";
+    private static final ChannelId CHANNEL = ChannelId.ChannelType.GRPC.forChannelName(CHANNEL_NAME);
+    private static final int MESSAGES = 2_000;
+    private static final int REPLY_EVERY = 100;
+    private ReActorSystem client;
+    private ReActorSystem server;
+
+    @AfterEach
+    void rampDownReactorSystems() {
+        if (client != null) {
+            client.shutDown();
+        }
+        if (server != null) {
+            server.shutDown();
+        }
+    }
+
+    @Test
+    void messagesAreDeliveredInOrderWithTheDefaultWireFormat() throws Exception {
+        assertMessagesAreDeliveredInOrder(UnaryOperator.identity());
+    }
+
+    @Test
+    void messagesAreDeliveredInOrderOverBatchedAndCompressedStripes() throws Exception {
+        assertMessagesAreDeliveredInOrder(config -> config.setStreamsPerPeer(4)
+                                                          .setMaxBatchSize(128)
+                                                          .setMaxLinger(Duration.ofMillis(1))
+                                                          .setRefDictionarySize(1024)
+                                                          .setControlStream(true));
+    }
+
+    private void assertMessagesAreDeliveredInOrder(UnaryOperator<GrpcDriverConfig.Builder> wireFormat)
+        throws Exception {
+        GrpcDriverConfig clientConfig = wireFormat.apply(GrpcDriverConfig.newBuilder()
+                                                                         .setHostName("localhost")
+                                                                         .setPort(getFreePort())
+                                                                         .setChannelName(CHANNEL_NAME))
+                                                  .build();
+        GrpcDriverConfig serverConfig = wireFormat.apply(GrpcDriverConfig.newBuilder()
+                                                                         .setHostName("localhost")
+                                                                         .setPort(getFreePort())
+                                                                         .setChannelName(CHANNEL_NAME))
+                                                  .build();
+        client = newReActorSystem("Client", clientConfig);
+        server = newReActorSystem("Server", serverConfig);
+        client.registerNewRoute(server.getLocalReActorSystemId(), CHANNEL, serverConfig.getChannelProperties(),
+                                ReActorRef.NO_REACTOR_REF);
+        server.registerNewRoute(client.getLocalReActorSystemId(), CHANNEL, clientConfig.getChannelProperties(),
+                                ReActorRef.NO_REACTOR_REF);
+
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        ReActorRef echo = server.spawn(ReActions.newBuilder()
+                                                .reAct(Integer.class, (raCtx, sequence) -> {
+                                                    received.add(sequence);
+                                                    if (sequence % REPLY_EVERY == 0) {
+                                                        raCtx.reply("pong");
+                                                    }
+                                                })
+                                                .reAct(ReActions::noReAction)
+                                                .build(),
+                                       ReActorConfig.newBuilder().setReActorName("Echo").build())
+                                .orElseSneakyThrow();
+        var pongs = new AtomicInteger();
+        ReActorRef sender = client.spawn(ReActions.newBuilder()
+                                                  .reAct(String.class, (raCtx, pong) -> pongs.incrementAndGet())
+                                                  .reAct(ReActions::noReAction)
+                                                  .build(),
+                                         ReActorConfig.newBuilder().setReActorName("Sender").build())
+                                  .orElseSneakyThrow();
+        var remoteEcho = new ReActorRef(echo.getReActorId(),
+                                        client.findGate(server.getLocalReActorSystemId(), CHANNEL));
+
+        //A payload that cannot be encoded is not sent, but the link keeps working
+        Assertions.assertTrue(remoteEcho.tell(sender, new UnencodablePayload()).isNotSent());
+        for (int sequence = 0; sequence < MESSAGES; sequence++) {
+            Assertions.assertTrue(remoteEcho.tellInt(sender, sequence).isSent());
+        }
+        Awaitility.await()
+                  .atMost(30, TimeUnit.SECONDS)
+                  .until(() -> received.size() == MESSAGES && pongs.get() == MESSAGES / REPLY_EVERY);
+        for (int sequence = 0; sequence < MESSAGES; sequence++) {
+            Assertions.assertEquals(sequence, received.get(sequence));
+        }
+    }
+
+    private static ReActorSystem newReActorSystem(String reActorSystemName, GrpcDriverConfig driverConfig) {
+        return new ReActorSystem(ReActorSystemConfig.newBuilder()
+                                                    .setReactorSystemName(reActorSystemName)
+                                                    .addRemotingDriver(new GrpcDriver(driverConfig))
+                                                    .build()).initReActorSystem();
+    }
+
+    private static int getFreePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static final class UnencodablePayload implements Serializable {
+        @Serial
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            throw new NotSerializableException(UnencodablePayload.class.getName());
+        }
+    }
+}
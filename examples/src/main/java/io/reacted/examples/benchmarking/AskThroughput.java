@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.examples.benchmarking;
+
+import io.reacted.core.config.dispatchers.DispatcherConfig;
+import io.reacted.core.config.reactors.ReActorConfig;
+import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactors.systemreactors.Ask;
+import io.reacted.core.reactorsystem.ReActorContext;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asks per second towards an echo reactor, comparing the former ask implementation that spawns an
+ * {@link Ask} reactor for every request with {@link ReActorRef#ask}, that correlates the replies without
+ * creating any reactor. Asks are issued in windows of {@link AskThroughput#WINDOW} outstanding requests.
+ */
+public class AskThroughput {
+    private static final int ASKS = 50_000;
+    private static final int WINDOW = 1_000;
+    private static final int ROUNDS = 5;
+    private static final Duration ASK_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) {
+        String dispatcherName = AskThroughput.class.getSimpleName();
+        ReActorSystem benchmarkSystem = new ReActorSystem(ReActorSystemConfig.newBuilder()
+                                                                             .setReactorSystemName(AskThroughput.class.getSimpleName())
+                                                                             .setExpectedReActorsNum(WINDOW * 2)
+                                                                             .addDispatcherConfig(DispatcherConfig.newBuilder()
+                                                                                                                  .setDispatcherName(dispatcherName)
+                                                                                                                  .setBatchSize(1_000)
+                                                                                                                  .setDispatcherThreadsNum(2)
+                                                                                                                  .build())
+                                                                             .build()).initReActorSystem();
+        ReActorRef echo = benchmarkSystem.spawn(ReActions.newBuilder()
+                                                         .reAct(String.class, ReActorContext::reply)
+                                                         .build(),
+                                                ReActorConfig.newBuilder()
+                                                             .setReActorName("Echo")
+                                                             .setDispatcherName(dispatcherName)
+                                                             .build())
+                                         .orElseSneakyThrow();
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            System.out.printf("%-20s %,12d asks/s%n", "Ask reactor",
+                              measure(request -> spawnAsk(benchmarkSystem, echo, request)));
+            System.out.printf("%-20s %,12d asks/s%n", "Correlated ask",
+                              measure(request -> echo.ask(request, String.class, ASK_TIMEOUT, "Benchmark")
+                                                     .toCompletableFuture()));
+        }
+        benchmarkSystem.shutDown();
+    }
+
+    private static CompletableFuture<String> spawnAsk(ReActorSystem reActorSystem, ReActorRef target,
+                                                      String request) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        //Ask reactors are named after the request name, so it has to be unique
+        reActorSystem.spawn(new Ask<>(ASK_TIMEOUT, String.class, reply, request, target, request))
+                     .ifError(reply::completeExceptionally);
+        return reply;
+    }
+
+    private static long measure(AskIssuer askIssuer) {
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> window = new ArrayList<>(WINDOW);
+        for (int request = 0; request < ASKS; request++) {
+            window.add(askIssuer.ask(Integer.toString(request)));
+            if (window.size() == WINDOW) {
+                CompletableFuture.allOf(window.toArray(CompletableFuture[]::new)).join();
+                window.clear();
+            }
+        }
+        CompletableFuture.allOf(window.toArray(CompletableFuture[]::new)).join();
+        return ASKS * TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start);
+    }
+
+    @FunctionalInterface
+    private interface AskIssuer {
+        CompletableFuture<String> ask(String request);
+    }
+}
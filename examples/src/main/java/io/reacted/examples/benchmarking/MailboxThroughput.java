@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.examples.benchmarking;
+
+import io.reacted.core.mailboxes.BoundedMbox;
+import io.reacted.core.mailboxes.FastBoundedMbox;
+import io.reacted.core.mailboxes.FastUnboundedMbox;
+import io.reacted.core.mailboxes.MailBox;
+import io.reacted.core.mailboxes.MpscBoundedMbox;
+import io.reacted.core.mailboxes.MpscUnboundedMbox;
+import io.reacted.core.mailboxes.UnboundedMbox;
+import io.reacted.core.messages.AckingPolicy;
+import io.reacted.core.messages.Message;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystemId;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Raw mailbox throughput, without any reactor system around: a few producer threads deliver messages while a
+ * single thread consumes them, as a dispatcher does with the mailbox of the reactor it is running.
+ * Consumption is measured both message by message and through batch drain.
+ */
+public class MailboxThroughput {
+    private static final int PRODUCERS = 3;
+    private static final int MESSAGES_PER_PRODUCER = 10_000_000;
+    private static final int BOUNDED_CAPACITY = 8192;
+    private static final int DRAIN_BATCH = 256;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, Supplier<MailBox>> mailboxes = new LinkedHashMap<>();
+        mailboxes.put("UnboundedMbox", UnboundedMbox::new);
+        mailboxes.put("FastUnboundedMbox", FastUnboundedMbox::new);
+        mailboxes.put("MpscUnboundedMbox", MpscUnboundedMbox::new);
+        mailboxes.put("BoundedMbox", () -> new BoundedMbox(BOUNDED_CAPACITY));
+        mailboxes.put("FastBoundedMbox", () -> new FastBoundedMbox(BOUNDED_CAPACITY));
+        mailboxes.put("MpscBoundedMbox", () -> new MpscBoundedMbox(BOUNDED_CAPACITY));
+
+        Message message = new Message(ReActorRef.NO_REACTOR_REF, ReActorRef.NO_REACTOR_REF, 0,
+                                      ReActorSystemId.NO_REACTORSYSTEM_ID, AckingPolicy.NONE, "payload");
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.printf("Round %d%n", round);
+            for (var mailbox : mailboxes.entrySet()) {
+                System.out.printf("%-20s single: %,15d msg/s  drain: %,15d msg/s%n", mailbox.getKey(),
+                                  measure(mailbox.getValue().get(), message, false),
+                                  measure(mailbox.getValue().get(), message, true));
+            }
+        }
+    }
+
+    private static long measure(MailBox mailBox, Message message, boolean batchDrain) throws InterruptedException {
+        var startLine = new CountDownLatch(1);
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            var producerThread = new Thread(() -> {
+                try {
+                    startLine.await();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int msg = 0; msg < MESSAGES_PER_PRODUCER; msg++) {
+                    while (!mailBox.deliver(message).isDelivered()) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producerThread.setDaemon(true);
+            producerThread.start();
+        }
+        long expected = (long)PRODUCERS * MESSAGES_PER_PRODUCER;
+        long received = 0;
+        long start = System.nanoTime();
+        startLine.countDown();
+        while (received < expected) {
+            if (batchDrain) {
+                int drained = mailBox.drain(MailboxThroughput::consume, DRAIN_BATCH);
+                if (drained == 0) {
+                    Thread.onSpinWait();
+                }
+                received += drained;
+            } else if (mailBox.isEmpty()) {
+                Thread.onSpinWait();
+            } else {
+                consume(mailBox.getNextMessage());
+                received++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return expected * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private static void consume(Message message) {
+        if (message.getSequenceNumber() < 0) {
+            throw new IllegalStateException();
+        }
+    }
+}
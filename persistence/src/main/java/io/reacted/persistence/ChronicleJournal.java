@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.persistence;
+
+import io.reacted.drivers.channels.chroniclequeue.CQLocalDriver;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.Try;
+import net.openhft.chronicle.queue.ChronicleQueue;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.TailerDirection;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.WireIn;
+import net.openhft.chronicle.wire.WireOut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Append only journal of events backed by Chronicle Queue. Events and snapshots are framed with the
+ * same wire marshalling of the Chronicle Queue drivers and they are appended by a single committer thread
+ * that groups all the writes that are waiting into the same commit.
+ * Snapshots live in their own queue and remember the journal position of the last event they include, so
+ * a recovery replays only the events that came after the latest snapshot.
+ */
+@NonNullByDefault
+public class ChronicleJournal implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChronicleJournal.class);
+    private static final String EVENTS_DIRECTORY = "events";
+    private static final String SNAPSHOTS_DIRECTORY = "snapshots";
+    private static final long NO_JOURNAL_INDEX = -1;
+    private static final long COMMITTER_POLL_MS = 100;
+    private final JournalConfig journalConfig;
+    private final ChronicleQueue events;
+    private final ChronicleQueue snapshots;
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private volatile boolean isClosed;
+    private volatile boolean isCommitterStopped;
+
+    private ChronicleJournal(JournalConfig journalConfig) {
+        this.journalConfig = Objects.requireNonNull(journalConfig, "Journal config cannot be null");
+        Path journalDirectory = Path.of(journalConfig.getJournalDirectory());
+        this.events = ChronicleQueue.singleBuilder(journalDirectory.resolve(EVENTS_DIRECTORY))
+                                    .rollCycle(RollCycles.DAILY)
+                                    .build();
+        this.snapshots = ChronicleQueue.singleBuilder(journalDirectory.resolve(SNAPSHOTS_DIRECTORY))
+                                       .rollCycle(RollCycles.DAILY)
+                                       .build();
+        this.committer = new Thread(this::commitLoop, "reacted-journal-committer-" + journalDirectory);
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * @param journalConfig journal configuration
+     * @return a successful Try containing the opened journal, a failed Try on failure
+     */
+    public static Try<ChronicleJournal> open(JournalConfig journalConfig) {
+        return Try.of(() -> new ChronicleJournal(journalConfig));
+    }
+
+    public JournalConfig getJournalConfig() { return journalConfig; }
+
+    /**
+     * Append an event to the journal
+     *
+     * @param persistenceId id of the entity the event belongs to
+     * @param sequenceNumber sequence number of the event among the events of the same entity
+     * @param event the event
+     * @return a {@link CompletionStage} completed with {@code sequenceNumber} once the event has been committed
+     * or completed exceptionally if the event could not be written
+     */
+    public CompletionStage<Long> append(String persistenceId, long sequenceNumber, Serializable event) {
+        return enqueue(new PendingWrite(false, Objects.requireNonNull(persistenceId), sequenceNumber,
+                                        Objects.requireNonNull(event), new CompletableFuture<>()));
+    }
+
+    /**
+     * Store a snapshot of the state of an entity. The state is serialized asynchronously, so it must not
+     * be modified afterwards
+     *
+     * @param persistenceId id of the entity
+     * @param sequenceNumber sequence number of the last event applied to {@code state}
+     * @param state the state of the entity
+     * @return a {@link CompletionStage} completed with {@code sequenceNumber} once the snapshot has been
+     * committed or completed exceptionally if the snapshot could not be written
+     */
+    public CompletionStage<Long> snapshot(String persistenceId, long sequenceNumber, Serializable state) {
+        return enqueue(new PendingWrite(true, Objects.requireNonNull(persistenceId), sequenceNumber,
+                                        Objects.requireNonNull(state), new CompletableFuture<>()));
+    }
+
+    /**
+     * Rebuild the state of an entity starting from its latest snapshot and applying all the events that
+     * have been committed after it
+     *
+     * @param persistenceId id of the entity
+     * @param initialState state of the entity if no snapshot is found
+     * @param eventApplier function returning the new state after the application of an event
+     * @param <StateT> type of the state
+     * @param <EventT> type of the events
+     * @return a successful Try with the recovered state, a failed Try on failure
+     */
+    public <StateT extends Serializable, EventT extends Serializable>
+    Try<Recovery<StateT>> recover(String persistenceId, StateT initialState,
+                                  BiFunction<StateT, EventT, StateT> eventApplier) {
+        return Try.of(() -> replayEvents(Objects.requireNonNull(persistenceId),
+                                         findLatestSnapshot(persistenceId, Objects.requireNonNull(initialState)),
+                                         Objects.requireNonNull(eventApplier)));
+    }
+
+    /**
+     * Stop accepting writes, commit whatever is pending and release the journal files. A write racing with
+     * the closure is either committed or completed exceptionally
+     */
+    @Override
+    public void close() {
+        this.isClosed = true;
+        Try.ofRunnable(committer::join)
+           .ifError(error -> Thread.currentThread().interrupt());
+        events.close();
+        snapshots.close();
+    }
+
+    private CompletionStage<Long> enqueue(PendingWrite pendingWrite) {
+        if (isClosed || isCommitterStopped) {
+            return CompletableFuture.failedFuture(newNotAcceptedError());
+        }
+        pendingWrites.add(pendingWrite);
+        //The committer may have drained the queue for the last time after the check above
+        if (isClosed || isCommitterStopped) {
+            failPendingWrites();
+        }
+        return pendingWrite.committed();
+    }
+
+    private void failPendingWrites() {
+        PendingWrite pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null) {
+            pendingWrite.committed().completeExceptionally(newNotAcceptedError());
+        }
+    }
+
+    private IllegalStateException newNotAcceptedError() {
+        return new IllegalStateException(isCommitterStopped && !isClosed
+                                         ? "Journal committer stopped"
+                                         : "Journal is closed");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <StateT extends Serializable> Snapshot<StateT> findLatestSnapshot(String persistenceId,
+                                                                             StateT initialState) {
+        try (ExcerptTailer tailer = snapshots.createTailer()
+                                             .direction(TailerDirection.BACKWARD)
+                                             .toEnd()) {
+            while (true) {
+                try (DocumentContext snapshot = tailer.readingDocument()) {
+                    if (!snapshot.isPresent()) {
+                        return new Snapshot<>(initialState, 0, NO_JOURNAL_INDEX);
+                    }
+                    WireIn in = snapshot.wire();
+                    if (persistenceId.equals(readPersistenceId(Objects.requireNonNull(in)))) {
+                        long sequenceNumber = CQLocalDriver.readSequenceNumber(in);
+                        long journalIndex = in.read().int64();
+                        return new Snapshot<>((StateT) readPayload(in), sequenceNumber, journalIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <StateT extends Serializable, EventT extends Serializable>
+    Recovery<StateT> replayEvents(String persistenceId, Snapshot<StateT> snapshot,
+                                  BiFunction<StateT, EventT, StateT> eventApplier) {
+        StateT state = snapshot.state();
+        long sequenceNumber = snapshot.sequenceNumber();
+        try (ExcerptTailer tailer = events.createTailer()) {
+            if (snapshot.journalIndex() != NO_JOURNAL_INDEX) {
+                if (!tailer.moveToIndex(snapshot.journalIndex())) {
+                    throw new IllegalStateException("Journal does not contain the events of the latest snapshot of " +
+                                                    persistenceId);
+                }
+                //The last event contained into the snapshot
+                try (DocumentContext ignored = tailer.readingDocument()) { /* Skip */ }
+            }
+            while (true) {
+                try (DocumentContext event = tailer.readingDocument()) {
+                    if (!event.isPresent()) {
+                        return new Recovery<>(state, sequenceNumber);
+                    }
+                    WireIn in = Objects.requireNonNull(event.wire());
+                    if (!persistenceId.equals(readPersistenceId(in))) {
+                        continue;
+                    }
+                    long eventSequenceNumber = CQLocalDriver.readSequenceNumber(in);
+                    if (eventSequenceNumber > sequenceNumber) {
+                        state = Objects.requireNonNull(eventApplier.apply(state, (EventT) readPayload(in)),
+                                                       "Event application cannot return a null state");
+                        sequenceNumber = eventSequenceNumber;
+                    }
+                }
+            }
+        }
+    }
+
+    private void commitLoop() {
+        List<PendingWrite> groupCommit = new ArrayList<>(journalConfig.getMaxGroupCommitSize());
+        try {
+            ExcerptAppender eventsAppender = events.acquireAppender();
+            ExcerptAppender snapshotsAppender = snapshots.acquireAppender();
+            while (!isClosed || !pendingWrites.isEmpty()) {
+                PendingWrite firstWrite = Try.of(() -> pendingWrites.poll(COMMITTER_POLL_MS, TimeUnit.MILLISECONDS))
+                                             .orElse(null);
+                if (firstWrite == null) {
+                    continue;
+                }
+                groupCommit.add(firstWrite);
+                pendingWrites.drainTo(groupCommit, journalConfig.getMaxGroupCommitSize() - 1);
+                commit(groupCommit, eventsAppender, snapshotsAppender);
+                groupCommit.clear();
+            }
+        } catch (Exception anyException) {
+            LOGGER.error("Journal committer stopped", anyException);
+        } finally {
+            this.isCommitterStopped = true;
+            //Whatever has not been committed is never going to be
+            groupCommit.forEach(pendingWrite -> pendingWrite.committed()
+                                                            .completeExceptionally(newNotAcceptedError()));
+            failPendingWrites();
+        }
+    }
+
+    private void commit(List<PendingWrite> groupCommit, ExcerptAppender eventsAppender,
+                        ExcerptAppender snapshotsAppender) {
+        List<Try<Void>> writes = new ArrayList<>(groupCommit.size());
+        boolean hasSnapshots = false;
+        for (PendingWrite pendingWrite : groupCommit) {
+            hasSnapshots |= pendingWrite.isSnapshot();
+            writes.add(Try.ofRunnable(() -> write(pendingWrite, eventsAppender, snapshotsAppender)));
+        }
+        boolean syncSnapshots = hasSnapshots;
+        Try<Void> sync = Try.ofRunnable(() -> sync(eventsAppender))
+                            .flatMap(synced -> syncSnapshots
+                                               ? Try.ofRunnable(() -> sync(snapshotsAppender))
+                                               : Try.VOID);
+        for (int writeIdx = 0; writeIdx < groupCommit.size(); writeIdx++) {
+            PendingWrite pendingWrite = groupCommit.get(writeIdx);
+            writes.get(writeIdx)
+                  .flatMap(written -> sync)
+                  .ifSuccessOrElse(committed -> pendingWrite.committed().complete(pendingWrite.sequenceNumber()),
+                                   error -> pendingWrite.committed().completeExceptionally(error));
+        }
+    }
+
+    private void sync(ExcerptAppender appender) {
+        if (journalConfig.isSyncOnCommit()) {
+            appender.sync();
+        }
+    }
+
+    private static void write(PendingWrite pendingWrite, ExcerptAppender eventsAppender,
+                              ExcerptAppender snapshotsAppender) {
+        if (pendingWrite.isSnapshot()) {
+            //The snapshot includes all the events that have been appended so far
+            long journalIndex = eventsAppender.lastIndexAppended();
+            snapshotsAppender.writeDocument(out -> writePayload(writeJournalIndex(CQLocalDriver.writeSequenceNumber(writePersistenceId(out, pendingWrite.persistenceId()),
+                                                                                                                                 pendingWrite.sequenceNumber()),
+                                                                                                  journalIndex),
+                                                                              pendingWrite.payload()));
+        } else {
+            eventsAppender.writeDocument(out -> writePayload(CQLocalDriver.writeSequenceNumber(writePersistenceId(out, pendingWrite.persistenceId()),
+                                                                                                             pendingWrite.sequenceNumber()),
+                                                                           pendingWrite.payload()));
+        }
+    }
+
+    private static WireOut writePersistenceId(WireOut out, String persistenceId) {
+        return out.write().writeString(persistenceId);
+    }
+
+    @Nullable
+    private static String readPersistenceId(WireIn in) {
+        return in.read().readString();
+    }
+
+    /* Chronicle marshalling cannot rebuild records, so payloads are stored with the java serialization */
+    private static WireOut writePayload(WireOut out, Serializable payload) {
+        try (var serialized = new ByteArrayOutputStream();
+             var payloadOut = new ObjectOutputStream(serialized)) {
+            payloadOut.writeObject(payload);
+            payloadOut.flush();
+            return out.write().bytes(serialized.toByteArray());
+        } catch (IOException serializationError) {
+            throw new UncheckedIOException(serializationError);
+        }
+    }
+
+    private static Serializable readPayload(WireIn in) {
+        try (var payloadIn = new ObjectInputStream(new ByteArrayInputStream(in.read().bytes()))) {
+            return (Serializable) payloadIn.readObject();
+        } catch (IOException deserializationError) {
+            throw new UncheckedIOException(deserializationError);
+        } catch (ClassNotFoundException unknownPayload) {
+            throw new IllegalStateException(unknownPayload);
+        }
+    }
+
+    private static WireOut writeJournalIndex(WireOut out, long journalIndex) {
+        return out.write().int64(journalIndex);
+    }
+
+    /**
+     * State of an entity rebuilt from the journal
+     *
+     * @param state the recovered state
+     * @param sequenceNumber sequence number of the last event applied to {@code state}
+     * @param <StateT> type of the state
+     */
+    public record Recovery<StateT extends Serializable>(StateT state, long sequenceNumber) { }
+
+    /* journalIndex is the position in the journal of the last event included into the snapshot */
+    private record Snapshot<StateT extends Serializable>(StateT state, long sequenceNumber, long journalIndex) { }
+
+    private record PendingWrite(boolean isSnapshot, String persistenceId, long sequenceNumber, Serializable payload,
+                                CompletableFuture<Long> committed) { }
+}
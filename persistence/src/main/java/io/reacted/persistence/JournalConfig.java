@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.persistence;
+
+import com.google.common.base.Strings;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+
+@Immutable
+@NonNullByDefault
+public class JournalConfig {
+    public static final int DEFAULT_MAX_GROUP_COMMIT_SIZE = 256;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 1_000;
+    public static final boolean DEFAULT_SYNC_ON_COMMIT = true;
+    private final String journalDirectory;
+    private final int maxGroupCommitSize;
+    private final int snapshotInterval;
+    private final boolean syncOnCommit;
+
+    private JournalConfig(Builder builder) {
+        this.journalDirectory = Objects.requireNonNull(Strings.isNullOrEmpty(builder.journalDirectory)
+                                                       ? null
+                                                       : builder.journalDirectory,
+                                                       "Journal directory cannot be null or empty");
+        this.maxGroupCommitSize = ObjectUtils.requiredInRange(builder.maxGroupCommitSize, 1, Integer.MAX_VALUE,
+                                                              () -> new IllegalArgumentException("Group commit size must be positive"));
+        this.snapshotInterval = ObjectUtils.requiredInRange(builder.snapshotInterval, 1, Integer.MAX_VALUE,
+                                                            () -> new IllegalArgumentException("Snapshot interval must be positive"));
+        this.syncOnCommit = builder.syncOnCommit;
+    }
+
+    public String getJournalDirectory() { return journalDirectory; }
+
+    public int getMaxGroupCommitSize() { return maxGroupCommitSize; }
+
+    public int getSnapshotInterval() { return snapshotInterval; }
+
+    public boolean isSyncOnCommit() { return syncOnCommit; }
+
+    public static Builder newBuilder() { return new Builder(); }
+
+    public static class Builder {
+        @SuppressWarnings("NotNullFieldNotInitialized")
+        private String journalDirectory;
+        private int maxGroupCommitSize = DEFAULT_MAX_GROUP_COMMIT_SIZE;
+        private int snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+        private boolean syncOnCommit = DEFAULT_SYNC_ON_COMMIT;
+
+        private Builder() { }
+
+        /**
+         * @param journalDirectory directory where events and snapshots are going to be stored
+         * @return this builder
+         */
+        public final Builder setJournalDirectory(String journalDirectory) {
+            this.journalDirectory = journalDirectory;
+            return this;
+        }
+
+        /**
+         * Writes are appended to the journal by a single committer thread. Whatever is waiting to be written
+         * when the committer is ready is appended and committed in a single pass, up to this size.
+         * Default: {@link #DEFAULT_MAX_GROUP_COMMIT_SIZE}
+         *
+         * @param maxGroupCommitSize A positive number indicating how many writes can share the same commit
+         * @return this builder
+         */
+        public final Builder setMaxGroupCommitSize(int maxGroupCommitSize) {
+            this.maxGroupCommitSize = maxGroupCommitSize;
+            return this;
+        }
+
+        /**
+         * A snapshot of the state of a persistent entity is taken every {@code snapshotInterval} events, so
+         * a recovery never replays more than this number of events.
+         * Default: {@link #DEFAULT_SNAPSHOT_INTERVAL}
+         *
+         * @param snapshotInterval A positive number of events
+         * @return this builder
+         */
+        public final Builder setSnapshotInterval(int snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+            return this;
+        }
+
+        /**
+         * @param syncOnCommit if true, every group commit waits for the written data to be flushed to the
+         *                     storage device. Default: {@link #DEFAULT_SYNC_ON_COMMIT}
+         * @return this builder
+         */
+        public final Builder setSyncOnCommit(boolean syncOnCommit) {
+            this.syncOnCommit = syncOnCommit;
+            return this;
+        }
+
+        public JournalConfig build() { return new JournalConfig(this); }
+    }
+}
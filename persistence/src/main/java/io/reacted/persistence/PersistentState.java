@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.persistence;
+
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.Try;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+/**
+ * Event sourced state of a reactor. The state is changed only applying events: every event is applied
+ * right away and it is handed to the {@link ChronicleJournal} so that the state can be rebuilt after a restart.
+ * A snapshot of the state is taken every {@link JournalConfig#getSnapshotInterval()} events.
+ *
+ * A PersistentState is not thread safe: it is meant to be recovered in the {@code ReActorInit} reaction and
+ * then used only from within the reactions of the reactor that owns it.
+ * Snapshots are serialized asynchronously, so the state must be immutable: every event application must
+ * return a new state
+ *
+ * @param <StateT> type of the state
+ * @param <EventT> type of the events
+ */
+@NonNullByDefault
+public final class PersistentState<StateT extends Serializable, EventT extends Serializable> {
+    private final ChronicleJournal journal;
+    private final String persistenceId;
+    private final BiFunction<StateT, EventT, StateT> eventApplier;
+    private StateT state;
+    private long sequenceNumber;
+
+    private PersistentState(ChronicleJournal journal, String persistenceId,
+                            BiFunction<StateT, EventT, StateT> eventApplier,
+                            ChronicleJournal.Recovery<StateT> recovery) {
+        this.journal = journal;
+        this.persistenceId = persistenceId;
+        this.eventApplier = eventApplier;
+        this.state = recovery.state();
+        this.sequenceNumber = recovery.sequenceNumber();
+    }
+
+    /**
+     * Rebuild a state from its latest snapshot and the events committed after it
+     *
+     * @param journal journal containing the events
+     * @param persistenceId unique and stable id of the state, i.e. the reactor name
+     * @param initialState state before the application of any event
+     * @param eventApplier function returning the new state after the application of an event
+     * @param <StateT> type of the state
+     * @param <EventT> type of the events
+     * @return a successful Try containing the recovered state, a failed Try on failure
+     */
+    public static <StateT extends Serializable, EventT extends Serializable>
+    Try<PersistentState<StateT, EventT>> recover(ChronicleJournal journal, String persistenceId,
+                                                 StateT initialState,
+                                                 BiFunction<StateT, EventT, StateT> eventApplier) {
+        return Objects.requireNonNull(journal, "Journal cannot be null")
+                      .recover(persistenceId, initialState, eventApplier)
+                      .map(recovery -> new PersistentState<>(journal, persistenceId, eventApplier, recovery));
+    }
+
+    public StateT getState() { return state; }
+
+    /**
+     * @return sequence number of the last event applied to the state
+     */
+    public long getSequenceNumber() { return sequenceNumber; }
+
+    /**
+     * Apply an event to the state and append it to the journal. The event is applied right away, before it is
+     * committed, so the following reactions see it: if the returned {@link CompletionStage} completes
+     * exceptionally, the state contains an event that is not in the journal and it is lost on a restart.
+     * A reactor that cannot accept that should stop or recover its state again
+     *
+     * @param event the event
+     * @return a {@link CompletionStage} completed with the sequence number of the event once it has been
+     * committed. Replies that must not be lost on a crash should be sent only once it is completed
+     */
+    public CompletionStage<Long> persist(EventT event) {
+        this.state = Objects.requireNonNull(eventApplier.apply(state, Objects.requireNonNull(event)),
+                                            "Event application cannot return a null state");
+        long eventSequenceNumber = ++sequenceNumber;
+        CompletionStage<Long> committed = journal.append(persistenceId, eventSequenceNumber, event);
+        if (eventSequenceNumber % journal.getJournalConfig().getSnapshotInterval() == 0) {
+            journal.snapshot(persistenceId, eventSequenceNumber, state);
+        }
+        return committed;
+    }
+}
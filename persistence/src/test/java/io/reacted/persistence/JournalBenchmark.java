@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput with group commit and recovery time with and without snapshots.
+ * Run with {@code java -cp <test classpath> io.reacted.persistence.JournalBenchmark}
+ */
+@Fork(value = 1, jvmArgsAppend = { "--add-exports=java.base/jdk.internal.ref=ALL-UNNAMED",
+                                   "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED",
+                                   "--add-exports=jdk.unsupported/sun.misc=ALL-UNNAMED",
+                                   "--add-opens=java.base/java.lang=ALL-UNNAMED",
+                                   "--add-opens=java.base/java.lang.reflect=ALL-UNNAMED",
+                                   "--add-opens=java.base/java.io=ALL-UNNAMED",
+                                   "--add-opens=java.base/java.util=ALL-UNNAMED" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JournalBenchmark {
+    private static final int EVENTS_PER_INVOCATION = 10_000;
+    private static final int RECOVERED_EVENTS = 100_000;
+    private static final String PERSISTENCE_ID = "benchmark";
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JournalBenchmark.class.getSimpleName())
+                                       .build()).run();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public long writeThroughput(WriteState writeState) throws ExecutionException, InterruptedException {
+        CompletionStage<Long> lastCommit = null;
+        for (int event = 0; event < EVENTS_PER_INVOCATION; event++) {
+            lastCommit = writeState.counter.persist(new Incremented(event));
+        }
+        return lastCommit.toCompletableFuture().get();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Counter recoveryTime(RecoveryState recoveryState) {
+        return recover(recoveryState.journal).getState();
+    }
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+        @Param({ "1", "256" })
+        int maxGroupCommitSize;
+        @Param({ "true", "false" })
+        boolean syncOnCommit;
+        Path journalDir;
+        ChronicleJournal journal;
+        PersistentState<Counter, Incremented> counter;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            this.journalDir = Files.createTempDirectory("reacted-journal-write");
+            this.journal = ChronicleJournal.open(JournalConfig.newBuilder()
+                                                              .setJournalDirectory(journalDir.toString())
+                                                              .setMaxGroupCommitSize(maxGroupCommitSize)
+                                                              .setSyncOnCommit(syncOnCommit)
+                                                              .setSnapshotInterval(Integer.MAX_VALUE)
+                                                              .build())
+                                           .orElseSneakyThrow();
+            this.counter = recover(journal);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            deleteDirectory(journalDir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+        /* Integer.MAX_VALUE means that the whole journal is replayed */
+        @Param({ "1000", "2147483647" })
+        int snapshotInterval;
+        Path journalDir;
+        ChronicleJournal journal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, ExecutionException, InterruptedException {
+            this.journalDir = Files.createTempDirectory("reacted-journal-recovery");
+            this.journal = ChronicleJournal.open(JournalConfig.newBuilder()
+                                                              .setJournalDirectory(journalDir.toString())
+                                                              .setSnapshotInterval(snapshotInterval)
+                                                              .setSyncOnCommit(false)
+                                                              .build())
+                                           .orElseSneakyThrow();
+            PersistentState<Counter, Incremented> counter = recover(journal);
+            CompletionStage<Long> lastCommit = null;
+            for (int event = 0; event < RECOVERED_EVENTS; event++) {
+                lastCommit = counter.persist(new Incremented(event));
+            }
+            lastCommit.toCompletableFuture().get();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            deleteDirectory(journalDir);
+        }
+    }
+
+    private static PersistentState<Counter, Incremented> recover(ChronicleJournal journal) {
+        return PersistentState.<Counter, Incremented>recover(journal, PERSISTENCE_ID, new Counter(0),
+                                                             (counter, incremented) -> new Counter(counter.value() + incremented.value()))
+                              .orElseSneakyThrow();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder())
+                 .forEach(file -> file.toFile().delete());
+        }
+    }
+
+    public record Incremented(long value) implements Serializable { }
+
+    public record Counter(long value) implements Serializable { }
+}
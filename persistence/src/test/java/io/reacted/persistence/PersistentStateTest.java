@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+class PersistentStateTest {
+    @TempDir
+    Path journalDir;
+
+    @Test
+    void stateIsRecoveredFromTheJournal() throws Exception {
+        try (var journal = openJournal(100)) {
+            var first = recover(journal, "first", new AtomicInteger());
+            var second = recover(journal, "second", new AtomicInteger());
+            CompletionStage<Long> lastCommit = null;
+            for (int increment = 1; increment <= 10; increment++) {
+                first.persist(new Added(increment));
+                lastCommit = second.persist(new Added(-increment));
+            }
+            Assertions.assertEquals(10L, lastCommit.toCompletableFuture().get());
+        }
+        try (var journal = openJournal(100)) {
+            var first = recover(journal, "first", new AtomicInteger());
+            var second = recover(journal, "second", new AtomicInteger());
+            Assertions.assertEquals(new Total(55), first.getState());
+            Assertions.assertEquals(new Total(-55), second.getState());
+            Assertions.assertEquals(10, first.getSequenceNumber());
+        }
+    }
+
+    @Test
+    void recoveryReplaysOnlyTheEventsAfterTheLatestSnapshot() throws Exception {
+        try (var journal = openJournal(10)) {
+            var total = recover(journal, "total", new AtomicInteger());
+            CompletionStage<Long> lastCommit = null;
+            for (int increment = 1; increment <= 25; increment++) {
+                lastCommit = total.persist(new Added(increment));
+            }
+            lastCommit.toCompletableFuture().get();
+        }
+        var replayedEvents = new AtomicInteger();
+        try (var journal = openJournal(10)) {
+            var total = recover(journal, "total", replayedEvents);
+            Assertions.assertEquals(new Total(325), total.getState());
+            Assertions.assertEquals(25, total.getSequenceNumber());
+            Assertions.assertEquals(5, replayedEvents.get());
+        }
+    }
+
+    @Test
+    void closedJournalsRejectWrites() throws Exception {
+        var journal = openJournal(10);
+        var total = recover(journal, "total", new AtomicInteger());
+        journal.close();
+        Assertions.assertTrue(total.persist(new Added(1)).toCompletableFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    void writesRacingWithCloseAreAlwaysCompleted() throws Exception {
+        var journal = openJournal(1_000);
+        List<CompletableFuture<Long>> commits = new CopyOnWriteArrayList<>();
+        var writers = Executors.newFixedThreadPool(4);
+        try {
+            for (int writer = 0; writer < 4; writer++) {
+                String persistenceId = "writer-" + writer;
+                writers.execute(() -> {
+                    for (long sequenceNumber = 1; sequenceNumber <= 1_000; sequenceNumber++) {
+                        commits.add(journal.append(persistenceId, sequenceNumber, new Added(1))
+                                           .toCompletableFuture());
+                    }
+                });
+            }
+            journal.close();
+        } finally {
+            writers.shutdown();
+            Assertions.assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        for (CompletableFuture<Long> commit : commits) {
+            Assertions.assertTrue(commit.handle((sequenceNumber, error) -> true).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private ChronicleJournal openJournal(int snapshotInterval) {
+        return ChronicleJournal.open(JournalConfig.newBuilder()
+                                                  .setJournalDirectory(journalDir.toString())
+                                                  .setSnapshotInterval(snapshotInterval)
+                                                  .build())
+                               .orElseSneakyThrow();
+    }
+
+    private static PersistentState<Total, Added> recover(ChronicleJournal journal, String persistenceId,
+                                                         AtomicInteger appliedEvents) {
+        BiFunction<Total, Added, Total> eventApplier = (total, added) -> {
+            appliedEvents.incrementAndGet();
+            return new Total(total.value() + added.value());
+        };
+        return PersistentState.recover(journal, persistenceId, new Total(0), eventApplier)
+                              .orElseSneakyThrow();
+    }
+
+    private record Added(int value) implements Serializable { }
+
+    private record Total(int value) implements Serializable { }
+}
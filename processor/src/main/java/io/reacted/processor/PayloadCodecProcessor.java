@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@code <ClassName>PayloadCodec} for every record or class annotated with
+ * {@code io.reacted.core.serialization.WirePayload} and declares all of them in
+ * {@code META-INF/services/io.reacted.core.serialization.PayloadCodec}, so that the default
+ * {@code CodecRegistry} loads them. The generated codecs write the fields with plain {@code DataOutput}
+ * calls following {@code io.reacted.core.serialization.WireFormat}: no reflection is involved and nothing is
+ * allocated except the decoded payload, its strings and its arrays, and the buffers of the nested payloads, that
+ * are length prefixed.
+ */
+@SupportedAnnotationTypes(PayloadCodecProcessor.WIRE_PAYLOAD_ANNOTATION)
+public class PayloadCodecProcessor extends AbstractProcessor {
+    static final String WIRE_PAYLOAD_ANNOTATION = "io.reacted.core.serialization.WirePayload";
+    static final String WIRE_FIELD_ANNOTATION = "io.reacted.core.serialization.WireField";
+    static final String GENERATED_SUFFIX = "PayloadCodec";
+    static final String CODECS_SERVICE = "META-INF/services/io.reacted.core.serialization.PayloadCodec";
+    private static final String PAYLOAD_CODEC = "io.reacted.core.serialization.PayloadCodec";
+    private static final String CODEC_REGISTRY = "io.reacted.core.serialization.CodecRegistry";
+    private static final String WIRE_FORMAT = "io.reacted.core.serialization.WireFormat";
+    private static final String SERIALIZABLE = "java.io.Serializable";
+    /* Same values of the WireFormat constants: the headers must be constants for the generated switch */
+    private static final int FIXED_1 = 0;
+    private static final int FIXED_2 = 1;
+    private static final int FIXED_4 = 2;
+    private static final int FIXED_8 = 3;
+    private static final int BYTES = 4;
+    private static final int NESTED = 5;
+    private static final int KIND_BITS = 3;
+    private static final int MAX_TAG = 0xFFFF >>> KIND_BITS;
+    private final List<String> generatedCodecs = new ArrayList<>();
+    private final Map<Integer, TypeElement> payloadsById = new HashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() { return SourceVersion.latestSupported(); }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element annotated : roundEnv.getElementsAnnotatedWith(annotation)) {
+                generateCodec((TypeElement) annotated);
+            }
+        }
+        if (roundEnv.processingOver() && !generatedCodecs.isEmpty()) {
+            writeCodecsService();
+        }
+        return true;
+    }
+
+    private void generateCodec(TypeElement payload) {
+        if (!isValidPayloadType(payload)) {
+            return;
+        }
+        Integer codecId = getIntValue(payload, WIRE_PAYLOAD_ANNOTATION, "id");
+        if (codecId == null || codecId <= 0) {
+            error(payload, "Payload codec ids must be positive");
+            return;
+        }
+        TypeElement sameId = payloadsById.putIfAbsent(codecId, payload);
+        if (sameId != null) {
+            error(payload, String.format("Codec id %d already used by %s", codecId, sameId.getQualifiedName()));
+            return;
+        }
+        List<? extends Element> fieldElements = payload.getKind() == ElementKind.RECORD
+                                                ? payload.getRecordComponents()
+                                                : getWireFields(payload);
+        if (fieldElements == null) {
+            return;
+        }
+        Map<Integer, Element> fieldsByTag = new HashMap<>();
+        List<WireField> fields = new ArrayList<>();
+        for (Element fieldElement : fieldElements) {
+            Integer explicitTag = getIntValue(fieldElement, WIRE_FIELD_ANNOTATION, "tag");
+            int tag = explicitTag != null ? explicitTag : getNameTag(fieldElement);
+            if (tag < 1 || tag > MAX_TAG) {
+                error(fieldElement, "Field tags must be in range 1 to " + MAX_TAG);
+                continue;
+            }
+            Element sameTag = fieldsByTag.putIfAbsent(tag, fieldElement);
+            if (sameTag != null) {
+                error(fieldElement, String.format("Tag %d already used by %s: set a different one with @WireField",
+                                                  tag, sameTag.getSimpleName()));
+                continue;
+            }
+            Encoding encoding = toEncoding(fieldElement.asType(), tag);
+            if (encoding == null) {
+                error(fieldElement, "Fields must be primitives, wrappers, Strings, enums, byte[], Serializable or interfaces");
+                continue;
+            }
+            fields.add(new WireField(fieldElement.getSimpleName().toString(), fieldElement.asType(), tag,
+                                     encoding));
+        }
+        if (fields.size() == fieldElements.size()) {
+            writeCodec(payload, codecId, fields);
+        }
+    }
+
+    private boolean isValidPayloadType(TypeElement payload) {
+        boolean isRecord = payload.getKind() == ElementKind.RECORD;
+        if (!isRecord && (payload.getKind() != ElementKind.CLASS ||
+                          payload.getModifiers().contains(Modifier.ABSTRACT))) {
+            error(payload, "Only records and concrete classes can be wire payloads");
+            return false;
+        }
+        if (!ProcessorUtils.isReachable(payload) ||
+            (!isRecord && payload.getNestingKind() == NestingKind.MEMBER &&
+             !payload.getModifiers().contains(Modifier.STATIC))) {
+            error(payload, "Wire payloads cannot be private, local, anonymous or inner classes");
+            return false;
+        }
+        if (!payload.getTypeParameters().isEmpty()) {
+            error(payload, "Wire payloads cannot be generic");
+            return false;
+        }
+        if (!isSerializable(payload.asType())) {
+            error(payload, "Wire payloads must be Serializable");
+            return false;
+        }
+        if (!isRecord && ElementFilter.constructorsIn(payload.getEnclosedElements()).stream()
+                                      .noneMatch(constructor -> constructor.getParameters().isEmpty() &&
+                                                                !constructor.getModifiers()
+                                                                            .contains(Modifier.PRIVATE))) {
+            error(payload, "Wire payload classes require a non private no-args constructor");
+            return false;
+        }
+        return true;
+    }
+
+    /* Returns null if some field cannot be set by the generated codec */
+    private List<? extends Element> getWireFields(TypeElement payload) {
+        List<Element> fields = new ArrayList<>();
+        boolean valid = true;
+        for (Element field : ElementFilter.fieldsIn(payload.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+                error(field, "Fields of wire payload classes cannot be private or final");
+                valid = false;
+                continue;
+            }
+            fields.add(field);
+        }
+        return valid ? fields : null;
+    }
+
+    /* Returns null if the type is not supported */
+    private Encoding toEncoding(TypeMirror type, int tag) {
+        Types types = processingEnv.getTypeUtils();
+        switch (type.getKind()) {
+            case BOOLEAN -> { return new Encoding(FIXED_1, "out.writeBoolean(%s)", "in.readBoolean()", null); }
+            case BYTE -> { return new Encoding(FIXED_1, "out.writeByte(%s)", "in.readByte()", null); }
+            case SHORT -> { return new Encoding(FIXED_2, "out.writeShort(%s)", "in.readShort()", null); }
+            case CHAR -> { return new Encoding(FIXED_2, "out.writeChar(%s)", "in.readChar()", null); }
+            case INT -> { return new Encoding(FIXED_4, "out.writeInt(%s)", "in.readInt()", null); }
+            case FLOAT -> { return new Encoding(FIXED_4, "out.writeFloat(%s)", "in.readFloat()", null); }
+            case LONG -> { return new Encoding(FIXED_8, "out.writeLong(%s)", "in.readLong()", null); }
+            case DOUBLE -> { return new Encoding(FIXED_8, "out.writeDouble(%s)", "in.readDouble()", null); }
+            case ARRAY -> {
+                return isType(type, "byte[]")
+                       ? new Encoding(BYTES, WIRE_FORMAT + ".writeBytes(out, %s)", WIRE_FORMAT + ".readBytes(in)",
+                                      null)
+                       : null;
+            }
+            case DECLARED -> {
+                PrimitiveType unboxed = getUnboxedType(type);
+                if (unboxed != null) {
+                    return toEncoding(unboxed, tag);
+                }
+                if (isType(type, "java.lang.String")) {
+                    return new Encoding(BYTES, WIRE_FORMAT + ".writeString(out, %s)",
+                                        WIRE_FORMAT + ".readString(in)", null);
+                }
+                String erasure = types.erasure(type).toString();
+                if (((DeclaredType) type).asElement().getKind() == ElementKind.ENUM) {
+                    //values() copies the constants on every call
+                    String constants = "VALUES_" + tag;
+                    //Constants added by newer versions of the enum are read as null
+                    return new Encoding(FIXED_4, "out.writeInt(%s.ordinal())",
+                                        WIRE_FORMAT + ".readEnum(in, " + constants + ")",
+                                        String.format("private static final %s[] %s = %s.values();",
+                                                      erasure, constants, erasure));
+                }
+                if (isSerializable(type)) {
+                    return new Encoding(NESTED, WIRE_FORMAT + ".writeNested(out, %s, codecs)",
+                                        "(" + erasure + ") " + WIRE_FORMAT + ".readNested(in, codecs)", null);
+                }
+                //Such as List or Map: the actual instances are expected to be Serializable
+                if (((DeclaredType) type).asElement().getKind() == ElementKind.INTERFACE) {
+                    return new Encoding(NESTED, WIRE_FORMAT + ".writeNested(out, (java.io.Serializable) %s, codecs)",
+                                        "(" + erasure + ") " + WIRE_FORMAT + ".readNested(in, codecs)", null);
+                }
+                return null;
+            }
+            default -> { return null; }
+        }
+    }
+
+    private void writeCodec(TypeElement payload, int codecId, List<WireField> fields) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(payload).getQualifiedName().toString();
+        String generatedName = ProcessorUtils.getGeneratedName(payload, GENERATED_SUFFIX);
+        String qualifiedGeneratedName = packageName.isEmpty() ? generatedName : packageName + "." + generatedName;
+        String payloadName = payload.getQualifiedName().toString();
+        boolean isRecord = payload.getKind() == ElementKind.RECORD;
+        try (Writer writer = processingEnv.getFiler()
+                                          .createSourceFile(qualifiedGeneratedName, payload)
+                                          .openWriter();
+             var source = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                source.printf("package %s;%n%n", packageName);
+            }
+            source.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            source.printf("public final class %s implements %s<%s> {%n", generatedName, PAYLOAD_CODEC, payloadName);
+            for (WireField field : fields) {
+                if (field.encoding.constant != null) {
+                    source.printf("    %s%n", field.encoding.constant);
+                }
+            }
+            source.printf("%n    @Override%n");
+            source.printf("    public Class<%s> getPayloadType() { return %s.class; }%n%n", payloadName, payloadName);
+            source.printf("    @Override%n");
+            source.printf("    public int getCodecId() { return %d; }%n%n", codecId);
+
+            source.printf("    @Override%n");
+            source.printf("    public void encode(%s payload, java.io.DataOutput out, %s codecs)%n",
+                          payloadName, CODEC_REGISTRY);
+            source.printf("        throws java.io.IOException {%n");
+            for (WireField field : fields) {
+                String value = "payload." + field.name + (isRecord ? "()" : "");
+                if (field.type.getKind().isPrimitive()) {
+                    source.printf("        out.writeShort(%d);%n", field.getHeader());
+                    source.printf("        %s;%n", String.format(field.encoding.writer, value));
+                    continue;
+                }
+                //Null fields are not written, the reader leaves them to null
+                source.printf("        %s $%s = %s;%n", field.type, field.name, value);
+                source.printf("        if ($%s != null) {%n", field.name);
+                source.printf("            out.writeShort(%d);%n", field.getHeader());
+                source.printf("            %s;%n", String.format(field.encoding.writer, "$" + field.name));
+                source.printf("        }%n");
+            }
+            source.printf("        out.writeShort(%s.END);%n", WIRE_FORMAT);
+            source.printf("    }%n%n");
+
+            source.printf("    @Override%n");
+            if (fields.stream().anyMatch(WireField::isUncheckedCast)) {
+                source.printf("    @SuppressWarnings(\"unchecked\")%n");
+            }
+            source.printf("    public %s decode(java.io.DataInput in, %s codecs) throws java.io.IOException {%n",
+                          payloadName, CODEC_REGISTRY);
+            if (isRecord) {
+                for (WireField field : fields) {
+                    source.printf("        %s $%s = %s;%n", field.type, field.name, field.getDefaultValue());
+                }
+            } else {
+                source.printf("        %s payload = new %s();%n", payloadName, payloadName);
+            }
+            source.printf("        for (int header = in.readUnsignedShort(); header != %s.END;%n", WIRE_FORMAT);
+            source.printf("             header = in.readUnsignedShort()) {%n");
+            source.printf("            switch (header) {%n");
+            for (WireField field : fields) {
+                source.printf("                case %d -> %s%s = %s;%n", field.getHeader(),
+                              isRecord ? "$" : "payload.", field.name, field.encoding.reader);
+            }
+            //Fields added by newer versions of the payload
+            source.printf("                default -> %s.skip(in, header);%n", WIRE_FORMAT);
+            source.printf("            }%n");
+            source.printf("        }%n");
+            if (isRecord) {
+                source.printf("        return new %s(%s);%n", payloadName,
+                              String.join(", ", fields.stream().map(field -> "$" + field.name).toList()));
+            } else {
+                source.printf("        return payload;%n");
+            }
+            source.printf("    }%n");
+            source.printf("}%n");
+            generatedCodecs.add(qualifiedGeneratedName);
+        } catch (IOException generationError) {
+            error(payload, "Unable to generate payload codec: " + generationError.getMessage());
+        }
+    }
+
+    /* An incremental compilation processes only some payloads: the codecs declared before are kept */
+    private void writeCodecsService() {
+        Set<String> codecs = new LinkedHashSet<>(getDeclaredCodecs());
+        codecs.addAll(generatedCodecs);
+        try (Writer writer = processingEnv.getFiler()
+                                          .createResource(StandardLocation.CLASS_OUTPUT, "", CODECS_SERVICE)
+                                          .openWriter();
+             var services = new PrintWriter(writer)) {
+            codecs.forEach(services::println);
+        } catch (IOException generationError) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                     "Unable to declare payload codecs: " +
+                                                     generationError.getMessage());
+        }
+    }
+
+    private List<String> getDeclaredCodecs() {
+        try (var reader = new BufferedReader(processingEnv.getFiler()
+                                                          .getResource(StandardLocation.CLASS_OUTPUT, "",
+                                                                       CODECS_SERVICE)
+                                                          .openReader(true))) {
+            return reader.lines()
+                         .map(String::strip)
+                         .filter(codec -> !codec.isEmpty() && !codec.startsWith("#"))
+                         .collect(Collectors.toList());
+        } catch (IOException | IllegalArgumentException noServiceDeclared) {
+            return List.of();
+        }
+    }
+
+    /* Returns null if the type is not a primitive wrapper */
+    private PrimitiveType getUnboxedType(TypeMirror type) {
+        try {
+            return processingEnv.getTypeUtils().unboxedType(type);
+        } catch (IllegalArgumentException notAWrapper) {
+            return null;
+        }
+    }
+
+    private boolean isSerializable(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror serializable = processingEnv.getElementUtils()
+                                               .getTypeElement(SERIALIZABLE)
+                                               .asType();
+        return types.isAssignable(types.erasure(type), serializable);
+    }
+
+    private boolean isType(TypeMirror type, String typeName) {
+        return processingEnv.getTypeUtils().erasure(type).toString().equals(typeName);
+    }
+
+    private void error(Element element, String description) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, description, element);
+    }
+
+    /* Derived from the name only, so adding, removing or reordering the other fields does not change it.
+       String.hashCode is specified, so the tag is the same for every compiler and JVM */
+    private static int getNameTag(Element field) {
+        return 1 + Math.floorMod(field.getSimpleName().toString().hashCode(), MAX_TAG);
+    }
+
+    /* Returns null if the attribute is not set */
+    private static Integer getIntValue(Element element, String annotationName, String attribute) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (!((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                                                                            .contentEquals(annotationName)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues()
+                                                                                                     .entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals(attribute)) {
+                    return (Integer) value.getValue().getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /* constant is a static field required by the reader, if any */
+    private record Encoding(int kind, String writer, String reader, String constant) { }
+
+    private record WireField(String name, TypeMirror type, int tag, Encoding encoding) {
+        private int getHeader() { return tag << KIND_BITS | encoding.kind; }
+
+        private String getDefaultValue() {
+            if (!type.getKind().isPrimitive()) {
+                return "null";
+            }
+            return type.getKind() == TypeKind.BOOLEAN ? "false" : "0";
+        }
+
+        private boolean isUncheckedCast() {
+            return encoding.kind == NESTED && !((DeclaredType) type).getTypeArguments().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+
+final class ProcessorUtils {
+    private ProcessorUtils() { /* No instances allowed */ }
+
+    /* Nested classes are flattened: Outer.Inner generates Outer_Inner<suffix> */
+    static String getGeneratedName(TypeElement type, String suffix) {
+        StringBuilder generatedName = new StringBuilder(type.getSimpleName());
+        for (Element enclosing = type.getEnclosingElement(); enclosing.getKind() != ElementKind.PACKAGE;
+             enclosing = enclosing.getEnclosingElement()) {
+            generatedName.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return generatedName.append(suffix).toString();
+    }
+
+    /* True if a generated class in the same package can reference the provided type */
+    static boolean isReachable(TypeElement type) {
+        for (Element enclosing = type; enclosing.getKind() != ElementKind.PACKAGE;
+             enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE) ||
+                (enclosing instanceof TypeElement typeElement &&
+                 (typeElement.getNestingKind() == NestingKind.LOCAL ||
+                  typeElement.getNestingKind() == NestingKind.ANONYMOUS))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <ClassName>ReActions} class for every class that has methods annotated with
+ * {@code io.reacted.core.reactors.ReAction}. The generated {@code of} method builds the
+ * {@code ReActions} for an instance of the class binding every payload type to a method reference, so
+ * every reaction is a direct call that the JIT can inline and no reflection is involved at runtime.
+ * Static reaction methods are bound without any instance.
+ */
+@SupportedAnnotationTypes(ReActionsProcessor.REACTION_ANNOTATION)
+public class ReActionsProcessor extends AbstractProcessor {
+    static final String REACTION_ANNOTATION = "io.reacted.core.reactors.ReAction";
+    static final String GENERATED_SUFFIX = "ReActions";
+    private static final String REACTOR_CONTEXT = "io.reacted.core.reactorsystem.ReActorContext";
+    private static final String REACTIONS = "io.reacted.core.reactors.ReActions";
+    private static final String SERIALIZABLE = "java.io.Serializable";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() { return SourceVersion.latestSupported(); }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            Map<TypeElement, List<ExecutableElement>> reActionsByType = new LinkedHashMap<>();
+            for (Element annotated : roundEnv.getElementsAnnotatedWith(annotation)) {
+                var reAction = (ExecutableElement) annotated;
+                reActionsByType.computeIfAbsent((TypeElement) reAction.getEnclosingElement(),
+                                                reActor -> new ArrayList<>())
+                               .add(reAction);
+            }
+            reActionsByType.forEach(this::generateReActions);
+        }
+        return true;
+    }
+
+    private void generateReActions(TypeElement reActor, List<ExecutableElement> reActions) {
+        if (!ProcessorUtils.isReachable(reActor)) {
+            error(reActor, "Classes with reactions cannot be private, local or anonymous");
+            return;
+        }
+        List<String> registrations = new ArrayList<>();
+        Map<String, ExecutableElement> registeredTypes = new LinkedHashMap<>();
+        for (ExecutableElement reAction : reActions) {
+            String registration = toRegistration(reActor, reAction);
+            if (registration == null) {
+                continue;
+            }
+            String payloadType = getPayloadTypeName(reAction);
+            ExecutableElement duplicate = registeredTypes.putIfAbsent(payloadType, reAction);
+            if (duplicate != null) {
+                error(reAction, String.format("Reaction for %s already defined by %s", payloadType,
+                                              duplicate.getSimpleName()));
+                continue;
+            }
+            registrations.add(registration);
+        }
+        if (registrations.size() != reActions.size()) {
+            return;
+        }
+        writeReActions(reActor, registrations);
+    }
+
+    /* Returns null if the method cannot be a reaction */
+    private String toRegistration(TypeElement reActor, ExecutableElement reAction) {
+        Set<Modifier> modifiers = reAction.getModifiers();
+        List<? extends VariableElement> parameters = reAction.getParameters();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            error(reAction, "Reactions cannot be private");
+            return null;
+        }
+        if (reAction.getReturnType().getKind() != TypeKind.VOID || parameters.size() != 2 ||
+            !isType(parameters.get(0).asType(), REACTOR_CONTEXT)) {
+            error(reAction, "Reactions must be void methods accepting a ReActorContext and a payload");
+            return null;
+        }
+        String target = modifiers.contains(Modifier.STATIC)
+                        ? reActor.getQualifiedName().toString()
+                        : "reActor";
+        String methodReference = target + "::" + reAction.getSimpleName();
+        TypeMirror payloadType = parameters.get(1).asType();
+        switch (payloadType.getKind()) {
+            case LONG -> { return ".reActOnLong(" + methodReference + ")"; }
+            case INT -> { return ".reActOnInt(" + methodReference + ")"; }
+            case DOUBLE -> { return ".reActOnDouble(" + methodReference + ")"; }
+            case DECLARED -> {
+                Types types = processingEnv.getTypeUtils();
+                TypeMirror serializable = processingEnv.getElementUtils()
+                                                       .getTypeElement(SERIALIZABLE)
+                                                       .asType();
+                if (isType(payloadType, SERIALIZABLE)) {
+                    return ".reAct(" + methodReference + ")";
+                }
+                if (types.isAssignable(types.erasure(payloadType), serializable)) {
+                    return ".reAct(" + types.erasure(payloadType) + ".class, " + methodReference + ")";
+                }
+            }
+            default -> { }
+        }
+        error(reAction, "Payloads must be Serializable, long, int or double");
+        return null;
+    }
+
+    private void writeReActions(TypeElement reActor, List<String> registrations) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(reActor).getQualifiedName().toString();
+        String generatedName = ProcessorUtils.getGeneratedName(reActor, GENERATED_SUFFIX);
+        String reActorName = reActor.getQualifiedName().toString();
+        try (Writer writer = processingEnv.getFiler()
+                                          .createSourceFile(packageName.isEmpty()
+                                                            ? generatedName
+                                                            : packageName + "." + generatedName, reActor)
+                                          .openWriter();
+             var source = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                source.printf("package %s;%n%n", packageName);
+            }
+            source.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            source.printf("public final class %s {%n", generatedName);
+            source.printf("    private %s() { /* No instances allowed */ }%n%n", generatedName);
+            source.printf("    public static %s of(%s reActor) {%n", REACTIONS, reActorName);
+            source.printf("        java.util.Objects.requireNonNull(reActor, \"ReActor cannot be null\");%n");
+            source.printf("        return %s.newBuilder()%n", REACTIONS);
+            for (String registration : registrations) {
+                source.printf("                %s%n", registration);
+            }
+            source.printf("                .build();%n");
+            source.printf("    }%n");
+            source.printf("}%n");
+        } catch (IOException generationError) {
+            error(reActor, "Unable to generate reactions: " + generationError.getMessage());
+        }
+    }
+
+    private String getPayloadTypeName(ExecutableElement reAction) {
+        return processingEnv.getTypeUtils().erasure(reAction.getParameters().get(1).asType()).toString();
+    }
+
+    private boolean isType(TypeMirror type, String typeName) {
+        return processingEnv.getTypeUtils().erasure(type).toString().equals(typeName);
+    }
+
+    private void error(Element element, String description) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, description, element);
+    }
+}
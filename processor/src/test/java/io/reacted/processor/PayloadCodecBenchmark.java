@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.processor;
+
+import io.reacted.core.serialization.CodecRegistry;
+import io.reacted.core.serialization.WirePayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding throughput of a generated payload codec against the java serialization.
+ * The encoded sizes are printed before running the benchmarks.
+ * Run with {@code java -cp <test classpath> io.reacted.processor.PayloadCodecBenchmark}
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PayloadCodecBenchmark {
+    private static final Quote QUOTE = new Quote(31337L, "ACME", 99.25d, 99.5d, 1_000, 2_500, Side.BID);
+    private CodecRegistry codecs;
+    private byte[] encodedQuote;
+    private byte[] serializedQuote;
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        var codecs = CodecRegistry.newBuilder().build();
+        System.out.printf("Generated codec: %d bytes, java serialization: %d bytes%n",
+                          codecs.toBytes(QUOTE).length, toJavaSerialization(QUOTE).length);
+        new Runner(new OptionsBuilder().include(PayloadCodecBenchmark.class.getSimpleName())
+                                       .build()).run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        this.codecs = CodecRegistry.newBuilder().build();
+        if (!codecs.hasCodec(Quote.class)) {
+            throw new IllegalStateException("No generated codec for " + Quote.class.getName());
+        }
+        this.encodedQuote = codecs.toBytes(QUOTE);
+        this.serializedQuote = toJavaSerialization(QUOTE);
+    }
+
+    @Benchmark
+    public byte[] generatedCodecEncode() throws IOException { return codecs.toBytes(QUOTE); }
+
+    @Benchmark
+    public Serializable generatedCodecDecode() throws IOException { return codecs.fromBytes(encodedQuote); }
+
+    @Benchmark
+    public byte[] javaSerializationEncode() throws IOException { return toJavaSerialization(QUOTE); }
+
+    @Benchmark
+    public Object javaSerializationDecode() throws IOException, ClassNotFoundException {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(serializedQuote))) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] toJavaSerialization(Serializable payload) throws IOException {
+        var serialized = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(serialized)) {
+            out.writeObject(payload);
+        }
+        return serialized.toByteArray();
+    }
+
+    public enum Side { BID, ASK }
+
+    @WirePayload(id = 1)
+    public record Quote(long instrumentId, String symbol, double bid, double ask, int bidSize, int askSize,
+                        Side side) implements Serializable { }
+}
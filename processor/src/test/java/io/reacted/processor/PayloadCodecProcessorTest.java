@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.processor;
+
+import com.google.common.collect.ImmutableMap;
+import io.reacted.core.serialization.CodecRegistry;
+import io.reacted.core.serialization.PayloadCodec;
+import io.reacted.patterns.NonNullByDefault;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class PayloadCodecProcessorTest {
+    private static final String PAYLOAD_V1 = """
+            package test;
+
+            import io.reacted.core.serialization.WirePayload;
+            import java.io.Serializable;
+
+            @WirePayload(id = 7)
+            public record Order(long orderId, String symbol, Side side) implements Serializable {
+                public enum Side { BUY, SELL }
+            }
+            """;
+    private static final String PAYLOAD_V2 = """
+            package test;
+
+            import io.reacted.core.serialization.WireField;
+            import io.reacted.core.serialization.WirePayload;
+            import java.io.Serializable;
+            import java.util.List;
+
+            @WirePayload(id = 7)
+            public record Order(long orderId, Discount discount, String symbol, Side side,
+                                @WireField(tag = 10) Double price, @WireField(tag = 11) List<String> tags)
+                implements Serializable {
+                public enum Side { BUY, SELL }
+
+                @WirePayload(id = 9)
+                public record Discount(double percentage) implements Serializable { }
+            }
+            """;
+    private static final String PAYLOAD_V3 = """
+            package test;
+
+            import io.reacted.core.serialization.WirePayload;
+            import java.io.Serializable;
+
+            @WirePayload(id = 7)
+            public record Order(long orderId, String symbol, Side side) implements Serializable {
+                public enum Side { BUY, SELL, SHORT_SELL }
+            }
+            """;
+    private static final String CLASS_PAYLOAD = """
+            package test;
+
+            import io.reacted.core.serialization.WirePayload;
+            import java.io.Serializable;
+
+            @WirePayload(id = 8)
+            public class Sample implements Serializable {
+                public static final int IGNORED = 0;
+                public boolean flag;
+                public char letter;
+                public float ratio;
+                public byte[] data;
+                public Integer boxed;
+                transient Object notWritten;
+            }
+            """;
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void generatedCodecsRoundTripRecordsAndClasses() throws Exception {
+        Path v2Dir = compileTo("v2", PAYLOAD_V2);
+        Path samplesDir = compileTo("samples", CLASS_PAYLOAD);
+        Assertions.assertTrue(Files.readString(v2Dir.resolve(PayloadCodecProcessor.CODECS_SERVICE))
+                                   .contains("test.OrderPayloadCodec"));
+        try (var v2 = newClassLoader(v2Dir);
+             var samples = newClassLoader(samplesDir)) {
+            CodecRegistry codecs = newRegistry(v2, samples);
+            Object order = newOrderV2(v2, 42L, "ACME", 99.5d, List.of("urgent"));
+            Assertions.assertEquals(order, codecs.fromBytes(codecs.toBytes((Serializable) order)));
+            Object partialOrder = newOrderV2(v2, 43L, null, null, null);
+            Assertions.assertEquals(partialOrder, codecs.fromBytes(codecs.toBytes((Serializable) partialOrder)));
+
+            Class<?> sampleType = samples.loadClass("test.Sample");
+            Object sample = sampleType.getConstructor().newInstance();
+            sampleType.getField("flag").set(sample, true);
+            sampleType.getField("letter").set(sample, 'x');
+            sampleType.getField("ratio").set(sample, 0.5f);
+            sampleType.getField("data").set(sample, new byte[] { 1, 2, 3 });
+            sampleType.getField("boxed").set(sample, -1);
+            Object decoded = codecs.fromBytes(codecs.toBytes((Serializable) sample));
+            Assertions.assertEquals(Boolean.TRUE, sampleType.getField("flag").get(decoded));
+            Assertions.assertEquals('x', sampleType.getField("letter").get(decoded));
+            Assertions.assertEquals(0.5f, sampleType.getField("ratio").get(decoded));
+            Assertions.assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) sampleType.getField("data").get(decoded));
+            Assertions.assertEquals(-1, sampleType.getField("boxed").get(decoded));
+        }
+    }
+
+    @Test
+    void addedFieldsAreSkippedByOldReadersAndDefaultedByNewOnes() throws Exception {
+        Path v1Dir = compileTo("v1", PAYLOAD_V1);
+        Path v2Dir = compileTo("v2", PAYLOAD_V2);
+        try (var v1 = newClassLoader(v1Dir);
+             var v2 = newClassLoader(v2Dir)) {
+            CodecRegistry v1Codecs = newRegistry(v1);
+            CodecRegistry v2Codecs = newRegistry(v2);
+
+            //Neither the added nested field nor its codec are known to the old reader
+            Object newOrder = newOrderV2(v2, 1L, "ACME", 10d, List.of("a", "b"));
+            Object oldReading = v1Codecs.fromBytes(v2Codecs.toBytes((Serializable) newOrder));
+            Assertions.assertEquals("Order[orderId=1, symbol=ACME, side=SELL]", oldReading.toString());
+
+            Object oldOrder = v1.loadClass("test.Order")
+                                .getConstructors()[0]
+                                .newInstance(2L, "ACME", sideOf(v1, "BUY"));
+            Object newReading = v2Codecs.fromBytes(v1Codecs.toBytes((Serializable) oldOrder));
+            Assertions.assertEquals("Order[orderId=2, discount=null, symbol=ACME, side=BUY, price=null, tags=null]",
+                                    newReading.toString());
+        }
+    }
+
+    @Test
+    void addedEnumConstantsAreReadAsNullByOldReaders() throws Exception {
+        Path v1Dir = compileTo("v1", PAYLOAD_V1);
+        Path v3Dir = compileTo("v3", PAYLOAD_V3);
+        try (var v1 = newClassLoader(v1Dir);
+             var v3 = newClassLoader(v3Dir)) {
+            CodecRegistry v1Codecs = newRegistry(v1);
+            CodecRegistry v3Codecs = newRegistry(v3);
+
+            Object newOrder = v3.loadClass("test.Order")
+                                .getConstructors()[0]
+                                .newInstance(3L, "ACME", sideOf(v3, "SHORT_SELL"));
+            Object oldReading = v1Codecs.fromBytes(v3Codecs.toBytes((Serializable) newOrder));
+            Assertions.assertEquals("Order[orderId=3, symbol=ACME, side=null]", oldReading.toString());
+        }
+    }
+
+    @Test
+    void codecsOfPreviousCompilationsAreKeptInTheServiceDeclaration() throws Exception {
+        Path incrementalDir = compileTo("incremental", PAYLOAD_V1);
+        compileTo("incremental", CLASS_PAYLOAD);
+        Assertions.assertEquals(List.of("test.OrderPayloadCodec", "test.SamplePayloadCodec"),
+                                Files.readAllLines(incrementalDir.resolve(PayloadCodecProcessor.CODECS_SERVICE)));
+        compileTo("incremental", PAYLOAD_V1);
+        Assertions.assertEquals(List.of("test.OrderPayloadCodec", "test.SamplePayloadCodec"),
+                                Files.readAllLines(incrementalDir.resolve(PayloadCodecProcessor.CODECS_SERVICE)));
+    }
+
+    @Test
+    void invalidPayloadsAreRejected() throws Exception {
+        var diagnostics = compile(outputDir, """
+                package test;
+
+                import io.reacted.core.serialization.WireField;
+                import io.reacted.core.serialization.WirePayload;
+                import java.io.Serializable;
+
+                public class Broken {
+                    @WirePayload(id = 0)
+                    public record InvalidId(int value) implements Serializable { }
+
+                    @WirePayload(id = 1)
+                    public record NotSerializable(int value) { }
+
+                    @WirePayload(id = 2)
+                    public record UnsupportedField(Thread value) implements Serializable { }
+
+                    @WirePayload(id = 3)
+                    public record DuplicatedTag(@WireField(tag = 1) int first, @WireField(tag = 1) int second) implements Serializable { }
+
+                    @WirePayload(id = 4)
+                    public static class FinalField implements Serializable {
+                        public final int value = 0;
+                    }
+
+                    @WirePayload(id = 4)
+                    public record DuplicatedId(int value) implements Serializable { }
+                }
+                """);
+        List<Diagnostic<? extends JavaFileObject>> errors = diagnostics.getDiagnostics().stream()
+                                                                       .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                                                                       .collect(Collectors.toList());
+        Assertions.assertEquals(6, errors.size(), errors.toString());
+        Assertions.assertFalse(Files.exists(outputDir.resolve(PayloadCodecProcessor.CODECS_SERVICE)));
+    }
+
+    private Path compileTo(String directory, String source) throws Exception {
+        Path compiled = Files.createDirectories(outputDir.resolve(directory));
+        var diagnostics = compile(compiled, source);
+        Assertions.assertTrue(diagnostics.getDiagnostics().isEmpty(), diagnostics.getDiagnostics().toString());
+        return compiled;
+    }
+
+    private URLClassLoader newClassLoader(Path compiled) throws Exception {
+        return new URLClassLoader(new URL[]{ compiled.toUri().toURL() }, getClass().getClassLoader());
+    }
+
+    private static Object newOrderV2(ClassLoader v2, long orderId, String symbol, Double price, List<String> tags)
+        throws Exception {
+        return v2.loadClass("test.Order")
+                 .getConstructors()[0]
+                 .newInstance(orderId, newDiscount(v2, 5d), symbol, sideOf(v2, "SELL"), price, tags);
+    }
+
+    private static Object newDiscount(ClassLoader v2, double percentage) throws Exception {
+        return v2.loadClass("test.Order$Discount").getConstructors()[0].newInstance(percentage);
+    }
+
+    private static Object sideOf(ClassLoader classLoader, String side) throws Exception {
+        return classLoader.loadClass("test.Order$Side").getMethod("valueOf", String.class).invoke(null, side);
+    }
+
+    /* The codecs of the compiled payloads are not visible to the ServiceLoader of this class loader */
+    private static CodecRegistry newRegistry(URLClassLoader... classLoaders) throws Exception {
+        var registry = CodecRegistry.newBuilder().setLoadServices(false);
+        for (URLClassLoader classLoader : classLoaders) {
+            for (String codec : Files.readAllLines(Path.of(classLoader.findResource(PayloadCodecProcessor.CODECS_SERVICE)
+                                                                      .toURI()))) {
+                registry.registerCodec((PayloadCodec<?>) classLoader.loadClass(codec)
+                                                                    .getConstructor()
+                                                                    .newInstance());
+            }
+        }
+        return registry.build();
+    }
+
+    private static DiagnosticCollector<JavaFileObject> compile(Path outputDir, String payloadSource) {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        String classPath = Stream.of(CodecRegistry.class, NonNullByDefault.class, ImmutableMap.class)
+                                 .map(PayloadCodecProcessorTest::getLocation)
+                                 .collect(Collectors.joining(File.pathSeparator));
+        var task = compiler.getTask(null, null, diagnostics,
+                                    List.of("-classpath", classPath, "-d", outputDir.toString(),
+                                            "-s", outputDir.toString()),
+                                    null, List.of(new SourceFile(payloadSource)));
+        task.setProcessors(List.of(new PayloadCodecProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static String getLocation(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException invalidLocation) {
+            throw new IllegalStateException(invalidLocation);
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFile(String source) {
+            super(URI.create("string:///test/" + source.split("public (class|record) ")[1].split("[ (]")[0] +
+                             Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) { return source; }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.processor;
+
+import com.google.common.collect.ImmutableMap;
+import io.reacted.core.messages.PrimitiveType;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactorsystem.ReActorContext;
+import io.reacted.patterns.NonNullByDefault;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class ReActionsProcessorTest {
+    private static final String REACTOR_SOURCE = """
+            package test;
+
+            import io.reacted.core.reactors.ReAction;
+            import io.reacted.core.reactorsystem.ReActorContext;
+            import java.io.Serializable;
+            import java.util.ArrayList;
+            import java.util.List;
+
+            public class Recorder {
+                public final List<Object> received = new ArrayList<>();
+                public static final List<Object> STATICALLY_RECEIVED = new ArrayList<>();
+
+                @ReAction
+                void onString(ReActorContext raCtx, String payload) { received.add(payload); }
+
+                @ReAction
+                void onLong(ReActorContext raCtx, long payload) { received.add(payload); }
+
+                @ReAction
+                static void onInteger(ReActorContext raCtx, Integer payload) { STATICALLY_RECEIVED.add(payload); }
+
+                @ReAction
+                void onAnything(ReActorContext raCtx, Serializable payload) { received.add("default"); }
+
+                public static class Nested {
+                    @ReAction
+                    void onString(ReActorContext raCtx, String payload) { }
+                }
+            }
+            """;
+
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void generatedReActionsCallTheAnnotatedMethods() throws Exception {
+        var diagnostics = compile(REACTOR_SOURCE);
+        Assertions.assertTrue(diagnostics.getDiagnostics().isEmpty(), diagnostics.getDiagnostics().toString());
+        Assertions.assertTrue(Files.exists(outputDir.resolve("test/Recorder_NestedReActions.class")));
+
+        try (var classLoader = new URLClassLoader(new URL[]{ outputDir.toUri().toURL() },
+                                                  getClass().getClassLoader())) {
+            Class<?> recorderType = classLoader.loadClass("test.Recorder");
+            Object recorder = recorderType.getConstructor().newInstance();
+            var reActions = (ReActions) classLoader.loadClass("test.RecorderReActions")
+                                                   .getMethod("of", recorderType)
+                                                   .invoke(null, recorder);
+            reAct(reActions, "hello");
+            reAct(reActions, 42);
+            reAct(reActions, 1.5d);
+            Assertions.assertTrue(reActions.reAct(ReActorContext.NO_REACTOR_CTX, PrimitiveType.LONG, 7L));
+            Assertions.assertEquals(List.of("hello", "default", 7L),
+                                    recorderType.getField("received").get(recorder));
+            Assertions.assertEquals(List.of(42), recorderType.getField("STATICALLY_RECEIVED").get(null));
+        }
+    }
+
+    @Test
+    void invalidReactionsAreRejected() {
+        var diagnostics = compile("""
+                package test;
+
+                import io.reacted.core.reactors.ReAction;
+                import io.reacted.core.reactorsystem.ReActorContext;
+
+                public class Broken {
+                    @ReAction
+                    private void privateReAction(ReActorContext raCtx, String payload) { }
+
+                    @ReAction
+                    int nonVoid(ReActorContext raCtx, String payload) { return 0; }
+
+                    @ReAction
+                    void notSerializable(ReActorContext raCtx, Thread payload) { }
+
+                    @ReAction
+                    void first(ReActorContext raCtx, Integer payload) { }
+
+                    @ReAction
+                    void duplicate(ReActorContext raCtx, Integer payload) { }
+                }
+                """);
+        List<Diagnostic<? extends JavaFileObject>> errors = diagnostics.getDiagnostics().stream()
+                                                                       .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                                                                       .collect(Collectors.toList());
+        Assertions.assertEquals(4, errors.size(), errors.toString());
+        Assertions.assertFalse(Files.exists(outputDir.resolve("test/BrokenReActions.class")));
+    }
+
+    private static void reAct(ReActions reActions, Serializable payload) {
+        BiConsumer<ReActorContext, Serializable> reAction = reActions.getReAction(payload);
+        reAction.accept(ReActorContext.NO_REACTOR_CTX, payload);
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(String reActorSource) {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        String classPath = Stream.of(ReActions.class, NonNullByDefault.class, ImmutableMap.class)
+                                 .map(ReActionsProcessorTest::getLocation)
+                                 .collect(Collectors.joining(File.pathSeparator));
+        var task = compiler.getTask(null, null, diagnostics,
+                                    List.of("-classpath", classPath, "-d", outputDir.toString(),
+                                            "-s", outputDir.toString()),
+                                    null, List.of(new SourceFile(reActorSource)));
+        task.setProcessors(List.of(new ReActionsProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static String getLocation(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException invalidLocation) {
+            throw new IllegalStateException(invalidLocation);
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFile(String source) {
+            super(URI.create("string:///test/" + source.split("public class ")[1].split(" ")[0] +
+                             Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) { return source; }
+    }
+}
@@ -255,7 +255,7 @@ public class ReactedSubmissionPublisher<PayloadT extends Serializable> implement
         }
         result.handle((deliveryStatus, error) -> {
             if (deliveryStatus.isBackpressureRequired()) {
-                raCtx.getReActorSystem().getSystemSchedulingService()
+                raCtx.getReActorSystem().getSystemTimer()
                      .schedule(() -> raCtx.getMbox().request(1),
                                streamBackpressureTimeout.toMillis(),
                                TimeUnit.MILLISECONDS);
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.streams;
+
+import io.reacted.core.exceptions.DeliveryException;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import io.reacted.patterns.NonNullByDefault;
+import io.reacted.patterns.ObjectUtils;
+import io.reacted.streams.messages.StreamRequest;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An ask whose reply is a stream of messages, such as the pages of a query result.
+ * Every subscription sends a {@link StreamRequest} to the target: the responder pushes its replies into the
+ * {@link ReactedSubmissionPublisher} carried by the request and closes it once done. Replies flow through the
+ * same backpressure machinery of any other {@link ReactedSubmissionPublisher}, so the responder can go as fast
+ * as the subscriber demand allows without any further request round trip.
+ * The stream fails with a {@link TimeoutException} if it is not closed within the timeout, with an
+ * {@link IllegalArgumentException} on a reply of an unexpected type and with a {@link DeliveryException}
+ * if the request cannot be delivered.
+ *
+ * @param <ReplyT> type of the expected replies
+ * @param <RequestT> type of the request
+ */
+@NonNullByDefault
+public final class StreamingAsk<ReplyT extends Serializable, RequestT extends Serializable>
+        implements Flow.Publisher<ReplyT> {
+    private final ReActorRef target;
+    private final RequestT request;
+    private final Class<ReplyT> expectedReplyType;
+    private final Duration timeout;
+    private final String requestName;
+    private final int bufferSize;
+
+    private StreamingAsk(ReActorRef target, RequestT request, Class<ReplyT> expectedReplyType, Duration timeout,
+                         String requestName, int bufferSize) {
+        this.target = Objects.requireNonNull(target, "Target cannot be null");
+        this.request = Objects.requireNonNull(request, "Request cannot be null");
+        this.expectedReplyType = Objects.requireNonNull(expectedReplyType, "Expected reply type cannot be null");
+        this.timeout = ObjectUtils.checkNonNullPositiveTimeInterval(timeout);
+        this.requestName = Objects.requireNonNull(requestName, "Request name cannot be null");
+        this.bufferSize = ObjectUtils.requiredInRange(bufferSize, 1, Integer.MAX_VALUE,
+                                                      () -> new IllegalArgumentException("Invalid buffer size"));
+    }
+
+    /**
+     * Send a request to {@code target} and stream its replies
+     *
+     * @param target the reactor the request should be sent to
+     * @param request payload of the request
+     * @param expectedReplyType type of the replies
+     * @param timeout the whole stream has to be completed within this time
+     * @param requestName name of the request
+     * @param <ReplyT> Any {@link Serializable} object
+     * @param <RequestT> Any {@link Serializable} object
+     * @return a cold {@link Flow.Publisher}: the request is sent once for every subscriber
+     */
+    public static <ReplyT extends Serializable, RequestT extends Serializable>
+    Flow.Publisher<ReplyT> ask(ReActorRef target, RequestT request, Class<ReplyT> expectedReplyType,
+                               Duration timeout, String requestName) {
+        return ask(target, request, expectedReplyType, timeout, requestName, Flow.defaultBufferSize());
+    }
+
+    /**
+     * Send a request to {@code target} and stream its replies
+     *
+     * @param target the reactor the request should be sent to
+     * @param request payload of the request
+     * @param expectedReplyType type of the replies
+     * @param timeout the whole stream has to be completed within this time
+     * @param requestName name of the request
+     * @param bufferSize how many replies can be buffered towards the subscriber before raising backpressure
+     *                   requests to the responder. <b>Positive</b> values only
+     * @param <ReplyT> Any {@link Serializable} object
+     * @param <RequestT> Any {@link Serializable} object
+     * @return a cold {@link Flow.Publisher}: the request is sent once for every subscriber
+     */
+    public static <ReplyT extends Serializable, RequestT extends Serializable>
+    Flow.Publisher<ReplyT> ask(ReActorRef target, RequestT request, Class<ReplyT> expectedReplyType,
+                               Duration timeout, String requestName, int bufferSize) {
+        return new StreamingAsk<>(target, request, expectedReplyType, timeout, requestName, bufferSize);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ReplyT> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        ReActorSystem localReActorSystem = target.getReActorSystemRef().getBackingDriver().getLocalReActorSystem();
+        String streamId = requestName + "|" + UUID.randomUUID();
+        var replyStream = new ReactedSubmissionPublisher<ReplyT>(localReActorSystem, bufferSize, streamId);
+        var replySubscriber = new ReplySubscriber(subscriber, replyStream);
+        replySubscriber.timeout = localReActorSystem.getSystemTimer().schedule(replySubscriber::expire, timeout);
+        replyStream.subscribe(replySubscriber, bufferSize, streamId);
+    }
+
+    /* Checks the replies and sends the request once the reply stream is ready to deliver them */
+    private final class ReplySubscriber implements Flow.Subscriber<ReplyT>, Flow.Subscription {
+        private final Flow.Subscriber<? super ReplyT> subscriber;
+        private final ReactedSubmissionPublisher<ReplyT> replyStream;
+        private final AtomicBoolean isTerminated = new AtomicBoolean();
+        @Nullable
+        private volatile Flow.Subscription subscription;
+        @Nullable
+        private volatile ScheduledFuture<?> timeout;
+        private volatile boolean isExpired;
+
+        private ReplySubscriber(Flow.Subscriber<? super ReplyT> subscriber,
+                                ReactedSubmissionPublisher<ReplyT> replyStream) {
+            this.subscriber = subscriber;
+            this.replyStream = replyStream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+            if (isTerminated.get() || isExpired) {
+                return;
+            }
+            //The request is meaningless once the stream has timed out
+            if (!target.publish(ReActorRef.NO_REACTOR_REF, new StreamRequest<>(request, replyStream),
+                                StreamingAsk.this.timeout).isSent()) {
+                fail(new DeliveryException());
+            }
+        }
+
+        @Override
+        public void onNext(ReplyT item) {
+            if (isTerminated.get()) {
+                return;
+            }
+            if (expectedReplyType.isInstance(item)) {
+                subscriber.onNext(item);
+            } else {
+                fail(new IllegalArgumentException(String.format("Received %s instead of %s",
+                                                                item.getClass().getName(),
+                                                                expectedReplyType.getName())));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (terminate()) {
+                subscriber.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (terminate()) {
+                if (isExpired) {
+                    subscriber.onError(new TimeoutException());
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+        }
+
+        @Override
+        public void request(long elements) { Objects.requireNonNull(subscription).request(elements); }
+
+        @Override
+        public void cancel() {
+            if (terminate()) {
+                stopReplyStream();
+            }
+        }
+
+        private void expire() {
+            this.isExpired = true;
+            //The reply stream is going to be completed, and the completion turned into a timeout
+            replyStream.interrupt();
+        }
+
+        private void fail(Throwable error) {
+            if (terminate()) {
+                stopReplyStream();
+                subscriber.onError(error);
+            }
+        }
+
+        private void stopReplyStream() {
+            Objects.requireNonNull(subscription).cancel();
+            replyStream.interrupt();
+        }
+
+        private boolean terminate() {
+            if (!isTerminated.compareAndSet(false, true)) {
+                return false;
+            }
+            ScheduledFuture<?> pendingTimeout = timeout;
+            if (pendingTimeout != null) {
+                pendingTimeout.cancel(false);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2022 , <Pierre Falda> [ pierre@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.streams.messages;
+
+import io.reacted.streams.ReactedSubmissionPublisher;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+
+/**
+ * Request sent by a {@link io.reacted.streams.StreamingAsk}. The responder should {@code submit} its replies
+ * into {@code replyStream}, honouring the returned backpressure requests, and {@code close} it once done.
+ *
+ * @param request the payload of the request
+ * @param replyStream the stream the replies are expected on
+ * @param <RequestT> type of the request
+ * @param <ReplyT> type of the expected replies
+ */
+@Immutable
+public record StreamRequest<RequestT extends Serializable, ReplyT extends Serializable>
+        (RequestT request, ReactedSubmissionPublisher<ReplyT> replyStream) implements Serializable { }
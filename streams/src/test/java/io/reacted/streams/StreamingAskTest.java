@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020 , <Razvan Nicoara> [ razvan@reacted.io ]
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package io.reacted.streams;
+
+import io.reacted.core.config.reactors.ReActorConfig;
+import io.reacted.core.config.reactorsystem.ReActorSystemConfig;
+import io.reacted.core.reactors.ReActions;
+import io.reacted.core.reactorsystem.ReActorContext;
+import io.reacted.core.reactorsystem.ReActorRef;
+import io.reacted.core.reactorsystem.ReActorSystem;
+import io.reacted.patterns.ObjectUtils;
+import io.reacted.streams.messages.StreamRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class StreamingAskTest {
+    private static final int PAGES = 1_000;
+    private static ReActorSystem system;
+    private static ReActorRef pager;
+    private static ReActorRef neverEnding;
+
+    @BeforeAll
+    static void initTests() {
+        system = new ReActorSystem(ReActorSystemConfig.newBuilder()
+                                                      .setReactorSystemName(StreamingAskTest.class.getSimpleName())
+                                                      .build()).initReActorSystem();
+        //Streams all the requested pages and then completes the stream
+        pager = system.spawn(ReActions.newBuilder()
+                                      .reAct(StreamRequest.class, StreamingAskTest::onPagesRequest)
+                                      .build(),
+                             ReActorConfig.newBuilder()
+                                          .setReActorName("Pager")
+                                          .build())
+                      .orElseSneakyThrow();
+        //Streams the first page and never completes the stream
+        neverEnding = system.spawn(ReActions.newBuilder()
+                                            .reAct(StreamRequest.class, StreamingAskTest::onFirstPageRequest)
+                                            .build(),
+                                   ReActorConfig.newBuilder()
+                                                .setReActorName("NeverEnding")
+                                                .build())
+                            .orElseSneakyThrow();
+    }
+
+    @AfterAll
+    static void stopTests() {
+        ObjectUtils.runIfNotNull(system, ReActorSystem::shutDown);
+    }
+
+    @Test
+    void allTheRepliesAreStreamedInOrder() throws Exception {
+        var subscriber = new CollectingSubscriber<Integer>();
+        StreamingAsk.ask(pager, PAGES, Integer.class, Duration.ofSeconds(30), "AllPages", 16)
+                    .subscribe(subscriber);
+        Assertions.assertEquals(IntStream.range(0, PAGES).boxed().collect(Collectors.toList()),
+                                subscriber.completion.get(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void streamFailsIfNotCompletedInTime() {
+        var subscriber = new CollectingSubscriber<Integer>();
+        StreamingAsk.ask(neverEnding, PAGES, Integer.class, Duration.ofMillis(500), "Timeout")
+                    .subscribe(subscriber);
+        var failure = Assertions.assertThrows(ExecutionException.class,
+                                              () -> subscriber.completion.get(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(failure.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void streamFailsOnUnexpectedReplyType() {
+        var subscriber = new CollectingSubscriber<String>();
+        StreamingAsk.ask(pager, PAGES, String.class, Duration.ofSeconds(30), "WrongType")
+                    .subscribe(subscriber);
+        var failure = Assertions.assertThrows(ExecutionException.class,
+                                              () -> subscriber.completion.get(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(failure.getCause() instanceof IllegalArgumentException);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void onPagesRequest(ReActorContext raCtx, StreamRequest<?, ?> pagesRequest) {
+        var replyStream = (ReactedSubmissionPublisher<Integer>) pagesRequest.replyStream();
+        for (int page = 0; page < (Integer) pagesRequest.request(); page++) {
+            replyStream.submit(page);
+        }
+        replyStream.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void onFirstPageRequest(ReActorContext raCtx, StreamRequest<?, ?> pagesRequest) {
+        ((ReactedSubmissionPublisher<Integer>) pagesRequest.replyStream()).submit(0);
+    }
+
+    private static class CollectingSubscriber<ReplyT> implements Flow.Subscriber<ReplyT> {
+        private final List<ReplyT> replies = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<ReplyT>> completion = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ReplyT item) {
+            replies.add(item);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) { completion.completeExceptionally(throwable); }
+
+        @Override
+        public void onComplete() { completion.complete(replies); }
+    }
+}